@@ -0,0 +1,199 @@
+package org.voice.membership.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Wraps this node's Spring caches so every eviction and clear, whether from
+ * {@code @CacheEvict} or a direct call, is also written to the
+ * {@link InvalidationLog} for the other nodes to replay.
+ * Keys of type Integer, Long and String are logged as they are; an
+ * eviction of any other key is logged as a clear of the whole cache.
+ * Inside a transaction the local entry is evicted at once and again after
+ * commit, since a concurrent reader can cache the old value in between.
+ */
+@Slf4j
+public class BroadcastingCacheManager implements CacheManager {
+
+    private final CacheManager local;
+    private final InvalidationLog invalidationLog;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager local, InvalidationLog invalidationLog) {
+        this.local = local;
+        this.invalidationLog = invalidationLog;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = local.getCache(name);
+        return cache != null ? caches.computeIfAbsent(name, key -> new BroadcastingCache(cache)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return local.getCacheNames();
+    }
+
+    /**
+     * Applies an eviction logged by another node to this node's cache only.
+     *
+     * @param key the key as logged, or null to clear the cache
+     */
+    public void evictLocally(String cacheName, String key, String keyType) {
+        Cache cache = local.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        Object decoded = key != null ? decode(key, keyType) : null;
+        if (decoded == null) {
+            cache.clear();
+        } else {
+            cache.evict(decoded);
+        }
+    }
+
+    /**
+     * Inside a transaction, repeats a local eviction once it has committed.
+     */
+    private static void repeatAfterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void publish(String cacheName, Object key) {
+        String keyType = key != null ? keyType(key) : null;
+        try {
+            invalidationLog.append(cacheName, keyType != null ? key.toString() : null, keyType);
+        } catch (DataAccessException e) {
+            // Other nodes keep the entry until it expires
+            log.warn("Could not log eviction from cache {} for other nodes", cacheName, e);
+        }
+    }
+
+    static String keyType(Object key) {
+        if (key instanceof Integer) {
+            return "Integer";
+        }
+        if (key instanceof Long) {
+            return "Long";
+        }
+        if (key instanceof String) {
+            return "String";
+        }
+        return null;
+    }
+
+    static Object decode(String key, String keyType) {
+        if (keyType == null) {
+            return null;
+        }
+        return switch (keyType) {
+            case "Integer" -> Integer.valueOf(key);
+            case "Long" -> Long.valueOf(key);
+            case "String" -> key;
+            default -> null;
+        };
+    }
+
+    private class BroadcastingCache implements Cache {
+
+        private final Cache delegate;
+
+        BroadcastingCache(Cache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+            repeatAfterCommit(() -> delegate.evict(key));
+            publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = delegate.evictIfPresent(key);
+            repeatAfterCommit(() -> delegate.evict(key));
+            publish(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            repeatAfterCommit(delegate::clear);
+            publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = delegate.invalidate();
+            repeatAfterCommit(delegate::clear);
+            publish(getName(), null);
+            return present;
+        }
+    }
+}
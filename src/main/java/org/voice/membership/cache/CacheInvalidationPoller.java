@@ -0,0 +1,169 @@
+package org.voice.membership.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the {@link InvalidationLog} and applies other nodes' evictions to
+ * this node's Spring caches and Hibernate entity regions. Each poll reads the entries after the last sequence
+ * number seen, on the primary key.
+ * Sequence numbers are taken when a row is inserted but become visible when
+ * its transaction commits, so a poll can see 12 before 11. Skipped numbers
+ * are read again on later polls until they show up or the gap timeout
+ * passes (a rolled-back insert never fills its number).
+ * Latency is the time from an entry being written to this node applying it,
+ * measured across the nodes' clocks.
+ */
+@Slf4j
+public class CacheInvalidationPoller {
+
+    private static final String PRUNE_LEASE = "cache-invalidation-prune";
+    private static final Duration PRUNE_LEASE_TTL = Duration.ofMinutes(5);
+
+    /** Larger jumps are not tracked; their entries rely on cache expiry. */
+    private static final int MAX_GAPS = 1000;
+
+    private final InvalidationLog invalidationLog;
+    private final BroadcastingCacheManager cacheManager;
+    private final EntityRegionBroadcaster entityRegions;
+    private final LeaseLock leaseLock;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private long lastSeq = -1;
+    private final Map<Long, Instant> gaps = new HashMap<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong pruned = new AtomicLong();
+    private volatile long lastLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private volatile Instant lastPollAt;
+
+    public CacheInvalidationPoller(InvalidationLog invalidationLog, BroadcastingCacheManager cacheManager,
+            LeaseLock leaseLock, int batchSize, Duration gapTimeout, Duration retention) {
+        this(invalidationLog, cacheManager, null, leaseLock, batchSize, gapTimeout, retention);
+    }
+
+    /**
+     * @param entityRegions applies entries for Hibernate entity regions, or
+     *                      null to ignore them
+     */
+    public CacheInvalidationPoller(InvalidationLog invalidationLog, BroadcastingCacheManager cacheManager,
+            EntityRegionBroadcaster entityRegions, LeaseLock leaseLock, int batchSize, Duration gapTimeout,
+            Duration retention) {
+        this.invalidationLog = invalidationLog;
+        this.cacheManager = cacheManager;
+        this.entityRegions = entityRegions;
+        this.leaseLock = leaseLock;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Applies entries written since the last poll. The first poll only
+     * records where the log ends: caches start empty, so nothing older can
+     * be stale.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-ms:1000}")
+    public synchronized void poll() {
+        try {
+            if (lastSeq < 0) {
+                lastSeq = invalidationLog.maxSeq();
+                return;
+            }
+            Instant now = Instant.now();
+            gaps.values().removeIf(since -> since.isBefore(now.minus(gapTimeout)));
+            if (!gaps.isEmpty()) {
+                for (InvalidationLog.Entry entry : invalidationLog.read(gaps.keySet())) {
+                    gaps.remove(entry.seq());
+                    apply(entry);
+                }
+            }
+            List<InvalidationLog.Entry> entries;
+            do {
+                entries = invalidationLog.readAfter(lastSeq, batchSize);
+                for (InvalidationLog.Entry entry : entries) {
+                    for (long seq = lastSeq + 1; seq < entry.seq() && gaps.size() < MAX_GAPS; seq++) {
+                        gaps.put(seq, now);
+                    }
+                    lastSeq = entry.seq();
+                    apply(entry);
+                }
+            } while (entries.size() == batchSize);
+            lastPollAt = now;
+        } catch (DataAccessException e) {
+            log.warn("Could not read cache invalidations", e);
+        }
+    }
+
+    /**
+     * Deletes entries older than the retention period that this node has
+     * read, on one node at a time.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.prune-interval-ms:600000}")
+    public void prune() {
+        long upTo;
+        synchronized (this) {
+            // Keep entries this node may still be waiting for
+            upTo = gaps.keySet().stream().mapToLong(seq -> seq - 1).reduce(lastSeq, Math::min);
+        }
+        if (upTo <= 0) {
+            return;
+        }
+        leaseLock.runExclusively(PRUNE_LEASE, PRUNE_LEASE_TTL, Duration.ZERO, () -> {
+            int deleted = invalidationLog.prune(upTo, Instant.now().minus(retention), batchSize);
+            pruned.addAndGet(deleted);
+            log.debug("Pruned {} cache invalidations", deleted);
+        });
+    }
+
+    /**
+     * Position in the log, pending gaps, entries applied and their latency.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long count = applied.get();
+        synchronized (this) {
+            stats.put("lastSeq", lastSeq);
+            stats.put("pendingGaps", gaps.size());
+        }
+        stats.put("applied", count);
+        stats.put("lastLatencyMillis", lastLatencyMillis);
+        stats.put("maxLatencyMillis", maxLatencyMillis);
+        stats.put("avgLatencyMillis", count > 0 ? totalLatencyMillis.get() / count : 0);
+        stats.put("pruned", pruned.get());
+        stats.put("lastPollAt", lastPollAt);
+        return stats;
+    }
+
+    private void apply(InvalidationLog.Entry entry) {
+        if (entry.origin().equals(invalidationLog.getOrigin())) {
+            return;
+        }
+        if (entry.cacheName().startsWith(EntityRegionBroadcaster.PREFIX)) {
+            if (entityRegions != null) {
+                entityRegions.evictLocally(entry.cacheName(), entry.key(), entry.keyType());
+            }
+        } else {
+            cacheManager.evictLocally(entry.cacheName(), entry.key(), entry.keyType());
+        }
+        long latency = Math.max(0, Duration.between(entry.createdAt(), Instant.now()).toMillis());
+        applied.incrementAndGet();
+        totalLatencyMillis.addAndGet(latency);
+        lastLatencyMillis = latency;
+        maxLatencyMillis = Math.max(maxLatencyMillis, latency);
+    }
+}
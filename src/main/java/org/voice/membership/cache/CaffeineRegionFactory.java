@@ -0,0 +1,75 @@
+package org.voice.membership.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache backed by per-node Caffeine caches.
+ * Each region is sized by a Caffeine spec read from
+ * {@code hibernate.cache.caffeine.spec.<region>}, falling back to
+ * {@code hibernate.cache.caffeine.spec.default}, for example
+ * {@code maximumSize=500,expireAfterWrite=1h}.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    public static final String SPEC_PREFIX = "hibernate.cache.caffeine.spec.";
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=1h";
+
+    private final Map<String, String> specs = new HashMap<>();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        configValues.forEach((key, value) -> {
+            if (key.startsWith(SPEC_PREFIX) && value != null) {
+                specs.put(key.substring(SPEC_PREFIX.length()), value.toString());
+            }
+        });
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        specs.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        // Update timestamps must not be evicted early or cached queries
+        // could return stale results, so this region is never size-bounded.
+        return new CaffeineStorageAccess(Caffeine.newBuilder().build());
+    }
+
+    private CaffeineStorageAccess storage(String regionName) {
+        String spec = specs.getOrDefault(unqualified(regionName), specs.getOrDefault("default", DEFAULT_SPEC));
+        return new CaffeineStorageAccess(Caffeine.from(spec).build());
+    }
+
+    private String unqualified(String regionName) {
+        String prefix = getOptions().getCacheRegionPrefix();
+        return prefix != null && regionName.startsWith(prefix + ".")
+                ? regionName.substring(prefix.length() + 1)
+                : regionName;
+    }
+}
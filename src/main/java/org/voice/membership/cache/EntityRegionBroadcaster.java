@@ -0,0 +1,92 @@
+package org.voice.membership.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Writes inserts, updates and deletes of entities held in the Hibernate
+ * second-level cache (membership plans, benefits, landing page content) to
+ * the {@link InvalidationLog}, and applies other nodes' entries to this
+ * node's regions.
+ * Hibernate keeps this node's regions current itself; other nodes drop the
+ * entity and their cached query results, which may list it.
+ * Entries are logged under {@code entity:<entity name>} with the id as key,
+ * in the transaction that flushes the change.
+ */
+@Slf4j
+public class EntityRegionBroadcaster
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String PREFIX = "entity:";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final InvalidationLog invalidationLog;
+
+    public EntityRegionBroadcaster(SessionFactoryImplementor sessionFactory, InvalidationLog invalidationLog) {
+        this.sessionFactory = sessionFactory;
+        this.invalidationLog = invalidationLog;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Applies an entry logged by another node to this node's regions.
+     *
+     * @param cacheName the logged name, {@code entity:<entity name>}
+     * @param key       the id as logged, or null to drop every entity of
+     *                  that type
+     */
+    public void evictLocally(String cacheName, String key, String keyType) {
+        String entityName = cacheName.substring(PREFIX.length());
+        if (sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName) == null) {
+            return;
+        }
+        Object id = key != null ? BroadcastingCacheManager.decode(key, keyType) : null;
+        if (id == null) {
+            sessionFactory.getCache().evictEntityData(entityName);
+        } else {
+            sessionFactory.getCache().evictEntityData(entityName, id);
+        }
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        String keyType = BroadcastingCacheManager.keyType(id);
+        try {
+            invalidationLog.append(PREFIX + persister.getEntityName(), keyType != null ? id.toString() : null,
+                    keyType);
+        } catch (DataAccessException e) {
+            // Other nodes keep the entity until it expires
+            log.warn("Could not log change to {} for other nodes", persister.getEntityName(), e);
+        }
+    }
+}
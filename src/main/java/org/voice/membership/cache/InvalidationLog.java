@@ -0,0 +1,121 @@
+package org.voice.membership.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * The {@code cache_invalidations} table: an append-only log of cache
+ * entries evicted on some node, read by every other node in sequence order.
+ * Appends join the caller's transaction, so other nodes only see an entry
+ * once the write that caused it has committed.
+ */
+public class InvalidationLog {
+
+    private static final String APPEND = "INSERT INTO cache_invalidations "
+            + "(cache_name, cache_key, key_type, origin, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT = "SELECT seq, cache_name, cache_key, key_type, origin, created_at "
+            + "FROM cache_invalidations ";
+
+    private static final String MAX_SEQ = "SELECT COALESCE(MAX(seq), 0) FROM cache_invalidations";
+
+    private static final String MIN_SEQ = "SELECT COALESCE(MIN(seq), 0) FROM cache_invalidations";
+
+    private static final String LAST_SEQ_BEFORE = "SELECT COALESCE(MAX(seq), 0) FROM cache_invalidations "
+            + "WHERE seq <= ? AND created_at < ?";
+
+    private static final String DELETE_RANGE = "DELETE FROM cache_invalidations WHERE seq >= ? AND seq <= ?";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final RowMapper<Entry> ENTRY = (rs, rowNum) -> new Entry(rs.getLong("seq"),
+            rs.getString("cache_name"), rs.getString("cache_key"), rs.getString("key_type"),
+            rs.getString("origin"), rs.getTimestamp("created_at", Calendar.getInstance(UTC)).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final String origin;
+
+    /**
+     * @param origin identifies this node; entries it appended are skipped
+     *               when it reads the log
+     */
+    public InvalidationLog(JdbcTemplate jdbcTemplate, String origin) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.origin = origin;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Records that {@code key} was evicted from {@code cacheName}; a null key
+     * means the whole cache was cleared.
+     */
+    public void append(String cacheName, String key, String keyType) {
+        jdbcTemplate.update(APPEND, cacheName, key, keyType, origin, utc(Instant.now()));
+    }
+
+    /**
+     * Entries after {@code afterSeq} in sequence order, at most {@code limit}.
+     */
+    public List<Entry> readAfter(long afterSeq, int limit) {
+        return jdbcTemplate.query(SELECT + "WHERE seq > ? ORDER BY seq LIMIT " + limit, ENTRY, afterSeq);
+    }
+
+    /**
+     * Entries with the given sequence numbers, for numbers skipped by an
+     * earlier read because their transaction had not committed yet.
+     */
+    public List<Entry> read(Collection<Long> seqs) {
+        return namedParameterJdbcTemplate.query(SELECT + "WHERE seq IN (:seqs) ORDER BY seq",
+                new MapSqlParameterSource("seqs", seqs), ENTRY);
+    }
+
+    public long maxSeq() {
+        return jdbcTemplate.queryForObject(MAX_SEQ, Long.class);
+    }
+
+    /**
+     * Deletes entries created before {@code cutoff} and not after
+     * {@code upToSeq}, walking the primary key in ranges of {@code batchSize}.
+     *
+     * @return number of entries deleted
+     */
+    public int prune(long upToSeq, Instant cutoff, int batchSize) {
+        long last = jdbcTemplate.queryForObject(LAST_SEQ_BEFORE, Long.class, upToSeq, utc(cutoff));
+        long from = jdbcTemplate.queryForObject(MIN_SEQ, Long.class);
+        int deleted = 0;
+        while (from > 0 && from <= last) {
+            long to = Math.min(from + batchSize - 1, last);
+            deleted += jdbcTemplate.update(DELETE_RANGE, from, to);
+            from = to + 1;
+        }
+        return deleted;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * One logged eviction.
+     *
+     * @param key     the evicted key as text, or null if the cache was cleared
+     * @param keyType how to turn {@code key} back into the cache's key type
+     */
+    public record Entry(long seq, String cacheName, String key, String keyType, String origin, Instant createdAt) {
+    }
+}
@@ -9,7 +9,7 @@ import org.voice.membership.entities.Role;
 import org.voice.membership.entities.User;
 import org.voice.membership.repositories.UserRepository;
 
-import java.util.Date;
+import java.time.Instant;
 
 @Slf4j
 @Component
@@ -41,7 +41,7 @@ public class AdminUserInitializer implements CommandLineRunner {
                     .address("N/A")
                     .postalCode("N/A")
                     .role(Role.ADMIN.name())
-                    .creation(new Date())
+                    .creation(Instant.now())
                     .build();
 
             userRepository.save(admin);
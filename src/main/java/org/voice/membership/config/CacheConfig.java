@@ -0,0 +1,83 @@
+package org.voice.membership.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+import org.voice.membership.cache.BroadcastingCacheManager;
+import org.voice.membership.cache.CacheInvalidationPoller;
+import org.voice.membership.cache.EntityRegionBroadcaster;
+import org.voice.membership.cache.InvalidationLog;
+import org.voice.membership.scheduling.LeaseLock;
+import org.voice.membership.services.LookupService;
+
+import java.time.Duration;
+
+/**
+ * Enables Spring's cache annotations. Caches are Caffeine-backed and
+ * configured under {@code spring.cache} in application.yaml.
+ * Each node keeps its own copies; evictions, and changes to entities in the
+ * Hibernate second-level cache, are shared through the
+ * {@code cache_invalidations} table, tuned under
+ * {@code app.cache.invalidation}.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public InvalidationLog invalidationLog(JdbcTemplate jdbcTemplate, LeaseLock leaseLock) {
+        // Same node id as the scheduling leases
+        return new InvalidationLog(jdbcTemplate, leaseLock.getOwner());
+    }
+
+    @Bean
+    public BroadcastingCacheManager cacheManager(CacheProperties cacheProperties, InvalidationLog invalidationLog) {
+        CaffeineCacheManager local = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            local.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            local.setCacheNames(cacheProperties.getCacheNames());
+        }
+        // Dictionary values do not change, so they are kept until they fall out by size
+        local.registerCustomCache(LookupService.CACHE_NAME,
+                Caffeine.newBuilder().maximumSize(LookupService.MAX_CACHED_VALUES).build());
+        return new BroadcastingCacheManager(local, invalidationLog);
+    }
+
+    @Bean
+    public EntityRegionBroadcaster entityRegionBroadcaster(EntityManagerFactory entityManagerFactory,
+            InvalidationLog invalidationLog) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityRegionBroadcaster broadcaster = new EntityRegionBroadcaster(sessionFactory, invalidationLog);
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_INSERT, broadcaster);
+        listeners.appendListeners(EventType.POST_UPDATE, broadcaster);
+        listeners.appendListeners(EventType.POST_DELETE, broadcaster);
+        return broadcaster;
+    }
+
+    @Bean
+    public CacheInvalidationPoller cacheInvalidationPoller(InvalidationLog invalidationLog,
+            BroadcastingCacheManager cacheManager, EntityRegionBroadcaster entityRegionBroadcaster,
+            LeaseLock leaseLock,
+            @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${app.cache.invalidation.gap-timeout:1m}") Duration gapTimeout,
+            @Value("${app.cache.invalidation.retention:1h}") Duration retention) {
+        return new CacheInvalidationPoller(invalidationLog, cacheManager, entityRegionBroadcaster, leaseLock,
+                batchSize, gapTimeout, retention);
+    }
+}
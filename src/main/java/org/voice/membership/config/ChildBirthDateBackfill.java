@@ -0,0 +1,59 @@
+package org.voice.membership.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.scheduling.LeaseLock;
+import org.voice.membership.util.Ages;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * One-off backfill for children recorded before ages were derived from the
+ * date of birth. Rows that only have an age get an estimated date of birth,
+ * one bulk UPDATE per distinct age. Once every row has a date of birth this
+ * finds nothing to do, so it is safe to leave in place.
+ * It runs under a lease held for a day, so nodes starting together or
+ * restarting within that day skip it.
+ */
+@Slf4j
+@Component
+@Order(4)
+public class ChildBirthDateBackfill implements CommandLineRunner {
+
+    private static final String LEASE = "child-birth-date-backfill";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+    private static final Duration RUN_AT_MOST_EVERY = Duration.ofDays(1);
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Override
+    public void run(String... args) {
+        leaseLock.runExclusively(LEASE, LEASE_TTL, RUN_AT_MOST_EVERY, () -> {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Estimated a date of birth for {} children from their recorded age", updated);
+            }
+        });
+    }
+
+    /**
+     * @return number of children updated
+     */
+    public int backfill() {
+        LocalDate today = LocalDate.now();
+        int updated = 0;
+        for (Integer age : childRepository.findAgesWithoutDateOfBirth()) {
+            updated += childRepository.setMissingDateOfBirth(age, Ages.estimateDateOfBirth(age, today));
+        }
+        return updated;
+    }
+}
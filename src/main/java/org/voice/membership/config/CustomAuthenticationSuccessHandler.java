@@ -6,12 +6,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
+import org.voice.membership.security.MemberUserDetails;
 import org.voice.membership.services.AccountLockoutService;
+import org.voice.membership.services.ProfileCacheWarmer;
+import org.voice.membership.services.UserService;
 import java.io.IOException;
 
 /**
- * Custom authentication success handler that resets failed login attempts
- * and redirects users based on their role.
+ * Custom authentication success handler that moves archived members back,
+ * resets failed login attempts and redirects users based on their role. Members' profile views are
+ * prefetched in the background.
  */
 @Component
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
@@ -19,10 +23,19 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
     @Autowired
     private AccountLockoutService accountLockoutService;
 
+    @Autowired
+    private ProfileCacheWarmer profileCacheWarmer;
+
+    @Autowired
+    private UserService userService;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
             Authentication authentication) throws IOException {
 
+        // The password matched the archived row; bring the member back before any page loads them
+        userService.restoreIfArchived(authentication);
+
         // Reset failed login attempts on successful login
         String username = authentication.getName();
         accountLockoutService.resetFailedAttempts(username);
@@ -34,6 +47,10 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
         if (isAdmin) {
             response.sendRedirect("/admin/dashboard");
         } else {
+            // Build the dashboard in the background while the browser follows the redirect
+            if (authentication.getPrincipal() instanceof MemberUserDetails member) {
+                profileCacheWarmer.warm(member.getId());
+            }
             response.sendRedirect("/profile");
         }
     }
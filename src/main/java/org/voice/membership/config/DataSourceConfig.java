@@ -0,0 +1,98 @@
+package org.voice.membership.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.voice.membership.datasource.ReportingWorkloadFilter;
+import org.voice.membership.datasource.WorkloadRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits database access across connection pools: the primary pool for
+ * member traffic and a small pool for admin reporting, so a heavy export
+ * cannot take the connections checkout needs. The reporting pool reads from
+ * a replica when one is configured. Read-only member transactions get a
+ * replica pool of their own only if {@code app.datasource.replica.member-reads}
+ * is set, since a member could then miss their own latest change.
+ * The primary pool uses the usual {@code spring.datasource} settings; the
+ * others are configured under {@code app.datasource}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public WorkloadRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment,
+            @Value("${app.datasource.replica.url:}") String replicaUrl,
+            @Value("${app.datasource.replica.username:}") String replicaUsername,
+            @Value("${app.datasource.replica.password:}") String replicaPassword,
+            @Value("${app.datasource.replica.member-reads:false}") boolean memberReadsOnReplica,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${app.datasource.reporting.maximum-pool-size:3}") int reportingPoolSize,
+            @Value("${app.datasource.reporting.connection-timeout-ms:30000}") long reportingConnectionTimeoutMs,
+            @Value("${app.datasource.register-mbeans:true}") boolean registerMbeans) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setRegisterMbeans(registerMbeans);
+
+        boolean hasReplica = StringUtils.hasText(replicaUrl);
+        HikariDataSource replica = null;
+        HikariDataSource reporting;
+        if (hasReplica) {
+            String username = StringUtils.hasText(replicaUsername) ? replicaUsername : properties.determineUsername();
+            String password = StringUtils.hasText(replicaPassword) ? replicaPassword : properties.determinePassword();
+            if (memberReadsOnReplica) {
+                replica = pool("replica", properties, replicaUrl, username, password, registerMbeans);
+                replica.setMaximumPoolSize(replicaPoolSize);
+                replica.setReadOnly(true);
+            }
+            reporting = pool("reporting", properties, replicaUrl, username, password, registerMbeans);
+            reporting.setReadOnly(true);
+        } else {
+            reporting = pool("reporting", properties, properties.determineUrl(), properties.determineUsername(),
+                    properties.determinePassword(), registerMbeans);
+        }
+        reporting.setMaximumPoolSize(reportingPoolSize);
+        reporting.setConnectionTimeout(reportingConnectionTimeoutMs);
+
+        return new WorkloadRoutingDataSource(primary, replica, reporting, hasReplica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReportingWorkloadFilter> reportingWorkloadFilter() {
+        FilterRegistrationBean<ReportingWorkloadFilter> registration =
+                new FilterRegistrationBean<>(new ReportingWorkloadFilter());
+        registration.addUrlPatterns("/admin/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static HikariDataSource pool(String name, DataSourceProperties properties, String url,
+            String username, String password, boolean registerMbeans) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setRegisterMbeans(registerMbeans);
+        return pool;
+    }
+}
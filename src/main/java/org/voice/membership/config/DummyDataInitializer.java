@@ -17,11 +17,11 @@ import org.voice.membership.repositories.CartRepository;
 import org.voice.membership.repositories.ChildRepository;
 import org.voice.membership.repositories.MembershipRepository;
 import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.util.DateFormats;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 
 @Slf4j
@@ -121,7 +121,7 @@ public class DummyDataInitializer implements CommandLineRunner {
             String postalCode,
             String chapterLocation,
             Membership membership,
-            Date createdDate,
+            LocalDate createdDate,
             List<Child> children) {
         if (userRepository.findByEmail(email) != null) {
             log.info("Demo user already exists. Skipping demo data bootstrap for {}", email);
@@ -140,7 +140,7 @@ public class DummyDataInitializer implements CommandLineRunner {
             .province(province)
             .postalCode(postalCode)
             .role(Role.USER.name())
-            .creation(createdDate)
+            .creation(DateFormats.startOfDay(createdDate))
             .membership(membership)
             .membershipStartDate(createdDate)
             .membershipExpiryDate(daysFromNow(275))
@@ -228,15 +228,11 @@ public class DummyDataInitializer implements CommandLineRunner {
         return membershipRepository.save(freeMembership);
     }
 
-    private Date daysAgo(int days) {
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_YEAR, -days);
-        return cal.getTime();
+    private LocalDate daysAgo(int days) {
+        return LocalDate.now().minusDays(days);
     }
 
-    private Date daysFromNow(int days) {
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_YEAR, days);
-        return cal.getTime();
+    private LocalDate daysFromNow(int days) {
+        return LocalDate.now().plusDays(days);
     }
 }
@@ -0,0 +1,50 @@
+package org.voice.membership.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.voice.membership.events.ActivityFeed;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.DomainEventSubscriber;
+import org.voice.membership.events.MemberActivityLog;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+
+/**
+ * Connects every {@link DomainEventSubscriber} bean to the domain event bus.
+ * The per-subscriber queue size and how long publishers wait for room are
+ * set under {@code app.events}; the admin
+ * live activity feed is tuned under {@code app.activity-feed}.
+ */
+@Configuration
+public class EventConfig {
+
+    @Bean
+    public DomainEventBus domainEventBus(ObjectProvider<DomainEventSubscriber> subscribers,
+            @Value("${app.events.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.events.offer-timeout:5s}") Duration offerTimeout) {
+        return new DomainEventBus(subscribers.orderedStream().toList(), queueCapacity, offerTimeout);
+    }
+
+    @Bean
+    public MemberActivityLog memberActivityLog(JdbcTemplate jdbcTemplate) {
+        return new MemberActivityLog(jdbcTemplate);
+    }
+
+    @Bean
+    public ActivityFeed activityFeed(ObjectMapper objectMapper, MemberActivityLog memberActivityLog,
+            LeaseLock leaseLock,
+            @Value("${app.activity-feed.capacity:500}") int capacity,
+            @Value("${app.activity-feed.emitter-timeout:30m}") Duration emitterTimeout,
+            @Value("${app.activity-feed.stall-timeout:1m}") Duration stallTimeout,
+            @Value("${app.activity-feed.max-clients:50}") int maxClients,
+            @Value("${app.activity-feed.gap-timeout:1m}") Duration gapTimeout,
+            @Value("${app.activity-feed.retention:1d}") Duration retention) {
+        return new ActivityFeed(objectMapper, memberActivityLog, leaseLock, capacity, emitterTimeout, stallTimeout,
+                maxClients, gapTimeout, retention);
+    }
+}
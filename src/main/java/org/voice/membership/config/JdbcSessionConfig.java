@@ -0,0 +1,34 @@
+package org.voice.membership.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.voice.membership.scheduling.LeaseLock;
+import org.voice.membership.session.JdbcSessionRepository;
+import org.voice.membership.session.SessionAttributeCodec;
+
+import java.time.Duration;
+
+/**
+ * Replaces the container's in-memory HTTP sessions with the shared
+ * {@code http_sessions} table so nodes can run without sticky sessions.
+ * Active only with the {@code jdbc-session} profile.
+ */
+@Configuration
+@Profile("jdbc-session")
+@EnableSpringHttpSession
+public class JdbcSessionConfig {
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate, LeaseLock leaseLock,
+            @Value("${server.servlet.session.timeout:30m}") Duration sessionTimeout,
+            @Value("${app.session.flush-interval-ms:10000}") long flushIntervalMs,
+            @Value("${app.scheduling.lease-ttl:5m}") Duration leaseTtl,
+            @Value("${app.scheduling.min-hold:1m}") Duration leaseMinHold) {
+        return new JdbcSessionRepository(jdbcTemplate, new SessionAttributeCodec(),
+                sessionTimeout, Duration.ofMillis(flushIntervalMs), leaseLock, leaseTtl, leaseMinHold);
+    }
+}
@@ -0,0 +1,31 @@
+package org.voice.membership.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.voice.membership.services.LookupService;
+
+/**
+ * Seeds the lookup dictionaries and migrates free-text provinces, hearing
+ * loss types, equipment and chapters written before they existed.
+ * Safe to re-run: only rows without a code are touched.
+ */
+@Slf4j
+@Component
+@Order(5)
+public class LookupDataInitializer implements CommandLineRunner {
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Override
+    public void run(String... args) {
+        lookupService.seed();
+        int updated = lookupService.migrateExistingValues();
+        if (updated > 0) {
+            log.info("Canonicalized lookup values on {} rows", updated);
+        }
+    }
+}
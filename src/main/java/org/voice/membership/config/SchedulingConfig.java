@@ -0,0 +1,41 @@
+package org.voice.membership.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the retention purge and the JDBC
+ * session flush. The scheduler pool is sized under
+ * {@code spring.task.scheduling} in application.yaml.
+ * Jobs that must run once per cluster rather than once per node take a
+ * {@link LeaseLock} lease before doing any work.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public LeaseLock leaseLock(JdbcTemplate jdbcTemplate, @Value("${app.scheduling.node-id:}") String nodeId) {
+        return new LeaseLock(jdbcTemplate, nodeId.isBlank() ? defaultNodeId() : nodeId);
+    }
+
+    /**
+     * Host name and process id, which tells apart several nodes on one host.
+     */
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,29 @@
+package org.voice.membership.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Brings the schema up to date from {@code db/migration} before JPA starts,
+ * so Hibernate never sees a table that is missing a column or index.
+ * Disabled with {@code app.schema.migrations.enabled=false}, as the tests do
+ * when they let Hibernate create the schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.schema.migrations.enabled", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(DataSource dataSource) {
+        return new SchemaMigrator(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrator() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator");
+    }
+}
@@ -0,0 +1,184 @@
+package org.voice.membership.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned SQL scripts in {@code db/migration} in order and
+ * records each one in the {@code schema_version} table.
+ * Scripts follow the {@code V<version>__<description>.sql} naming used by
+ * Flyway. A database that already has the tables from the ddl-auto days but
+ * no history is recorded at version 1 without running the baseline script.
+ * On MySQL the whole run holds a named {@code GET_LOCK} lock, so nodes
+ * starting together migrate one after another; the later ones then find
+ * nothing left to apply. The lock belongs to the connection, so it is not
+ * released by the implicit commits DDL statements cause, and a node that
+ * dies drops it with its connection.
+ */
+@Slf4j
+public class SchemaMigrator {
+
+    static final String LOCATION = "classpath:db/migration/V*__*.sql";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version INT NOT NULL PRIMARY KEY, description VARCHAR(200) NOT NULL, "
+            + "checksum BIGINT, installed_on TIMESTAMP NOT NULL)";
+
+    private static final String INSERT_HISTORY = "INSERT INTO schema_version "
+            + "(version, description, checksum, installed_on) VALUES (?, ?, ?, ?)";
+
+    private static final String LOCK_NAME = "schema_migration";
+
+    /** How long a node waits for another node's migration to finish. */
+    private static final int LOCK_TIMEOUT_SECONDS = 600;
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Runs every script newer than the recorded version, on one connection
+     * that holds the migration lock throughout.
+     *
+     * @return number of scripts applied
+     */
+    public int migrate() {
+        List<Migration> migrations = findMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            SingleConnectionDataSource single = new SingleConnectionDataSource(connection, true);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(single);
+            boolean locked = lock(connection, jdbcTemplate);
+            try {
+                return applyPending(migrations, single, jdbcTemplate);
+            } finally {
+                if (locked) {
+                    jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not connect to migrate the schema", e);
+        }
+    }
+
+    /**
+     * Takes the named lock on MySQL and MariaDB, waiting for a migration
+     * running on another node. Other databases, such as H2 in the tests,
+     * run without one.
+     *
+     * @return true if a lock was taken
+     */
+    private static boolean lock(Connection connection, JdbcTemplate jdbcTemplate) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        if (!"MySQL".equalsIgnoreCase(product) && !"MariaDB".equalsIgnoreCase(product)) {
+            return false;
+        }
+        Integer acquired = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, LOCK_NAME,
+                LOCK_TIMEOUT_SECONDS);
+        if (acquired == null || acquired != 1) {
+            throw new IllegalStateException("Timed out waiting for another node to finish migrating the schema");
+        }
+        return true;
+    }
+
+    private int applyPending(List<Migration> migrations, DataSource connection, JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute(CREATE_HISTORY);
+        Map<Integer, Long> applied = appliedChecksums(jdbcTemplate);
+
+        if (applied.isEmpty() && hasExistingSchema(jdbcTemplate)) {
+            log.info("Existing schema without migration history; recording it as version 1");
+            record(jdbcTemplate, 1, "<< baseline >>", null);
+            applied = appliedChecksums(jdbcTemplate);
+        }
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            if (applied.containsKey(migration.version())) {
+                Long checksum = applied.get(migration.version());
+                if (checksum != null && checksum != migration.checksum()) {
+                    throw new IllegalStateException("Migration V" + migration.version()
+                            + " was changed after it was applied");
+                }
+                continue;
+            }
+            log.info("Applying schema migration V{}: {}", migration.version(), migration.description());
+            new ResourceDatabasePopulator(migration.script()).execute(connection);
+            record(jdbcTemplate, migration.version(), migration.description(), migration.checksum());
+            count++;
+        }
+        return count;
+    }
+
+    private List<Migration> findMigrations() {
+        try {
+            List<Migration> migrations = new ArrayList<>();
+            for (Resource script : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                Matcher name = SCRIPT_NAME.matcher(script.getFilename());
+                if (name.matches()) {
+                    migrations.add(new Migration(Integer.parseInt(name.group(1)),
+                            name.group(2).replace('_', ' '), checksum(script), script));
+                }
+            }
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            return migrations;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read schema migrations", e);
+        }
+    }
+
+    private static Map<Integer, Long> appliedChecksums(JdbcTemplate jdbcTemplate) {
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_version", rs -> {
+            applied.put(rs.getInt("version"), rs.getObject("checksum", Long.class));
+        });
+        return applied;
+    }
+
+    private static boolean hasExistingSchema(JdbcTemplate jdbcTemplate) {
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    private static void record(JdbcTemplate jdbcTemplate, int version, String description, Long checksum) {
+        jdbcTemplate.update(INSERT_HISTORY, version, description, checksum, Timestamp.from(Instant.now()));
+    }
+
+    private static long checksum(Resource script) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = script.getInputStream()) {
+            crc.update(in.readAllBytes());
+        }
+        return crc.getValue();
+    }
+
+    private record Migration(int version, String description, long checksum, Resource script) {
+    }
+}
@@ -1,20 +1,27 @@
 package org.voice.membership.config;
 
 import org.voice.membership.entities.Role;
+import org.voice.membership.services.ApiTokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
-import org.springframework.security.core.Authentication;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+
 @Configuration
 @EnableWebSecurity
 /**
@@ -24,13 +31,69 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class SecurityConfig {
 
+        /**
+         * Read-only pages that anonymous visitors hit most often. They are served
+         * by their own chain that never creates an HTTP session.
+         */
+        private static final String[] PUBLIC_READ_ONLY_PATHS = {
+                        "/", "/login", "/register", "/forgot-password", "/reset-password",
+                        "/register/verification-sent", "/register/verify", "/register/resend-verification",
+                        "/css/**", "/js/**", "/images/**", "/api/landing-page/**", "/error" };
+
         @Autowired
         private CustomAuthenticationFailureHandler authenticationFailureHandler;
 
         @Autowired
         private CustomAuthenticationSuccessHandler authenticationSuccessHandler;
 
+        @Autowired
+        private ApiTokenService apiTokenService;
+
+        /**
+         * Member JSON API for mobile and partner clients. Requests carry a bearer
+         * access token that is verified locally, so there is no session, no
+         * CSRF token and no shared state between API nodes.
+         */
         @Bean
+        @Order(0)
+        public SecurityFilterChain apiFilterChain(HttpSecurity httpSecurity) throws Exception {
+                return httpSecurity
+                                .securityMatcher("/api/v1/**")
+                                .authorizeHttpRequests(auth -> auth
+                                                .requestMatchers("/api/v1/auth/**").permitAll()
+                                                .requestMatchers("/api/v1/me/**")
+                                                .hasAnyRole(Role.USER.name(), Role.ADMIN.name())
+                                                .anyRequest().authenticated())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                                .csrf(csrf -> csrf.disable())
+                                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                                                .decoder(apiTokenService.accessTokenDecoder())
+                                                .jwtAuthenticationConverter(apiTokenAuthenticationConverter())))
+                                .build();
+        }
+
+        /**
+         * Serves anonymous GETs without touching the HTTP session. An existing
+         * session is still read so logged-in members keep seeing their state,
+         * but a new one is only created once a form is posted or the user logs in.
+         */
+        @Bean
+        @Order(1)
+        public SecurityFilterChain publicPagesFilterChain(HttpSecurity httpSecurity) throws Exception {
+                return httpSecurity
+                                .securityMatcher(publicReadOnlyRequests())
+                                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.NEVER))
+                                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                                .csrf(csrf -> csrf.csrfTokenRepository(csrfTokenRepository()))
+                                .build();
+        }
+
+        @Bean
+        @Order(2)
         public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
                 return httpSecurity
                                 .authorizeHttpRequests(auth -> auth
@@ -67,13 +130,43 @@ public class SecurityConfig {
                                                 .rememberMeCookieName("VOICE_REMEMBER_ME")
                                                 .useSecureCookie(false) // Set to true in production with HTTPS
                                                 .alwaysRemember(false))
-                                .csrf(csrf -> csrf.ignoringRequestMatchers("/logout"))
+                                // The success handler always redirects by role, so a saved request
+                                // would only cost an anonymous session per protected-page hit.
+                                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                                .csrf(csrf -> csrf
+                                                .csrfTokenRepository(csrfTokenRepository())
+                                                .ignoringRequestMatchers("/logout"))
                                 .build();
         }
 
+        /**
+         * Keeps CSRF tokens in a cookie instead of the session. Tokens are still
+         * generated lazily, only when a rendered form asks for one.
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public CsrfTokenRepository csrfTokenRepository() {
+                return new CookieCsrfTokenRepository();
+        }
+
+        /**
+         * Maps the roles claim of an API access token to the same ROLE_ authorities
+         * the web login grants.
+         */
+        private static JwtAuthenticationConverter apiTokenAuthenticationConverter() {
+                JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+                authorities.setAuthoritiesClaimName(ApiTokenService.CLAIM_ROLES);
+                authorities.setAuthorityPrefix("ROLE_");
+                JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+                converter.setJwtGrantedAuthoritiesConverter(authorities);
+                return converter;
+        }
+
+        private static RequestMatcher publicReadOnlyRequests() {
+                return new OrRequestMatcher(Arrays.stream(PUBLIC_READ_ONLY_PATHS)
+                                .flatMap(path -> Arrays.stream(new RequestMatcher[] {
+                                                new AntPathRequestMatcher(path, HttpMethod.GET.name()),
+                                                new AntPathRequestMatcher(path, HttpMethod.HEAD.name()) }))
+                                .toList());
         }
 
 }
@@ -0,0 +1,64 @@
+package org.voice.membership.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.voice.membership.repositories.WebhookEndpointRepository;
+import org.voice.membership.scheduling.LeaseLock;
+import org.voice.membership.webhooks.WebhookDispatcher;
+import org.voice.membership.webhooks.WebhookOutbox;
+import org.voice.membership.webhooks.WebhookSubscriber;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Outbound webhooks: member events are queued in {@code webhook_deliveries}
+ * and sent by the {@link WebhookDispatcher}, tuned under
+ * {@code app.webhooks}. Endpoints are managed at {@code /admin/webhooks}.
+ */
+@Configuration
+public class WebhookConfig {
+
+    @Bean
+    public WebhookOutbox webhookOutbox(JdbcTemplate jdbcTemplate) {
+        return new WebhookOutbox(jdbcTemplate);
+    }
+
+    @Bean
+    public WebhookSubscriber webhookSubscriber(WebhookOutbox webhookOutbox,
+            WebhookEndpointRepository endpointRepository, ObjectMapper objectMapper) {
+        return new WebhookSubscriber(webhookOutbox, endpointRepository, objectMapper);
+    }
+
+    /**
+     * One client for every endpoint, so connections are reused. HTTP/2 is
+     * tried first; endpoints that only speak HTTP/1.1 get that instead.
+     */
+    @Bean
+    public HttpClient webhookHttpClient(@Value("${app.webhooks.connect-timeout:5s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    public WebhookDispatcher webhookDispatcher(WebhookOutbox webhookOutbox,
+            WebhookEndpointRepository endpointRepository, LeaseLock leaseLock, HttpClient webhookHttpClient,
+            @Value("${app.webhooks.enabled:true}") boolean enabled,
+            @Value("${app.webhooks.claim-limit:500}") int claimLimit,
+            @Value("${app.webhooks.batch-size:50}") int batchSize,
+            @Value("${app.webhooks.max-attempts:10}") int maxAttempts,
+            @Value("${app.webhooks.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.webhooks.max-backoff:6h}") Duration maxBackoff,
+            @Value("${app.webhooks.request-timeout:10s}") Duration requestTimeout,
+            @Value("${app.webhooks.retention:7d}") Duration retention) {
+        return new WebhookDispatcher(webhookOutbox, endpointRepository, leaseLock, webhookHttpClient,
+                new WebhookDispatcher.Settings(enabled, claimLimit, batchSize, maxAttempts, initialBackoff,
+                        maxBackoff, requestTimeout, retention));
+    }
+}
@@ -1,35 +1,79 @@
 package org.voice.membership.controllers;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.voice.membership.cache.CacheInvalidationPoller;
+import org.voice.membership.datasource.WorkloadRoutingDataSource;
+import org.voice.membership.dtos.BulkMemberRequest;
+import org.voice.membership.dtos.MemberImportReport;
+import org.voice.membership.dtos.MemberSyncReport;
+import org.voice.membership.dtos.WebhookEndpointRequest;
+import org.voice.membership.entities.ArchivedUser;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupSuggestion;
+import org.voice.membership.entities.LookupValue;
 import org.voice.membership.entities.User;
 import org.voice.membership.entities.Child;
+import org.voice.membership.entities.WebhookEndpoint;
+import org.voice.membership.events.ActivityFeed;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.repositories.ArchivedUserRepository;
+import org.voice.membership.repositories.ChildRepository;
 import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.ArchiveService;
+import org.voice.membership.services.BulkMemberService;
+import org.voice.membership.services.LookupService;
+import org.voice.membership.services.MailQueue;
+import org.voice.membership.services.MemberImportService;
+import org.voice.membership.services.MemberSyncService;
+import org.voice.membership.services.RetentionService;
+import org.voice.membership.services.WebhookService;
+import org.voice.membership.util.Ages;
+import org.voice.membership.util.DateFormats;
+import org.voice.membership.webhooks.WebhookDispatcher;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Controller
@@ -40,10 +84,65 @@ import java.util.stream.Collectors;
  */
 public class AdminController {
 
+    /** Open upper bound for registration date ranges with no end date. */
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T00:00:00Z");
+
+    /** Open lower bound for child birth dates when no maximum age is given. */
+    private static final LocalDate EARLIEST_BIRTH_DATE = LocalDate.of(1900, 1, 1);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationPoller cacheInvalidationPoller;
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private MemberSyncService memberSyncService;
+
+    @Autowired
+    private BulkMemberService bulkMemberService;
+
+    @Autowired
+    private MailQueue mailQueue;
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+
+    @Autowired
+    private ActivityFeed activityFeed;
+
     @GetMapping("/dashboard")
+    @Transactional(readOnly = true)
     public String adminDashboard(
             Model model,
             Principal principal,
@@ -55,7 +154,8 @@ public class AdminController {
             @RequestParam(required = false) String hearingLossType,
             @RequestParam(required = false) String equipmentType,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String adminEmail = auth.getName();
@@ -72,14 +172,54 @@ public class AdminController {
         model.addAttribute("adminName", adminName);
         model.addAttribute("adminEmail", adminEmail);
 
-        List<User> allUsers = userRepository.findAll();
+        // Registration date, child age and the dictionary-backed filters are
+        // answered by indexed queries; address and city are substring
+        // matches on the users they return.
+        Instant registeredFrom = parseDayStart(startDate, 0);
+        Instant registeredBefore = parseDayStart(endDate, 1);
+        boolean anyDate = registeredFrom != null || registeredBefore != null;
+        Instant from = registeredFrom != null ? registeredFrom : Instant.EPOCH;
+        Instant before = registeredBefore != null ? registeredBefore : END_OF_TIME;
+        List<User> candidates = anyDate
+                ? userRepository.findRegisteredBetween(from, before)
+                : userRepository.findAllWithChildren();
+
+        // Archived members are read from their own tables only when asked
+        // for; their ids never collide with live ones.
+        Set<Integer> archivedIds = Set.of();
+        if (includeArchived) {
+            List<User> archived = (anyDate
+                    ? archivedUserRepository.findRegisteredBetween(from, before)
+                    : archivedUserRepository.findAllWithChildren())
+                    .stream().map(ArchivedUser::toUser).toList();
+            archivedIds = archived.stream().map(User::getId).collect(Collectors.toSet());
+            candidates = new ArrayList<>(candidates);
+            candidates.addAll(archived);
+        }
+
+        Set<Integer> matchingIds = findParentIdsByChildAge(minAge, maxAge, includeArchived);
+        matchingIds = restrict(matchingIds, findIdsByLookup(LookupCategory.PROVINCE, province,
+                union(userRepository::findIdsByProvinceId, archivedUserRepository::findIdsByProvinceId,
+                        includeArchived)));
+        matchingIds = restrict(matchingIds, findIdsByLookup(LookupCategory.HEARING_LOSS_TYPE, hearingLossType,
+                union(childRepository::findParentIdsByHearingLossTypeId,
+                        archivedUserRepository::findParentIdsByHearingLossTypeId, includeArchived)));
+        matchingIds = restrict(matchingIds, findIdsByLookup(LookupCategory.EQUIPMENT_TYPE, equipmentType,
+                union(childRepository::findParentIdsByEquipmentTypeId,
+                        archivedUserRepository::findParentIdsByEquipmentTypeId, includeArchived)));
+        if (matchingIds != null) {
+            Set<Integer> ids = matchingIds;
+            candidates = candidates.stream()
+                    .filter(user -> ids.contains(user.getId()))
+                    .collect(Collectors.toList());
+        }
 
-        List<User> filteredUsers = filterUsers(allUsers, address, city, province, minAge, maxAge,
-                hearingLossType, equipmentType,
-                startDate, endDate);
+        List<User> filteredUsers = filterUsers(candidates, address, city);
 
-        model.addAttribute("totalUsers", allUsers.size());
+        model.addAttribute("totalUsers", userRepository.count());
         model.addAttribute("users", filteredUsers);
+        model.addAttribute("archivedIds", archivedIds);
+        model.addAttribute("includeArchived", includeArchived);
 
         model.addAttribute("address", address);
         model.addAttribute("city", city);
@@ -94,18 +234,10 @@ public class AdminController {
         return "admin";
     }
 
-    private List<User> filterUsers(List<User> users, String address, String city, String province,
-            Integer minAge, Integer maxAge,
-            String hearingLossType, String equipmentType,
-            String startDate, String endDate) {
+    private List<User> filterUsers(List<User> users, String address, String city) {
         return users.stream()
                 .filter(user -> filterByAddress(user, address))
                 .filter(user -> filterByCity(user, city))
-                .filter(user -> filterByProvince(user, province))
-                .filter(user -> filterByChildAge(user, minAge, maxAge))
-                .filter(user -> filterByHearingLossType(user, hearingLossType))
-                .filter(user -> filterByEquipmentType(user, equipmentType))
-                .filter(user -> filterByRegistrationDate(user, startDate, endDate))
                 .collect(Collectors.toList());
     }
 
@@ -129,104 +261,98 @@ public class AdminController {
         return userCity != null && userCity.toLowerCase().contains(city.toLowerCase());
     }
 
-    private boolean filterByProvince(User user, String province) {
-        if (province == null || province.trim().isEmpty()) {
-            return true;
-        }
-        String userProvince = user.getProvince();
-        return userProvince != null && userProvince.toLowerCase().contains(province.toLowerCase());
-    }
-
-    private boolean filterByChildAge(User user, Integer minAge, Integer maxAge) {
+    /**
+     * Turns the child age filter into a birth-date range and returns the ids
+     * of users with a child born in it, or null when no age filter is set.
+     */
+    private Set<Integer> findParentIdsByChildAge(Integer minAge, Integer maxAge, boolean includeArchived) {
         if (minAge == null && maxAge == null) {
-            return true;
+            return null;
         }
-
-        List<Child> children = user.getChildren();
-        if (children == null || children.isEmpty()) {
-            return false;
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = maxAge != null ? Ages.earliestBirthDate(maxAge, today) : EARLIEST_BIRTH_DATE;
+        LocalDate latest = minAge != null ? Ages.latestBirthDate(minAge, today) : today;
+        Set<Integer> ids = new HashSet<>(childRepository.findParentIdsBornBetween(earliest, latest));
+        if (includeArchived) {
+            ids.addAll(archivedUserRepository.findParentIdsBornBetween(earliest, latest));
         }
-
-        return children.stream().anyMatch(child -> {
-            Integer age = child.getAge();
-            if (age == null) {
-                return false;
-            }
-            boolean meetsMin = minAge == null || age >= minAge;
-            boolean meetsMax = maxAge == null || age <= maxAge;
-            return meetsMin && meetsMax;
-        });
+        return ids;
     }
 
-    private boolean filterByHearingLossType(User user, String hearingLossType) {
-        if (hearingLossType == null || hearingLossType.trim().isEmpty()) {
-            return true;
+    /**
+     * Combines an id query on the live tables with the same query on the
+     * archive, when archived members are included.
+     */
+    private static Function<Short, List<Integer>> union(Function<Short, List<Integer>> live,
+            Function<Short, List<Integer>> archived, boolean includeArchived) {
+        if (!includeArchived) {
+            return live;
         }
+        return code -> {
+            List<Integer> ids = new ArrayList<>(live.apply(code));
+            ids.addAll(archived.apply(code));
+            return ids;
+        };
+    }
 
-        List<Child> children = user.getChildren();
-        if (children == null || children.isEmpty()) {
-            return false;
+    /**
+     * Resolves a filter value to its dictionary code and returns the matching
+     * user ids, or null when the filter is not set. Values not in the
+     * dictionary match nobody.
+     */
+    private Set<Integer> findIdsByLookup(LookupCategory category, String value,
+            Function<Short, List<Integer>> idsByCode) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
         }
-
-        return children.stream().anyMatch(child -> hearingLossType.equalsIgnoreCase(child.getHearingLossType()));
+        LookupValue lookupValue = lookupService.find(category, value);
+        return lookupValue != null ? Set.copyOf(idsByCode.apply(lookupValue.getId())) : Set.of();
     }
 
-    private boolean filterByEquipmentType(User user, String equipmentType) {
-        if (equipmentType == null || equipmentType.trim().isEmpty()) {
-            return true;
+    /**
+     * Intersects two optional id sets, where null means unrestricted.
+     */
+    private static Set<Integer> restrict(Set<Integer> current, Set<Integer> ids) {
+        if (ids == null) {
+            return current;
         }
-
-        List<Child> children = user.getChildren();
-        if (children == null || children.isEmpty()) {
-            return false;
+        if (current == null) {
+            return ids;
         }
-
-        return children.stream().anyMatch(child -> equipmentType.equalsIgnoreCase(child.getEquipmentType()));
+        Set<Integer> both = new HashSet<>(current);
+        both.retainAll(ids);
+        return both;
     }
 
-    private boolean filterByRegistrationDate(User user, String startDateStr, String endDateStr) {
-        if ((startDateStr == null || startDateStr.trim().isEmpty()) &&
-                (endDateStr == null || endDateStr.trim().isEmpty())) {
-            return true;
-        }
-
-        Date userCreation = user.getCreation();
-        if (userCreation == null) {
-            return false;
+    /**
+     * Parses an ISO date from the filter form and returns the start of that
+     * day, shifted by {@code plusDays}. Blank or malformed values mean no bound.
+     */
+    private Instant parseDayStart(String value, int plusDays) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
         }
-
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
         try {
-            if (startDateStr != null && !startDateStr.trim().isEmpty()) {
-                Date startDate = dateFormat.parse(startDateStr);
-                if (userCreation.before(startDate)) {
-                    return false;
-                }
-            }
-
-            if (endDateStr != null && !endDateStr.trim().isEmpty()) {
-                Date endDate = dateFormat.parse(endDateStr);
-                endDate = new Date(endDate.getTime() + 24 * 60 * 60 * 1000);
-                if (userCreation.after(endDate)) {
-                    return false;
-                }
-            }
-
-            return true;
-        } catch (ParseException e) {
-            return true;
+            return DateFormats.startOfDay(DateFormats.parseIsoDate(value.trim()).plusDays(plusDays));
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
 
     @GetMapping("/user/{id}")
     @ResponseBody
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getUserDetails(@PathVariable Integer id) {
-        User user = userRepository.findById(id).orElse(null);
+        User user = userRepository.findDetailsById(id).orElse(null);
 
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
+        if (user.getMembership() != null) {
+            // The response is written after the transaction ends; load the
+            // plan's lazy text now
+            user.getMembership().getDescription();
+        }
 
         Map<String, Object> userDetails = new HashMap<>();
         userDetails.put("id", user.getId());
@@ -245,9 +371,251 @@ public class AdminController {
         return ResponseEntity.ok(userDetails);
     }
 
+    /**
+     * Usage of each database connection pool; a pool with waiting threads is
+     * saturated.
+     */
+    @GetMapping("/pool-stats")
+    @ResponseBody
+    public Map<String, Map<String, Object>> getPoolStats() {
+        return routingDataSource.poolStats();
+    }
+
+    /**
+     * Second-level cache hit ratios, overall and per region.
+     */
+    @GetMapping("/cache-stats")
+    @ResponseBody
+    public Map<String, Object> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("secondLevel", hitRatio(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        stats.put("naturalId", hitRatio(statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount()));
+        stats.put("query", hitRatio(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                regions.put(region, hitRatio(regionStats.getHitCount(), regionStats.getMissCount(),
+                        regionStats.getPutCount()));
+            }
+        }
+        stats.put("regions", regions);
+        stats.put("invalidation", cacheInvalidationPoller.getStats());
+        return stats;
+    }
+
+    /**
+     * Rows removed by the retention purge since startup.
+     */
+    @GetMapping("/retention-stats")
+    @ResponseBody
+    public Map<String, Object> getRetentionStats() {
+        return retentionService.getStats();
+    }
+
+    /**
+     * Members archived and restored since startup.
+     */
+    @GetMapping("/archive-stats")
+    @ResponseBody
+    public Map<String, Object> getArchiveStats() {
+        return archiveService.getStats();
+    }
+
+    /**
+     * Member event subscribers' queues and delivery counts since startup.
+     */
+    @GetMapping("/event-stats")
+    @ResponseBody
+    public Map<String, Object> getEventStats() {
+        return domainEventBus.getStats();
+    }
+
+    /**
+     * Live stream of registrations, verifications, upgrades and cancellations
+     * for the dashboard. Browsers reconnect with {@code Last-Event-ID} and
+     * are sent what they missed.
+     */
+    @GetMapping(path = "/activity", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamActivity(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return activityFeed.subscribe(lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/activity-stats")
+    @ResponseBody
+    public Map<String, Object> getActivityStats() {
+        return activityFeed.getStats();
+    }
+
+    /**
+     * Webhook requests and deliveries since startup, and the outbox by status.
+     */
+    @GetMapping("/webhook-stats")
+    @ResponseBody
+    public Map<String, Object> getWebhookStats() {
+        return webhookDispatcher.getStats();
+    }
+
+    @GetMapping("/webhooks")
+    @ResponseBody
+    public List<WebhookEndpoint> getWebhooks() {
+        return webhookService.getEndpoints();
+    }
+
+    /**
+     * Registers an endpoint for member events. The response carries the
+     * signing secret, which is not shown again.
+     */
+    @PostMapping("/webhooks")
+    @ResponseBody
+    public ResponseEntity<?> registerWebhook(@RequestBody WebhookEndpointRequest request) {
+        try {
+            WebhookEndpoint endpoint = webhookService.register(request);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("endpoint", endpoint);
+            body.put("secret", endpoint.getSecret());
+            return ResponseEntity.status(HttpStatus.CREATED).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/webhooks/{id}/active")
+    @ResponseBody
+    public ResponseEntity<Void> setWebhookActive(@PathVariable Integer id,
+            @RequestParam("active") boolean active) {
+        return webhookService.setActive(id, active) ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Dictionary values typed during registration that await review.
+     */
+    @GetMapping("/lookup-suggestions")
+    @ResponseBody
+    public List<LookupSuggestion> getLookupSuggestions() {
+        return lookupService.getSuggestions();
+    }
+
+    @PostMapping("/lookup-suggestions/{id}/approve")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> approveLookupSuggestion(@PathVariable Integer id) {
+        int updated = lookupService.approveSuggestion(id);
+        return updated >= 0 ? ResponseEntity.ok(Map.of("updated", updated))
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/lookup-suggestions/{id}/dismiss")
+    @ResponseBody
+    public ResponseEntity<Void> dismissLookupSuggestion(@PathVariable Integer id) {
+        return lookupService.dismissSuggestion(id) ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static Map<String, Object> hitRatio(long hits, long misses, long puts) {
+        Map<String, Object> ratio = new LinkedHashMap<>();
+        ratio.put("hits", hits);
+        ratio.put("misses", misses);
+        ratio.put("puts", puts);
+        ratio.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        return ratio;
+    }
+
+    /**
+     * Imports members from a workbook laid out like the export, or from a
+     * Users CSV file plus an optional Children CSV file.
+     */
+    @PostMapping("/import-members")
+    @ResponseBody
+    public ResponseEntity<MemberImportReport> importMembers(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "children", required = false) MultipartFile children) throws IOException {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        if (name.endsWith(".xlsx")) {
+            try (InputStream in = file.getInputStream()) {
+                return ResponseEntity.ok(memberImportService.importWorkbook(in));
+            }
+        }
+        if (name.endsWith(".csv")) {
+            try (InputStream users = file.getInputStream();
+                    InputStream childRows = children != null && !children.isEmpty()
+                            ? children.getInputStream()
+                            : null) {
+                return ResponseEntity.ok(memberImportService.importCsv(users, childRows));
+            }
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Applies the edits made to a workbook from the export. With
+     * {@code dryRun} the changes are listed but not written.
+     */
+    @PostMapping("/sync-members")
+    @ResponseBody
+    public MemberSyncReport syncMembers(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return memberSyncService.sync(in, dryRun);
+        }
+    }
+
+    /**
+     * Starts a bulk operation (unlock, extend, switch-plan or
+     * resend-verification) on the selected members and returns its job;
+     * poll the job for progress.
+     */
+    @PostMapping("/bulk/{operation}")
+    @ResponseBody
+    public ResponseEntity<?> startBulkOperation(@PathVariable String operation,
+            @RequestBody BulkMemberRequest request) {
+        BulkMemberService.Operation op;
+        try {
+            op = BulkMemberService.Operation.valueOf(operation.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.accepted().body(bulkMemberService.start(op, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/bulk/jobs")
+    @ResponseBody
+    public List<BulkMemberService.Job> getBulkJobs() {
+        return bulkMemberService.getJobs();
+    }
+
+    @GetMapping("/bulk/jobs/{id}")
+    @ResponseBody
+    public ResponseEntity<BulkMemberService.Job> getBulkJob(@PathVariable String id) {
+        BulkMemberService.Job job = bulkMemberService.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Queued emails by status.
+     */
+    @GetMapping("/mail-stats")
+    @ResponseBody
+    public Map<String, Long> getMailStats() {
+        return mailQueue.countByStatus();
+    }
+
     @GetMapping("/export-users")
+    @Transactional(readOnly = true)
     public void exportUsersToExcel(HttpServletResponse response) throws IOException {
-        List<User> users = userRepository.findAll();
+        List<User> users = userRepository.findAllWithChildrenForExport();
 
         Workbook workbook = new XSSFWorkbook();
 
@@ -262,7 +630,7 @@ public class AdminController {
         Row userHeaderRow = usersSheet.createRow(0);
         String[] userColumns = { "ID", "First Name", "Middle Name", "Last Name", "Email", "Phone", "Address",
                 "City", "Province", "Postal Code", "Role", "Registration Date",
-                "Number of Children" };
+                "Number of Children", MemberSyncService.ROW_HASH_COLUMN };
 
         for (int i = 0; i < userColumns.length; i++) {
             Cell cell = userHeaderRow.createCell(i);
@@ -271,7 +639,6 @@ public class AdminController {
         }
 
         int userRowNum = 1;
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
         for (User user : users) {
             Row row = usersSheet.createRow(userRowNum++);
@@ -287,8 +654,11 @@ public class AdminController {
             row.createCell(8).setCellValue(user.getProvince() != null ? user.getProvince() : "");
             row.createCell(9).setCellValue(user.getPostalCode() != null ? user.getPostalCode() : "");
             row.createCell(10).setCellValue(user.getRole() != null ? user.getRole() : "USER");
-            row.createCell(11).setCellValue(user.getCreation() != null ? dateFormat.format(user.getCreation()) : "");
+            row.createCell(11).setCellValue(user.getCreation() != null
+                    ? DateFormats.format(user.getCreation(), DateFormats.DATE_TIME)
+                    : "");
             row.createCell(12).setCellValue(user.getChildren() != null ? user.getChildren().size() : 0);
+            row.createCell(13).setCellValue(MemberSyncService.userHash(user));
         }
 
         for (int i = 0; i < userColumns.length; i++) {
@@ -302,7 +672,7 @@ public class AdminController {
         String[] childColumns = { "Child ID", "Child Name", "Age", "Date of Birth", "Hearing Loss Type",
                 "Equipment Type", "Chapter Location", "Siblings Names",
                 "Parent ID", "Parent First Name", "Parent Middle Name", "Parent Last Name", "Parent Email",
-                "Parent Phone" };
+                "Parent Phone", MemberSyncService.ROW_HASH_COLUMN };
 
         for (int i = 0; i < childColumns.length; i++) {
             Cell cell = childHeaderRow.createCell(i);
@@ -311,7 +681,6 @@ public class AdminController {
         }
 
         int childRowNum = 1;
-        SimpleDateFormat dobFormat = new SimpleDateFormat("yyyy-MM-dd");
 
         for (User user : users) {
             List<Child> children = user.getChildren();
@@ -323,7 +692,7 @@ public class AdminController {
                     row.createCell(1).setCellValue(child.getName() != null ? child.getName() : "");
                     row.createCell(2).setCellValue(child.getAge() != null ? child.getAge() : 0);
                     row.createCell(3).setCellValue(
-                            child.getDateOfBirth() != null ? dobFormat.format(child.getDateOfBirth()) : "");
+                            child.getDateOfBirth() != null ? DateFormats.ISO_DATE.format(child.getDateOfBirth()) : "");
                     row.createCell(4)
                             .setCellValue(child.getHearingLossType() != null ? child.getHearingLossType() : "");
                     row.createCell(5).setCellValue(child.getEquipmentType() != null ? child.getEquipmentType() : "");
@@ -336,6 +705,7 @@ public class AdminController {
                     row.createCell(11).setCellValue(user.getLastName() != null ? user.getLastName() : "");
                     row.createCell(12).setCellValue(user.getEmail() != null ? user.getEmail() : "");
                     row.createCell(13).setCellValue(user.getPhone() != null ? user.getPhone() : "");
+                    row.createCell(14).setCellValue(MemberSyncService.childHash(child));
                 }
             }
         }
@@ -0,0 +1,99 @@
+package org.voice.membership.controllers;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.voice.membership.dtos.ApiLoginRequest;
+import org.voice.membership.dtos.ApiRefreshRequest;
+import org.voice.membership.dtos.ApiTokenResponse;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.AccountLockoutService;
+import org.voice.membership.security.MemberUserDetails;
+import org.voice.membership.services.ApiTokenService;
+import org.voice.membership.services.UserService;
+
+/**
+ * Issues tokens for the member JSON API.
+ * Login applies the same credential, verification and lockout checks as the
+ * web login form; refresh re-reads the user so a deleted, unverified or
+ * locked account cannot keep minting access tokens.
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+public class ApiAuthController {
+
+    @Autowired
+    private AuthenticationConfiguration authenticationConfiguration;
+
+    @Autowired
+    private ApiTokenService apiTokenService;
+
+    @Autowired
+    private AccountLockoutService accountLockoutService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/token")
+    public ApiTokenResponse login(@Valid @RequestBody ApiLoginRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager().authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getEmail(), request.getPassword()));
+        } catch (BadCredentialsException e) {
+            accountLockoutService.recordFailedLoginAttempt(request.getEmail());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        } catch (AuthenticationServiceException e) {
+            // The user store failed, not the credentials; ApiExceptionHandler answers 503
+            throw e;
+        } catch (AuthenticationException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+
+        userService.restoreIfArchived(authentication);
+        accountLockoutService.resetFailedAttempts(authentication.getName());
+        MemberUserDetails member = (MemberUserDetails) authentication.getPrincipal();
+        // Deleted between the password check and here
+        User user = userRepository.findById(member.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password"));
+        return apiTokenService.issueTokens(user);
+    }
+
+    @PostMapping("/refresh")
+    public ApiTokenResponse refresh(@Valid @RequestBody ApiRefreshRequest request) {
+        Integer userId = apiTokenService.verifyRefreshToken(request.getRefreshToken());
+        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
+        if (user == null || !user.isEmailVerified() || accountLockoutService.isAccountLocked(user.getEmail())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        return apiTokenService.issueTokens(user);
+    }
+
+    /**
+     * The manager behind the web login form. Building it only fails if the
+     * security configuration is broken, which is a server error.
+     */
+    private AuthenticationManager authenticationManager() {
+        try {
+            return authenticationConfiguration.getAuthenticationManager();
+        } catch (Exception e) {
+            throw new IllegalStateException("Authentication manager is not available", e);
+        }
+    }
+}
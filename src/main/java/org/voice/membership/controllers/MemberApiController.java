@@ -0,0 +1,148 @@
+package org.voice.membership.controllers;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.dtos.ChildResponse;
+import org.voice.membership.dtos.MemberProfileResponse;
+import org.voice.membership.dtos.MembershipStatusResponse;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.ApiTokenService;
+import org.voice.membership.services.ChildService;
+import org.voice.membership.util.DateFormats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JSON API for the signed-in member, authenticated by bearer access tokens.
+ * The caller's user id is taken from the token, so requests never need a
+ * session; only the data being returned or changed is read from the database.
+ */
+@RestController
+@RequestMapping("/api/v1/me")
+public class MemberApiController {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private ChildService childService;
+
+    @GetMapping
+    public MemberProfileResponse profile(@AuthenticationPrincipal Jwt jwt) {
+        User user = currentUser(jwt);
+        return MemberProfileResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .middleName(user.getMiddleName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .phone(user.getPhone())
+                .address(user.getAddress())
+                .city(user.getCity())
+                .province(user.getProvince())
+                .postalCode(user.getPostalCode())
+                .role(user.getRole())
+                .build();
+    }
+
+    @GetMapping("/membership")
+    public MembershipStatusResponse membership(@AuthenticationPrincipal Jwt jwt) {
+        User user = userRepository.findWithMembershipById(userId(jwt))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        Membership membership = user.getMembership();
+        if (membership == null) {
+            return MembershipStatusResponse.builder().status("None").build();
+        }
+
+        LocalDate expiryDate = null;
+        if (!membership.isFree()) {
+            expiryDate = user.getMembershipExpiryDate();
+            if (expiryDate == null && user.getCreation() != null) {
+                expiryDate = DateFormats.toLocalDate(user.getCreation()).plusYears(1);
+            }
+        }
+        return MembershipStatusResponse.builder()
+                .status(membership.isFree() ? "Free" : "Paid")
+                .membershipId(membership.getId())
+                .name(membership.getName())
+                .startDate(user.getMembershipStartDate())
+                .expiryDate(expiryDate)
+                .build();
+    }
+
+    @GetMapping("/children")
+    public List<ChildResponse> children(@AuthenticationPrincipal Jwt jwt) {
+        return childRepository.findByUserId(userId(jwt)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @PostMapping("/children")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ChildResponse addChild(@AuthenticationPrincipal Jwt jwt, @Valid @RequestBody ChildDto childDto) {
+        return childService.addChild(userId(jwt), childDto)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    @PutMapping("/children/{id}")
+    public ChildResponse updateChild(@AuthenticationPrincipal Jwt jwt, @PathVariable("id") int id,
+            @Valid @RequestBody ChildDto childDto) {
+        return childService.updateChild(userId(jwt), id, childDto)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Child not found"));
+    }
+
+    @DeleteMapping("/children/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteChild(@AuthenticationPrincipal Jwt jwt, @PathVariable("id") int id) {
+        if (!childService.deleteChild(userId(jwt), id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Child not found");
+        }
+    }
+
+    private int userId(Jwt jwt) {
+        Number userId = jwt.getClaim(ApiTokenService.CLAIM_USER_ID);
+        return userId.intValue();
+    }
+
+    private User currentUser(Jwt jwt) {
+        return userRepository.findById(userId(jwt))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    private ChildResponse toResponse(Child child) {
+        return ChildResponse.builder()
+                .id(child.getId())
+                .name(child.getName())
+                .age(child.getAge())
+                .dateOfBirth(child.getDateOfBirth())
+                .hearingLossType(child.getHearingLossType())
+                .equipmentType(child.getEquipmentType())
+                .siblingsNames(child.getSiblingsNames())
+                .chapterLocation(child.getChapterLocation())
+                .build();
+    }
+}
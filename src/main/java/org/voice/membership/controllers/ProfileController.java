@@ -1,15 +1,24 @@
 package org.voice.membership.controllers;
 
+import org.voice.membership.dtos.ProfileView;
 import org.voice.membership.dtos.UpdateUserRequest;
 import org.voice.membership.entities.User;
 import org.voice.membership.entities.Membership;
 import org.voice.membership.entities.Child;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.repositories.ArchivedUserRepository;
 import org.voice.membership.repositories.UserRepository;
-import org.voice.membership.repositories.MembershipRepository;
 import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.services.LandingPageService;
+import org.voice.membership.services.LookupService;
+import org.voice.membership.services.ProfileViewService;
 import org.voice.membership.services.UserService;
+import org.voice.membership.security.CurrentUser;
+import org.voice.membership.util.DateFormats;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -24,11 +33,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
-import java.security.Principal;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.List;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.Optional;
 
 /**
@@ -46,78 +52,46 @@ import java.util.Optional;
 public class ProfileController {
 
     private final UserRepository userRepository;
-    private final MembershipRepository membershipRepository;
+    private final ArchivedUserRepository archivedUserRepository;
     private final ChildRepository childRepository;
     private final UserService userService;
     private final org.voice.membership.services.MembershipCancellationService membershipCancellationService;
+    private final ProfileViewService profileViewService;
+    private final LookupService lookupService;
+    private final LandingPageService landingPageService;
+    private final DomainEventBus domainEventBus;
 
     @GetMapping
-    public String profile(Model model, Principal principal) {
+    public String profile(Model model, @CurrentUser Integer userId) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
-
-            if (user == null) {
+            ProfileView view = userId != null ? profileViewService.getProfileView(userId) : null;
+            if (view == null) {
                 return "redirect:/login";
             }
 
-            model.addAttribute("user", user);
-            String fullName = user.getFirstName() +
-                    (user.getMiddleName() != null && !user.getMiddleName().isEmpty() ? " " + user.getMiddleName() : "")
-                    +
-                    " " + user.getLastName();
-            model.addAttribute("userName", fullName);
-            model.addAttribute("userEmail", user.getEmail());
-            model.addAttribute("userPhone", user.getPhone() != null ? user.getPhone() : "Not provided");
-            model.addAttribute("userAddress", user.getAddress() != null ? user.getAddress() : "Not provided");
-            model.addAttribute("userCity", user.getCity() != null ? user.getCity() : "Not provided");
-            model.addAttribute("userProvince", user.getProvince() != null ? user.getProvince() : "Not provided");
-            model.addAttribute("userPostalCode", user.getPostalCode() != null ? user.getPostalCode() : "Not provided");
-
-            if (user.getCreation() != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMMM dd, yyyy");
-                model.addAttribute("memberSince", dateFormat.format(user.getCreation()));
-            } else {
-                model.addAttribute("memberSince", "Recently");
-            }
-
-            List<Child> children = childRepository.findByUser(user);
-            model.addAttribute("children", children);
-
-            Membership membership = user.getMembership();
-            if (membership != null) {
-                model.addAttribute("membershipType", membership.getName());
-                model.addAttribute("hasPaidMembership", !membership.isFree());
-
-                if (!membership.isFree()) {
-                    model.addAttribute("membershipStatus", "Paid");
-
-                    if (user.getCreation() != null) {
-                        Calendar cal = Calendar.getInstance();
-                        cal.setTime(user.getCreation());
-                        cal.add(Calendar.YEAR, 1);
-                        Date expiryDate = cal.getTime();
-                        SimpleDateFormat dateFormat = new SimpleDateFormat("MMMM dd, yyyy");
-                        model.addAttribute("membershipExpiryDate", dateFormat.format(expiryDate));
-                    } else {
-                        model.addAttribute("membershipExpiryDate", "-");
-                    }
-
-                    model.addAttribute("showBenefits", false);
-                } else {
-                    model.addAttribute("membershipStatus", "Free");
-                    model.addAttribute("membershipExpiryDate", "No expiry");
-                    model.addAttribute("showBenefits", true);
-                    model.addAttribute("membershipBenefit",
-                            membership.getDescription() != null ? membership.getDescription() : "-");
-                }
-            } else {
-                model.addAttribute("membershipStatus", "None");
-                model.addAttribute("membershipType", "No Membership Yet");
-                model.addAttribute("membershipExpiryDate", "-");
-                model.addAttribute("showBenefits", false);
+            model.addAttribute("user", view);
+            model.addAttribute("userName", view.getUserName());
+            model.addAttribute("userEmail", view.getEmail());
+            model.addAttribute("userPhone", view.getPhone());
+            model.addAttribute("userAddress", view.getAddress());
+            model.addAttribute("userCity", view.getCity());
+            model.addAttribute("userProvince", view.getProvince());
+            model.addAttribute("userPostalCode", view.getPostalCode());
+            model.addAttribute("memberSince", view.getMemberSince());
+            model.addAttribute("children", view.getChildren());
+            model.addAttribute("membershipType", view.getMembershipType());
+            model.addAttribute("membershipStatus", view.getMembershipStatus());
+            model.addAttribute("membershipExpiryDate", view.getMembershipExpiryDate());
+            model.addAttribute("hasPaidMembership", view.isHasPaidMembership());
+            model.addAttribute("showBenefits", view.isShowBenefits());
+            if (view.getMembershipBenefit() != null) {
+                model.addAttribute("membershipBenefit", view.getMembershipBenefit());
             }
 
             return "profile";
+        } catch (EmptyResultDataAccessException e) {
+            // Signed in as a user that has since been deleted
+            return "redirect:/login";
         } catch (Exception e) {
             e.printStackTrace();
             return "redirect:/login";
@@ -125,8 +99,7 @@ public class ProfileController {
     }
 
     @GetMapping("/edit")
-    public String editProfile(Model model, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName());
+    public String editProfile(Model model, @CurrentUser User user) {
         UpdateUserRequest updateUserRequest = UpdateUserRequest.builder()
                 .firstName(user.getFirstName())
                 .middleName(user.getMiddleName())
@@ -146,9 +119,8 @@ public class ProfileController {
     public String editProfile(Model model,
             @Valid @ModelAttribute("updateUserRequest") UpdateUserRequest updateUserRequest,
             BindingResult bindingResult,
-            Principal principal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (bindingResult.hasErrors()) {
                 model.addAttribute("updateUserRequest", updateUserRequest);
                 return "editProfile";
@@ -165,7 +137,9 @@ public class ProfileController {
             String newEmail = updateUserRequest.getEmail();
             if (newEmail != null && !newEmail.equalsIgnoreCase(oldEmail)) {
                 List<User> matches = userRepository.findAllByEmailIgnoreCase(newEmail);
-                boolean conflict = matches.stream().anyMatch(u -> u.getId() != user.getId());
+                boolean conflict = matches.stream().anyMatch(u -> u.getId() != user.getId())
+                        || !archivedUserRepository.findArchivedEmails(List.of(User.normalizeEmail(newEmail)))
+                                .isEmpty();
                 if (conflict) {
                     bindingResult.addError(new FieldError(
                             "updateUserRequest", "email", "email already exist. choose different"));
@@ -179,7 +153,9 @@ public class ProfileController {
             user.setCity(updateUserRequest.getCity());
             user.setProvince(updateUserRequest.getProvince());
             user.setPostalCode(updateUserRequest.getPostalCode());
+            lookupService.applyExistingTo(user);
             userRepository.save(user);
+            profileViewService.evict(user.getId());
             if (newEmail != null && !newEmail.equalsIgnoreCase(oldEmail)) {
                 try {
                     UserDetails newDetails = userService.loadUserByUsername(newEmail);
@@ -197,9 +173,8 @@ public class ProfileController {
     }
 
     @GetMapping("/child/add")
-    public String addChild(Model model, Principal principal) {
+    public String addChild(Model model, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -221,9 +196,8 @@ public class ProfileController {
             @RequestParam(value = "equipmentType", required = false) String equipmentType,
             @RequestParam(value = "siblingsNames", required = false) String siblingsNames,
             @RequestParam(value = "chapterLocation", required = false) String chapterLocation,
-            Principal principal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -240,13 +214,16 @@ public class ProfileController {
 
             if (dateOfBirthStr != null && !dateOfBirthStr.isEmpty()) {
                 try {
-                    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                    child.setDateOfBirth(sdf.parse(dateOfBirthStr));
+                    child.setDateOfBirth(DateFormats.parseIsoDate(dateOfBirthStr));
                 } catch (Exception e) {
                 }
             }
 
-            childRepository.save(child);
+            lookupService.applyExistingTo(child);
+            child = childRepository.save(child);
+            profileViewService.evict(user.getId());
+            domainEventBus.publish(new ChildChanged(user.getId(), child.getId(), ChildChanged.Change.ADDED,
+                    Instant.now()));
             return "redirect:/profile";
         } catch (Exception e) {
             e.printStackTrace();
@@ -255,9 +232,8 @@ public class ProfileController {
     }
 
     @GetMapping("/child/edit/{id}")
-    public String editChild(@PathVariable("id") int id, Model model, Principal principal) {
+    public String editChild(@PathVariable("id") int id, Model model, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -285,9 +261,8 @@ public class ProfileController {
             @RequestParam(value = "equipmentType", required = false) String equipmentType,
             @RequestParam(value = "siblingsNames", required = false) String siblingsNames,
             @RequestParam(value = "chapterLocation", required = false) String chapterLocation,
-            Principal principal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -307,13 +282,18 @@ public class ProfileController {
 
             if (dateOfBirthStr != null && !dateOfBirthStr.isEmpty()) {
                 try {
-                    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                    child.setDateOfBirth(sdf.parse(dateOfBirthStr));
+                    child.setDateOfBirth(DateFormats.parseIsoDate(dateOfBirthStr));
                 } catch (Exception e) {
                 }
+            } else if (age != null && !age.equals(child.getAge())) {
+                // Age changed without a date of birth; estimate it again from the new age
+                child.setDateOfBirth(null);
             }
 
+            lookupService.applyExistingTo(child);
             childRepository.save(child);
+            profileViewService.evict(user.getId());
+            domainEventBus.publish(new ChildChanged(user.getId(), id, ChildChanged.Change.UPDATED, Instant.now()));
             return "redirect:/profile";
         } catch (Exception e) {
 
@@ -323,9 +303,8 @@ public class ProfileController {
     }
 
     @PostMapping("/child/delete/{id}")
-    public String deleteChild(@PathVariable("id") int id, Principal principal) {
+    public String deleteChild(@PathVariable("id") int id, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -333,6 +312,9 @@ public class ProfileController {
             Optional<Child> childOpt = childRepository.findById(id);
             if (childOpt.isPresent() && childOpt.get().getUser().getId() == user.getId()) {
                 childRepository.delete(childOpt.get());
+                profileViewService.evict(user.getId());
+                domainEventBus.publish(new ChildChanged(user.getId(), id, ChildChanged.Change.REMOVED,
+                        Instant.now()));
             }
             return "redirect:/profile";
         } catch (Exception e) {
@@ -342,9 +324,8 @@ public class ProfileController {
     }
 
     @GetMapping("/upgrade-membership")
-    public String upgradeMembershipPage(Model model, Principal principal) {
+    public String upgradeMembershipPage(Model model, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -354,10 +335,11 @@ public class ProfileController {
                 return "redirect:/profile?error=not_eligible_for_upgrade";
             }
 
-            List<Membership> paidMemberships = membershipRepository.findByIsFree(false);
+            List<Membership> paidMemberships = landingPageService.getPaidMemberships();
 
             model.addAttribute("user", user);
-            model.addAttribute("currentMembership", membership);
+            model.addAttribute("currentMembership", landingPageService.getMembership(membership.getId())
+                    .orElse(membership));
             model.addAttribute("paidMemberships", paidMemberships);
             String fullName = user.getFirstName() +
                     (user.getMiddleName() != null && !user.getMiddleName().isEmpty() ? " " + user.getMiddleName() : "")
@@ -375,9 +357,8 @@ public class ProfileController {
     @PostMapping("/upgrade-membership/select")
     public String selectUpgradeMembership(@RequestParam("membershipId") Integer membershipId,
             Model model,
-            Principal principal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -387,7 +368,7 @@ public class ProfileController {
                 return "redirect:/profile?error=not_eligible_for_upgrade";
             }
 
-            Optional<Membership> paidMembershipOpt = membershipRepository.findById(membershipId);
+            Optional<Membership> paidMembershipOpt = landingPageService.getMembership(membershipId);
             if (paidMembershipOpt.isEmpty() || paidMembershipOpt.get().isFree()) {
                 return "redirect:/profile/upgrade-membership?error=invalid_membership";
             }
@@ -417,20 +398,19 @@ public class ProfileController {
      * Allows members to review their current membership before cancelling.
      */
     @GetMapping("/cancel-membership")
-    public String cancelMembershipPage(Model model, Principal principal) {
+    public String cancelMembershipPage(Model model, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
 
             // Check if user has a membership to cancel
-            if (!membershipCancellationService.canCancelMembership(user.getId())) {
+            if (!membershipCancellationService.canCancelMembership(user)) {
                 return "redirect:/profile?error=no_membership_to_cancel";
             }
 
             // Get current membership info
-            var membershipInfo = membershipCancellationService.getCurrentMembershipInfo(user.getId());
+            var membershipInfo = membershipCancellationService.getCurrentMembershipInfo(user);
 
             model.addAttribute("user", user);
             String fullName = user.getFirstName() +
@@ -452,9 +432,8 @@ public class ProfileController {
      * Cancels the user's membership and redirects to profile with confirmation.
      */
     @PostMapping("/cancel-membership")
-    public String processCancelMembership(Principal principal) {
+    public String processCancelMembership(@CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
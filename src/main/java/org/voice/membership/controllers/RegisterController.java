@@ -1,23 +1,37 @@
 package org.voice.membership.controllers;
 
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.voice.membership.dtos.*;
 import org.voice.membership.entities.*;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.EmailVerified;
+import org.voice.membership.events.MemberRegistered;
+import org.voice.membership.events.MembershipUpgraded;
 import org.voice.membership.repositories.*;
 import org.voice.membership.services.EmailSenderService;
-
-import java.security.Principal;
+import org.voice.membership.services.LandingPageService;
+import org.voice.membership.services.LookupService;
+import org.voice.membership.services.ProfileViewService;
+import org.voice.membership.services.RegistrationStateService;
+import org.voice.membership.security.CurrentUser;
+import org.voice.membership.util.DateFormats;
+
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,9 +46,15 @@ import java.util.UUID;
  */
 public class RegisterController {
 
+    private static final String STATE_TOO_LARGE = "These details are too long to carry through registration. "
+            + "Please shorten them or add fewer children.";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -59,9 +79,27 @@ public class RegisterController {
     @Autowired
     private VerificationTokenRepository verificationTokenRepository;
 
+    @Autowired
+    private RegistrationStateService registrationStateService;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private LandingPageService landingPageService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @GetMapping
-    public String showRegister(Model model, HttpSession session) {
-        session.removeAttribute("registrationData");
+    public String showRegister(Model model, HttpServletResponse response) {
+        registrationStateService.clear(response);
         model.addAttribute("registerDto", new RegisterDto());
         model.addAttribute("step", 1);
         model.addAttribute("totalSteps", 4);
@@ -72,7 +110,7 @@ public class RegisterController {
     public String handleStep1(@Valid @ModelAttribute("registerDto") RegisterDto registerDto,
             BindingResult bindingResult,
             Model model,
-            HttpSession session) {
+            HttpServletResponse response) {
         if (registerDto.getPassword() != null && registerDto.getConfirmPassword() != null
                 && !registerDto.getPassword().equals(registerDto.getConfirmPassword())) {
             bindingResult.addError(new FieldError("registerDto", "confirmPassword", "Passwords do not match"));
@@ -80,7 +118,8 @@ public class RegisterController {
 
         if (registerDto.getEmail() != null) {
             List<User> matches = userRepository.findAllByEmailIgnoreCase(registerDto.getEmail());
-            if (!matches.isEmpty()) {
+            if (!matches.isEmpty() || !archivedUserRepository.findArchivedEmails(
+                    List.of(User.normalizeEmail(registerDto.getEmail()))).isEmpty()) {
                 bindingResult.addError(new FieldError("registerDto", "email", "Email already exists"));
             }
         }
@@ -93,15 +132,25 @@ public class RegisterController {
         }
 
         MultiStepRegistrationDto registrationData = new MultiStepRegistrationDto();
+        registrationData.setPasswordHash(passwordEncoder.encode(registerDto.getPassword()));
+        registerDto.setPassword(null);
+        registerDto.setConfirmPassword(null);
         registrationData.setUserDetails(registerDto);
-        session.setAttribute("registrationData", registrationData);
+        if (!registrationStateService.write(response, registrationData)) {
+            model.addAttribute("registerDto", registerDto);
+            model.addAttribute("stateError", STATE_TOO_LARGE);
+            model.addAttribute("step", 1);
+            model.addAttribute("totalSteps", 4);
+            return "register";
+        }
 
         return "redirect:/register/step2";
     }
 
     @GetMapping("/step2")
-    public String showStep2(Model model, HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+    public String showStep2(@RequestParam(value = "error", required = false) String error,
+            Model model, HttpServletRequest request) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
         if (registrationData == null) {
             return "redirect:/register";
         }
@@ -111,7 +160,13 @@ public class RegisterController {
             registrationData.getChildren().add(new ChildDto());
         }
 
-        model.addAttribute("children", registrationData.getChildren());
+        return showStep2(registrationData.getChildren(), "too_large".equals(error) ? STATE_TOO_LARGE : null,
+                model);
+    }
+
+    private String showStep2(List<ChildDto> children, String error, Model model) {
+        model.addAttribute("children", children);
+        model.addAttribute("error", error);
         model.addAttribute("step", 2);
         model.addAttribute("totalSteps", 4);
         return "register-step2";
@@ -127,8 +182,8 @@ public class RegisterController {
             @RequestParam(value = "chapterLocation", required = false) List<String> chapterLocations,
             @RequestParam(value = "action", required = false) String action,
             Model model,
-            HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+            HttpServletRequest request, HttpServletResponse response) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
         if (registrationData == null) {
             return "redirect:/register";
         }
@@ -138,7 +193,10 @@ public class RegisterController {
                 registrationData.setChildren(new ArrayList<>());
             }
             registrationData.getChildren().add(new ChildDto());
-            session.setAttribute("registrationData", registrationData);
+            if (!registrationStateService.write(response, registrationData)) {
+                registrationData.getChildren().remove(registrationData.getChildren().size() - 1);
+                return showStep2(registrationData.getChildren(), STATE_TOO_LARGE, model);
+            }
             return "redirect:/register/step2";
         }
 
@@ -155,8 +213,7 @@ public class RegisterController {
                     if (childDobs != null && i < childDobs.size() && childDobs.get(i) != null
                             && !childDobs.get(i).isEmpty()) {
                         try {
-                            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd");
-                            child.setDateOfBirth(sdf.parse(childDobs.get(i)));
+                            child.setDateOfBirth(DateFormats.parseIsoDate(childDobs.get(i)));
                         } catch (Exception e) {
                         }
                     }
@@ -178,20 +235,22 @@ public class RegisterController {
         }
 
         registrationData.setChildren(children);
-        session.setAttribute("registrationData", registrationData);
+        if (!registrationStateService.write(response, registrationData)) {
+            return showStep2(children.isEmpty() ? List.of(new ChildDto()) : children, STATE_TOO_LARGE, model);
+        }
 
         return "redirect:/register/step3";
     }
 
     @GetMapping("/step3")
-    public String showStep3(Model model, HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+    public String showStep3(Model model, HttpServletRequest request) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
 
         if (registrationData == null) {
             return "redirect:/register";
         }
 
-        List<Membership> memberships = membershipRepository.findByActiveTrueOrderByDisplayOrderAsc();
+        List<Membership> memberships = landingPageService.getActiveMemberships();
         model.addAttribute("memberships", memberships);
         model.addAttribute("selectedMembershipId", registrationData.getSelectedMembershipId());
         model.addAttribute("lineSeparator", System.lineSeparator());
@@ -202,8 +261,8 @@ public class RegisterController {
 
     @PostMapping("/step3")
     public String handleStep3(@RequestParam("membershipId") Integer membershipId,
-            HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+            HttpServletRequest request, HttpServletResponse response) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
         if (registrationData == null) {
             return "redirect:/register";
         }
@@ -218,15 +277,17 @@ public class RegisterController {
 
         registrationData.setSelectedMembershipId(membershipId);
         registrationData.setCartMembershipId(membershipId);
-        session.setAttribute("registrationData", registrationData);
+        if (!registrationStateService.write(response, registrationData)) {
+            return "redirect:/register/step2?error=too_large";
+        }
 
         return "redirect:/register/step4";
     }
 
     @GetMapping("/step4")
     public String showStep4(@RequestParam(value = "error", required = false) String error,
-            Model model, HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+            Model model, HttpServletRequest request) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
 
         if (registrationData == null) {
             return "redirect:/register";
@@ -236,7 +297,7 @@ public class RegisterController {
             return "redirect:/register/step3";
         }
 
-        Optional<Membership> membershipOpt = membershipRepository.findById(registrationData.getCartMembershipId());
+        Optional<Membership> membershipOpt = landingPageService.getMembership(registrationData.getCartMembershipId());
         if (membershipOpt.isEmpty()) {
             return "redirect:/register/step3";
         }
@@ -254,10 +315,9 @@ public class RegisterController {
 
     @PostMapping("/step4")
     public String handleStep4(@RequestParam(value = "action", required = false) String action,
-            HttpSession session) {
+            HttpServletRequest request, HttpServletResponse response) {
         try {
-            MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session
-                    .getAttribute("registrationData");
+            MultiStepRegistrationDto registrationData = registrationStateService.read(request);
             if (registrationData == null) {
                 return "redirect:/register";
             }
@@ -265,7 +325,7 @@ public class RegisterController {
             if ("remove".equals(action)) {
                 registrationData.setCartMembershipId(null);
                 registrationData.setSelectedMembershipId(null);
-                session.setAttribute("registrationData", registrationData);
+                registrationStateService.write(response, registrationData);
                 return "redirect:/register/step3";
             }
 
@@ -281,7 +341,7 @@ public class RegisterController {
             Membership membership = membershipOpt.get();
 
             if (membership.isFree()) {
-                return completeRegistration(session);
+                return completeRegistration(registrationData, response);
             } else {
                 return "redirect:/register/checkout";
             }
@@ -292,8 +352,8 @@ public class RegisterController {
     }
 
     @GetMapping("/checkout")
-    public String showCheckout(Model model, HttpSession session) {
-        MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session.getAttribute("registrationData");
+    public String showCheckout(Model model, HttpServletRequest request, HttpServletResponse response) {
+        MultiStepRegistrationDto registrationData = registrationStateService.read(request);
         if (registrationData == null) {
             return "redirect:/register";
         }
@@ -309,7 +369,7 @@ public class RegisterController {
 
         Membership membership = membershipOpt.get();
         if (membership.isFree()) {
-            return completeRegistration(session);
+            return completeRegistration(registrationData, response);
         }
 
         model.addAttribute("membership", membership);
@@ -324,10 +384,9 @@ public class RegisterController {
             @RequestParam("expiryYear") String expiryYear,
             @RequestParam("cvv") String cvv,
             Model model,
-            HttpSession session) {
+            HttpServletRequest request, HttpServletResponse response) {
         try {
-            MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session
-                    .getAttribute("registrationData");
+            MultiStepRegistrationDto registrationData = registrationStateService.read(request);
             if (registrationData == null) {
                 return "redirect:/register";
             }
@@ -346,11 +405,10 @@ public class RegisterController {
                 }
                 return "checkout";
             }
-            return completeRegistration(session);
+            return completeRegistration(registrationData, response);
         } catch (Exception e) {
             e.printStackTrace();
-            MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session
-                    .getAttribute("registrationData");
+            MultiStepRegistrationDto registrationData = registrationStateService.read(request);
             if (registrationData != null) {
                 Optional<Membership> membershipOpt = membershipRepository
                         .findById(registrationData.getCartMembershipId());
@@ -364,138 +422,146 @@ public class RegisterController {
         }
     }
 
-    private String completeRegistration(HttpSession session) {
+    private String completeRegistration(MultiStepRegistrationDto registrationData, HttpServletResponse response) {
         try {
-            MultiStepRegistrationDto registrationData = (MultiStepRegistrationDto) session
-                    .getAttribute("registrationData");
-            if (registrationData == null || registrationData.getUserDetails() == null) {
+            if (registrationData == null || registrationData.getUserDetails() == null
+                    || registrationData.getPasswordHash() == null) {
                 return "redirect:/register";
             }
 
-            RegisterDto userDetails = registrationData.getUserDetails();
-
-            User user = User.builder()
-                    .firstName(userDetails.getFirstName())
-                    .middleName(userDetails.getMiddleName())
-                    .lastName(userDetails.getLastName())
-                    .email(userDetails.getEmail())
-                    .password(passwordEncoder.encode(userDetails.getPassword()))
-                    .phone(userDetails.getPhone())
-                    .address(userDetails.getAddress())
-                    .city(userDetails.getCity())
-                    .province(userDetails.getProvince())
-                    .postalCode(userDetails.getPostalCode())
-                    .role(Role.USER.name())
-                    .creation(new Date())
-                    .build();
-
-            if (registrationData.getSelectedMembershipId() != null) {
-                Optional<Membership> membershipOpt = membershipRepository
-                        .findById(registrationData.getSelectedMembershipId());
-                if (membershipOpt.isPresent()) {
-                    Membership membership = membershipOpt.get();
-                    user.setMembership(membership);
-
-                    if (!membership.isFree()) {
-                        Date now = new Date();
-                        user.setMembershipStartDate(now);
+            // The member, their children, cart and token, and the webhook
+            // deliveries for the event commit together
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> register(registrationData));
 
-                        java.util.Calendar cal = java.util.Calendar.getInstance();
-                        cal.setTime(now);
-                        cal.add(java.util.Calendar.YEAR, 1);
-                        user.setMembershipExpiryDate(cal.getTime());
-                    }
-                }
-            }
+            // Do NOT auto-login - user must verify email first
+            registrationStateService.clear(response);
 
-            user = userRepository.save(user);
+            // Redirect to a page informing user to check email
+            return "redirect:/register/verification-sent";
+        } catch (DataIntegrityViolationException e) {
+            // Another registration for the same email got in after step 1
+            // checked it; the unique index on users.email turned this one away
+            registrationStateService.clear(response);
+            return "redirect:/register?error=email_taken";
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "redirect:/register?error=registration_failed";
+        }
+    }
 
-            // Create and save verification token
-            String token = UUID.randomUUID().toString();
-            VerificationToken verificationToken = new VerificationToken(token, user);
-            verificationTokenRepository.save(verificationToken);
+    /**
+     * Saves the member from the wizard with their children, cart and
+     * verification token, and publishes the registration. Runs in the
+     * caller's transaction.
+     */
+    private void register(MultiStepRegistrationDto registrationData) {
+        RegisterDto userDetails = registrationData.getUserDetails();
+
+        User user = User.builder()
+                .firstName(userDetails.getFirstName())
+                .middleName(userDetails.getMiddleName())
+                .lastName(userDetails.getLastName())
+                .email(userDetails.getEmail())
+                .password(registrationData.getPasswordHash())
+                .phone(userDetails.getPhone())
+                .address(userDetails.getAddress())
+                .city(userDetails.getCity())
+                .province(userDetails.getProvince())
+                .postalCode(userDetails.getPostalCode())
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build();
+        lookupService.applyExistingTo(user);
 
-            // Send verification email
-            String verificationLink = appBaseUrl + "/register/verify?token=" + token;
-            String userName = user.getFirstName() + " " + user.getLastName();
-            try {
-                emailSenderService.sendVerificationEmail(user.getEmail(), userName, verificationLink);
-            } catch (Exception e) {
-                e.printStackTrace();
-                // Continue with registration even if email fails
-            }
-
-            if (registrationData.getChildren() != null && !registrationData.getChildren().isEmpty()) {
-                List<Child> children = new ArrayList<>();
-                for (ChildDto childDto : registrationData.getChildren()) {
-                    if (childDto.getName() != null && !childDto.getName().trim().isEmpty()) {
-                        Child child = Child.builder()
-                                .name(childDto.getName())
-                                .age(childDto.getAge())
-                                .dateOfBirth(childDto.getDateOfBirth())
-                                .hearingLossType(childDto.getHearingLossType())
-                                .equipmentType(childDto.getEquipmentType())
-                                .siblingsNames(childDto.getSiblingsNames())
-                                .chapterLocation(childDto.getChapterLocation())
-                                .user(user)
-                                .build();
-                        children.add(child);
-                    }
-                }
-                if (!children.isEmpty()) {
-                    childRepository.saveAll(children);
+        if (registrationData.getSelectedMembershipId() != null) {
+            Optional<Membership> membershipOpt = membershipRepository
+                    .findById(registrationData.getSelectedMembershipId());
+            if (membershipOpt.isPresent()) {
+                Membership membership = membershipOpt.get();
+                user.setMembership(membership);
+
+                if (!membership.isFree()) {
+                    LocalDate today = LocalDate.now();
+                    user.setMembershipStartDate(today);
+                    user.setMembershipExpiryDate(today.plusYears(1));
                 }
             }
+        }
 
-            if (registrationData.getSelectedMembershipId() != null) {
-                Optional<Membership> membershipOpt = membershipRepository
-                        .findById(registrationData.getSelectedMembershipId());
-                if (membershipOpt.isPresent() && !membershipOpt.get().isFree()) {
-                    Optional<Cart> existingCartOpt = cartRepository.findByUserId(user.getId());
-
-                    Cart cart;
-                    if (existingCartOpt.isPresent()) {
-                        Cart existingCart = existingCartOpt.get();
-                        cartItemRepository.deleteByCartId(existingCart.getId());
-                        cart = existingCart;
-                        cart.setUpdatedAt(new Date());
-                        cart = cartRepository.save(cart);
-                    } else {
-                        cart = Cart.builder()
-                                .user(user)
-                                .createdAt(new Date())
-                                .updatedAt(new Date())
-                                .build();
-                        cart = cartRepository.save(cart);
-                    }
+        user = userRepository.save(user);
 
-                    Membership membership = membershipOpt.get();
-                    CartItem cartItem = CartItem.builder()
-                            .cart(cart)
-                            .membership(membership)
-                            .quantity(1)
-                            .unitPrice(membership.getPrice())
-                            .totalPrice(membership.getPrice())
+        // Create and save verification token
+        String token = UUID.randomUUID().toString();
+        VerificationToken verificationToken = new VerificationToken(token, user);
+        verificationTokenRepository.save(verificationToken);
+
+        if (registrationData.getChildren() != null && !registrationData.getChildren().isEmpty()) {
+            List<Child> children = new ArrayList<>();
+            for (ChildDto childDto : registrationData.getChildren()) {
+                if (childDto.getName() != null && !childDto.getName().trim().isEmpty()) {
+                    Child child = Child.builder()
+                            .name(childDto.getName())
+                            .age(childDto.getAge())
+                            .dateOfBirth(childDto.getDateOfBirth())
+                            .hearingLossType(childDto.getHearingLossType())
+                            .equipmentType(childDto.getEquipmentType())
+                            .siblingsNames(childDto.getSiblingsNames())
+                            .chapterLocation(childDto.getChapterLocation())
+                            .user(user)
                             .build();
-                    cartItemRepository.save(cartItem);
+                    lookupService.applyExistingTo(child);
+                    children.add(child);
                 }
             }
+            if (!children.isEmpty()) {
+                childRepository.saveAll(children);
+            }
+        }
 
-            // Do NOT auto-login - user must verify email first
-            session.removeAttribute("registrationData");
+        if (registrationData.getSelectedMembershipId() != null) {
+            Optional<Membership> membershipOpt = membershipRepository
+                    .findById(registrationData.getSelectedMembershipId());
+            if (membershipOpt.isPresent() && !membershipOpt.get().isFree()) {
+                Optional<Cart> existingCartOpt = cartRepository.findByUserId(user.getId());
+
+                Cart cart;
+                if (existingCartOpt.isPresent()) {
+                    Cart existingCart = existingCartOpt.get();
+                    cartItemRepository.deleteByCartId(existingCart.getId());
+                    cart = existingCart;
+                    cart.setUpdatedAt(Instant.now());
+                    cart = cartRepository.save(cart);
+                } else {
+                    cart = Cart.builder()
+                            .user(user)
+                            .build();
+                    cart = cartRepository.save(cart);
+                }
 
-            // Redirect to a page informing user to check email
-            return "redirect:/register/verification-sent";
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "redirect:/register?error=registration_failed";
+                Membership membership = membershipOpt.get();
+                CartItem cartItem = CartItem.builder()
+                        .cart(cart)
+                        .membership(membership)
+                        .quantity(1)
+                        .unitPrice(membership.getPrice())
+                        .totalPrice(membership.getPrice())
+                        .build();
+                cartItemRepository.save(cartItem);
+            }
         }
+
+        // The verification email is sent by a subscriber, off the request thread
+        Membership membership = user.getMembership();
+        domainEventBus.publish(new MemberRegistered(user.getId(), user.getEmail(),
+                user.getFirstName() + " " + user.getLastName(),
+                membership != null ? membership.getName() : null,
+                membership != null && !membership.isFree(),
+                appBaseUrl + "/register/verify?token=" + token, Instant.now()));
     }
 
     @GetMapping("/upgrade-checkout")
-    public String showUpgradeCheckout(Model model, Principal principal) {
+    public String showUpgradeCheckout(Model model, @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -528,9 +594,8 @@ public class RegisterController {
             @RequestParam("expiryYear") String expiryYear,
             @RequestParam("cvv") String cvv,
             Model model,
-            Principal principal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findByEmail(principal.getName());
             if (user == null) {
                 return "redirect:/login";
             }
@@ -540,7 +605,7 @@ public class RegisterController {
                 return "redirect:/profile?error=not_eligible_for_upgrade";
             }
 
-            Optional<Membership> paidMembershipOpt = membershipRepository.findById(membershipId);
+            Optional<Membership> paidMembershipOpt = landingPageService.getMembership(membershipId);
             if (paidMembershipOpt.isEmpty() || paidMembershipOpt.get().isFree()) {
                 return "redirect:/profile?error=invalid_membership";
             }
@@ -566,38 +631,23 @@ public class RegisterController {
 
             user.setMembership(paidMembership);
 
-            Date now = new Date();
+            LocalDate now = LocalDate.now();
             user.setMembershipStartDate(now);
 
-            java.util.Calendar cal = java.util.Calendar.getInstance();
-            cal.setTime(now);
-            cal.add(java.util.Calendar.YEAR, 1);
-            Date expiryDate = cal.getTime();
+            LocalDate expiryDate = now.plusYears(1);
             user.setMembershipExpiryDate(expiryDate);
 
-            userRepository.save(user);
-
-            System.out.println("=== MEMBERSHIP UPDATED ===");
-            System.out.println("Status: Paid/Active");
-            System.out.println("Start Date: " + now);
-            System.out.println("Expiry Date: " + expiryDate);
-
-            try {
-                java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MMMM dd, yyyy");
-                String fullName = user.getFirstName() +
-                        (user.getMiddleName() != null && !user.getMiddleName().isEmpty() ? " " + user.getMiddleName()
-                                : "")
-                        +
-                        " " + user.getLastName();
-                emailSenderService.sendMembershipUpgradeConfirmation(
-                        user.getEmail(),
-                        fullName,
-                        paidMembership.getName(),
-                        dateFormat.format(expiryDate));
-                System.out.println("Confirmation email sent to: " + user.getEmail());
-            } catch (Exception emailEx) {
-                System.err.println("Warning: Failed to send confirmation email: " + emailEx.getMessage());
-            }
+            String fullName = user.getFirstName() +
+                    (user.getMiddleName() != null && !user.getMiddleName().isEmpty() ? " " + user.getMiddleName()
+                            : "")
+                    +
+                    " " + user.getLastName();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                userRepository.save(user);
+                domainEventBus.publish(new MembershipUpgraded(user.getId(), user.getEmail(), fullName,
+                        paidMembership.getName(), expiryDate, Instant.now()));
+            });
+            profileViewService.evict(user.getId());
 
             return "redirect:/profile?upgrade=success";
         } catch (Exception e) {
@@ -609,7 +659,6 @@ public class RegisterController {
                     "An error occurred processing your payment. Please try again or contact support if the issue persists.");
 
             try {
-                User user = userRepository.findByEmail(principal.getName());
                 if (user != null) {
                     model.addAttribute("user", user);
                     String fullName = user.getFirstName() +
@@ -620,7 +669,7 @@ public class RegisterController {
                             " " + user.getLastName();
                     model.addAttribute("userName", fullName);
 
-                    Optional<Membership> paidMembershipOpt = membershipRepository.findById(membershipId);
+                    Optional<Membership> paidMembershipOpt = landingPageService.getMembership(membershipId);
                     paidMembershipOpt.ifPresent(membership -> model.addAttribute("upgradeMembership", membership));
                 }
             } catch (Exception ex2) {
@@ -655,9 +704,11 @@ public class RegisterController {
 
         User user = verificationToken.getUser();
         user.setEmailVerified(true);
-        userRepository.save(user);
-
-        verificationTokenRepository.delete(verificationToken);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.save(user);
+            verificationTokenRepository.delete(verificationToken);
+            domainEventBus.publish(new EmailVerified(user.getId(), user.getEmail(), Instant.now()));
+        });
 
         model.addAttribute("success", "Email verified successfully! You can now login to your account.");
         return "verification-result";
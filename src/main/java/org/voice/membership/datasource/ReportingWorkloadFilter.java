@@ -0,0 +1,26 @@
+package org.voice.membership.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs the requests it is mapped to as {@link Workload#REPORTING}.
+ */
+public class ReportingWorkloadFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Workload previous = Workload.enter(Workload.REPORTING);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Workload.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.voice.membership.datasource;
+
+/**
+ * Kind of work the current thread is doing, used to pick a connection pool.
+ * Member traffic (login, registration, checkout) is the default; admin
+ * dashboards, exports and other reporting run as {@link #REPORTING} so they
+ * draw from their own bounded pool.
+ */
+public enum Workload {
+
+    MEMBER,
+    REPORTING;
+
+    private static final ThreadLocal<Workload> CURRENT = ThreadLocal.withInitial(() -> MEMBER);
+
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switches the current thread to the given workload.
+     *
+     * @return the previous workload, to be passed to {@link #restore}
+     */
+    public static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous == MEMBER) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.voice.membership.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Picks a connection pool for each connection from the current
+ * {@link Workload} and whether the transaction is read-only.
+ * <ul>
+ * <li>Member work goes to the primary pool. When member reads are sent to
+ * the replica, read-only member transactions use the replica pool instead;
+ * a member may then read data that has not replicated their own write
+ * yet, which is why it is off by default.</li>
+ * <li>Reporting work goes to its own bounded pool. That pool points at the
+ * replica when there is one, in which case reporting writes fall back to the
+ * primary.</li>
+ * </ul>
+ * Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the route is chosen when the first statement runs, after the
+ * transaction's read-only flag has been set.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA,
+        REPORTING
+    }
+
+    private final Map<Route, HikariDataSource> pools = new EnumMap<>(Route.class);
+    private final boolean reportingOnReplica;
+
+    /**
+     * @param replica            pool for read-only member transactions, or
+     *                           null to keep member reads on the primary
+     * @param reportingOnReplica whether the reporting pool points at a
+     *                           read-only replica rather than the primary
+     */
+    public WorkloadRoutingDataSource(HikariDataSource primary, HikariDataSource replica,
+            HikariDataSource reporting, boolean reportingOnReplica) {
+        pools.put(Route.PRIMARY, primary);
+        if (replica != null) {
+            pools.put(Route.REPLICA, replica);
+        }
+        pools.put(Route.REPORTING, reporting);
+        this.reportingOnReplica = reportingOnReplica;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public Route currentRoute() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (Workload.current() == Workload.REPORTING) {
+            return readOnly || !reportingOnReplica ? Route.REPORTING : Route.PRIMARY;
+        }
+        return readOnly && pools.containsKey(Route.REPLICA) ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    public HikariDataSource pool(Route route) {
+        return pools.get(route);
+    }
+
+    /**
+     * Current usage of each pool. A pool with threads waiting for a
+     * connection is saturated.
+     */
+    public Map<String, Map<String, Object>> poolStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        pools.forEach((route, pool) -> {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            Map<String, Object> poolStats = new LinkedHashMap<>();
+            poolStats.put("active", bean != null ? bean.getActiveConnections() : 0);
+            poolStats.put("idle", bean != null ? bean.getIdleConnections() : 0);
+            poolStats.put("total", bean != null ? bean.getTotalConnections() : 0);
+            poolStats.put("max", pool.getMaximumPoolSize());
+            poolStats.put("waiting", bean != null ? bean.getThreadsAwaitingConnection() : 0);
+            stats.put(route.name().toLowerCase(), poolStats);
+        });
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
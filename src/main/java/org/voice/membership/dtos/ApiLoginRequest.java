@@ -0,0 +1,17 @@
+package org.voice.membership.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+/**
+ * Credentials posted by API clients to obtain a token pair.
+ */
+@Data
+public class ApiLoginRequest {
+
+    @NotEmpty(message = "Email is required")
+    private String email;
+
+    @NotEmpty(message = "Password is required")
+    private String password;
+}
@@ -0,0 +1,14 @@
+package org.voice.membership.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+/**
+ * Refresh token posted by API clients to obtain a new token pair.
+ */
+@Data
+public class ApiRefreshRequest {
+
+    @NotEmpty(message = "Refresh token is required")
+    private String refreshToken;
+}
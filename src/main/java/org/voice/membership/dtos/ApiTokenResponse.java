@@ -0,0 +1,21 @@
+package org.voice.membership.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Token pair returned to API clients after login or refresh.
+ * {@code expiresIn} is the access token lifetime in seconds.
+ */
+@Data
+@Builder
+public class ApiTokenResponse {
+
+    private String accessToken;
+
+    private String refreshToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
@@ -0,0 +1,45 @@
+package org.voice.membership.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects the members a bulk admin operation applies to, by id list, by
+ * filter, or both, and carries the operation's own parameters.
+ * Unset filters do not restrict the selection, but at least one id or
+ * filter must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMemberRequest {
+
+    private List<Integer> ids;
+
+    /** Only locked (true) or unlocked (false) accounts. */
+    private Boolean locked;
+
+    /** Only verified (true) or unverified (false) emails. */
+    private Boolean emailVerified;
+
+    /** Only members currently on this plan. */
+    private Integer currentMembershipId;
+
+    /** Only members in this province. */
+    private String province;
+
+    /** Only memberships expiring before this day. */
+    private LocalDate expiringBefore;
+
+    /** New expiry date for the extend operation. */
+    private LocalDate expiryDate;
+
+    /** Plan for the switch-plan operation. */
+    private Integer membershipId;
+}
@@ -3,7 +3,7 @@ package org.voice.membership.dtos;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.PastOrPresent;
 import lombok.Data;
-import java.util.Date;
+import java.time.LocalDate;
 
 @Data
 /**
@@ -18,7 +18,7 @@ public class ChildDto {
     private Integer age;
 
     @PastOrPresent(message = "Date of birth must be in the past or today")
-    private Date dateOfBirth;
+    private LocalDate dateOfBirth;
 
     private String hearingLossType;
 
@@ -0,0 +1,32 @@
+package org.voice.membership.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Child record returned by the JSON API.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChildResponse {
+
+    private int id;
+
+    private String name;
+
+    private Integer age;
+
+    private LocalDate dateOfBirth;
+
+    private String hearingLossType;
+
+    private String equipmentType;
+
+    private String siblingsNames;
+
+    private String chapterLocation;
+}
@@ -0,0 +1,49 @@
+package org.voice.membership.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a member import: how many users and children were added and
+ * why the other rows were not.
+ */
+@Getter
+public class MemberImportReport {
+
+    /** Errors beyond this many are counted but not listed. */
+    public static final int MAX_LISTED_ERRORS = 1000;
+
+    private int usersImported;
+    private int childrenImported;
+    private int errorCount;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void addUsersImported(int count) {
+        usersImported += count;
+    }
+
+    public void addChildrenImported(int count) {
+        childrenImported += count;
+    }
+
+    public void addError(String sheet, int row, String message) {
+        errorCount++;
+        if (errors.size() < MAX_LISTED_ERRORS) {
+            errors.add(new RowError(sheet, row, message));
+        }
+    }
+
+    /**
+     * A row that was not imported.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private final String sheet;
+        private final int row;
+        private final String message;
+    }
+}
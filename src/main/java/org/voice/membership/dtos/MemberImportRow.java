@@ -0,0 +1,55 @@
+package org.voice.membership.dtos;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * One row of the Users sheet of a member import, in the column layout of the
+ * admin export. Passwords are not imported; members set their own through
+ * an invitation link.
+ */
+@Data
+@Builder
+public class MemberImportRow {
+
+    @NotEmpty(message = "First name is required")
+    @Size(max = 255)
+    private String firstName;
+
+    @Size(max = 255)
+    private String middleName;
+
+    @NotEmpty(message = "Last name is required")
+    @Size(max = 255)
+    private String lastName;
+
+    @NotEmpty(message = "Email is required")
+    @Email
+    @Pattern(regexp = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$", message = "Invalid email address")
+    @Size(max = 255)
+    private String email;
+
+    @Pattern(regexp = "^\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})$", message = "Invalid phone number")
+    private String phone;
+
+    @Size(max = 255)
+    private String address;
+
+    @Size(max = 255)
+    private String city;
+
+    @Size(max = 255)
+    private String province;
+
+    @Pattern(regexp = "^[A-Za-z][0-9][A-Za-z][ ]?[0-9][A-Za-z][0-9]$", message = "Invalid postal code")
+    private String postalCode;
+
+    /** Registration time; the import time when the column is empty. */
+    private Instant creation;
+}
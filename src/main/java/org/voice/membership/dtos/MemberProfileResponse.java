@@ -0,0 +1,37 @@
+package org.voice.membership.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Member profile returned by the JSON API.
+ * Exposes only the contact fields a client needs, never the User entity.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MemberProfileResponse {
+
+    private int id;
+
+    private String firstName;
+
+    private String middleName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private String address;
+
+    private String city;
+
+    private String province;
+
+    private String postalCode;
+
+    private String role;
+}
@@ -0,0 +1,83 @@
+package org.voice.membership.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of re-importing an edited export: the field changes found, whether
+ * they were applied, and the rows that could not be synced. In a dry run
+ * the changes are listed but nothing is written.
+ */
+@Getter
+public class MemberSyncReport {
+
+    /** Changes and errors beyond this many are counted but not listed. */
+    public static final int MAX_LISTED_ROWS = 1000;
+
+    private final boolean dryRun;
+    private int rowsRead;
+    private int rowsUnchanged;
+    private int usersUpdated;
+    private int childrenUpdated;
+    private int changeCount;
+    private int errorCount;
+    private final List<RowChange> changes = new ArrayList<>();
+    private final List<MemberImportReport.RowError> errors = new ArrayList<>();
+
+    public MemberSyncReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public void addRowsRead(int count) {
+        rowsRead += count;
+    }
+
+    public void addRowsUnchanged(int count) {
+        rowsUnchanged += count;
+    }
+
+    public void addUsersUpdated(int count) {
+        usersUpdated += count;
+    }
+
+    public void addChildrenUpdated(int count) {
+        childrenUpdated += count;
+    }
+
+    public void addChange(RowChange change) {
+        changeCount++;
+        if (changes.size() < MAX_LISTED_ROWS) {
+            changes.add(change);
+        }
+    }
+
+    public void addError(String sheet, int row, String message) {
+        errorCount++;
+        if (errors.size() < MAX_LISTED_ROWS) {
+            errors.add(new MemberImportReport.RowError(sheet, row, message));
+        }
+    }
+
+    /**
+     * The fields that differ between a sheet row and its database row.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RowChange {
+        private final String sheet;
+        private final int row;
+        private final int id;
+        private final List<FieldChange> fields;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FieldChange {
+        private final String field;
+        private final String from;
+        private final String to;
+    }
+}
@@ -0,0 +1,27 @@
+package org.voice.membership.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Membership status returned by the JSON API.
+ * {@code status} is one of None, Free or Paid, as on the profile page.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MembershipStatusResponse {
+
+    private String status;
+
+    private Integer membershipId;
+
+    private String name;
+
+    private LocalDate startDate;
+
+    private LocalDate expiryDate;
+}
@@ -8,11 +8,14 @@ import java.util.List;
 /**
  * Aggregates data across the multi-step registration wizard.
  * Holds user details, child info, and membership/cart selections between steps.
+ * The password is kept only as a hash; the plaintext is dropped after step 1.
  */
 public class MultiStepRegistrationDto {
     // Step 1: User details
     private RegisterDto userDetails;
 
+    private String passwordHash;
+
     // Step 2: Child information
     private List<ChildDto> children = new ArrayList<>();
 
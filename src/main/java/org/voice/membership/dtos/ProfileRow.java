@@ -0,0 +1,40 @@
+package org.voice.membership.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One row of the profile dashboard query: the user's own and membership
+ * columns repeated for each child, with null child columns when there are
+ * no children.
+ */
+@Getter
+@AllArgsConstructor
+public class ProfileRow {
+
+    private int userId;
+    private String firstName;
+    private String middleName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String address;
+    private String city;
+    private String province;
+    private String postalCode;
+    private Instant creation;
+
+    private String membershipName;
+    private Boolean membershipFree;
+    private String membershipDescription;
+
+    private Integer childId;
+    private String childName;
+    private Integer childAge;
+    private LocalDate childDateOfBirth;
+    private String childHearingLossType;
+    private String childEquipmentType;
+}
@@ -0,0 +1,47 @@
+package org.voice.membership.dtos;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Everything the profile dashboard renders, already formatted.
+ * Instances are immutable so they can be cached and shared between requests.
+ */
+@Getter
+@Builder
+public class ProfileView {
+
+    private final int id;
+    private final String userName;
+    private final String email;
+    private final String phone;
+    private final String address;
+    private final String city;
+    private final String province;
+    private final String postalCode;
+    private final String memberSince;
+
+    private final String membershipType;
+    private final String membershipStatus;
+    private final String membershipExpiryDate;
+    private final boolean hasPaidMembership;
+    private final boolean showBenefits;
+    private final String membershipBenefit;
+
+    private final List<ChildSummary> children;
+
+    /**
+     * Child columns shown in the dashboard's children table.
+     */
+    @Getter
+    @Builder
+    public static class ChildSummary {
+        private final int id;
+        private final String name;
+        private final Integer age;
+        private final String hearingLossType;
+        private final String equipmentType;
+    }
+}
@@ -0,0 +1,29 @@
+package org.voice.membership.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An admin's registration of a webhook endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEndpointRequest {
+
+    /** http or https URL that receives the POSTs. */
+    private String url;
+
+    private String description;
+
+    /** Event types to send; empty for all of them. */
+    private List<String> eventTypes;
+
+    /** Requests in flight at once; defaults to 2. */
+    private Integer maxConcurrency;
+}
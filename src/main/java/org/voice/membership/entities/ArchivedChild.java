@@ -0,0 +1,76 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * A child of an {@link ArchivedUser}, moved out of {@code children} together
+ * with its parent and keeping its original id.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "children_archive", indexes = {
+        @Index(name = "idx_children_archive_user", columnList = "user_id"),
+        @Index(name = "idx_children_archive_dob_user", columnList = "date_of_birth, user_id"),
+        @Index(name = "idx_children_archive_hearing_loss_user", columnList = "hearing_loss_type_id, user_id"),
+        @Index(name = "idx_children_archive_equipment_user", columnList = "equipment_type_id, user_id")
+})
+public class ArchivedChild {
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private Integer age;
+
+    @Column(name = "date_of_birth")
+    private LocalDate dateOfBirth;
+
+    @Column(name = "hearing_loss_type")
+    private String hearingLossType;
+
+    @Column(name = "hearing_loss_type_id")
+    private Short hearingLossTypeId;
+
+    @Column(name = "equipment_type")
+    private String equipmentType;
+
+    @Column(name = "equipment_type_id")
+    private Short equipmentTypeId;
+
+    @Column(name = "siblings_names")
+    private String siblingsNames;
+
+    @Column(name = "chapter_location")
+    private String chapterLocation;
+
+    @Column(name = "chapter_id")
+    private Short chapterId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private ArchivedUser user;
+
+    Child toChild() {
+        return Child.builder()
+                .id(id)
+                .name(name)
+                .age(age)
+                .dateOfBirth(dateOfBirth)
+                .hearingLossType(hearingLossType)
+                .hearingLossTypeId(hearingLossTypeId)
+                .equipmentType(equipmentType)
+                .equipmentTypeId(equipmentTypeId)
+                .siblingsNames(siblingsNames)
+                .chapterLocation(chapterLocation)
+                .chapterId(chapterId)
+                .build();
+    }
+}
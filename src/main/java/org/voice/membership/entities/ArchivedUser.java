@@ -0,0 +1,124 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A member moved out of {@code users} after a long period without signing in
+ * and without a running membership. Keeps the original id and columns so the
+ * account can be moved back unchanged; rows are only written by
+ * {@link org.voice.membership.services.ArchiveService}.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "users_archive", indexes = {
+        @Index(name = "idx_users_archive_email", columnList = "email"),
+        @Index(name = "idx_users_archive_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_users_archive_creation", columnList = "creation"),
+        @Index(name = "idx_users_archive_province", columnList = "province_id")
+})
+public class ArchivedUser {
+
+    @Id
+    private int id;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "middle_name")
+    private String middleName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+    private String password;
+    private String phone;
+    private String address;
+    private String city;
+    private String province;
+
+    @Column(name = "province_id")
+    private Short provinceId;
+
+    @Column(name = "postal_code")
+    private String postalCode;
+    private String role;
+    private Instant creation;
+
+    @Column(name = "email_verified", nullable = false)
+    private boolean emailVerified;
+
+    @Column(name = "failed_login_attempts", nullable = false)
+    private int failedLoginAttempts;
+
+    @Column(name = "account_locked", nullable = false)
+    private boolean accountLocked;
+
+    @Column(name = "lockout_time")
+    private Instant lockoutTime;
+
+    @Column(name = "membership_start_date")
+    private LocalDate membershipStartDate;
+
+    @Column(name = "membership_expiry_date")
+    private LocalDate membershipExpiryDate;
+
+    /** Plan id as it was; plans may be removed while the member is archived. */
+    @Column(name = "membership_id")
+    private Integer membershipId;
+
+    @Column(name = "last_login")
+    private Instant lastLogin;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @OneToMany(mappedBy = "user")
+    private List<ArchivedChild> children;
+
+    /**
+     * Copies the profile and children into a detached {@link User} for views
+     * that list live and archived members together.
+     */
+    public User toUser() {
+        User user = User.builder()
+                .id(id)
+                .firstName(firstName)
+                .middleName(middleName)
+                .lastName(lastName)
+                .email(email)
+                .phone(phone)
+                .address(address)
+                .city(city)
+                .province(province)
+                .provinceId(provinceId)
+                .postalCode(postalCode)
+                .role(role)
+                .creation(creation)
+                .emailVerified(emailVerified)
+                .membershipStartDate(membershipStartDate)
+                .membershipExpiryDate(membershipExpiryDate)
+                .lastLogin(lastLogin)
+                .build();
+        List<Child> copies = new ArrayList<>();
+        for (ArchivedChild child : children) {
+            Child copy = child.toChild();
+            copy.setUser(user);
+            copies.add(copy);
+        }
+        user.setChildren(copies);
+        return user;
+    }
+}
@@ -0,0 +1,43 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing the log of cache evictions that nodes replay on
+ * their own caches. Rows are read and written with plain JDBC by
+ * {@link org.voice.membership.cache.InvalidationLog}; the entity exists so
+ * the table is managed with the rest of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "cache_invalidations")
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "cache_name", nullable = false, length = 100)
+    private String cacheName;
+
+    /** Evicted key as text; null when the whole cache was cleared. */
+    @Column(name = "cache_key")
+    private String cacheKey;
+
+    @Column(name = "key_type", length = 20)
+    private String keyType;
+
+    /** Node that evicted the entry. */
+    @Column(nullable = false, length = 100)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -3,7 +3,10 @@ package org.voice.membership.entities;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
-import java.util.Date;
+import org.voice.membership.util.Ages;
+
+import java.time.LocalDate;
+
 /**
 Represents a child record associated with a user account.
  Stores child personal information: name, age, date of birth, hearing loss type.
@@ -17,7 +20,12 @@ Represents a child record associated with a user account.
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "children")
+@Table(name = "children", indexes = {
+        @Index(name = "idx_children_user", columnList = "user_id"),
+        @Index(name = "idx_children_dob_user", columnList = "date_of_birth, user_id"),
+        @Index(name = "idx_children_hearing_loss_user", columnList = "hearing_loss_type_id, user_id"),
+        @Index(name = "idx_children_equipment_user", columnList = "equipment_type_id, user_id")
+})
 public class Child {
 
     @Id
@@ -27,27 +35,56 @@ public class Child {
     @Column(nullable = false)
     private String name;
 
+    /**
+     * Age as entered on the form. Only used to estimate a date of birth when
+     * none was given; read the current age through {@link #getAge()}.
+     */
     private Integer age;
 
     @Column(name = "date_of_birth")
-    @Temporal(TemporalType.DATE)
-    private Date dateOfBirth;
+    private LocalDate dateOfBirth;
 
     @Column(name = "hearing_loss_type")
     private String hearingLossType;
 
+    /** {@link LookupValue} code of {@link #hearingLossType}. */
+    @Column(name = "hearing_loss_type_id")
+    private Short hearingLossTypeId;
+
     @Column(name = "equipment_type")
     private String equipmentType;
 
+    /** {@link LookupValue} code of {@link #equipmentType}. */
+    @Column(name = "equipment_type_id")
+    private Short equipmentTypeId;
+
     @Column(name = "siblings_names")
     private String siblingsNames;
 
     @Column(name = "chapter_location")
     private String chapterLocation;
 
+    /** {@link LookupValue} code of {@link #chapterLocation}. */
+    @Column(name = "chapter_id")
+    private Short chapterId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonBackReference
     private User user;
-}
 
+    /**
+     * Current age in whole years, derived from the date of birth.
+     */
+    public Integer getAge() {
+        return Ages.currentAge(dateOfBirth, age);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void estimateMissingDateOfBirth() {
+        if (dateOfBirth == null && age != null) {
+            dateOfBirth = Ages.estimateDateOfBirth(age, LocalDate.now());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JPA entity for one-time invitation links sent to imported members.
+ * Following the link lets the member choose a password, which also
+ * verifies their email.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "invitation_tokens", indexes = {
+        @Index(name = "idx_invitation_tokens_expiry", columnList = "expiry_date")
+})
+public class InvitationToken {
+
+    public static final Duration EXPIRATION = Duration.ofDays(30);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String token;
+
+    @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
+    @JoinColumn(nullable = false, name = "user_id", unique = true)
+    private User user;
+
+    @Column(name = "expiry_date", nullable = false)
+    private Instant expiryDate;
+
+    public boolean isExpired() {
+        return Instant.now().isAfter(this.expiryDate);
+    }
+}
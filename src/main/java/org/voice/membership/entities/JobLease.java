@@ -0,0 +1,37 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing the lease table that keeps a scheduled job to one
+ * node at a time. Rows are read and written with plain JDBC by
+ * {@link org.voice.membership.scheduling.LeaseLock}; the entity exists so
+ * the table is managed with the rest of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /** Node holding the lease. */
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    /** The lease is free for any node from this time on. */
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
@@ -2,6 +2,8 @@ package org.voice.membership.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * JPA entity that stores configurable text content for the landing page.
@@ -14,6 +16,8 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "landing_page_content")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "landingPageContent")
 public class LandingPageContent {
 
     @Id
@@ -0,0 +1,13 @@
+package org.voice.membership.entities;
+
+/**
+ * Dictionaries of canonical values stored in {@link LookupValue}.
+ * Each entity column that used to hold free text now references one of these
+ * by its small integer code.
+ */
+public enum LookupCategory {
+    HEARING_LOSS_TYPE,
+    EQUIPMENT_TYPE,
+    PROVINCE,
+    CHAPTER
+}
@@ -0,0 +1,51 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for a dictionary value entered during registration that matched
+ * no {@link LookupValue}. It waits here for an admin to approve it into the
+ * dictionary or dismiss it; {@code occurrences} counts how often it was seen.
+ * Dismissed suggestions are kept so the same text is not queued again.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "lookup_suggestions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_lookup_suggestions_category_key", columnNames = { "category", "lookup_key" })
+})
+public class LookupSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private LookupCategory category;
+
+    @Column(name = "lookup_key", nullable = false, length = 100)
+    private String lookupKey;
+
+    /** The text as first entered, tidied up. */
+    @Column(nullable = false, length = 100)
+    private String label;
+
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(nullable = false)
+    private boolean dismissed;
+
+    @Column(name = "first_seen_at", nullable = false)
+    private Instant firstSeenAt;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Instant lastSeenAt;
+}
@@ -0,0 +1,36 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * JPA entity for one canonical value in a dictionary such as provinces or
+ * hearing loss types.
+ * {@code lookupKey} is the normalized form used to match user input, so
+ * "ontario", " Ontario " and "ON" all resolve to the same row.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "lookup_values", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_lookup_values_category_key", columnNames = { "category", "lookup_key" })
+})
+public class LookupValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private LookupCategory category;
+
+    @Column(name = "lookup_key", nullable = false, length = 100)
+    private String lookupKey;
+
+    @Column(nullable = false, length = 100)
+    private String label;
+}
@@ -0,0 +1,45 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing the shared log behind the admin live activity feed.
+ * Rows are read and written with plain JDBC by
+ * {@link org.voice.membership.events.MemberActivityLog}; the entity exists
+ * so the table is managed with the rest of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "member_activity", indexes = {
+        @Index(name = "idx_member_activity_created", columnList = "created_at")
+})
+public class MemberActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    /** registered, verified, upgraded or cancelled. */
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    /** Event details shown in the feed, as a JSON object. */
+    @Column(nullable = false, length = 2000)
+    private String data;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -3,6 +3,8 @@ package org.voice.membership.entities;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 /**
@@ -20,6 +22,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "membership_options")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "membership")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Membership {
 
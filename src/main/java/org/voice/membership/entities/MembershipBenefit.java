@@ -2,6 +2,8 @@ package org.voice.membership.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 /**
 
  Represents individual benefits associated with membership plans.
@@ -16,6 +18,8 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "membership_benefits")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "membershipBenefit")
 public class MembershipBenefit {
 
     @Id
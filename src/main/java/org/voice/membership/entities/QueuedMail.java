@@ -0,0 +1,66 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing the queue of emails waiting to be sent. Rows are
+ * read and written with plain JDBC by
+ * {@link org.voice.membership.services.MailQueue}; the entity exists so the
+ * table is managed with the rest of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_job", columnList = "job_id, status")
+})
+public class QueuedMail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** VERIFICATION or INVITATION. */
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(name = "recipient_name")
+    private String recipientName;
+
+    /** Verification or invitation link the email carries. */
+    @Column(nullable = false, length = 500)
+    private String link;
+
+    /** Bulk job that queued the email, if any. */
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    /** PENDING, SENT or FAILED. */
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
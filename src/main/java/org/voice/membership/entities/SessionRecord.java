@@ -0,0 +1,46 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * JPA entity describing the shared HTTP session table.
+ * Rows are read and written with plain JDBC by the shared session store; the
+ * entity exists so the table and its expiry index are managed with the rest
+ * of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "http_sessions", indexes = {
+        @Index(name = "idx_http_sessions_expiry", columnList = "expiry_time"),
+        @Index(name = "idx_http_sessions_principal", columnList = "principal_name")
+})
+public class SessionRecord {
+
+    @Id
+    @Column(name = "session_id", length = 64)
+    private String id;
+
+    @Column(name = "creation_time", nullable = false)
+    private long creationTime;
+
+    @Column(name = "last_access_time", nullable = false)
+    private long lastAccessTime;
+
+    @Column(name = "max_inactive_seconds", nullable = false)
+    private int maxInactiveSeconds;
+
+    @Column(name = "expiry_time", nullable = false)
+    private long expiryTime;
+
+    @Column(name = "principal_name", length = 100)
+    private String principalName;
+
+    @Lob
+    @Column(name = "attributes")
+    private byte[] attributes;
+}
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
-import java.util.Date;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * JPA entity representing an application user and their membership details.
@@ -17,7 +21,14 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "uk_users_email_normalized", columnList = "email_normalized", unique = true),
+        @Index(name = "idx_users_creation", columnList = "creation"),
+        @Index(name = "idx_users_province", columnList = "province_id"),
+        @Index(name = "idx_users_membership_expiry", columnList = "membership_expiry_date"),
+        @Index(name = "idx_users_email_verified", columnList = "email_verified")
+})
+@NaturalIdCache(region = "userEmail")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class User {
 
@@ -34,7 +45,20 @@ public class User {
     @Column(name = "last_name")
     private String lastName;
 
+    /**
+     * Login name. Lookups by email resolve the id through the natural-id
+     * cache; the row itself is not cached.
+     */
+    @NaturalId(mutable = true)
     private String email;
+
+    /**
+     * Lower-cased copy of {@link #email} so case-insensitive lookups can use
+     * a plain index instead of applying a function to every row.
+     */
+    @Column(name = "email_normalized")
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
     private String password;
     private String phone;
     private String address;
@@ -42,10 +66,14 @@ public class User {
     private String city;
     @Column(name = "province")
     private String province;
+
+    /** {@link LookupValue} code of {@link #province}. */
+    @Column(name = "province_id")
+    private Short provinceId;
     @Column(name = "postal_code")
     private String postalCode;
     private String role;
-    private Date creation;
+    private Instant creation;
 
     @Column(name = "email_verified", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean emailVerified = false;
@@ -57,13 +85,20 @@ public class User {
     private boolean accountLocked = false;
 
     @Column(name = "lockout_time")
-    private Date lockoutTime;
+    private Instant lockoutTime;
 
     @Column(name = "membership_start_date")
-    private Date membershipStartDate;
+    private LocalDate membershipStartDate;
 
     @Column(name = "membership_expiry_date")
-    private Date membershipExpiryDate;
+    private LocalDate membershipExpiryDate;
+
+    /**
+     * Time of the last successful sign-in. Inactivity is measured from it,
+     * or from {@link #creation} for members who never signed in.
+     */
+    @Column(name = "last_login")
+    private Instant lastLogin;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
@@ -76,4 +111,14 @@ public class User {
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private Cart cart;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeEmail() {
+        emailNormalized = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email != null ? email.toLowerCase(Locale.ROOT) : null;
+    }
 }
@@ -2,8 +2,8 @@ package org.voice.membership.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
-import java.util.Date;
-import java.util.Calendar;
+import java.time.Duration;
+import java.time.Instant;
 
 /**
  * JPA entity for storing email verification tokens.
@@ -15,10 +15,12 @@ import java.util.Calendar;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "verification_tokens")
+@Table(name = "verification_tokens", indexes = {
+        @Index(name = "idx_verification_tokens_expiry", columnList = "expiry_date")
+})
 public class VerificationToken {
 
-    private static final int EXPIRATION_HOURS = 24;
+    public static final Duration EXPIRATION = Duration.ofHours(24);
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,23 +33,16 @@ public class VerificationToken {
     @JoinColumn(nullable = false, name = "user_id")
     private User user;
 
-    @Column(nullable = false)
-    private Date expiryDate;
+    @Column(name = "expiry_date", nullable = false)
+    private Instant expiryDate;
 
     public VerificationToken(String token, User user) {
         this.token = token;
         this.user = user;
-        this.expiryDate = calculateExpiryDate(EXPIRATION_HOURS);
-    }
-
-    private Date calculateExpiryDate(int expiryTimeInHours) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(new Date());
-        cal.add(Calendar.HOUR, expiryTimeInHours);
-        return cal.getTime();
+        this.expiryDate = Instant.now().plus(EXPIRATION);
     }
 
     public boolean isExpired() {
-        return new Date().after(this.expiryDate);
+        return Instant.now().isAfter(this.expiryDate);
     }
 }
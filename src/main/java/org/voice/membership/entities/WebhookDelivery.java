@@ -0,0 +1,62 @@
+package org.voice.membership.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing the queue of member events waiting to be sent to a
+ * {@link WebhookEndpoint}. Rows are read and written with plain JDBC by
+ * {@link org.voice.membership.webhooks.WebhookOutbox}; the entity exists so
+ * the table is managed with the rest of the schema.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "webhook_deliveries", indexes = {
+        @Index(name = "idx_webhook_deliveries_due", columnList = "status, next_attempt_at")
+})
+public class WebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "endpoint_id", nullable = false)
+    private WebhookEndpoint endpoint;
+
+    /** Shared by the deliveries of one event, so receivers can drop repeats. */
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    /** The event as a JSON object. */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** PENDING, DELIVERED or FAILED. */
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "delivered_at")
+    private Instant deliveredAt;
+}
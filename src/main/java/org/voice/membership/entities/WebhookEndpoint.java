@@ -0,0 +1,56 @@
+package org.voice.membership.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * An outside system, such as the CRM or a chapter tool, that is sent member
+ * events by {@link org.voice.membership.webhooks.WebhookDispatcher}.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "webhook_endpoints")
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    /** Key for the signature header; shown to the admin once, at registration. */
+    @JsonIgnore
+    @Column(nullable = false, length = 100)
+    private String secret;
+
+    private String description;
+
+    /** Comma-separated event types sent to this endpoint; null for all. */
+    @Column(name = "event_types")
+    private String eventTypes;
+
+    /** Requests to this endpoint that may be in flight at once. */
+    @Column(name = "max_concurrency", nullable = false)
+    private int maxConcurrency;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public boolean subscribesTo(String eventType) {
+        return eventTypes == null || eventTypes.isBlank()
+                || Arrays.stream(eventTypes.split(",")).map(String::trim).anyMatch(eventType::equals);
+    }
+}
@@ -0,0 +1,450 @@
+package org.voice.membership.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams registrations, verifications, upgrades and cancellations to admin
+ * browsers as Server-Sent Events.
+ * Events are written to the {@link MemberActivityLog} in the publisher's
+ * transaction, and every node polls the log, so each node streams every
+ * node's events under the same ids. Skipped sequence numbers are read again
+ * until they show up or the gap timeout passes, as in the cache
+ * invalidation poller.
+ * The latest {@code capacity} events are kept in a ring buffer. Each client
+ * has at most one send in flight; events arriving meanwhile are sent
+ * together as one {@code activity} event holding a JSON array. A client
+ * that falls further behind than the buffer gets a single {@code reset}
+ * event instead, telling the page to reload. A client whose send has been
+ * stuck for longer than {@code stallTimeout} is dropped.
+ * Event ids are the log's sequence numbers, so a browser reconnecting with
+ * {@code Last-Event-ID}, to this node or another, is replayed what it
+ * missed while that is still buffered.
+ */
+@Slf4j
+public class ActivityFeed implements DomainEventSubscriber {
+
+    private static final String PRUNE_LEASE = "member-activity-prune";
+    private static final Duration PRUNE_LEASE_TTL = Duration.ofMinutes(5);
+    private static final int BATCH_SIZE = 500;
+
+    /** Larger jumps are not tracked; their events are not streamed. */
+    private static final int MAX_GAPS = 1000;
+
+    private static final TypeReference<Map<String, Object>> DATA = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final MemberActivityLog activityLog;
+    private final LeaseLock leaseLock;
+    private final Entry[] ring;
+    private final Duration emitterTimeout;
+    private final Duration stallTimeout;
+    private final int maxClients;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final Object polling = new Object();
+    private long lastSeq = -1;
+    private final Map<Long, Instant> gaps = new HashMap<>();
+
+    // Positions in the ring count events as this node read them; ids are seqs
+    private long head;
+    private long maxSeq;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("activity-feed-", 0).factory());
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity       events kept for replay and for slow clients
+     * @param emitterTimeout how long a connection stays open; browsers
+     *                       reconnect on their own afterwards
+     * @param retention      how long events stay in the log
+     */
+    public ActivityFeed(ObjectMapper objectMapper, MemberActivityLog activityLog, LeaseLock leaseLock,
+            int capacity, Duration emitterTimeout, Duration stallTimeout, int maxClients, Duration gapTimeout,
+            Duration retention) {
+        this.objectMapper = objectMapper;
+        this.activityLog = activityLog;
+        this.leaseLock = leaseLock;
+        this.ring = new Entry[capacity];
+        this.emitterTimeout = emitterTimeout;
+        this.stallTimeout = stallTimeout;
+        this.maxClients = maxClients;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    public String name() {
+        return "activity-feed";
+    }
+
+    @Override
+    public boolean inPublisherTransaction() {
+        return true;
+    }
+
+    /**
+     * Logs the event for every node's feed. A failed write is logged and
+     * does not fail the change that caused the event.
+     */
+    @Override
+    public void onEvent(DomainEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        String type = switch (event) {
+            case MemberRegistered registered -> {
+                data.put("name", registered.name());
+                data.put("email", registered.email());
+                data.put("membership", registered.membershipName());
+                yield "registered";
+            }
+            case EmailVerified verified -> {
+                data.put("email", verified.email());
+                yield "verified";
+            }
+            case MembershipUpgraded upgraded -> {
+                data.put("name", upgraded.name());
+                data.put("email", upgraded.email());
+                data.put("membership", upgraded.membershipName());
+                yield "upgraded";
+            }
+            case MembershipCancelled cancelled -> {
+                data.put("email", cancelled.email());
+                data.put("membership", cancelled.membershipName());
+                yield "cancelled";
+            }
+            case ChildChanged child -> null;
+        };
+        if (type == null) {
+            return;
+        }
+        try {
+            activityLog.append(type, event.userId(), objectMapper.writeValueAsString(data), event.occurredAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " activity", e);
+        } catch (DataAccessException e) {
+            log.warn("Could not log {} activity for the admin feed", type, e);
+        }
+    }
+
+    /**
+     * Reads events logged since the last poll, on any node, and pushes them
+     * to this node's clients. The first poll fills the buffer with the
+     * latest events.
+     */
+    @Scheduled(fixedDelayString = "${app.activity-feed.poll-ms:1000}")
+    public void poll() {
+        List<MemberActivityLog.Activity> fresh = new ArrayList<>();
+        synchronized (polling) {
+            try {
+                if (lastSeq < 0) {
+                    fresh.addAll(activityLog.readLatest(ring.length));
+                    lastSeq = fresh.isEmpty() ? activityLog.maxSeq() : fresh.get(fresh.size() - 1).seq();
+                } else {
+                    Instant now = Instant.now();
+                    gaps.values().removeIf(since -> since.isBefore(now.minus(gapTimeout)));
+                    if (!gaps.isEmpty()) {
+                        for (MemberActivityLog.Activity activity : activityLog.read(gaps.keySet())) {
+                            gaps.remove(activity.seq());
+                            fresh.add(activity);
+                        }
+                    }
+                    List<MemberActivityLog.Activity> read;
+                    do {
+                        read = activityLog.readAfter(lastSeq, BATCH_SIZE);
+                        for (MemberActivityLog.Activity activity : read) {
+                            for (long seq = lastSeq + 1; seq < activity.seq() && gaps.size() < MAX_GAPS; seq++) {
+                                gaps.put(seq, now);
+                            }
+                            lastSeq = activity.seq();
+                            fresh.add(activity);
+                        }
+                    } while (read.size() == BATCH_SIZE);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not read member activity", e);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (MemberActivityLog.Activity activity : fresh) {
+                head++;
+                ring[(int) (head % ring.length)] = new Entry(activity.seq(), activity.type(), activity.userId(),
+                        parse(activity.data()), activity.occurredAt());
+                maxSeq = Math.max(maxSeq, activity.seq());
+            }
+        }
+        clients.forEach(this::schedule);
+    }
+
+    /**
+     * Deletes events older than the retention period, on one node at a time.
+     */
+    @Scheduled(fixedDelayString = "${app.activity-feed.prune-interval-ms:3600000}")
+    public void prune() {
+        leaseLock.runExclusively(PRUNE_LEASE, PRUNE_LEASE_TTL, Duration.ZERO, () -> {
+            int deleted = activityLog.prune(Instant.now().minus(retention), BATCH_SIZE);
+            log.debug("Pruned {} member activity entries", deleted);
+        });
+    }
+
+    /**
+     * Opens a stream for one browser.
+     *
+     * @param lastEventId the {@code Last-Event-ID} the browser sent when
+     *                    reconnecting, or null for a new page
+     * @throws IllegalStateException if {@code maxClients} streams are open
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (clients.size() >= maxClients) {
+            throw new IllegalStateException("Too many activity feed clients");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Client client = new Client(emitter);
+        synchronized (this) {
+            client.lastSent = head;
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long seq = parseSeq(lastEventId);
+                if (seq < 0 || missedMoreThanBuffered(seq)) {
+                    client.needsReset = true;
+                } else {
+                    client.lastSent = lastPositionUpTo(seq);
+                }
+            }
+        }
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> {
+            clients.remove(client);
+            emitter.complete();
+        });
+        emitter.onError(error -> clients.remove(client));
+        clients.add(client);
+        schedule(client);
+        return emitter;
+    }
+
+    /**
+     * Sends a comment to idle clients so proxies keep the connection open
+     * and closed browsers are noticed, and drops clients stuck in a send.
+     */
+    @Scheduled(fixedDelayString = "${app.activity-feed.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Instant stalledBefore = Instant.now().minus(stallTimeout);
+        for (Client client : clients) {
+            Instant since = client.sendingSince;
+            if (since != null && since.isBefore(stalledBefore)) {
+                drop(client, null);
+            } else {
+                client.heartbeatDue = true;
+                schedule(client);
+            }
+        }
+    }
+
+    /**
+     * Open streams, the newest event id, and batches, resets and drops
+     * since startup.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clients", clients.size());
+        synchronized (this) {
+            stats.put("lastEventId", Long.toString(maxSeq));
+        }
+        stats.put("batches", batches.get());
+        stats.put("resets", resets.get());
+        stats.put("dropped", dropped.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(client -> client.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Marks the client as having something to send and starts a sender for
+     * it unless one is already running; a running sender picks the new
+     * events up before it stops.
+     */
+    private void schedule(Client client) {
+        client.dirty.set(true);
+        if (client.running.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            while (client.dirty.getAndSet(false) && clients.contains(client)) {
+                sendPending(client);
+            }
+        } finally {
+            client.running.set(false);
+        }
+        if (client.dirty.get() && clients.contains(client) && client.running.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    private void sendPending(Client client) {
+        List<Map<String, Object>> pending = new ArrayList<>();
+        boolean reset;
+        long upTo;
+        long lastId;
+        synchronized (this) {
+            upTo = head;
+            reset = client.needsReset || head - client.lastSent > ring.length;
+            lastId = reset ? maxSeq : 0;
+            if (!reset) {
+                for (long position = client.lastSent + 1; position <= head; position++) {
+                    Entry entry = ring[(int) (position % ring.length)];
+                    pending.add(entry.toJson());
+                    // A late commit can carry a lower seq than one already sent
+                    lastId = Math.max(lastId, entry.seq());
+                }
+            }
+        }
+        try {
+            SseEmitter.SseEventBuilder event;
+            if (reset) {
+                event = SseEmitter.event().id(Long.toString(lastId)).name("reset").data("{}");
+                resets.incrementAndGet();
+            } else if (!pending.isEmpty()) {
+                event = SseEmitter.event().id(Long.toString(lastId)).name("activity")
+                        .data(objectMapper.writeValueAsString(pending), MediaType.APPLICATION_JSON);
+                batches.incrementAndGet();
+            } else if (client.heartbeatDue) {
+                event = SseEmitter.event().comment("heartbeat");
+            } else {
+                return;
+            }
+            client.heartbeatDue = false;
+            client.sendingSince = Instant.now();
+            client.emitter.send(event);
+            client.sendingSince = null;
+            client.needsReset = false;
+            client.lastSent = upTo;
+        } catch (IOException | IllegalStateException e) {
+            // Browser went away, or the emitter already completed
+            drop(client, e);
+        }
+    }
+
+    private void drop(Client client, Exception error) {
+        if (clients.remove(client)) {
+            dropped.incrementAndGet();
+            log.debug("Dropping activity feed client", error);
+            if (error != null) {
+                client.emitter.completeWithError(error);
+            } else {
+                client.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * True if events after {@code seq} have already left the full buffer.
+     * Call with the monitor held.
+     */
+    private boolean missedMoreThanBuffered(long seq) {
+        if (head < ring.length) {
+            return false;
+        }
+        Entry oldest = ring[(int) ((head - ring.length + 1) % ring.length)];
+        return seq < oldest.seq() - 1;
+    }
+
+    /**
+     * Ring position just before the first buffered event after {@code seq},
+     * or the head if there is none. Call with the monitor held.
+     */
+    private long lastPositionUpTo(long seq) {
+        for (long position = Math.max(1, head - ring.length + 1); position <= head; position++) {
+            if (ring[(int) (position % ring.length)].seq() > seq) {
+                return position - 1;
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Sequence number from an event id, or -1 if it cannot be read.
+     */
+    private static long parseSeq(String eventId) {
+        try {
+            long seq = Long.parseLong(eventId.trim());
+            return seq >= 0 ? seq : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Map<String, Object> parse(String data) {
+        try {
+            return objectMapper.readValue(data, DATA);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable member activity data: {}", data, e);
+            return Map.of();
+        }
+    }
+
+    private record Entry(long seq, String type, int userId, Map<String, Object> data, Instant occurredAt) {
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", Long.toString(seq));
+            json.put("type", type);
+            json.put("userId", userId);
+            json.putAll(data);
+            json.put("occurredAt", occurredAt);
+            return json;
+        }
+    }
+
+    private static final class Client {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile long lastSent;
+        private volatile boolean needsReset;
+        private volatile boolean heartbeatDue;
+        private volatile Instant sendingSince;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
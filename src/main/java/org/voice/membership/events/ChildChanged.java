@@ -0,0 +1,13 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+
+/**
+ * A member added, edited or removed one of their children.
+ */
+public record ChildChanged(int userId, int childId, Change change, Instant occurredAt) implements DomainEvent {
+
+    public enum Change {
+        ADDED, UPDATED, REMOVED
+    }
+}
@@ -0,0 +1,17 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+
+/**
+ * Something that happened to a member, published on the
+ * {@link DomainEventBus} once the change behind it has committed.
+ * Events carry plain values rather than entities, since subscribers run on
+ * other threads outside the publishing transaction.
+ */
+public sealed interface DomainEvent
+        permits MemberRegistered, EmailVerified, MembershipUpgraded, MembershipCancelled, ChildChanged {
+
+    int userId();
+
+    Instant occurredAt();
+}
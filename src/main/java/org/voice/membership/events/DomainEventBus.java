@@ -0,0 +1,173 @@
+package org.voice.membership.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands {@link DomainEvent}s to every {@link DomainEventSubscriber}.
+ * An event published inside a transaction is held until the transaction
+ * has completed and dropped if it rolled back; outside one it is handed
+ * over at once, since the repository calls before it have already
+ * committed. These subscribers never run on the publishing thread, so they
+ * see no transaction of the publisher's. Subscribers that ask for
+ * {@link DomainEventSubscriber#inPublisherTransaction()} are instead called
+ * by {@code publish} itself, before the commit.
+ * Each subscriber has one thread and a bounded queue, and receives events
+ * in the order they were queued. When a subscriber's queue is full the
+ * publisher waits up to {@code offerTimeout} for room, which slows it down
+ * while the subscriber catches up; an event still without room after that
+ * is dropped for that subscriber and counted.
+ */
+@Slf4j
+public class DomainEventBus {
+
+    private final List<DomainEventSubscriber> inTransaction;
+    private final List<Channel> channels;
+    private final Duration offerTimeout;
+
+    /**
+     * @param queueCapacity events each subscriber may have waiting
+     * @param offerTimeout  how long a publisher waits for room in a full
+     *                      queue before dropping the event
+     */
+    public DomainEventBus(List<DomainEventSubscriber> subscribers, int queueCapacity, Duration offerTimeout) {
+        this.inTransaction = subscribers.stream().filter(DomainEventSubscriber::inPublisherTransaction).toList();
+        this.channels = subscribers.stream()
+                .filter(subscriber -> !subscriber.inPublisherTransaction())
+                .map(subscriber -> new Channel(subscriber, queueCapacity))
+                .toList();
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Delivers the event to the in-transaction subscribers now, and to every
+     * other subscriber once the current transaction has committed, or now if
+     * there is no transaction.
+     */
+    public void publish(DomainEvent event) {
+        inTransaction.forEach(subscriber -> subscriber.onEvent(event));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch(event);
+                    }
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Per queued subscriber: events waiting, delivered, failed, and dropped
+     * because the queue stayed full.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        inTransaction.forEach(subscriber -> stats.put(subscriber.name(), Map.of("inPublisherTransaction", true)));
+        for (Channel channel : channels) {
+            Map<String, Object> channelStats = new LinkedHashMap<>();
+            channelStats.put("queued", channel.queue.size());
+            channelStats.put("delivered", channel.delivered.get());
+            channelStats.put("failed", channel.failed.get());
+            channelStats.put("dropped", channel.dropped.get());
+            stats.put(channel.subscriber.name(), channelStats);
+        }
+        return stats;
+    }
+
+    /**
+     * Stops taking events and gives queued ones a few seconds to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        channels.forEach(channel -> channel.stopped = true);
+        for (Channel channel : channels) {
+            try {
+                channel.worker.join(TimeUnit.SECONDS.toMillis(5));
+                if (channel.worker.isAlive()) {
+                    log.warn("Dropping {} queued events for {}", channel.queue.size(), channel.subscriber.name());
+                    channel.worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                channel.worker.interrupt();
+            }
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        for (Channel channel : channels) {
+            channel.offer(event, offerTimeout);
+        }
+    }
+
+    private static final class Channel {
+
+        private final DomainEventSubscriber subscriber;
+        private final BlockingQueue<DomainEvent> queue;
+        private final Thread worker;
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean stopped;
+
+        Channel(DomainEventSubscriber subscriber, int queueCapacity) {
+            this.subscriber = subscriber;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.worker = Thread.ofPlatform().name("events-" + subscriber.name()).daemon().start(this::run);
+        }
+
+        void offer(DomainEvent event, Duration timeout) {
+            if (stopped) {
+                log.warn("Event bus is shut down; {} misses an event", subscriber.name());
+                return;
+            }
+            try {
+                if (queue.offer(event, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dropped.incrementAndGet();
+            log.warn("Queue for {} stayed full; dropping {}", subscriber.name(), event);
+        }
+
+        private void run() {
+            try {
+                while (!stopped || !queue.isEmpty()) {
+                    DomainEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (event != null) {
+                        deliver(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void deliver(DomainEvent event) {
+            try {
+                subscriber.onEvent(event);
+                delivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.warn("Subscriber {} failed on {}", subscriber.name(), event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.voice.membership.events;
+
+/**
+ * Receives every {@link DomainEvent} published on the bus, on a thread of its
+ * own and in publishing order, or inside the publisher's transaction if it
+ * asks to. Subscribers pick out the events they care about and ignore the
+ * rest.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Short name used for the subscriber's thread and in its stats.
+     */
+    String name();
+
+    void onEvent(DomainEvent event);
+
+    /**
+     * True to receive events on the publishing thread, inside the
+     * publisher's transaction, so what the subscriber writes commits or
+     * rolls back with the change that caused the event. Its exceptions
+     * reach the publisher, and it must be quick.
+     */
+    default boolean inPublisherTransaction() {
+        return false;
+    }
+}
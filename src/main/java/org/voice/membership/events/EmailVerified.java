@@ -0,0 +1,9 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+
+/**
+ * A member followed their verification link and can now sign in.
+ */
+public record EmailVerified(int userId, String email, Instant occurredAt) implements DomainEvent {
+}
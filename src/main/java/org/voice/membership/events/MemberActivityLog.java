@@ -0,0 +1,118 @@
+package org.voice.membership.events;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * The {@code member_activity} table: the events shown in the admin live
+ * activity feed, numbered by {@code seq} across all nodes. Appends join the
+ * caller's transaction, so an event is only read once the change behind it
+ * has committed.
+ */
+public class MemberActivityLog {
+
+    private static final String APPEND = "INSERT INTO member_activity "
+            + "(event_type, user_id, data, occurred_at, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT = "SELECT seq, event_type, user_id, data, occurred_at FROM member_activity ";
+
+    private static final String SELECT_LATEST = "SELECT * FROM (" + SELECT
+            + "ORDER BY seq DESC LIMIT ?) latest ORDER BY seq";
+
+    private static final String MAX_SEQ = "SELECT COALESCE(MAX(seq), 0) FROM member_activity";
+
+    private static final String MIN_SEQ = "SELECT COALESCE(MIN(seq), 0) FROM member_activity";
+
+    private static final String LAST_SEQ_BEFORE = "SELECT COALESCE(MAX(seq), 0) FROM member_activity "
+            + "WHERE created_at < ?";
+
+    private static final String DELETE_RANGE = "DELETE FROM member_activity WHERE seq >= ? AND seq <= ?";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final RowMapper<Activity> ACTIVITY = (rs, rowNum) -> new Activity(rs.getLong("seq"),
+            rs.getString("event_type"), rs.getInt("user_id"), rs.getString("data"),
+            rs.getTimestamp("occurred_at", Calendar.getInstance(UTC)).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MemberActivityLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * @param data the event details as a JSON object
+     */
+    public void append(String type, int userId, String data, Instant occurredAt) {
+        jdbcTemplate.update(APPEND, type, userId, data, utc(occurredAt), utc(Instant.now()));
+    }
+
+    /**
+     * Entries after {@code afterSeq} in sequence order, at most {@code limit}.
+     */
+    public List<Activity> readAfter(long afterSeq, int limit) {
+        return jdbcTemplate.query(SELECT + "WHERE seq > ? ORDER BY seq LIMIT " + limit, ACTIVITY, afterSeq);
+    }
+
+    /**
+     * Entries with the given sequence numbers, for numbers skipped by an
+     * earlier read because their transaction had not committed yet.
+     */
+    public List<Activity> read(Collection<Long> seqs) {
+        return namedParameterJdbcTemplate.query(SELECT + "WHERE seq IN (:seqs) ORDER BY seq",
+                new MapSqlParameterSource("seqs", seqs), ACTIVITY);
+    }
+
+    /**
+     * The newest {@code limit} entries, oldest first.
+     */
+    public List<Activity> readLatest(int limit) {
+        return jdbcTemplate.query(SELECT_LATEST, ACTIVITY, limit);
+    }
+
+    public long maxSeq() {
+        return jdbcTemplate.queryForObject(MAX_SEQ, Long.class);
+    }
+
+    /**
+     * Deletes entries created before {@code cutoff}, walking the primary key
+     * in ranges of {@code batchSize}.
+     *
+     * @return number of entries deleted
+     */
+    public int prune(Instant cutoff, int batchSize) {
+        long last = jdbcTemplate.queryForObject(LAST_SEQ_BEFORE, Long.class, utc(cutoff));
+        long from = jdbcTemplate.queryForObject(MIN_SEQ, Long.class);
+        int deleted = 0;
+        while (from > 0 && from <= last) {
+            long to = Math.min(from + batchSize - 1, last);
+            deleted += jdbcTemplate.update(DELETE_RANGE, from, to);
+            from = to + 1;
+        }
+        return deleted;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * One logged event.
+     *
+     * @param data the event details as a JSON object
+     */
+    public record Activity(long seq, String type, int userId, String data, Instant occurredAt) {
+    }
+}
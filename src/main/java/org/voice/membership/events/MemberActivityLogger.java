@@ -0,0 +1,33 @@
+package org.voice.membership.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes one log line per member event, for tracing sign-ups and plan
+ * changes without a database query.
+ */
+@Slf4j
+@Component
+public class MemberActivityLogger implements DomainEventSubscriber {
+
+    @Override
+    public String name() {
+        return "activity-log";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        switch (event) {
+            case MemberRegistered registered -> log.info("Member {} registered with plan {}",
+                    registered.userId(), registered.membershipName());
+            case EmailVerified verified -> log.info("Member {} verified their email", verified.userId());
+            case MembershipUpgraded upgraded -> log.info("Member {} upgraded to {} until {}",
+                    upgraded.userId(), upgraded.membershipName(), upgraded.expiryDate());
+            case MembershipCancelled cancelled -> log.info("Member {} cancelled {}",
+                    cancelled.userId(), cancelled.membershipName());
+            case ChildChanged child -> log.debug("Member {} child {} {}",
+                    child.userId(), child.childId(), child.change());
+        }
+    }
+}
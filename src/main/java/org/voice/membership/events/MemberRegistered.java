@@ -0,0 +1,14 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+
+/**
+ * A new account was created by the registration wizard and is waiting for
+ * its email to be verified.
+ *
+ * @param membershipName   the plan chosen, or null if none was
+ * @param verificationLink link the member follows to verify their email
+ */
+public record MemberRegistered(int userId, String email, String name, String membershipName, boolean paid,
+        String verificationLink, Instant occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,12 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+
+/**
+ * A member cancelled their paid plan and was moved to the free one, if any.
+ *
+ * @param membershipName the plan that was cancelled
+ */
+public record MembershipCancelled(int userId, String email, String membershipName, Instant occurredAt)
+        implements DomainEvent {
+}
@@ -0,0 +1,11 @@
+package org.voice.membership.events;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A member paid to move from a free plan to a paid one.
+ */
+public record MembershipUpgraded(int userId, String email, String name, String membershipName,
+        LocalDate expiryDate, Instant occurredAt) implements DomainEvent {
+}
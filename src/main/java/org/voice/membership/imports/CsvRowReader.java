@@ -0,0 +1,89 @@
+package org.voice.membership.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams rows from an RFC 4180 CSV file: comma separated, fields optionally
+ * quoted with double quotes, quotes escaped by doubling them, and line breaks
+ * allowed inside quoted fields. Only the current row is held in memory.
+ */
+public final class CsvRowReader {
+
+    private CsvRowReader() {
+    }
+
+    /**
+     * Reads every row of a UTF-8 CSV stream, skipping blank lines.
+     *
+     * @param sheet name reported to the handler for every row
+     */
+    public static void read(InputStream in, String sheet, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> cells = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int rowNumber = 1;
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                cells.add(field.toString().trim());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n') {
+                        emit(sheet, rowNumber++, cells, field, fieldStarted, handler);
+                        fieldStarted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                emit(sheet, rowNumber++, cells, field, fieldStarted, handler);
+                fieldStarted = false;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+            c = reader.read();
+        }
+        emit(sheet, rowNumber, cells, field, fieldStarted, handler);
+    }
+
+    private static void emit(String sheet, int rowNumber, List<String> cells, StringBuilder field,
+            boolean fieldStarted, RowHandler handler) {
+        if (fieldStarted || !cells.isEmpty()) {
+            cells.add(field.toString().trim());
+            handler.row(sheet, rowNumber, List.copyOf(cells));
+        }
+        cells.clear();
+        field.setLength(0);
+    }
+}
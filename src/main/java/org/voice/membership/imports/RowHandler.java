@@ -0,0 +1,17 @@
+package org.voice.membership.imports;
+
+import java.util.List;
+
+/**
+ * Receives spreadsheet rows one at a time as a reader streams them.
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * @param sheet     name of the sheet the row belongs to
+     * @param rowNumber 1-based row number as shown in a spreadsheet program
+     * @param cells     cell values in column order; empty cells are empty strings
+     */
+    void row(String sheet, int rowNumber, List<String> cells);
+}
@@ -0,0 +1,47 @@
+package org.voice.membership.imports;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Short content hash of a row's editable cells. The export writes it next to
+ * each row so a re-imported sheet can tell which rows were edited without
+ * reading the database, and it stands in for a row version when checking
+ * that the database row has not changed since the export.
+ */
+public final class RowHash {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private RowHash() {
+    }
+
+    /**
+     * Hashes the values in order. Null and blank values hash alike and
+     * surrounding whitespace is ignored, matching how cells are read back.
+     */
+    public static String of(List<String> values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            joined.append(normalize(value)).append(SEPARATOR);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(joined.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The form a value is compared and hashed in: trimmed, with null as empty.
+     */
+    public static String normalize(String value) {
+        return value != null ? value.trim() : "";
+    }
+}
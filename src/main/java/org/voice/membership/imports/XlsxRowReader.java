@@ -0,0 +1,116 @@
+package org.voice.membership.imports;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams rows from an XLSX workbook with POI's SAX event API. Sheets are
+ * read in workbook order and cells are reported as formatted text, so the
+ * sheet XML is never built into a full object model.
+ */
+public final class XlsxRowReader {
+
+    private XlsxRowReader() {
+    }
+
+    /**
+     * Reads every non-empty row of every sheet. The stream is first copied
+     * to a temporary file: POI opens a file by random access, but holds a
+     * whole stream's unzipped parts in memory.
+     *
+     * @throws IOException if the stream is not a readable XLSX workbook
+     */
+    public static void read(InputStream in, RowHandler handler) throws IOException {
+        Path spooled = Files.createTempFile("workbook-", ".xlsx");
+        try {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            read(spooled.toFile(), handler);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Reads every non-empty row of every sheet of a workbook on disk.
+     *
+     * @throws IOException if the file is not a readable XLSX workbook
+     */
+    public static void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage workbook = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(workbook);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(workbook);
+            StylesTable styles = reader.getStylesTable();
+            DataFormatter formatter = new DataFormatter();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                            new SheetRows(sheets.getSheetName(), handler), formatter, false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable XLSX workbook", e);
+        }
+    }
+
+    /**
+     * Collects the cells of one row, filling the gaps POI leaves for empty
+     * cells, and hands the row on when it ends.
+     */
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final String sheet;
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        SheetRows(String sheet, RowHandler handler) {
+            this.sheet = sheet;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.stream().anyMatch(value -> !value.isEmpty())) {
+                handler.row(sheet, rowNum + 1, List.copyOf(cells));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue.trim() : "");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.voice.membership.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.voice.membership.entities.ArchivedUser;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read access to archived members for the admin dashboard, for email
+ * uniqueness checks and for signing archived members in. Mirrors the dashboard queries of {@link UserRepository}
+ * and {@link ChildRepository} on the archive tables.
+ */
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, Integer> {
+
+    /**
+     * Lower-cased emails from the given set that belong to archived members.
+     */
+    @Query("SELECT a.emailNormalized FROM ArchivedUser a WHERE a.emailNormalized IN :emails")
+    List<String> findArchivedEmails(@Param("emails") Collection<String> normalizedEmails);
+
+    ArchivedUser findByEmail(String email);
+
+    /**
+     * All archived members with their children, read-only.
+     */
+    @EntityGraph(attributePaths = "children")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ArchivedUser a")
+    List<ArchivedUser> findAllWithChildren();
+
+    /**
+     * Archived members registered at or after {@code from} and strictly
+     * before {@code before}, with their children, read-only.
+     */
+    @EntityGraph(attributePaths = "children")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ArchivedUser a WHERE a.creation >= :from AND a.creation < :before")
+    List<ArchivedUser> findRegisteredBetween(@Param("from") Instant from, @Param("before") Instant before);
+
+    @Query("SELECT a.id FROM ArchivedUser a WHERE a.provinceId = :code")
+    List<Integer> findIdsByProvinceId(@Param("code") Short code);
+
+    @Query("SELECT DISTINCT c.user.id FROM ArchivedChild c WHERE c.dateOfBirth BETWEEN :earliest AND :latest")
+    List<Integer> findParentIdsBornBetween(@Param("earliest") LocalDate earliest,
+            @Param("latest") LocalDate latest);
+
+    @Query("SELECT DISTINCT c.user.id FROM ArchivedChild c WHERE c.hearingLossTypeId = :code")
+    List<Integer> findParentIdsByHearingLossTypeId(@Param("code") Short code);
+
+    @Query("SELECT DISTINCT c.user.id FROM ArchivedChild c WHERE c.equipmentTypeId = :code")
+    List<Integer> findParentIdsByEquipmentTypeId(@Param("code") Short code);
+}
@@ -10,6 +10,8 @@ package org.voice.membership.repositories;
 import org.voice.membership.entities.CartItem;
 import org.voice.membership.entities.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,7 +22,18 @@ public interface CartItemRepository extends JpaRepository<CartItem, Integer> {
 
     void deleteByCart(Cart cart);
 
-    void deleteByCartId(Integer cartId);
+    /**
+     * Deletes the cart's items one by one, as the derived delete did, but
+     * finds them through the indexed cart_id column.
+     */
+    default void deleteByCartId(Integer cartId) {
+        deleteAll(findByCartId(cartId));
+    }
 
-    List<CartItem> findByCartId(Integer cartId);
+    /**
+     * Compares the foreign key column directly; the derived query would join
+     * carts and filter on the joined id, which cannot use the cart_id index.
+     */
+    @Query("SELECT ci FROM CartItem ci WHERE ci.cart.id = :cartId")
+    List<CartItem> findByCartId(@Param("cartId") Integer cartId);
 }
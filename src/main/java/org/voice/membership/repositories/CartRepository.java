@@ -10,6 +10,8 @@ package org.voice.membership.repositories;
 import org.voice.membership.entities.Cart;
 import org.voice.membership.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,6 +19,11 @@ import java.util.Optional;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Integer> {
     Optional<Cart> findByUser(User user);
-    Optional<Cart> findByUserId(int userId);
+
+    /**
+     * Compares the foreign key column directly so the unique user_id index is used.
+     */
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findByUserId(@Param("userId") int userId);
 }
 
@@ -3,8 +3,13 @@ package org.voice.membership.repositories;
 import org.voice.membership.entities.Child;
 import org.voice.membership.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -14,6 +19,48 @@ import java.util.List;
  */
 public interface ChildRepository extends JpaRepository<Child, Integer> {
     List<Child> findByUser(User user);
-    List<Child> findByUserId(int userId);
-}
 
+    /**
+     * Compares the foreign key column directly; the derived query would join
+     * users and filter on the joined id, which cannot use the user_id index.
+     */
+    @Query("SELECT c FROM Child c WHERE c.user.id = :userId")
+    List<Child> findByUserId(@Param("userId") int userId);
+
+    /**
+     * Ids of parents with at least one child born in the given range
+     * (inclusive). Answered from the (date_of_birth, user_id) index alone.
+     */
+    @Query("SELECT DISTINCT c.user.id FROM Child c WHERE c.dateOfBirth BETWEEN :earliest AND :latest")
+    List<Integer> findParentIdsBornBetween(@Param("earliest") LocalDate earliest,
+            @Param("latest") LocalDate latest);
+
+    /**
+     * Ids of parents with at least one child of the given hearing loss type code.
+     */
+    @Query("SELECT DISTINCT c.user.id FROM Child c WHERE c.hearingLossTypeId = :code")
+    List<Integer> findParentIdsByHearingLossTypeId(@Param("code") Short code);
+
+    /**
+     * Ids of parents with at least one child using the given equipment type code.
+     */
+    @Query("SELECT DISTINCT c.user.id FROM Child c WHERE c.equipmentTypeId = :code")
+    List<Integer> findParentIdsByEquipmentTypeId(@Param("code") Short code);
+
+    /**
+     * Distinct recorded ages of children that still have no date of birth.
+     */
+    @Query("SELECT DISTINCT c.age FROM Child c WHERE c.dateOfBirth IS NULL AND c.age IS NOT NULL")
+    List<Integer> findAgesWithoutDateOfBirth();
+
+    /**
+     * Sets an estimated date of birth on every child of the given recorded
+     * age that has none.
+     *
+     * @return number of children updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Child c SET c.dateOfBirth = :dateOfBirth WHERE c.dateOfBirth IS NULL AND c.age = :age")
+    int setMissingDateOfBirth(@Param("age") int age, @Param("dateOfBirth") LocalDate dateOfBirth);
+}
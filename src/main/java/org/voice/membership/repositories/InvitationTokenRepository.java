@@ -0,0 +1,14 @@
+package org.voice.membership.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.voice.membership.entities.InvitationToken;
+
+import java.util.Optional;
+
+/**
+ * Repository for invitation tokens issued to imported members.
+ */
+public interface InvitationTokenRepository extends JpaRepository<InvitationToken, Long> {
+
+    Optional<InvitationToken> findByToken(String token);
+}
@@ -2,6 +2,9 @@ package org.voice.membership.repositories;
 
 import org.voice.membership.entities.LandingPageContent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,5 +15,6 @@ import java.util.Optional;
  * Allows lookup of landing page text content by a unique key.
  */
 public interface LandingPageContentRepository extends JpaRepository<LandingPageContent, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<LandingPageContent> findByKey(String key);
 }
@@ -0,0 +1,37 @@
+package org.voice.membership.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupSuggestion;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data repository for dictionary values awaiting review.
+ */
+@Repository
+public interface LookupSuggestionRepository extends JpaRepository<LookupSuggestion, Integer> {
+    List<LookupSuggestion> findByDismissedFalseOrderByOccurrencesDescLastSeenAtDesc();
+
+    boolean existsByCategoryAndLookupKey(LookupCategory category, String lookupKey);
+
+    long countByDismissedFalse();
+
+    /**
+     * Counts another sighting of an already queued or dismissed value.
+     *
+     * @return 1 if the value was known, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LookupSuggestion s SET s.occurrences = s.occurrences + 1, s.lastSeenAt = :now "
+            + "WHERE s.category = :category AND s.lookupKey = :lookupKey")
+    int recordOccurrence(@Param("category") LookupCategory category, @Param("lookupKey") String lookupKey,
+            @Param("now") Instant now);
+}
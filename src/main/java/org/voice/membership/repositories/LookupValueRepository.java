@@ -0,0 +1,16 @@
+package org.voice.membership.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupValue;
+
+import java.util.Optional;
+
+/**
+ * Spring Data repository for dictionary values.
+ */
+@Repository
+public interface LookupValueRepository extends JpaRepository<LookupValue, Short> {
+    Optional<LookupValue> findByCategoryAndLookupKey(LookupCategory category, String lookupKey);
+}
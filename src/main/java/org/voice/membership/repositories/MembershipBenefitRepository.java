@@ -2,6 +2,9 @@ package org.voice.membership.repositories;
 
 import org.voice.membership.entities.MembershipBenefit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +17,6 @@ import java.util.List;
 public interface MembershipBenefitRepository extends JpaRepository<MembershipBenefit, Integer> {
     List<MembershipBenefit> findByActiveTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MembershipBenefit> findByActiveTrueOrderByDisplayOrderAsc();
 }
@@ -8,6 +8,9 @@ package org.voice.membership.repositories;
 
 import org.voice.membership.entities.Membership;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,6 +19,7 @@ import java.util.List;
 public interface MembershipRepository extends JpaRepository<Membership, Integer> {
     List<Membership> findByActiveTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Membership> findByActiveTrueOrderByDisplayOrderAsc();
 
     List<Membership> findByIsFree(boolean isFree);
@@ -1,16 +1,88 @@
 package org.voice.membership.repositories;
 
+import org.voice.membership.dtos.ProfileRow;
 import org.voice.membership.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
 
 /**
  * Spring Data repository for accessing and querying User entities.
  * Provides methods for looking up users by email, including case-insensitive search.
  */
-public interface UserRepository extends JpaRepository<User, Integer> {
-    User findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Integer>, UserRepositoryCustom {
+
+    /**
+     * Case-insensitive lookup on the indexed lower-cased email column.
+     */
+    @Query("SELECT u FROM User u WHERE u.emailNormalized = LOWER(:email)")
+    User findByEmailIgnoreCase(@Param("email") String email);
+
+    @Query("SELECT u FROM User u WHERE u.emailNormalized = LOWER(:email)")
+    java.util.List<User> findAllByEmailIgnoreCase(@Param("email") String email);
+
+    /**
+     * Loads the profile dashboard data (user, membership and children) in one
+     * query, one row per child.
+     */
+    @Query("SELECT new org.voice.membership.dtos.ProfileRow(u.id, u.firstName, u.middleName, u.lastName, "
+            + "u.email, u.phone, u.address, u.city, u.province, u.postalCode, u.creation, "
+            + "m.name, m.isFree, m.description, "
+            + "c.id, c.name, c.age, c.dateOfBirth, c.hearingLossType, c.equipmentType) "
+            + "FROM User u LEFT JOIN u.membership m LEFT JOIN u.children c "
+            + "WHERE u.id = :id ORDER BY c.id")
+    java.util.List<ProfileRow> findProfileRows(@Param("id") int id);
+
+    /**
+     * Loads a user with their membership plan already fetched, so the plan
+     * can be checked after the transaction that loaded it has ended.
+     */
+    @EntityGraph(attributePaths = "membership")
+    Optional<User> findWithMembershipById(int id);
+
+    /**
+     * Same as {@link #findWithMembershipById}, for principals that only
+     * carry an email.
+     */
+    @EntityGraph(attributePaths = "membership")
+    Optional<User> findWithMembershipByEmail(String email);
+
+    /**
+     * Loads a user with their children and membership plan for the admin
+     * details view.
+     */
+    @EntityGraph(attributePaths = { "children", "membership" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<User> findDetailsById(int id);
+
+    /**
+     * All users with their children, read-only, for the admin dashboard.
+     */
+    @EntityGraph(attributePaths = "children")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT u FROM User u")
+    java.util.List<User> findAllWithChildren();
 
-    User findByEmailIgnoreCase(String email);
+    /**
+     * Ids of users in the province with the given lookup code.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.provinceId = :code")
+    java.util.List<Integer> findIdsByProvinceId(@Param("code") Short code);
 
-    java.util.List<User> findAllByEmailIgnoreCase(String email);
+    /**
+     * Users registered at or after {@code from} and strictly before
+     * {@code before}, with their children, read-only. The range is evaluated
+     * by the database on the indexed creation column.
+     */
+    @EntityGraph(attributePaths = "children")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT u FROM User u WHERE u.creation >= :from AND u.creation < :before")
+    java.util.List<User> findRegisteredBetween(@Param("from") Instant from, @Param("before") Instant before);
 }
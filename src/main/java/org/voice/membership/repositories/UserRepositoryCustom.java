@@ -0,0 +1,26 @@
+package org.voice.membership.repositories;
+
+import org.voice.membership.entities.User;
+
+import java.util.List;
+
+/**
+ * User lookups implemented by hand rather than derived from method names.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads the user with exactly this email, resolving the id through the
+     * natural-id cache when it is enabled.
+     *
+     * @return the user, or null if there is none
+     */
+    User findByEmail(String email);
+
+    /**
+     * Reads every user with their children through a stateless session on
+     * the current transaction's connection, for exports. Nothing is kept in
+     * a persistence context and the results are detached.
+     */
+    List<User> findAllWithChildrenForExport();
+}
@@ -0,0 +1,65 @@
+package org.voice.membership.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.entities.User;
+
+import java.util.List;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public User findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        User user = load(email);
+        if (user != null && !email.equalsIgnoreCase(user.getEmail())) {
+            // A resolution cached under an email that has since changed; drop
+            // just that entry and ask the database again.
+            evictResolution(email);
+            user = load(email);
+        }
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findAllWithChildrenForExport() {
+        Session session = entityManager.unwrap(Session.class);
+        SessionFactory sessionFactory = session.getSessionFactory();
+        return session.doReturningWork(connection -> {
+            try (StatelessSession stateless = sessionFactory.withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                return stateless.createSelectionQuery(
+                        "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.children ORDER BY u.id", User.class)
+                        .getResultList();
+            }
+        });
+    }
+
+    private void evictResolution(String email) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdDataAccess cacheAccess = persister.getNaturalIdMapping().getCacheAccess();
+        if (cacheAccess != null) {
+            cacheAccess.evict(cacheAccess.generateCacheKey(email, persister, session));
+        }
+    }
+
+    private User load(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).load(email);
+    }
+}
@@ -0,0 +1,14 @@
+package org.voice.membership.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.voice.membership.entities.WebhookEndpoint;
+
+import java.util.List;
+
+/**
+ * Repository for webhook endpoints registered by admins.
+ */
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, Integer> {
+
+    List<WebhookEndpoint> findByActiveTrue();
+}
@@ -0,0 +1,139 @@
+package org.voice.membership.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named leases in the {@code job_leases} table that let one node at a time
+ * run a scheduled job. A lease is taken with a single conditional UPDATE
+ * that only matches a row whose lease has run out or that this node already
+ * holds, so two nodes racing for the same row cannot both win. A node that
+ * dies stops renewing, and its lease is free again once it expires.
+ * Times come from each node's clock; keep lease lengths well above the
+ * expected clock drift between nodes.
+ */
+@Slf4j
+public class LeaseLock {
+
+    private static final String TAKE = "UPDATE job_leases SET owner = ?, locked_at = ?, locked_until = ? "
+            + "WHERE name = ? AND (locked_until <= ? OR owner = ?)";
+
+    private static final String CREATE = "INSERT INTO job_leases (name, owner, locked_at, locked_until) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private static final String RENEW = "UPDATE job_leases SET locked_until = ? WHERE name = ? AND owner = ?";
+
+    // Keeps the lease until the minimum hold has passed, so a node whose
+    // clock fires a little later does not run the same tick again
+    private static final String RELEASE = "UPDATE job_leases SET locked_until = ? WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("lease-heartbeat").daemon().factory());
+
+    /**
+     * @param owner identifies this node in the lease table; must differ
+     *              between nodes
+     */
+    public LeaseLock(JdbcTemplate jdbcTemplate, String owner) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Takes the named lease for {@code ttl} if no other node holds it.
+     * Taking a lease this node already holds extends it.
+     *
+     * @return true if this node now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        if (jdbcTemplate.update(TAKE, owner, utc(now), utc(now.plus(ttl)), name, utc(now), owner) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(CREATE, name, owner, utc(now), utc(now.plus(ttl))) == 1;
+        } catch (DuplicateKeyException e) {
+            // The row exists and another node holds it, or just created it
+            return false;
+        }
+    }
+
+    /**
+     * Extends a lease this node holds to {@code ttl} from now.
+     *
+     * @return false if the lease was lost to another node
+     */
+    public boolean renew(String name, Duration ttl) {
+        return jdbcTemplate.update(RENEW, utc(Instant.now().plus(ttl)), name, owner) == 1;
+    }
+
+    /**
+     * Gives up a lease this node holds, but not before {@code holdUntil}.
+     */
+    public void release(String name, Instant holdUntil) {
+        Instant until = holdUntil.isAfter(Instant.now()) ? holdUntil : Instant.now();
+        jdbcTemplate.update(RELEASE, utc(until), name, owner);
+    }
+
+    /**
+     * Runs {@code job} on this node only if it can take the named lease. The
+     * lease is renewed every third of {@code ttl} while the job runs; if a
+     * renewal finds the lease taken over, the job's thread is interrupted.
+     * The lease is held for at least {@code minHold} from the start, so
+     * other nodes skip the same tick even if the job finishes quickly.
+     *
+     * @return true if the job ran here
+     */
+    public boolean runExclusively(String name, Duration ttl, Duration minHold, Runnable job) {
+        Instant started = Instant.now();
+        if (!tryAcquire(name, ttl)) {
+            log.debug("Skipping {}: lease held by another node", name);
+            return false;
+        }
+        Thread worker = Thread.currentThread();
+        long period = Math.max(ttl.toMillis() / 3, 1);
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                if (!renew(name, ttl)) {
+                    log.warn("Lease {} was taken over while its job was running; interrupting it", name);
+                    worker.interrupt();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not renew lease {}", name, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        try {
+            job.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            release(name, started.plus(minHold));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,21 @@
+package org.voice.membership.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter of type {@link org.voice.membership.entities.User}
+ * to the signed-in user, or an {@code Integer} parameter to their id. The
+ * user is loaded at most once per request; the parameter is null when nobody
+ * is signed in or the account no longer exists.
+ *
+ * @see CurrentUserArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,94 @@
+package org.voice.membership.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.ApiTokenService;
+
+import java.util.Optional;
+
+/**
+ * Resolves {@link CurrentUser} parameters.
+ * The principal's user id is used to load the user by primary key, together
+ * with their membership plan since there is no open session to load it later,
+ * and the result is kept in a request attribute so later lookups in the same
+ * request are free. Principals without an id (for example test users) fall
+ * back to an email lookup.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (User.class.isAssignableFrom(parameter.getParameterType())
+                        || Integer.class.equals(parameter.getParameterType()));
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        if (Integer.class.equals(parameter.getParameterType())) {
+            Integer userId = principalUserId(SecurityContextHolder.getContext().getAuthentication());
+            if (userId != null) {
+                return userId;
+            }
+            User user = currentUser(webRequest);
+            return user != null ? user.getId() : null;
+        }
+        return currentUser(webRequest);
+    }
+
+    @SuppressWarnings("unchecked")
+    private User currentUser(NativeWebRequest webRequest) {
+        Object cached = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return ((Optional<User>) cached).orElse(null);
+        }
+        Optional<User> user = loadUser(SecurityContextHolder.getContext().getAuthentication());
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user.orElse(null);
+    }
+
+    private Optional<User> loadUser(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        Integer userId = principalUserId(authentication);
+        if (userId != null) {
+            return userRepository.findWithMembershipById(userId);
+        }
+        return userRepository.findWithMembershipByEmail(authentication.getName());
+    }
+
+    /**
+     * Returns the user id carried by the principal itself, without any lookup.
+     */
+    private static Integer principalUserId(Authentication authentication) {
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+        if (principal instanceof MemberUserDetails member) {
+            return member.getId();
+        }
+        if (principal instanceof Jwt jwt && jwt.getClaim(ApiTokenService.CLAIM_USER_ID) instanceof Number userId) {
+            return userId.intValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package org.voice.membership.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal for members and admins.
+ * Carries the user's primary key and role alongside the usual username and
+ * authorities, so request handlers can load the user by id instead of
+ * looking it up by email. A principal loaded from the archive is flagged,
+ * so the member can be moved back once their password has been checked.
+ */
+public class MemberUserDetails extends User {
+
+    private final int id;
+    private final String role;
+    private final boolean archived;
+
+    public MemberUserDetails(int id, String email, String password, String role,
+            Collection<? extends GrantedAuthority> authorities) {
+        this(id, email, password, role, authorities, false);
+    }
+
+    public MemberUserDetails(int id, String email, String password, String role,
+            Collection<? extends GrantedAuthority> authorities, boolean archived) {
+        super(email, password, authorities);
+        this.id = id;
+        this.role = role;
+        this.archived = archived;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * True if the credentials were read from {@code users_archive} and the
+     * member is not yet back in {@code users}.
+     */
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.voice.membership.entities.User;
 import org.voice.membership.repositories.UserRepository;
 
-import java.util.Date;
+import java.time.Instant;
 
 /**
  * Service responsible for managing account lockout functionality.
@@ -61,11 +61,12 @@ public class AccountLockoutService {
      */
     private void lockAccount(User user) {
         user.setAccountLocked(true);
-        user.setLockoutTime(new Date());
+        user.setLockoutTime(Instant.now());
     }
 
     /**
-     * Resets failed login attempts after successful login.
+     * Resets failed login attempts after successful login and records the
+     * time of the login.
      *
      * @param email User's email address
      */
@@ -76,6 +77,7 @@ public class AccountLockoutService {
             user.setFailedLoginAttempts(0);
             user.setAccountLocked(false);
             user.setLockoutTime(null);
+            user.setLastLogin(Instant.now());
             userRepository.save(user);
         }
     }
@@ -96,10 +98,10 @@ public class AccountLockoutService {
         }
 
         // Check if lockout period has expired
-        Date lockoutTime = user.getLockoutTime();
+        Instant lockoutTime = user.getLockoutTime();
         if (lockoutTime != null) {
             long lockoutDurationMillis = lockoutDurationMinutes * 60 * 1000L;
-            long timeSinceLockout = System.currentTimeMillis() - lockoutTime.getTime();
+            long timeSinceLockout = System.currentTimeMillis() - lockoutTime.toEpochMilli();
 
             if (timeSinceLockout >= lockoutDurationMillis) {
                 // Lockout period expired, unlock the account
@@ -137,7 +139,7 @@ public class AccountLockoutService {
         }
 
         long lockoutDurationMillis = lockoutDurationMinutes * 60 * 1000L;
-        long timeSinceLockout = System.currentTimeMillis() - user.getLockoutTime().getTime();
+        long timeSinceLockout = System.currentTimeMillis() - user.getLockoutTime().toEpochMilli();
         long remainingMillis = lockoutDurationMillis - timeSinceLockout;
 
         return Math.max(0, remainingMillis / (60 * 1000)); // Convert to minutes
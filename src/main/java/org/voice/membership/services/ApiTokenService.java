@@ -0,0 +1,152 @@
+package org.voice.membership.services;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Service;
+import org.voice.membership.dtos.ApiTokenResponse;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Issues and verifies the signed tokens used by the member JSON API.
+ * Access tokens are short-lived and carry everything needed to authorize a
+ * request (user id, email and role), so any API node can verify them locally
+ * without a database or session lookup. Refresh tokens live longer and can
+ * only be exchanged for a new token pair.
+ */
+@Slf4j
+@Service
+public class ApiTokenService {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+
+    private static final String ISSUER = "voice-membership";
+    private static final String ACCESS_TOKEN = "access";
+    private static final String REFRESH_TOKEN = "refresh";
+
+    private final JwtEncoder encoder;
+    private final JwtDecoder accessTokenDecoder;
+    private final JwtDecoder refreshTokenDecoder;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public ApiTokenService(
+            @Value("${app.api.token-secret:}") String base64Secret,
+            @Value("${app.api.access-token-minutes:15}") long accessTokenMinutes,
+            @Value("${app.api.refresh-token-days:14}") long refreshTokenDays) {
+        byte[] secret;
+        if (base64Secret == null || base64Secret.isBlank()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            log.warn("app.api.token-secret is not set; using a random key. "
+                    + "API tokens will not survive a restart or be accepted by other nodes.");
+        } else {
+            secret = Base64.getDecoder().decode(base64Secret.trim());
+            if (secret.length < 32) {
+                throw new IllegalArgumentException("app.api.token-secret must be a base64 key of at least 32 bytes");
+            }
+        }
+        SecretKey key = new SecretKeySpec(secret, "HmacSHA256");
+
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.accessTokenDecoder = decoder(key, ACCESS_TOKEN);
+        this.refreshTokenDecoder = decoder(key, REFRESH_TOKEN);
+        this.accessTokenTtl = Duration.ofMinutes(accessTokenMinutes);
+        this.refreshTokenTtl = Duration.ofDays(refreshTokenDays);
+    }
+
+    /**
+     * Issues a new access and refresh token pair for the user.
+     */
+    public ApiTokenResponse issueTokens(User user) {
+        Instant now = Instant.now();
+        return ApiTokenResponse.builder()
+                .accessToken(encode(user, ACCESS_TOKEN, now, accessTokenTtl))
+                .refreshToken(encode(user, REFRESH_TOKEN, now, refreshTokenTtl))
+                .tokenType("Bearer")
+                .expiresIn(accessTokenTtl.toSeconds())
+                .build();
+    }
+
+    /**
+     * Decoder used by the API security chain. Only accepts unexpired access
+     * tokens signed with this application's key.
+     */
+    public JwtDecoder accessTokenDecoder() {
+        return accessTokenDecoder;
+    }
+
+    /**
+     * Verifies a refresh token.
+     *
+     * @return the user id it was issued to, or null if it is invalid or expired
+     */
+    public Integer verifyRefreshToken(String refreshToken) {
+        try {
+            Jwt jwt = refreshTokenDecoder.decode(refreshToken);
+            Number userId = jwt.getClaim(CLAIM_USER_ID);
+            return userId != null ? userId.intValue() : null;
+        } catch (JwtException e) {
+            log.debug("Rejected refresh token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String encode(User user, String tokenType, Instant issuedAt, Duration ttl) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(user.getEmail())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(ttl))
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLES, List.of(role(user).name()))
+                .claim(CLAIM_TOKEN_TYPE, tokenType)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    /**
+     * The user's role, treating a missing one as {@link Role#USER} like the
+     * rest of the application does.
+     */
+    private static Role role(User user) {
+        return user.getRole() != null ? Role.valueOf(user.getRole()) : Role.USER;
+    }
+
+    private static JwtDecoder decoder(SecretKey key, String tokenType) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        OAuth2TokenValidator<Jwt> typeValidator = jwt -> tokenType.equals(jwt.getClaimAsString(CLAIM_TOKEN_TYPE))
+                ? OAuth2TokenValidatorResult.success()
+                : OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Wrong token type", null));
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER), typeValidator));
+        return decoder;
+    }
+}
@@ -0,0 +1,251 @@
+package org.voice.membership.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.entities.User;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves members who have not signed in for a long time and have no running
+ * membership from {@code users} and {@code children} into
+ * {@code users_archive} and {@code children_archive}, keeping their ids, so
+ * the tables every page reads stay small. Carts and tokens of archived
+ * members are dropped.
+ * An archived member signs in against the archived row and is moved back
+ * once their password has been checked, or when they redeem a password
+ * reset link.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final String USER_COLUMNS = "id, first_name, middle_name, last_name, email, email_normalized, "
+            + "password, phone, address, city, province, province_id, postal_code, role, creation, "
+            + "email_verified, failed_login_attempts, account_locked, lockout_time, membership_start_date, "
+            + "membership_expiry_date, membership_id, last_login";
+
+    private static final String CHILD_COLUMNS = "id, name, age, date_of_birth, hearing_loss_type, "
+            + "hearing_loss_type_id, equipment_type, equipment_type_id, siblings_names, chapter_location, "
+            + "chapter_id, user_id";
+
+    // Unverified accounts are left to the retention purge
+    private static final String INACTIVE = "email_verified = TRUE AND (role IS NULL OR role <> 'ADMIN') "
+            + "AND (membership_expiry_date IS NULL OR membership_expiry_date < :today) "
+            + "AND (last_login < :cutoff OR (last_login IS NULL AND creation < :cutoff))";
+
+    private static final String SELECT_INACTIVE = "SELECT id FROM users WHERE " + INACTIVE
+            + " AND id > :afterId ORDER BY id LIMIT ";
+
+    // Locks the batch and drops members who signed in since it was selected
+    private static final String LOCK_INACTIVE = "SELECT id FROM users WHERE id IN (:ids) AND " + INACTIVE
+            + " FOR UPDATE";
+
+    private static final String ARCHIVE_USERS = "INSERT INTO users_archive (" + USER_COLUMNS + ", archived_at) "
+            + "SELECT " + USER_COLUMNS + ", :now FROM users WHERE id IN (:ids)";
+    private static final String ARCHIVE_CHILDREN = "INSERT INTO children_archive (" + CHILD_COLUMNS + ") "
+            + "SELECT " + CHILD_COLUMNS + " FROM children WHERE user_id IN (:ids)";
+
+    private static final List<String> DELETE_LIVE = List.of(
+            "DELETE FROM cart_items WHERE cart_id IN (SELECT id FROM carts WHERE user_id IN (:ids))",
+            "DELETE FROM carts WHERE user_id IN (:ids)",
+            "DELETE FROM verification_tokens WHERE user_id IN (:ids)",
+            "DELETE FROM invitation_tokens WHERE user_id IN (:ids)",
+            "DELETE FROM children WHERE user_id IN (:ids)");
+    private static final String DELETE_USERS = "DELETE FROM users WHERE id IN (:ids)";
+
+    private static final String LOCK_ARCHIVED = "SELECT id FROM users_archive WHERE email = :email FOR UPDATE";
+
+    private static final String RESTORE_USER = "INSERT INTO users (" + USER_COLUMNS + ") "
+            + "SELECT " + USER_COLUMNS + " FROM users_archive WHERE id = :id";
+    private static final String RESTORE_CHILDREN = "INSERT INTO children (" + CHILD_COLUMNS + ") "
+            + "SELECT " + CHILD_COLUMNS + " FROM children_archive WHERE user_id = :id";
+    private static final String DELETE_ARCHIVED_CHILDREN = "DELETE FROM children_archive WHERE user_id = :id";
+    private static final String DELETE_ARCHIVED_USER = "DELETE FROM users_archive WHERE id = :id";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.inactive-after:730d}")
+    private Duration inactiveAfter;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${app.scheduling.lease-ttl:5m}")
+    private Duration leaseTtl;
+
+    @Value("${app.scheduling.min-hold:1m}")
+    private Duration leaseMinHold;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong childrenArchived = new AtomicLong();
+    private final AtomicLong restored = new AtomicLong();
+    private volatile Instant lastRunAt;
+    private volatile long lastRunMillis;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * SUN}")
+    public void scheduledArchive() {
+        if (enabled) {
+            leaseLock.runExclusively("member-archive", leaseTtl, leaseMinHold, this::archiveInactive);
+        }
+    }
+
+    /**
+     * Archives every inactive member, a batch at a time.
+     *
+     * @return number of members archived
+     */
+    public synchronized long archiveInactive() {
+        long started = System.currentTimeMillis();
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", utc(now))
+                .addValue("cutoff", utc(now.minus(inactiveAfter)))
+                .addValue("today", LocalDate.now());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        long count = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                List<Integer> ids = namedParameterJdbcTemplate.queryForList(SELECT_INACTIVE + batchSize,
+                        new MapSqlParameterSource(params.getValues()).addValue("afterId", afterId), Integer.class);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                List<Integer> moved = transaction.execute(status -> archiveBatch(ids, params));
+                moved.forEach(profileViewService::evict);
+                count += moved.size();
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Member archiving interrupted");
+        }
+
+        if (count > 0) {
+            evictNaturalIds();
+        }
+        runs.incrementAndGet();
+        archived.addAndGet(count);
+        lastRunAt = now;
+        lastRunMillis = System.currentTimeMillis() - started;
+        log.info("Archived {} inactive members in {} ms", count, lastRunMillis);
+        return count;
+    }
+
+    /**
+     * Moves the archived member with this email, and their children, back
+     * into the live tables.
+     *
+     * @return the restored member's id, which is unchanged, or null if no
+     *         archived member has this email
+     */
+    public Integer restore(String email) {
+        if (email == null) {
+            return null;
+        }
+        Integer id = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Integer> ids = namedParameterJdbcTemplate.queryForList(LOCK_ARCHIVED,
+                    new MapSqlParameterSource("email", email), Integer.class);
+            if (ids.isEmpty()) {
+                return null;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("id", ids.get(0));
+            namedParameterJdbcTemplate.update(RESTORE_USER, params);
+            namedParameterJdbcTemplate.update(RESTORE_CHILDREN, params);
+            namedParameterJdbcTemplate.update(DELETE_ARCHIVED_CHILDREN, params);
+            namedParameterJdbcTemplate.update(DELETE_ARCHIVED_USER, params);
+            return ids.get(0);
+        });
+        if (id == null) {
+            return null;
+        }
+        evictNaturalIds();
+        restored.incrementAndGet();
+        log.info("Restored archived member {}", id);
+        return id;
+    }
+
+    /**
+     * Members archived and restored since startup, and the time and duration
+     * of the last archiving run.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("archived", archived.get());
+        stats.put("childrenArchived", childrenArchived.get());
+        stats.put("restored", restored.get());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+
+    private List<Integer> archiveBatch(List<Integer> candidates, MapSqlParameterSource params) {
+        List<Integer> ids = namedParameterJdbcTemplate.queryForList(LOCK_INACTIVE,
+                new MapSqlParameterSource(params.getValues()).addValue("ids", candidates), Integer.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource batch = new MapSqlParameterSource(params.getValues()).addValue("ids", ids);
+        namedParameterJdbcTemplate.update(ARCHIVE_USERS, batch);
+        childrenArchived.addAndGet(namedParameterJdbcTemplate.update(ARCHIVE_CHILDREN, batch));
+        DELETE_LIVE.forEach(sql -> namedParameterJdbcTemplate.update(sql, batch));
+        namedParameterJdbcTemplate.update(DELETE_USERS, batch);
+        return ids;
+    }
+
+    /**
+     * Rows moved with plain SQL; drop email-to-id resolutions that may point
+     * at a row that is no longer there, or miss one that is back.
+     */
+    private void evictNaturalIds() {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictNaturalIdData(User.class);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
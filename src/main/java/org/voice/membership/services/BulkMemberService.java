@@ -0,0 +1,341 @@
+package org.voice.membership.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.dtos.BulkMemberRequest;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupValue;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.VerificationToken;
+import org.voice.membership.repositories.MembershipRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs admin operations over many members at once: unlocking accounts,
+ * extending or switching memberships, and resending verification emails.
+ * The selected members are walked in id order a chunk of ids at a time, and
+ * each chunk is changed with one set-based UPDATE in its own transaction,
+ * so no users are loaded as entities and row locks are held for one chunk
+ * at most. Jobs run one at a time in the background; their progress is
+ * read through {@link #getJob(String)}. Verification emails are queued in
+ * the {@link MailQueue} with each chunk's tokens, so they are still sent
+ * if this node restarts, and the job reports how many have gone out.
+ */
+@Slf4j
+@Service
+public class BulkMemberService {
+
+    public enum Operation {
+        UNLOCK,
+        EXTEND,
+        SWITCH_PLAN,
+        RESEND_VERIFICATION
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /** Jobs kept for status queries; the oldest are dropped beyond this. */
+    private static final int MAX_JOBS = 100;
+
+    private static final String UNLOCK = "UPDATE users SET account_locked = FALSE, failed_login_attempts = 0, "
+            + "lockout_time = NULL WHERE id IN (:ids) AND (account_locked = TRUE OR failed_login_attempts > 0)";
+
+    // Free plans never expire, so only paid memberships are extended
+    private static final String EXTEND = "UPDATE users SET membership_expiry_date = :expiryDate, "
+            + "membership_start_date = COALESCE(membership_start_date, :today) "
+            + "WHERE id IN (:ids) "
+            + "AND membership_id IN (SELECT id FROM membership_options WHERE is_free = FALSE) "
+            + "AND (membership_expiry_date IS NULL OR membership_expiry_date < :expiryDate)";
+
+    private static final String SWITCH_PLAN = "UPDATE users SET membership_id = :membershipId, "
+            + "membership_start_date = :today, membership_expiry_date = :expiryDate "
+            + "WHERE id IN (:ids) AND (membership_id IS NULL OR membership_id <> :membershipId)";
+
+    // Imported members without a password verify through their invitation instead
+    private static final String SELECT_UNVERIFIED = "SELECT id, email, first_name, last_name FROM users "
+            + "WHERE id IN (:ids) AND email_verified = FALSE AND password IS NOT NULL";
+
+    private static final String DELETE_VERIFICATION_TOKENS = "DELETE FROM verification_tokens "
+            + "WHERE user_id IN (:ids)";
+
+    private static final String INSERT_VERIFICATION_TOKEN = "INSERT INTO verification_tokens "
+            + "(token, user_id, expiry_date) VALUES (?, ?, ?)";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private MailQueue mailQueue;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String appBaseUrl;
+
+    @Value("${app.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("bulk-members").daemon().factory());
+
+    private final Map<String, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    /**
+     * Progress of a bulk operation. Updated by the worker thread only.
+     */
+    @Getter
+    public static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Operation operation;
+        private final Instant createdAt = Instant.now();
+        private volatile Status status = Status.QUEUED;
+        /** Members selected so far. */
+        private volatile int matched;
+        /** Members actually changed; already-matching members are skipped. */
+        private volatile int updated;
+        private volatile Instant finishedAt;
+        private volatile String error;
+        /** Queued emails by status, for jobs that send them. */
+        private volatile Map<String, Long> mail;
+
+        Job(Operation operation) {
+            this.operation = operation;
+        }
+    }
+
+    /** WHERE clause and parameters selecting the members to work on. */
+    private record Selection(String where, MapSqlParameterSource params) {
+    }
+
+    /**
+     * Validates the request and queues the operation.
+     *
+     * @throws IllegalArgumentException if nothing is selected or a parameter
+     *                                  the operation needs is missing
+     */
+    public Job start(Operation operation, BulkMemberRequest request) {
+        Selection selection = select(request);
+        MapSqlParameterSource params = new MapSqlParameterSource("today", LocalDate.now());
+        switch (operation) {
+            case EXTEND -> {
+                if (request.getExpiryDate() == null) {
+                    throw new IllegalArgumentException("expiryDate is required");
+                }
+                params.addValue("expiryDate", request.getExpiryDate());
+            }
+            case SWITCH_PLAN -> {
+                Membership plan = request.getMembershipId() != null
+                        ? membershipRepository.findById(request.getMembershipId()).orElse(null)
+                        : null;
+                if (plan == null) {
+                    throw new IllegalArgumentException("membershipId must name an existing plan");
+                }
+                // Same terms as registration: paid plans run a year, free ones do not expire
+                params.addValue("membershipId", plan.getId());
+                params.addValue("expiryDate", plan.isFree() ? null : LocalDate.now().plusYears(1));
+            }
+            default -> {
+            }
+        }
+
+        Job job = new Job(operation);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, selection, params));
+        return job;
+    }
+
+    public Job getJob(String id) {
+        Job job = jobs.get(id);
+        if (job != null && job.getOperation() == Operation.RESEND_VERIFICATION) {
+            job.mail = mailQueue.countByStatus(id);
+        }
+        return job;
+    }
+
+    /**
+     * Jobs still known to this node, oldest first.
+     */
+    public List<Job> getJobs() {
+        synchronized (jobs) {
+            return List.copyOf(jobs.values());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Selection select(BulkMemberRequest request) {
+        StringBuilder where = new StringBuilder("1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        boolean restricted = false;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            where.append(" AND id IN (:selectedIds)");
+            params.addValue("selectedIds", request.getIds());
+            restricted = true;
+        }
+        if (request.getLocked() != null) {
+            where.append(" AND account_locked = :locked");
+            params.addValue("locked", request.getLocked());
+            restricted = true;
+        }
+        if (request.getEmailVerified() != null) {
+            where.append(" AND email_verified = :emailVerified");
+            params.addValue("emailVerified", request.getEmailVerified());
+            restricted = true;
+        }
+        if (request.getCurrentMembershipId() != null) {
+            where.append(" AND membership_id = :currentMembershipId");
+            params.addValue("currentMembershipId", request.getCurrentMembershipId());
+            restricted = true;
+        }
+        if (request.getProvince() != null && !request.getProvince().isBlank()) {
+            LookupValue province = lookupService.find(LookupCategory.PROVINCE, request.getProvince());
+            // A province not in the dictionary matches nobody
+            where.append(" AND province_id = :provinceId");
+            params.addValue("provinceId", province != null ? province.getId() : (short) -1);
+            restricted = true;
+        }
+        if (request.getExpiringBefore() != null) {
+            where.append(" AND membership_expiry_date < :expiringBefore");
+            params.addValue("expiringBefore", request.getExpiringBefore());
+            restricted = true;
+        }
+        if (!restricted) {
+            throw new IllegalArgumentException("Select members by ids or at least one filter");
+        }
+        return new Selection(where.toString(), params);
+    }
+
+    private void run(Job job, Selection selection, MapSqlParameterSource params) {
+        job.status = Status.RUNNING;
+        String selectIds = "SELECT id FROM users WHERE " + selection.where()
+                + " AND id > :afterId ORDER BY id LIMIT " + chunkSize;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            int afterId = 0;
+            while (true) {
+                MapSqlParameterSource page = new MapSqlParameterSource(selection.params().getValues())
+                        .addValue("afterId", afterId);
+                List<Integer> ids = namedParameterJdbcTemplate.queryForList(selectIds, page, Integer.class);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+
+                List<Runnable> afterCommit = new ArrayList<>();
+                Integer updated = transaction.execute(status -> apply(job, ids,
+                        new MapSqlParameterSource(params.getValues()).addValue("ids", ids), afterCommit));
+                afterCommit.forEach(Runnable::run);
+                job.matched += ids.size();
+                job.updated += updated != null ? updated : 0;
+            }
+            job.status = Status.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Bulk {} job {} failed after {} members", job.getOperation(), job.getId(), job.getMatched(), e);
+            job.error = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Changes one chunk of members.
+     *
+     * @param afterCommit collects work to do once the chunk has committed
+     * @return the number of members changed
+     */
+    private int apply(Job job, List<Integer> ids, MapSqlParameterSource params, List<Runnable> afterCommit) {
+        return switch (job.getOperation()) {
+            case UNLOCK -> namedParameterJdbcTemplate.update(UNLOCK, params);
+            case EXTEND -> {
+                afterCommit.add(() -> ids.forEach(profileViewService::evict));
+                yield namedParameterJdbcTemplate.update(EXTEND, params);
+            }
+            case SWITCH_PLAN -> {
+                afterCommit.add(() -> ids.forEach(profileViewService::evict));
+                yield namedParameterJdbcTemplate.update(SWITCH_PLAN, params);
+            }
+            case RESEND_VERIFICATION -> resendVerification(job, params);
+        };
+    }
+
+    private record Recipient(int id, String email, String name, String token) {
+    }
+
+    /**
+     * Replaces the verification tokens of the chunk's unverified members and
+     * queues a new email to each in the same transaction.
+     */
+    private int resendVerification(Job job, MapSqlParameterSource params) {
+        List<Recipient> recipients = namedParameterJdbcTemplate.query(SELECT_UNVERIFIED, params,
+                (rs, rowNum) -> new Recipient(rs.getInt("id"), rs.getString("email"),
+                        rs.getString("first_name") + " " + rs.getString("last_name"),
+                        UUID.randomUUID().toString()));
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        namedParameterJdbcTemplate.update(DELETE_VERIFICATION_TOKENS,
+                new MapSqlParameterSource("ids", recipients.stream().map(Recipient::id).toList()));
+        Timestamp expiry = Timestamp.from(Instant.now().plus(VerificationToken.EXPIRATION));
+        jdbcTemplate.batchUpdate(INSERT_VERIFICATION_TOKEN, recipients, recipients.size(), (ps, recipient) -> {
+            ps.setString(1, recipient.token());
+            ps.setInt(2, recipient.id());
+            ps.setTimestamp(3, expiry, Calendar.getInstance(UTC));
+        });
+        mailQueue.enqueue(recipients.stream()
+                .map(recipient -> new MailQueue.Mail(MailQueue.Kind.VERIFICATION, recipient.email(),
+                        recipient.name(), appBaseUrl + "/register/verify?token=" + recipient.token()))
+                .toList(), job.getId());
+        return recipients.size();
+    }
+}
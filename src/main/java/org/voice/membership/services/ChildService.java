@@ -0,0 +1,95 @@
+package org.voice.membership.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.entities.Child;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Adds, updates and removes a member's children for the JSON API. Each
+ * change and its {@link ChildChanged} event share one transaction, so the
+ * event is only dispatched if the change commits.
+ */
+@Service
+public class ChildService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    /**
+     * @return the saved child, or empty if the user no longer exists
+     */
+    @Transactional
+    @CacheEvict(cacheNames = ProfileViewService.CACHE_NAME, key = "#userId")
+    public Optional<Child> addChild(int userId, ChildDto childDto) {
+        return userRepository.findById(userId).map(user -> {
+            Child child = new Child();
+            child.setUser(user);
+            apply(child, childDto);
+            Child saved = childRepository.save(child);
+            domainEventBus.publish(new ChildChanged(userId, saved.getId(), ChildChanged.Change.ADDED,
+                    Instant.now()));
+            return saved;
+        });
+    }
+
+    /**
+     * @return the saved child, or empty if the user has no child with that id
+     */
+    @Transactional
+    @CacheEvict(cacheNames = ProfileViewService.CACHE_NAME, key = "#userId")
+    public Optional<Child> updateChild(int userId, int childId, ChildDto childDto) {
+        return ownedChild(userId, childId).map(child -> {
+            apply(child, childDto);
+            Child saved = childRepository.save(child);
+            domainEventBus.publish(new ChildChanged(userId, childId, ChildChanged.Change.UPDATED, Instant.now()));
+            return saved;
+        });
+    }
+
+    /**
+     * @return false if the user has no child with that id
+     */
+    @Transactional
+    @CacheEvict(cacheNames = ProfileViewService.CACHE_NAME, key = "#userId")
+    public boolean deleteChild(int userId, int childId) {
+        return ownedChild(userId, childId).map(child -> {
+            childRepository.delete(child);
+            domainEventBus.publish(new ChildChanged(userId, childId, ChildChanged.Change.REMOVED, Instant.now()));
+            return true;
+        }).orElse(false);
+    }
+
+    private Optional<Child> ownedChild(int userId, int childId) {
+        return childRepository.findById(childId).filter(child -> child.getUser().getId() == userId);
+    }
+
+    private void apply(Child child, ChildDto childDto) {
+        child.setName(childDto.getName());
+        child.setAge(childDto.getAge());
+        child.setDateOfBirth(childDto.getDateOfBirth());
+        child.setHearingLossType(childDto.getHearingLossType());
+        child.setEquipmentType(childDto.getEquipmentType());
+        child.setSiblingsNames(childDto.getSiblingsNames());
+        child.setChapterLocation(childDto.getChapterLocation());
+        lookupService.applyExistingTo(child);
+    }
+}
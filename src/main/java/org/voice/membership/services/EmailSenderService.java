@@ -87,4 +87,26 @@ public class EmailSenderService {
             throw new RuntimeException("Failed to send verification email", e);
         }
     }
+
+    public void sendInvitationEmail(String to, String userName, String invitationLink) {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+            helper.setTo(to);
+            helper.setSubject("Your VOICE Membership Account");
+
+            String htmlContent = "<html><body>" +
+                    "<h2>Welcome " + userName + "!</h2>" +
+                    "<p>An account has been created for you in the VOICE Membership System.</p>" +
+                    "<p>Please <a href=\"" + invitationLink + "\">choose your password</a> to activate it."
+                    + " The link is valid for 30 days.</p>" +
+                    "<p>Best regards,<br>VOICE Team</p>" +
+                    "</body></html>";
+
+            helper.setText(htmlContent, true);
+            mailSender.send(mimeMessage);
+        } catch (MessagingException e) {
+            throw new RuntimeException("Failed to send invitation email", e);
+        }
+    }
 }
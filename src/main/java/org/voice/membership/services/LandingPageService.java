@@ -9,8 +9,10 @@ import org.voice.membership.repositories.MembershipBenefitRepository;
 import org.voice.membership.repositories.MembershipRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 
@@ -34,24 +36,64 @@ public class LandingPageService {
     @Autowired
     private LandingPageContentRepository landingPageContentRepository;
 
+    /**
+     * Active plans with their description and features loaded, so pages can
+     * render them after the transaction has ended.
+     */
+    @Transactional(readOnly = true)
     public List<Membership> getActiveMemberships() {
-        return membershipRepository.findByActiveTrueOrderByDisplayOrderAsc();
+        List<Membership> memberships = membershipRepository.findByActiveTrueOrderByDisplayOrderAsc();
+        memberships.forEach(LandingPageService::loadText);
+        return memberships;
     }
 
+    /**
+     * Paid plans with their description and features loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<Membership> getPaidMemberships() {
+        List<Membership> memberships = membershipRepository.findByIsFree(false);
+        memberships.forEach(LandingPageService::loadText);
+        return memberships;
+    }
+
+    /**
+     * One plan with its description and features loaded.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Membership> getMembership(int id) {
+        Optional<Membership> membership = membershipRepository.findById(id);
+        membership.ifPresent(LandingPageService::loadText);
+        return membership;
+    }
+
+    @Transactional(readOnly = true)
     public List<MembershipBenefit> getActiveBenefits() {
-        return membershipBenefitRepository.findByActiveTrueOrderByDisplayOrderAsc();
+        List<MembershipBenefit> benefits = membershipBenefitRepository.findByActiveTrueOrderByDisplayOrderAsc();
+        benefits.forEach(MembershipBenefit::getDescription);
+        return benefits;
     }
 
+    @Transactional(readOnly = true)
     public String getContentByKey(String key) {
         return landingPageContentRepository.findByKey(key)
                 .map(LandingPageContent::getValue)
                 .orElse("");
     }
 
+    @Transactional(readOnly = true)
     public String getTagline() {
         return getContentByKey("tagline");
     }
 
+    /**
+     * Reads one attribute of the lazy text group, which loads description
+     * and features together.
+     */
+    private static void loadText(Membership membership) {
+        membership.getDescription();
+    }
+
     public void initializeDefaultContent() {
         if (landingPageContentRepository.findByKey("tagline").isEmpty()) {
             LandingPageContent taglineContent = LandingPageContent.builder()
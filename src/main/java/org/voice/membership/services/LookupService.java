@@ -0,0 +1,435 @@
+package org.voice.membership.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupSuggestion;
+import org.voice.membership.entities.LookupValue;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.LookupSuggestionRepository;
+import org.voice.membership.repositories.LookupValueRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Canonicalizes free-text values such as provinces, hearing loss types,
+ * equipment and chapters against the lookup_values dictionary.
+ * Input is matched on a normalized key (case, spacing and punctuation are
+ * ignored, known abbreviations are resolved), and entities store the
+ * canonical label together with its small integer code so filters can use
+ * indexed equality.
+ * Admin imports add unknown values to the dictionary. Values typed by
+ * members, whether registering, editing their profile or through the API,
+ * only match existing ones: anything else keeps its text without a code and
+ * is queued in lookup_suggestions for an admin to approve or dismiss, so
+ * visitors and members cannot grow the dictionary.
+ * Dictionary rows never change once written, so each node caches the most
+ * used ones in the {@value #CACHE_NAME} cache, whose evictions reach the
+ * other nodes like any other Spring cache's.
+ */
+@Slf4j
+@Service
+public class LookupService {
+
+    private static final int MAX_LABEL_LENGTH = 100;
+
+    public static final String CACHE_NAME = "lookupValues";
+
+    public static final int MAX_CACHED_VALUES = 10_000;
+
+    /** Canonical values created up front, with the abbreviations that resolve to them. */
+    private static final Map<LookupCategory, Map<String, List<String>>> SEEDS = Map.of(
+            LookupCategory.HEARING_LOSS_TYPE, Map.of(
+                    "Mild", List.of(),
+                    "Moderate", List.of(),
+                    "Severe", List.of(),
+                    "Profound", List.of()),
+            LookupCategory.PROVINCE, Map.ofEntries(
+                    Map.entry("Alberta", List.of("AB", "Alta")),
+                    Map.entry("British Columbia", List.of("BC")),
+                    Map.entry("Manitoba", List.of("MB", "Man")),
+                    Map.entry("New Brunswick", List.of("NB")),
+                    Map.entry("Newfoundland and Labrador", List.of("NL", "Newfoundland")),
+                    Map.entry("Nova Scotia", List.of("NS")),
+                    Map.entry("Ontario", List.of("ON", "Ont")),
+                    Map.entry("Prince Edward Island", List.of("PE", "PEI")),
+                    Map.entry("Quebec", List.of("QC", "Que", "Québec")),
+                    Map.entry("Saskatchewan", List.of("SK", "Sask")),
+                    Map.entry("Northwest Territories", List.of("NT", "NWT")),
+                    Map.entry("Nunavut", List.of("NU")),
+                    Map.entry("Yukon", List.of("YT", "Yukon Territory"))));
+
+    /** Columns holding a label and its code, for migrating existing rows. */
+    private record Target(LookupCategory category, String table, String labelColumn, String idColumn) {
+    }
+
+    private static final List<Target> TARGETS = List.of(
+            new Target(LookupCategory.PROVINCE, "users", "province", "province_id"),
+            new Target(LookupCategory.HEARING_LOSS_TYPE, "children", "hearing_loss_type", "hearing_loss_type_id"),
+            new Target(LookupCategory.EQUIPMENT_TYPE, "children", "equipment_type", "equipment_type_id"),
+            new Target(LookupCategory.CHAPTER, "children", "chapter_location", "chapter_id"));
+
+    private static final Map<LookupCategory, Map<String, String>> ALIASES = buildAliases();
+
+    @Autowired
+    private LookupValueRepository lookupValueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LookupSuggestionRepository lookupSuggestionRepository;
+
+    /** Further unknown values are not queued while this many await review. */
+    @Value("${app.lookup.max-pending-suggestions:1000}")
+    private int maxPendingSuggestions;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Normalized matching key: lower case, periods and apostrophes dropped,
+     * other punctuation and repeated spaces collapsed to one space, so "B.C."
+     * matches "bc" and "hearing-aid" matches "Hearing Aid".
+     */
+    public static String normalizeKey(String value) {
+        String key = value.toLowerCase(Locale.ROOT)
+                .replaceAll("[.']", "")
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        return key.length() > MAX_LABEL_LENGTH ? key.substring(0, MAX_LABEL_LENGTH) : key;
+    }
+
+    /**
+     * Finds the canonical value for user input without creating one.
+     *
+     * @return the value, or null if the input is blank or unknown
+     */
+    public LookupValue find(LookupCategory category, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String key = resolveKey(category, value);
+        if (key.isEmpty()) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        LookupValue found = cache.get(cacheKey(category, key), LookupValue.class);
+        if (found == null) {
+            // Unknown input is not cached, so it cannot fill the cache
+            found = lookupValueRepository.findByCategoryAndLookupKey(category, key).orElse(null);
+            if (found != null) {
+                cache.put(cacheKey(category, key), found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the canonical value for input typed by a member. Unknown input is
+     * queued for review rather than added to the dictionary.
+     *
+     * @return the value, or null if the input is blank or unknown
+     */
+    public LookupValue resolve(LookupCategory category, String value) {
+        LookupValue found = find(category, value);
+        if (found == null && value != null && !value.isBlank()) {
+            suggest(category, value);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the canonical value for user input, adding it to the dictionary
+     * if it is new.
+     *
+     * @return the value, or null if the input is blank
+     */
+    public LookupValue canonicalize(LookupCategory category, String value) {
+        LookupValue found = find(category, value);
+        if (found != null || value == null || value.isBlank()) {
+            return found;
+        }
+        String key = resolveKey(category, value);
+        if (key.isEmpty()) {
+            return null;
+        }
+        LookupValue created = create(category, key, tidy(value));
+        cacheManager.getCache(CACHE_NAME).put(cacheKey(category, key), created);
+        return created;
+    }
+
+    /**
+     * Replaces the child's hearing loss type, equipment and chapter with
+     * their canonical labels and sets the matching codes.
+     */
+    public void applyTo(Child child) {
+        LookupValue hearingLoss = canonicalize(LookupCategory.HEARING_LOSS_TYPE, child.getHearingLossType());
+        child.setHearingLossType(label(hearingLoss));
+        child.setHearingLossTypeId(id(hearingLoss));
+
+        LookupValue equipment = canonicalize(LookupCategory.EQUIPMENT_TYPE, child.getEquipmentType());
+        child.setEquipmentType(label(equipment));
+        child.setEquipmentTypeId(id(equipment));
+
+        LookupValue chapter = canonicalize(LookupCategory.CHAPTER, child.getChapterLocation());
+        child.setChapterLocation(label(chapter));
+        child.setChapterId(id(chapter));
+    }
+
+    /**
+     * Replaces the user's province with its canonical label and sets its code.
+     */
+    public void applyTo(User user) {
+        LookupValue province = canonicalize(LookupCategory.PROVINCE, user.getProvince());
+        user.setProvince(label(province));
+        user.setProvinceId(id(province));
+    }
+
+    /**
+     * Like {@link #applyTo(Child)} for a child entered by a member: values
+     * are only matched against the dictionary, and unknown ones keep their
+     * text without a code.
+     */
+    public void applyExistingTo(Child child) {
+        LookupValue hearingLoss = resolve(LookupCategory.HEARING_LOSS_TYPE, child.getHearingLossType());
+        child.setHearingLossType(label(hearingLoss, child.getHearingLossType()));
+        child.setHearingLossTypeId(id(hearingLoss));
+
+        LookupValue equipment = resolve(LookupCategory.EQUIPMENT_TYPE, child.getEquipmentType());
+        child.setEquipmentType(label(equipment, child.getEquipmentType()));
+        child.setEquipmentTypeId(id(equipment));
+
+        LookupValue chapter = resolve(LookupCategory.CHAPTER, child.getChapterLocation());
+        child.setChapterLocation(label(chapter, child.getChapterLocation()));
+        child.setChapterId(id(chapter));
+    }
+
+    /**
+     * Like {@link #applyTo(User)} for details entered by a member: the
+     * province is only matched against the dictionary.
+     */
+    public void applyExistingTo(User user) {
+        LookupValue province = resolve(LookupCategory.PROVINCE, user.getProvince());
+        user.setProvince(label(province, user.getProvince()));
+        user.setProvinceId(id(province));
+    }
+
+    /**
+     * Values awaiting review, most often seen first.
+     */
+    public List<LookupSuggestion> getSuggestions() {
+        return lookupSuggestionRepository.findByDismissedFalseOrderByOccurrencesDescLastSeenAtDesc();
+    }
+
+    /**
+     * Adds a suggested value to the dictionary and gives its code to the
+     * stored rows that spelled it. The rows and the suggestion change in one
+     * transaction; the dictionary value is committed on its own like any
+     * other, so approving again after a failure finishes the job.
+     *
+     * @return number of rows updated, or -1 if there is no such suggestion
+     */
+    @Transactional
+    public int approveSuggestion(int id) {
+        LookupSuggestion suggestion = lookupSuggestionRepository.findById(id).orElse(null);
+        if (suggestion == null) {
+            return -1;
+        }
+        LookupCategory category = suggestion.getCategory();
+        canonicalize(category, suggestion.getLabel());
+        lookupSuggestionRepository.delete(suggestion);
+        // The row updates below go through JDBC, so write the delete alongside them
+        lookupSuggestionRepository.flush();
+        int updated = 0;
+        for (Target target : TARGETS) {
+            if (target.category() == category) {
+                updated += migrate(target, raw -> resolveKey(category, raw).equals(suggestion.getLookupKey()));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Leaves a suggested value out of the dictionary for good. Rows that use
+     * it keep their text without a code.
+     *
+     * @return false if there is no such suggestion
+     */
+    public boolean dismissSuggestion(int id) {
+        return lookupSuggestionRepository.findById(id).map(suggestion -> {
+            suggestion.setDismissed(true);
+            lookupSuggestionRepository.save(suggestion);
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Adds any seed values missing from the dictionary.
+     */
+    public void seed() {
+        SEEDS.forEach((category, labels) -> labels.keySet().forEach(label -> canonicalize(category, label)));
+    }
+
+    /**
+     * Canonicalizes rows written before the dictionary existed. Each distinct
+     * raw value is resolved once and applied with one UPDATE, so the cost
+     * depends on the number of distinct spellings rather than rows.
+     * Values queued for review or dismissed are left as they are.
+     *
+     * @return number of rows updated
+     */
+    public int migrateExistingValues() {
+        int updated = 0;
+        for (Target target : TARGETS) {
+            updated += migrate(target, raw -> find(target.category(), raw) != null
+                    || !lookupSuggestionRepository.existsByCategoryAndLookupKey(target.category(),
+                            resolveKey(target.category(), raw)));
+        }
+        return updated;
+    }
+
+    /**
+     * Canonicalizes the target's rows that have text but no code, for the
+     * distinct raw values accepted by {@code include}.
+     */
+    private int migrate(Target target, Predicate<String> include) {
+        List<String> rawValues = jdbcTemplate.queryForList(
+                "SELECT DISTINCT " + target.labelColumn() + " FROM " + target.table()
+                        + " WHERE " + target.idColumn() + " IS NULL AND " + target.labelColumn() + " IS NOT NULL",
+                String.class);
+        int updated = 0;
+        for (String raw : rawValues) {
+            if (!include.test(raw)) {
+                continue;
+            }
+            LookupValue value = canonicalize(target.category(), raw);
+            updated += jdbcTemplate.update(
+                    "UPDATE " + target.table() + " SET " + target.labelColumn() + " = ?, "
+                            + target.idColumn() + " = ? WHERE " + target.labelColumn() + " = ? AND "
+                            + target.idColumn() + " IS NULL",
+                    label(value), id(value), raw);
+        }
+        return updated;
+    }
+
+    /**
+     * Queues unknown input for review, or counts another sighting of input
+     * already queued or dismissed. Nothing new is queued while
+     * {@code maxPendingSuggestions} values await review.
+     */
+    private void suggest(LookupCategory category, String value) {
+        String key = resolveKey(category, value);
+        if (key.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            requiresNew().executeWithoutResult(status -> {
+                if (lookupSuggestionRepository.recordOccurrence(category, key, now) > 0) {
+                    return;
+                }
+                if (lookupSuggestionRepository.countByDismissedFalse() >= maxPendingSuggestions) {
+                    log.debug("Not queueing {} value for review: {} already pending", category,
+                            maxPendingSuggestions);
+                    return;
+                }
+                lookupSuggestionRepository.saveAndFlush(LookupSuggestion.builder()
+                        .category(category)
+                        .lookupKey(key)
+                        .label(tidy(value))
+                        .occurrences(1)
+                        .firstSeenAt(now)
+                        .lastSeenAt(now)
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Queued concurrently by another request or node
+        } catch (DataAccessException e) {
+            // The member's text is kept either way; only the review entry is lost
+            log.warn("Could not queue {} value for review", category, e);
+        }
+    }
+
+    private LookupValue create(LookupCategory category, String key, String label) {
+        try {
+            return requiresNew().execute(status -> lookupValueRepository.saveAndFlush(LookupValue.builder()
+                    .category(category)
+                    .lookupKey(key)
+                    .label(label)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Added concurrently by another request or node
+            return lookupValueRepository.findByCategoryAndLookupKey(category, key).orElseThrow(() -> e);
+        }
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
+    }
+
+    private static String cacheKey(LookupCategory category, String key) {
+        return category.name() + ":" + key;
+    }
+
+    /**
+     * Input with spacing collapsed, cut to the longest label.
+     */
+    private static String tidy(String value) {
+        String label = value.trim().replaceAll("\\s+", " ");
+        return label.length() > MAX_LABEL_LENGTH ? label.substring(0, MAX_LABEL_LENGTH) : label;
+    }
+
+    private static String resolveKey(LookupCategory category, String value) {
+        String key = normalizeKey(value);
+        return ALIASES.getOrDefault(category, Map.of()).getOrDefault(key, key);
+    }
+
+    private static Map<LookupCategory, Map<String, String>> buildAliases() {
+        Map<LookupCategory, Map<String, String>> aliases = new ConcurrentHashMap<>();
+        SEEDS.forEach((category, labels) -> labels.forEach((label, abbreviations) -> abbreviations.forEach(
+                alias -> aliases.computeIfAbsent(category, c -> new ConcurrentHashMap<>())
+                        .put(normalizeKey(alias), normalizeKey(label)))));
+        return aliases;
+    }
+
+    private static String label(LookupValue value) {
+        return value != null ? value.getLabel() : null;
+    }
+
+    /**
+     * The canonical label, or the tidied input if it matched nothing.
+     */
+    private static String label(LookupValue value, String input) {
+        if (value != null) {
+            return value.getLabel();
+        }
+        return input != null && !input.isBlank() ? tidy(input) : null;
+    }
+
+    private static Short id(LookupValue value) {
+        return value != null ? value.getId() : null;
+    }
+}
@@ -0,0 +1,220 @@
+package org.voice.membership.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends emails queued in the {@code mail_outbox} table so bulk work does
+ * not wait on the mail server. Queue a message in the transaction that
+ * writes the token it links to: the row commits or rolls back with it, and
+ * survives restarts until it is sent.
+ * A scheduled run on one node at a time, under a lease, sends the due
+ * messages one by one. A failed send is retried with exponential backoff
+ * until {@code maxAttempts}, then marked FAILED. Sent and failed rows are
+ * deleted after {@code retention}.
+ */
+@Slf4j
+@Service
+public class MailQueue {
+
+    public enum Kind {
+        VERIFICATION,
+        INVITATION
+    }
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    private static final String LEASE = "mail-queue";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private static final String INSERT = "INSERT INTO mail_outbox (kind, recipient, recipient_name, link, job_id, "
+            + "status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String SELECT_DUE = "SELECT id, kind, recipient, recipient_name, link, attempts "
+            + "FROM mail_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ";
+
+    private static final String MARK_SENT = "UPDATE mail_outbox SET status = 'SENT', attempts = attempts + 1, "
+            + "last_error = NULL, next_attempt_at = ?, sent_at = ? WHERE id = ?";
+
+    // status is set before attempts, which MySQL updates in place
+    private static final String MARK_ATTEMPT_FAILED = "UPDATE mail_outbox "
+            + "SET status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END, "
+            + "attempts = attempts + 1, last_error = ?, next_attempt_at = ? WHERE id = ?";
+
+    private static final String SELECT_FINISHED = "SELECT id FROM mail_outbox "
+            + "WHERE status IN ('SENT', 'FAILED') AND next_attempt_at < ? ORDER BY id LIMIT 1000";
+
+    private static final String DELETE = "DELETE FROM mail_outbox WHERE id IN (:ids)";
+
+    private static final String COUNT_BY_STATUS = "SELECT status, COUNT(*) FROM mail_outbox GROUP BY status";
+
+    private static final String COUNT_BY_STATUS_FOR_JOB = "SELECT status, COUNT(*) FROM mail_outbox "
+            + "WHERE job_id = ? GROUP BY status";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired(required = false)
+    private EmailSenderService emailSenderService;
+
+    @Value("${app.mail-queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail-queue.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.mail-queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail-queue.initial-backoff:1m}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail-queue.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail-queue.retention:7d}")
+    private Duration retention;
+
+    /**
+     * An email to send.
+     *
+     * @param name recipient's name for the greeting
+     * @param link verification or invitation link
+     */
+    public record Mail(Kind kind, String recipient, String name, String link) {
+    }
+
+    /**
+     * Queues emails, due at once. Joins the caller's transaction.
+     *
+     * @param jobId bulk job to count them under, or null
+     */
+    public void enqueue(Collection<Mail> mails, String jobId) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = utc(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, mails.stream()
+                .map(mail -> new Object[] {mail.kind().name(), mail.recipient(), mail.name(), mail.link(), jobId,
+                        now, now})
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail-queue.poll-ms:5000}")
+    public void scheduledSend() {
+        if (enabled && emailSenderService != null) {
+            leaseLock.runExclusively(LEASE, LEASE_TTL, Duration.ZERO, this::sendDue);
+        }
+    }
+
+    /**
+     * Sends up to {@code batchSize} due emails, then deletes old sent and
+     * failed rows.
+     *
+     * @return the number of emails sent
+     */
+    public int sendDue() {
+        Instant now = Instant.now();
+        List<Due> due = jdbcTemplate.query(SELECT_DUE + batchSize, (rs, rowNum) -> new Due(rs.getLong("id"),
+                new Mail(Kind.valueOf(rs.getString("kind")), rs.getString("recipient"),
+                        rs.getString("recipient_name"), rs.getString("link")),
+                rs.getInt("attempts")), utc(now));
+        int sent = 0;
+        for (Due entry : due) {
+            if (Thread.currentThread().isInterrupted()) {
+                // The lease was lost; the new holder picks up the rest
+                break;
+            }
+            try {
+                send(entry.mail());
+                jdbcTemplate.update(MARK_SENT, utc(Instant.now()), utc(Instant.now()), entry.id());
+                sent++;
+            } catch (RuntimeException e) {
+                log.warn("Could not send {} email to {} (attempt {})", entry.mail().kind(),
+                        entry.mail().recipient(), entry.attempts() + 1, e);
+                String message = e.getMessage() != null && e.getMessage().length() > 500
+                        ? e.getMessage().substring(0, 500)
+                        : e.getMessage();
+                jdbcTemplate.update(MARK_ATTEMPT_FAILED, maxAttempts, message,
+                        utc(Instant.now().plus(backoff(entry.attempts()))), entry.id());
+            }
+        }
+        List<Long> finished = jdbcTemplate.queryForList(SELECT_FINISHED, Long.class, utc(now.minus(retention)));
+        if (!finished.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", finished));
+        }
+        return sent;
+    }
+
+    /**
+     * Rows by status, across all jobs.
+     */
+    public Map<String, Long> countByStatus() {
+        return counts(COUNT_BY_STATUS);
+    }
+
+    /**
+     * Rows by status for one bulk job, which tells how far its emails have
+     * got after the job itself has finished.
+     */
+    public Map<String, Long> countByStatus(String jobId) {
+        return counts(COUNT_BY_STATUS_FOR_JOB, jobId);
+    }
+
+    private Map<String, Long> counts(String sql, Object... args) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : List.of(PENDING, SENT, FAILED)) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString(1), rs.getLong(2));
+        }, args);
+        return counts;
+    }
+
+    private void send(Mail mail) {
+        switch (mail.kind()) {
+            case VERIFICATION -> emailSenderService.sendVerificationEmail(mail.recipient(), mail.name(), mail.link());
+            case INVITATION -> emailSenderService.sendInvitationEmail(mail.recipient(), mail.name(), mail.link());
+        }
+    }
+
+    /**
+     * Delay before the next try after {@code attempts} earlier failures.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private record Due(long id, Mail mail, int attempts) {
+    }
+}
@@ -0,0 +1,39 @@
+package org.voice.membership.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.voice.membership.events.DomainEvent;
+import org.voice.membership.events.DomainEventSubscriber;
+import org.voice.membership.events.MemberRegistered;
+import org.voice.membership.events.MembershipUpgraded;
+import org.voice.membership.util.DateFormats;
+
+/**
+ * Sends the verification email after registration and the confirmation
+ * email after an upgrade. A failed send is logged by the event bus; the
+ * member can ask for the verification email again.
+ */
+@Service
+public class MemberEmailSubscriber implements DomainEventSubscriber {
+
+    @Autowired
+    private EmailSenderService emailSenderService;
+
+    @Override
+    public String name() {
+        return "member-email";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        switch (event) {
+            case MemberRegistered registered -> emailSenderService.sendVerificationEmail(
+                    registered.email(), registered.name(), registered.verificationLink());
+            case MembershipUpgraded upgraded -> emailSenderService.sendMembershipUpgradeConfirmation(
+                    upgraded.email(), upgraded.name(), upgraded.membershipName(),
+                    DateFormats.LONG_DATE.format(upgraded.expiryDate()));
+            default -> {
+            }
+        }
+    }
+}
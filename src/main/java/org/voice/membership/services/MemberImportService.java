@@ -0,0 +1,534 @@
+package org.voice.membership.services;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.dtos.MemberImportReport;
+import org.voice.membership.dtos.MemberImportRow;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.InvitationToken;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.imports.CsvRowReader;
+import org.voice.membership.imports.RowHandler;
+import org.voice.membership.imports.XlsxRowReader;
+import org.voice.membership.repositories.ArchivedUserRepository;
+import org.voice.membership.util.Ages;
+import org.voice.membership.util.DateFormats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+/**
+ * Imports members and their children in bulk from the column layout of the
+ * admin Excel export (a Users sheet and a Children sheet).
+ * Rows are streamed from the file and handled in chunks: each chunk is
+ * validated in parallel, then written with JDBC batch inserts in its own
+ * transaction, so a bad chunk does not undo the ones before it. Children
+ * are matched to their parent by email, so the Users sheet is read first.
+ * Imported members get an invitation link to choose their own password
+ * instead of having one hashed here; the email is queued in the
+ * {@link MailQueue} in the transaction that writes the invitation token.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    public static final String USERS_SHEET = "Users";
+    public static final String CHILDREN_SHEET = "Children";
+
+    private static final List<String> REQUIRED_USER_COLUMNS = List.of("First Name", "Last Name", "Email");
+    private static final List<String> REQUIRED_CHILD_COLUMNS = List.of("Child Name", "Parent Email");
+
+    private static final String INSERT_USER = "INSERT INTO users (first_name, middle_name, last_name, email, "
+            + "email_normalized, phone, address, city, province, province_id, postal_code, role, creation, "
+            + "email_verified, failed_login_attempts, account_locked) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0, FALSE)";
+
+    private static final String INSERT_INVITATION = "INSERT INTO invitation_tokens (token, user_id, expiry_date) "
+            + "VALUES (?, ?, ?)";
+
+    private static final String INSERT_CHILD = "INSERT INTO children (name, age, date_of_birth, hearing_loss_type, "
+            + "hearing_loss_type_id, equipment_type, equipment_type_id, siblings_names, chapter_location, "
+            + "chapter_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_IDS_BY_EMAIL = "SELECT id, email_normalized FROM users "
+            + "WHERE email_normalized IN (:emails)";
+
+    /** Instants are stored in UTC, as Hibernate writes them. */
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private MailQueue mailQueue;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String appBaseUrl;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports an XLSX workbook with Users and Children sheets.
+     */
+    public MemberImportReport importWorkbook(InputStream workbook) throws IOException {
+        ImportRun run = new ImportRun();
+        XlsxRowReader.read(workbook, run);
+        return run.finish();
+    }
+
+    /**
+     * Imports a Users CSV file and, optionally, a Children CSV file, each
+     * with the header row of the matching export sheet.
+     *
+     * @param children the children file, or null
+     */
+    public MemberImportReport importCsv(InputStream users, InputStream children) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvRowReader.read(users, USERS_SHEET, run);
+        if (children != null) {
+            CsvRowReader.read(children, CHILDREN_SHEET, run);
+        }
+        return run.finish();
+    }
+
+    private record RawRow(int rowNumber, List<String> cells) {
+    }
+
+    /** A parsed row, or the reason it could not be parsed. */
+    private record Parsed<T>(int rowNumber, T value, String error) {
+    }
+
+    /**
+     * State of one import. Rows arrive in file order on the calling thread.
+     */
+    private final class ImportRun implements RowHandler {
+
+        private final MemberImportReport report = new MemberImportReport();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<RawRow> pendingUsers = new ArrayList<>();
+        private final List<RawRow> pendingChildren = new ArrayList<>();
+        private Map<String, Integer> userColumns;
+        private Map<String, Integer> childColumns;
+        private boolean skipUsers;
+        private boolean skipChildren;
+
+        @Override
+        public void row(String sheet, int rowNumber, List<String> cells) {
+            if (USERS_SHEET.equalsIgnoreCase(sheet)) {
+                if (skipUsers) {
+                    return;
+                }
+                if (userColumns == null) {
+                    userColumns = header(sheet, rowNumber, cells, REQUIRED_USER_COLUMNS);
+                    skipUsers = userColumns == null;
+                    return;
+                }
+                pendingUsers.add(new RawRow(rowNumber, cells));
+                if (pendingUsers.size() >= chunkSize) {
+                    flushUsers();
+                }
+            } else if (CHILDREN_SHEET.equalsIgnoreCase(sheet)) {
+                if (skipChildren) {
+                    return;
+                }
+                if (childColumns == null) {
+                    // Parents must be written before children can find them
+                    flushUsers();
+                    childColumns = header(sheet, rowNumber, cells, REQUIRED_CHILD_COLUMNS);
+                    skipChildren = childColumns == null;
+                    return;
+                }
+                pendingChildren.add(new RawRow(rowNumber, cells));
+                if (pendingChildren.size() >= chunkSize) {
+                    flushChildren();
+                }
+            }
+        }
+
+        MemberImportReport finish() {
+            flushUsers();
+            flushChildren();
+            if (userColumns == null && childColumns == null && !skipUsers && !skipChildren) {
+                report.addError(USERS_SHEET, 0, "No Users or Children sheet found");
+            }
+            return report;
+        }
+
+        private Map<String, Integer> header(String sheet, int rowNumber, List<String> cells, List<String> required) {
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                columns.putIfAbsent(cells.get(i).toLowerCase(Locale.ROOT), i);
+            }
+            List<String> missing = required.stream()
+                    .filter(name -> !columns.containsKey(name.toLowerCase(Locale.ROOT)))
+                    .toList();
+            if (!missing.isEmpty()) {
+                report.addError(sheet, rowNumber, "Missing columns: " + String.join(", ", missing));
+                return null;
+            }
+            return columns;
+        }
+
+        private void flushUsers() {
+            if (pendingUsers.isEmpty()) {
+                return;
+            }
+            List<RawRow> rows = List.copyOf(pendingUsers);
+            pendingUsers.clear();
+
+            List<Parsed<MemberImportRow>> parsed = rows.parallelStream()
+                    .map(row -> validate(row, parseUser(row)))
+                    .toList();
+
+            Map<String, Parsed<MemberImportRow>> candidates = new LinkedHashMap<>();
+            for (Parsed<MemberImportRow> row : parsed) {
+                if (row.error() != null) {
+                    report.addError(USERS_SHEET, row.rowNumber(), row.error());
+                    continue;
+                }
+                String email = User.normalizeEmail(row.value().getEmail());
+                if (!seenEmails.add(email)) {
+                    report.addError(USERS_SHEET, row.rowNumber(), "Email appears more than once in the file");
+                    continue;
+                }
+                candidates.put(email, row);
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+            idsByEmail(candidates.keySet()).keySet().forEach(email -> report.addError(USERS_SHEET,
+                    candidates.remove(email).rowNumber(), "Email is already registered"));
+            if (candidates.isEmpty()) {
+                return;
+            }
+            archivedUserRepository.findArchivedEmails(candidates.keySet()).forEach(email -> report.addError(
+                    USERS_SHEET, candidates.remove(email).rowNumber(), "Email belongs to an archived member"));
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            List<User> users = new ArrayList<>();
+            for (Parsed<MemberImportRow> row : candidates.values()) {
+                User user = toUser(row.value());
+                lookupService.applyTo(user);
+                users.add(user);
+            }
+            Map<String, String> tokens = users.stream()
+                    .collect(Collectors.toMap(user -> User.normalizeEmail(user.getEmail()), user -> newToken()));
+
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), MemberImportService::bindUser);
+                    Instant expiry = Instant.now().plus(InvitationToken.EXPIRATION);
+                    List<Map.Entry<String, Integer>> ids = new ArrayList<>(idsByEmail(tokens.keySet()).entrySet());
+                    jdbcTemplate.batchUpdate(INSERT_INVITATION, ids, ids.size(), (ps, id) -> {
+                        ps.setString(1, tokens.get(id.getKey()));
+                        ps.setInt(2, id.getValue());
+                        setInstant(ps, 3, expiry);
+                    });
+                    mailQueue.enqueue(users.stream()
+                            .map(user -> invitation(user, tokens.get(User.normalizeEmail(user.getEmail()))))
+                            .toList(), null);
+                });
+            } catch (DataAccessException e) {
+                log.warn("Member import chunk of {} users failed", users.size(), e);
+                candidates.values().forEach(row -> report.addError(USERS_SHEET, row.rowNumber(),
+                        "Not imported: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            report.addUsersImported(users.size());
+        }
+
+        private void flushChildren() {
+            if (pendingChildren.isEmpty()) {
+                return;
+            }
+            List<RawRow> rows = List.copyOf(pendingChildren);
+            pendingChildren.clear();
+
+            List<Parsed<ChildDto>> parsed = rows.parallelStream()
+                    .map(row -> validate(row, parseChild(row)))
+                    .toList();
+
+            Set<String> parentEmails = new HashSet<>();
+            rows.forEach(row -> {
+                String email = cell(row, childColumns, "Parent Email");
+                if (email != null) {
+                    parentEmails.add(User.normalizeEmail(email));
+                }
+            });
+            Map<String, Integer> parentIds = idsByEmail(parentEmails);
+
+            List<Child> children = new ArrayList<>();
+            List<Integer> childRows = new ArrayList<>();
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < parsed.size(); i++) {
+                Parsed<ChildDto> row = parsed.get(i);
+                if (row.error() != null) {
+                    report.addError(CHILDREN_SHEET, row.rowNumber(), row.error());
+                    continue;
+                }
+                String parentEmail = cell(rows.get(i), childColumns, "Parent Email");
+                Integer parentId = parentEmail != null ? parentIds.get(User.normalizeEmail(parentEmail)) : null;
+                if (parentId == null) {
+                    report.addError(CHILDREN_SHEET, row.rowNumber(), "No member with the parent email");
+                    continue;
+                }
+                Child child = toChild(row.value(), parentId);
+                if (child.getDateOfBirth() == null && child.getAge() != null) {
+                    child.setDateOfBirth(Ages.estimateDateOfBirth(child.getAge(), today));
+                }
+                lookupService.applyTo(child);
+                children.add(child);
+                childRows.add(row.rowNumber());
+            }
+            if (children.isEmpty()) {
+                return;
+            }
+
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate
+                        .batchUpdate(INSERT_CHILD, children, children.size(), MemberImportService::bindChild));
+            } catch (DataAccessException e) {
+                log.warn("Member import chunk of {} children failed", children.size(), e);
+                childRows.forEach(rowNumber -> report.addError(CHILDREN_SHEET, rowNumber,
+                        "Not imported: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            report.addChildrenImported(children.size());
+        }
+
+        private Parsed<MemberImportRow> parseUser(RawRow row) {
+            Instant creation = null;
+            String registered = cell(row, userColumns, "Registration Date");
+            if (registered != null) {
+                try {
+                    creation = parseTimestamp(registered);
+                } catch (DateTimeParseException e) {
+                    return new Parsed<>(row.rowNumber(), null, "Invalid registration date: " + registered);
+                }
+            }
+            return new Parsed<>(row.rowNumber(), MemberImportRow.builder()
+                    .firstName(cell(row, userColumns, "First Name"))
+                    .middleName(cell(row, userColumns, "Middle Name"))
+                    .lastName(cell(row, userColumns, "Last Name"))
+                    .email(cell(row, userColumns, "Email"))
+                    .phone(cell(row, userColumns, "Phone"))
+                    .address(cell(row, userColumns, "Address"))
+                    .city(cell(row, userColumns, "City"))
+                    .province(cell(row, userColumns, "Province"))
+                    .postalCode(cell(row, userColumns, "Postal Code"))
+                    .creation(creation)
+                    .build(), null);
+        }
+
+        private Parsed<ChildDto> parseChild(RawRow row) {
+            ChildDto child = new ChildDto();
+            child.setName(cell(row, childColumns, "Child Name"));
+            child.setHearingLossType(cell(row, childColumns, "Hearing Loss Type"));
+            child.setEquipmentType(cell(row, childColumns, "Equipment Type"));
+            child.setChapterLocation(cell(row, childColumns, "Chapter Location"));
+            child.setSiblingsNames(cell(row, childColumns, "Siblings Names"));
+            String dateOfBirth = cell(row, childColumns, "Date of Birth");
+            if (dateOfBirth != null) {
+                try {
+                    child.setDateOfBirth(DateFormats.parseIsoDate(dateOfBirth));
+                } catch (DateTimeParseException e) {
+                    return new Parsed<>(row.rowNumber(), null, "Invalid date of birth: " + dateOfBirth);
+                }
+            }
+            String age = cell(row, childColumns, "Age");
+            if (age != null && child.getDateOfBirth() == null) {
+                try {
+                    child.setAge(Integer.valueOf(age));
+                } catch (NumberFormatException e) {
+                    return new Parsed<>(row.rowNumber(), null, "Invalid age: " + age);
+                }
+                if (child.getAge() < 0) {
+                    return new Parsed<>(row.rowNumber(), null, "Invalid age: " + age);
+                }
+            }
+            return new Parsed<>(row.rowNumber(), child, null);
+        }
+    }
+
+    private <T> Parsed<T> validate(RawRow row, Parsed<T> parsed) {
+        if (parsed.error() != null) {
+            return parsed;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(parsed.value());
+        if (violations.isEmpty()) {
+            return parsed;
+        }
+        String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return new Parsed<>(row.rowNumber(), null, error);
+    }
+
+    private Map<String, Integer> idsByEmail(Set<String> normalizedEmails) {
+        if (normalizedEmails.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Integer> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_IDS_BY_EMAIL, Map.of("emails", normalizedEmails),
+                rs -> {
+                    ids.put(rs.getString("email_normalized"), rs.getInt("id"));
+                });
+        return ids;
+    }
+
+    private MailQueue.Mail invitation(User user, String token) {
+        return new MailQueue.Mail(MailQueue.Kind.INVITATION, user.getEmail(),
+                user.getFirstName() + " " + user.getLastName(), appBaseUrl + "/reset-password?token=" + token);
+    }
+
+    private static String cell(RawRow row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+        if (index == null || index >= row.cells().size()) {
+            return null;
+        }
+        String value = row.cells().get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Parses the export's "yyyy-MM-dd HH:mm:ss" timestamps, or a plain ISO
+     * date, in the server's time zone.
+     */
+    private static Instant parseTimestamp(String value) {
+        if (value.length() <= 10) {
+            return DateFormats.startOfDay(DateFormats.parseIsoDate(value));
+        }
+        return LocalDateTime.parse(value, DateFormats.DATE_TIME).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static User toUser(MemberImportRow row) {
+        return User.builder()
+                .firstName(row.getFirstName())
+                .middleName(row.getMiddleName())
+                .lastName(row.getLastName())
+                .email(row.getEmail())
+                .phone(row.getPhone())
+                .address(row.getAddress())
+                .city(row.getCity())
+                .province(row.getProvince())
+                .postalCode(row.getPostalCode())
+                .role(Role.USER.name())
+                .creation(row.getCreation() != null ? row.getCreation() : Instant.now())
+                .build();
+    }
+
+    private static Child toChild(ChildDto dto, int parentId) {
+        return Child.builder()
+                .name(dto.getName())
+                .age(dto.getAge())
+                .dateOfBirth(dto.getDateOfBirth())
+                .hearingLossType(dto.getHearingLossType())
+                .equipmentType(dto.getEquipmentType())
+                .siblingsNames(dto.getSiblingsNames())
+                .chapterLocation(dto.getChapterLocation())
+                .user(User.builder().id(parentId).build())
+                .build();
+    }
+
+    private static void bindUser(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getFirstName());
+        ps.setString(2, user.getMiddleName());
+        ps.setString(3, user.getLastName());
+        ps.setString(4, user.getEmail());
+        ps.setString(5, User.normalizeEmail(user.getEmail()));
+        ps.setString(6, user.getPhone());
+        ps.setString(7, user.getAddress());
+        ps.setString(8, user.getCity());
+        ps.setString(9, user.getProvince());
+        setShort(ps, 10, user.getProvinceId());
+        ps.setString(11, user.getPostalCode());
+        ps.setString(12, user.getRole());
+        setInstant(ps, 13, user.getCreation());
+    }
+
+    private static void bindChild(PreparedStatement ps, Child child) throws SQLException {
+        ps.setString(1, child.getName());
+        ps.setObject(2, child.getAge(), Types.INTEGER);
+        ps.setObject(3, child.getDateOfBirth(), Types.DATE);
+        ps.setString(4, child.getHearingLossType());
+        setShort(ps, 5, child.getHearingLossTypeId());
+        ps.setString(6, child.getEquipmentType());
+        setShort(ps, 7, child.getEquipmentTypeId());
+        ps.setString(8, child.getSiblingsNames());
+        ps.setString(9, child.getChapterLocation());
+        setShort(ps, 10, child.getChapterId());
+        ps.setInt(11, child.getUser().getId());
+    }
+
+    private static void setShort(PreparedStatement ps, int index, Short value) throws SQLException {
+        if (value != null) {
+            ps.setShort(index, value);
+        } else {
+            ps.setNull(index, Types.SMALLINT);
+        }
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        ps.setTimestamp(index, Timestamp.from(value), Calendar.getInstance(UTC));
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
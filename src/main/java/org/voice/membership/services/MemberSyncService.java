@@ -0,0 +1,505 @@
+package org.voice.membership.services;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.dtos.MemberImportRow;
+import org.voice.membership.dtos.MemberSyncReport;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupValue;
+import org.voice.membership.entities.User;
+import org.voice.membership.imports.RowHandler;
+import org.voice.membership.imports.RowHash;
+import org.voice.membership.imports.XlsxRowReader;
+import org.voice.membership.util.DateFormats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the edits made to an exported workbook back to the database.
+ * The export writes a {@link RowHash} of each row's editable cells; rows
+ * whose cells still match it were not edited and are skipped without a
+ * query. Edited rows are read back in chunks, diffed field by field, and
+ * only the changed columns are written, in batched UPDATEs that also check
+ * the old values, so a row changed by someone else since the export or
+ * during the sync is reported as a conflict instead of being overwritten.
+ * IDs, emails, roles and parents are read-only here; new members are added
+ * with {@link MemberImportService}.
+ */
+@Slf4j
+@Service
+public class MemberSyncService {
+
+    /** Header of the export column holding each row's hash. */
+    public static final String ROW_HASH_COLUMN = "Row Hash";
+
+    /**
+     * An editable column: its sheet header, its table column and, for
+     * dictionary values, the column holding the code.
+     */
+    private record Field(String header, String column, String codeColumn, LookupCategory category) {
+
+        Field(String header, String column) {
+            this(header, column, null, null);
+        }
+
+        boolean isDate() {
+            return "date_of_birth".equals(column);
+        }
+    }
+
+    /** A synced sheet and the table behind it. */
+    private record Table(String sheet, String idHeader, String name, String ownerColumn, List<Field> fields) {
+
+        boolean isUsers() {
+            return "users".equals(name);
+        }
+    }
+
+    // Field order is the hash order; keep userHash and childHash in step
+    private static final Table USERS = new Table(MemberImportService.USERS_SHEET, "ID", "users", "id", List.of(
+            new Field("First Name", "first_name"),
+            new Field("Middle Name", "middle_name"),
+            new Field("Last Name", "last_name"),
+            new Field("Phone", "phone"),
+            new Field("Address", "address"),
+            new Field("City", "city"),
+            new Field("Province", "province", "province_id", LookupCategory.PROVINCE),
+            new Field("Postal Code", "postal_code")));
+
+    private static final Table CHILDREN = new Table(MemberImportService.CHILDREN_SHEET, "Child ID", "children",
+            "user_id", List.of(
+                    new Field("Child Name", "name"),
+                    new Field("Date of Birth", "date_of_birth"),
+                    new Field("Hearing Loss Type", "hearing_loss_type", "hearing_loss_type_id",
+                            LookupCategory.HEARING_LOSS_TYPE),
+                    new Field("Equipment Type", "equipment_type", "equipment_type_id",
+                            LookupCategory.EQUIPMENT_TYPE),
+                    new Field("Chapter Location", "chapter_location", "chapter_id", LookupCategory.CHAPTER),
+                    new Field("Siblings Names", "siblings_names")));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Hash of a member's editable export cells.
+     */
+    public static String userHash(User user) {
+        return RowHash.of(Arrays.asList(user.getFirstName(), user.getMiddleName(), user.getLastName(),
+                user.getPhone(), user.getAddress(), user.getCity(), user.getProvince(), user.getPostalCode()));
+    }
+
+    /**
+     * Hash of a child's editable export cells.
+     */
+    public static String childHash(Child child) {
+        return RowHash.of(Arrays.asList(child.getName(), isoDate(child.getDateOfBirth()),
+                child.getHearingLossType(), child.getEquipmentType(), child.getChapterLocation(),
+                child.getSiblingsNames()));
+    }
+
+    /**
+     * Syncs an edited export workbook.
+     *
+     * @param dryRun list the changes without writing them
+     */
+    public MemberSyncReport sync(InputStream workbook, boolean dryRun) throws IOException {
+        SyncRun run = new SyncRun(new MemberSyncReport(dryRun));
+        XlsxRowReader.read(workbook, run);
+        return run.finish();
+    }
+
+    /** An edited sheet row waiting to be compared with the database. */
+    private record SheetRow(int rowNumber, int id, List<String> values, String exportedHash) {
+    }
+
+    /** The current database values of a row, unnormalized. */
+    private record DbRow(int id, int ownerId, String email, List<String> values) {
+    }
+
+    /** A changed field and the value the database must still hold. */
+    private record Change(Field field, String oldValue, String newValue, Short code) {
+    }
+
+    private record Update(SheetRow row, int ownerId, List<Change> changes) {
+    }
+
+    /**
+     * State of one sync. Rows arrive in file order on the calling thread.
+     */
+    private final class SyncRun implements RowHandler {
+
+        private final MemberSyncReport report;
+        private final Map<Table, Map<String, Integer>> headers = new HashMap<>();
+        private final Set<Table> skipped = new HashSet<>();
+        private final Map<Table, Set<Integer>> seenIds = new HashMap<>();
+        private final List<SheetRow> pending = new ArrayList<>();
+        private Table current;
+
+        SyncRun(MemberSyncReport report) {
+            this.report = report;
+        }
+
+        @Override
+        public void row(String sheet, int rowNumber, List<String> cells) {
+            Table table = USERS.sheet().equalsIgnoreCase(sheet) ? USERS
+                    : CHILDREN.sheet().equalsIgnoreCase(sheet) ? CHILDREN : null;
+            if (table == null || skipped.contains(table)) {
+                return;
+            }
+            if (table != current) {
+                flush();
+                current = table;
+            }
+            Map<String, Integer> columns = headers.get(table);
+            if (columns == null) {
+                header(table, rowNumber, cells);
+                return;
+            }
+
+            report.addRowsRead(1);
+            String idCell = cell(cells, columns, table.idHeader());
+            if (idCell == null) {
+                report.addError(table.sheet(), rowNumber, "No " + table.idHeader()
+                        + "; add new members with the member import");
+                return;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(idCell);
+            } catch (NumberFormatException e) {
+                report.addError(table.sheet(), rowNumber, "Invalid " + table.idHeader() + ": " + idCell);
+                return;
+            }
+            if (!seenIds.computeIfAbsent(table, t -> new HashSet<>()).add(id)) {
+                report.addError(table.sheet(), rowNumber, table.idHeader() + " appears more than once");
+                return;
+            }
+
+            List<String> values = table.fields().stream()
+                    .map(field -> cell(cells, columns, field.header()))
+                    .toList();
+            String exportedHash = cell(cells, columns, ROW_HASH_COLUMN);
+            if (exportedHash != null && exportedHash.equals(RowHash.of(values))) {
+                report.addRowsUnchanged(1);
+                return;
+            }
+            pending.add(new SheetRow(rowNumber, id, values, exportedHash));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        MemberSyncReport finish() {
+            flush();
+            if (headers.isEmpty() && skipped.isEmpty()) {
+                report.addError(USERS.sheet(), 0, "No Users or Children sheet found");
+            }
+            return report;
+        }
+
+        private void header(Table table, int rowNumber, List<String> cells) {
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                columns.putIfAbsent(cells.get(i).toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey(table.idHeader().toLowerCase(Locale.ROOT))) {
+                report.addError(table.sheet(), rowNumber, "Missing column: " + table.idHeader());
+                skipped.add(table);
+                return;
+            }
+            // A missing editable column means "not edited", not "cleared"
+            table.fields().stream()
+                    .filter(field -> !columns.containsKey(field.header().toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .ifPresentOrElse(field -> {
+                        report.addError(table.sheet(), rowNumber, "Missing column: " + field.header());
+                        skipped.add(table);
+                    }, () -> headers.put(table, columns));
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<SheetRow> rows = List.copyOf(pending);
+            pending.clear();
+            Table table = current;
+
+            Map<Integer, DbRow> dbRows = load(table, rows.stream().map(SheetRow::id).collect(Collectors.toSet()));
+            List<Update> updates = new ArrayList<>();
+            for (SheetRow row : rows) {
+                DbRow db = dbRows.get(row.id());
+                if (db == null) {
+                    report.addError(table.sheet(), row.rowNumber(), "No record with " + table.idHeader() + " "
+                            + row.id());
+                    continue;
+                }
+                String dbHash = RowHash.of(db.values());
+                if (dbHash.equals(RowHash.of(row.values()))) {
+                    report.addRowsUnchanged(1);
+                    continue;
+                }
+                if (row.exportedHash() != null && !row.exportedHash().equals(dbHash)) {
+                    report.addError(table.sheet(), row.rowNumber(),
+                            "Changed in the database since the export; export again and redo the edit");
+                    continue;
+                }
+                Update update = diff(table, row, db);
+                if (update != null) {
+                    updates.add(update);
+                }
+            }
+            if (updates.isEmpty() || report.isDryRun()) {
+                return;
+            }
+            apply(table, updates);
+        }
+
+        /**
+         * Works out the changed fields of an edited row and validates the
+         * result, reporting the change or the reason it cannot be made.
+         *
+         * @return the update, or null if there is nothing to write
+         */
+        private Update diff(Table table, SheetRow row, DbRow db) {
+            List<Change> changes = new ArrayList<>();
+            List<String> merged = new ArrayList<>(db.values());
+            for (int i = 0; i < table.fields().size(); i++) {
+                Field field = table.fields().get(i);
+                String sheetValue = RowHash.normalize(row.values().get(i));
+                String dbValue = db.values().get(i);
+                if (sheetValue.equals(RowHash.normalize(dbValue))) {
+                    continue;
+                }
+                String newValue = sheetValue.isEmpty() ? null : sheetValue;
+                Short code = null;
+                if (field.isDate() && newValue != null) {
+                    try {
+                        newValue = isoDate(DateFormats.parseIsoDate(newValue));
+                    } catch (DateTimeParseException e) {
+                        report.addError(table.sheet(), row.rowNumber(),
+                                "Invalid " + field.header() + " (use yyyy-MM-dd): " + newValue);
+                        return null;
+                    }
+                } else if (field.category() != null && newValue != null) {
+                    LookupValue value = report.isDryRun()
+                            ? lookupService.find(field.category(), newValue)
+                            : lookupService.canonicalize(field.category(), newValue);
+                    if (value != null) {
+                        newValue = value.getLabel();
+                        code = value.getId();
+                    }
+                    if (newValue.equals(RowHash.normalize(dbValue))) {
+                        continue;
+                    }
+                }
+                changes.add(new Change(field, dbValue, newValue, code));
+                merged.set(i, newValue);
+            }
+            if (changes.isEmpty()) {
+                report.addRowsUnchanged(1);
+                return null;
+            }
+
+            String error = validate(table, merged, db.email());
+            if (error != null) {
+                report.addError(table.sheet(), row.rowNumber(), error);
+                return null;
+            }
+            report.addChange(new MemberSyncReport.RowChange(table.sheet(), row.rowNumber(), row.id(),
+                    changes.stream()
+                            .map(change -> new MemberSyncReport.FieldChange(change.field().header(),
+                                    change.oldValue(), change.newValue()))
+                            .toList()));
+            return new Update(row, db.ownerId(), changes);
+        }
+
+        /**
+         * Writes the updates of one chunk in a transaction, one batch per
+         * distinct set of changed columns.
+         */
+        private void apply(Table table, List<Update> updates) {
+            Map<String, List<Update>> bySql = new LinkedHashMap<>();
+            updates.forEach(update -> bySql.computeIfAbsent(updateSql(table, update), sql -> new ArrayList<>())
+                    .add(update));
+
+            List<Update> applied = new ArrayList<>();
+            List<Update> conflicts = new ArrayList<>();
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    applied.clear();
+                    conflicts.clear();
+                    bySql.forEach((sql, group) -> {
+                        int[] counts = jdbcTemplate.batchUpdate(sql, group.stream().map(MemberSyncService::args)
+                                .toList());
+                        for (int i = 0; i < group.size(); i++) {
+                            if (counts[i] == 0) {
+                                conflicts.add(group.get(i));
+                            } else if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                                applied.add(group.get(i));
+                            }
+                        }
+                    });
+                });
+            } catch (DataAccessException e) {
+                log.warn("Member sync chunk of {} {} updates failed", updates.size(), table.name(), e);
+                updates.forEach(update -> report.addError(table.sheet(), update.row().rowNumber(),
+                        "Not updated: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            conflicts.forEach(update -> report.addError(table.sheet(), update.row().rowNumber(),
+                    "Changed in the database during the sync; not updated"));
+            if (table.isUsers()) {
+                report.addUsersUpdated(applied.size());
+            } else {
+                report.addChildrenUpdated(applied.size());
+            }
+            applied.stream().map(Update::ownerId).distinct().forEach(profileViewService::evict);
+        }
+
+        private String validate(Table table, List<String> values, String email) {
+            Set<? extends ConstraintViolation<?>> violations;
+            if (table.isUsers()) {
+                violations = validator.validate(MemberImportRow.builder()
+                        .firstName(values.get(0))
+                        .middleName(values.get(1))
+                        .lastName(values.get(2))
+                        .phone(values.get(3))
+                        .address(values.get(4))
+                        .city(values.get(5))
+                        .province(values.get(6))
+                        .postalCode(values.get(7))
+                        .email(email)
+                        .build());
+            } else {
+                ChildDto child = new ChildDto();
+                child.setName(values.get(0));
+                child.setDateOfBirth(values.get(1) != null ? DateFormats.parseIsoDate(values.get(1)) : null);
+                violations = validator.validate(child);
+            }
+            if (violations.isEmpty()) {
+                return null;
+            }
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+    }
+
+    private Map<Integer, DbRow> load(Table table, Set<Integer> ids) {
+        String columns = table.fields().stream().map(Field::column).collect(Collectors.joining(", "));
+        String sql = "SELECT id, " + table.ownerColumn() + " AS owner_id, "
+                + (table.isUsers() ? "email, " : "") + columns
+                + " FROM " + table.name() + " WHERE id IN (:ids)";
+        Map<Integer, DbRow> rows = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, Map.of("ids", ids), rs -> {
+            List<String> values = new ArrayList<>();
+            for (Field field : table.fields()) {
+                values.add(field.isDate()
+                        ? isoDate(rs.getObject(field.column(), LocalDate.class))
+                        : rs.getString(field.column()));
+            }
+            int id = rs.getInt("id");
+            rows.put(id, new DbRow(id, rs.getInt("owner_id"), table.isUsers() ? rs.getString("email") : null,
+                    values));
+        });
+        return rows;
+    }
+
+    /**
+     * UPDATE of the changed columns that only matches while the row still
+     * holds the values the diff was made against.
+     */
+    private static String updateSql(Table table, Update update) {
+        StringBuilder set = new StringBuilder();
+        StringBuilder where = new StringBuilder(" WHERE id = ?");
+        for (Change change : update.changes()) {
+            Field field = change.field();
+            set.append(set.isEmpty() ? "" : ", ").append(field.column()).append(" = ?");
+            if (field.codeColumn() != null) {
+                set.append(", ").append(field.codeColumn()).append(" = ?");
+            }
+            where.append(" AND ").append(field.column())
+                    .append(change.oldValue() != null ? " = ?" : " IS NULL");
+        }
+        return "UPDATE " + table.name() + " SET " + set + where;
+    }
+
+    private static Object[] args(Update update) {
+        List<Object> args = new ArrayList<>();
+        for (Change change : update.changes()) {
+            args.add(value(change.field(), change.newValue()));
+            if (change.field().codeColumn() != null) {
+                args.add(change.code());
+            }
+        }
+        args.add(update.row().id());
+        for (Change change : update.changes()) {
+            if (change.oldValue() != null) {
+                args.add(value(change.field(), change.oldValue()));
+            }
+        }
+        return args.toArray();
+    }
+
+    private static Object value(Field field, String value) {
+        return field.isDate() && value != null ? DateFormats.parseIsoDate(value) : value;
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+        if (index == null || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String isoDate(LocalDate date) {
+        return date != null ? DateFormats.ISO_DATE.format(date) : null;
+    }
+}
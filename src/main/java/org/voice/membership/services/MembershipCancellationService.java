@@ -1,14 +1,19 @@
 package org.voice.membership.services;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.voice.membership.entities.User;
 import org.voice.membership.entities.Membership;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.MembershipCancelled;
 import org.voice.membership.repositories.UserRepository;
 import org.voice.membership.repositories.MembershipRepository;
 
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Optional;
 
 /**
@@ -24,6 +29,9 @@ public class MembershipCancellationService {
     @Autowired
     private MembershipRepository membershipRepository;
 
+    @Autowired
+    private DomainEventBus domainEventBus;
+
     /**
      * Cancels a user's membership by setting it to null or a free membership.
      * Only paid memberships can be cancelled.
@@ -32,6 +40,7 @@ public class MembershipCancellationService {
      * @return CancellationResult containing success status and message
      */
     @Transactional
+    @CacheEvict(cacheNames = ProfileViewService.CACHE_NAME, key = "#userId")
     public CancellationResult cancelMembership(int userId) {
         User user = userRepository.findById(userId).orElse(null);
 
@@ -51,7 +60,7 @@ public class MembershipCancellationService {
                     "Free memberships cannot be cancelled. You already have a free membership.");
         }
 
-        // Store previous membership info for logging/audit purposes
+        // Kept for the result message and the cancellation event
         String cancelledMembershipName = currentMembership.getName();
 
         // Find free membership option to assign to user
@@ -62,7 +71,7 @@ public class MembershipCancellationService {
         if (freeMembershipOpt.isPresent()) {
             // Downgrade to free membership
             user.setMembership(freeMembershipOpt.get());
-            user.setMembershipStartDate(new Date());
+            user.setMembershipStartDate(LocalDate.now());
             user.setMembershipExpiryDate(null); // Free membership doesn't expire
         } else {
             // If no free membership exists, set to null
@@ -72,6 +81,8 @@ public class MembershipCancellationService {
         }
 
         userRepository.save(user);
+        domainEventBus.publish(new MembershipCancelled(userId, user.getEmail(), cancelledMembershipName,
+                Instant.now()));
 
         return new CancellationResult(true,
                 String.format("Successfully cancelled %s membership", cancelledMembershipName));
@@ -84,8 +95,18 @@ public class MembershipCancellationService {
      * @param userId The ID of the user
      * @return true if the user has an active paid membership that can be cancelled
      */
+    @Transactional(readOnly = true)
     public boolean canCancelMembership(int userId) {
-        User user = userRepository.findById(userId).orElse(null);
+        return canCancelMembership(userRepository.findById(userId).orElse(null));
+    }
+
+    /**
+     * Checks if an already loaded user can cancel their membership.
+     * 
+     * @param user The user, or null
+     * @return true if the user has an active paid membership that can be cancelled
+     */
+    public boolean canCancelMembership(User user) {
         if (user == null || user.getMembership() == null) {
             return false;
         }
@@ -99,18 +120,32 @@ public class MembershipCancellationService {
      * @param userId The ID of the user
      * @return MembershipInfo containing details about the current membership
      */
+    @Transactional(readOnly = true)
     public MembershipInfo getCurrentMembershipInfo(int userId) {
-        User user = userRepository.findById(userId).orElse(null);
+        return getCurrentMembershipInfo(userRepository.findById(userId).orElse(null));
+    }
 
+    /**
+     * Gets information about an already loaded user's current membership.
+     * The plan is read again if the user was loaded with only a proxy for it.
+     * 
+     * @param user The user, or null
+     * @return MembershipInfo containing details about the current membership
+     */
+    @Transactional(readOnly = true)
+    public MembershipInfo getCurrentMembershipInfo(User user) {
         if (user == null || user.getMembership() == null) {
             return new MembershipInfo(null, false, "No membership");
         }
 
         Membership membership = user.getMembership();
+        String description = Hibernate.isPropertyInitialized(membership, "description")
+                ? membership.getDescription()
+                : membershipRepository.findById(membership.getId()).map(Membership::getDescription).orElse(null);
         return new MembershipInfo(
                 membership.getName(),
                 membership.isFree(),
-                membership.getDescription());
+                description);
     }
 
     /**
@@ -0,0 +1,74 @@
+package org.voice.membership.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Builds a member's profile view in the background right after login, so the
+ * dashboard the browser is redirected to is usually served from cache.
+ * Work runs on virtual threads. At most {@code max-concurrent} warm-ups hit
+ * the database at once; logins beyond that are simply not prefetched, so a
+ * login storm cannot queue up extra load.
+ */
+@Slf4j
+@Service
+public class ProfileCacheWarmer {
+
+    private final ProfileViewService profileViewService;
+    private final Semaphore permits;
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("profile-warmup-", 0).factory());
+
+    public ProfileCacheWarmer(ProfileViewService profileViewService,
+            @Value("${app.profile.warmup.max-concurrent:16}") int maxConcurrent) {
+        this.profileViewService = profileViewService;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Starts loading the user's profile view into the cache.
+     *
+     * @return a future completing when the view is cached, or an already
+     *         completed future if the warm-up was skipped
+     */
+    public CompletableFuture<Void> warm(int userId) {
+        if (!inFlight.add(userId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!permits.tryAcquire()) {
+            inFlight.remove(userId);
+            log.debug("Skipping profile warm-up for user {}: too many in flight", userId);
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.runAsync(() -> profileViewService.getProfileView(userId), executor)
+                    .whenComplete((ignored, error) -> {
+                        permits.release();
+                        inFlight.remove(userId);
+                        if (error != null) {
+                            log.warn("Profile warm-up failed for user {}", userId, error);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            inFlight.remove(userId);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
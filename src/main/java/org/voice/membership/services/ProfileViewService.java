@@ -0,0 +1,121 @@
+package org.voice.membership.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Service;
+import org.voice.membership.dtos.ProfileRow;
+import org.voice.membership.dtos.ProfileView;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.util.Ages;
+import org.voice.membership.util.DateFormats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the profile dashboard view model.
+ * The user, membership and children are read with one join query, and the
+ * formatted result is cached per user until a profile, child or membership
+ * write evicts it.
+ */
+@Service
+public class ProfileViewService {
+
+    public static final String CACHE_NAME = "profileViews";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Returns the dashboard view for a user. Concurrent misses for the same
+     * user share one load, so a warm-up racing the first page view does not
+     * query twice.
+     *
+     * A missing user is reported by throwing rather than with null, since
+     * {@code sync} caching would store the null.
+     *
+     * @param userId the user's id
+     * @return the view
+     * @throws EmptyResultDataAccessException if the user does not exist
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "#userId", sync = true)
+    public ProfileView getProfileView(int userId) {
+        List<ProfileRow> rows = userRepository.findProfileRows(userId);
+        if (rows.isEmpty()) {
+            throw new EmptyResultDataAccessException("No user " + userId, 1);
+        }
+        return toView(rows);
+    }
+
+    /**
+     * Drops the cached view after the user's profile, children or membership change.
+     */
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#userId")
+    public void evict(int userId) {
+    }
+
+    private ProfileView toView(List<ProfileRow> rows) {
+        ProfileRow user = rows.get(0);
+
+        List<ProfileView.ChildSummary> children = new ArrayList<>();
+        for (ProfileRow row : rows) {
+            if (row.getChildId() != null) {
+                children.add(ProfileView.ChildSummary.builder()
+                        .id(row.getChildId())
+                        .name(row.getChildName())
+                        .age(Ages.currentAge(row.getChildDateOfBirth(), row.getChildAge()))
+                        .hearingLossType(row.getChildHearingLossType())
+                        .equipmentType(row.getChildEquipmentType())
+                        .build());
+            }
+        }
+
+        String fullName = user.getFirstName() +
+                (user.getMiddleName() != null && !user.getMiddleName().isEmpty() ? " " + user.getMiddleName() : "")
+                + " " + user.getLastName();
+
+        ProfileView.ProfileViewBuilder view = ProfileView.builder()
+                .id(user.getUserId())
+                .userName(fullName)
+                .email(user.getEmail())
+                .phone(orNotProvided(user.getPhone()))
+                .address(orNotProvided(user.getAddress()))
+                .city(orNotProvided(user.getCity()))
+                .province(orNotProvided(user.getProvince()))
+                .postalCode(orNotProvided(user.getPostalCode()))
+                .memberSince(user.getCreation() != null
+                        ? DateFormats.format(user.getCreation(), DateFormats.LONG_DATE)
+                        : "Recently")
+                .children(List.copyOf(children));
+
+        if (user.getMembershipName() == null) {
+            return view.membershipType("No Membership Yet")
+                    .membershipStatus("None")
+                    .membershipExpiryDate("-")
+                    .build();
+        }
+
+        view.membershipType(user.getMembershipName());
+        if (Boolean.TRUE.equals(user.getMembershipFree())) {
+            return view.membershipStatus("Free")
+                    .membershipExpiryDate("No expiry")
+                    .showBenefits(true)
+                    .membershipBenefit(user.getMembershipDescription() != null
+                            ? user.getMembershipDescription()
+                            : "-")
+                    .build();
+        }
+        return view.membershipStatus("Paid")
+                .hasPaidMembership(true)
+                .membershipExpiryDate(user.getCreation() != null
+                        ? DateFormats.LONG_DATE.format(DateFormats.toLocalDate(user.getCreation()).plusYears(1))
+                        : "-")
+                .build();
+    }
+
+    private static String orNotProvided(String value) {
+        return value != null ? value : "Not provided";
+    }
+}
@@ -0,0 +1,281 @@
+package org.voice.membership.services;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.dtos.MultiStepRegistrationDto;
+import org.voice.membership.dtos.RegisterDto;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Carries the multi-step registration wizard state between requests in an
+ * encrypted cookie instead of the HTTP session.
+ * The state is written in a compact binary layout and sealed with AES-GCM, so
+ * it cannot be read or altered by the browser. Any node holding the same key
+ * can continue a signup, and abandoned signups cost no server memory.
+ */
+@Slf4j
+@Service
+public class RegistrationStateService {
+
+    public static final String COOKIE_NAME = "VOICE_REGISTRATION";
+
+    /**
+     * Longest sealed value written. With the name and attributes the cookie
+     * stays under the 4 KB browsers keep; a larger one is silently dropped.
+     */
+    public static final int MAX_VALUE_LENGTH = 3800;
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final byte[] ASSOCIATED_DATA = "voice-registration".getBytes(StandardCharsets.US_ASCII);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+
+    public RegistrationStateService(
+            @Value("${app.registration.state-key:}") String base64Key,
+            @Value("${app.registration.state-ttl-minutes:60}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (base64Key == null || base64Key.isBlank()) {
+            keyBytes = new byte[32];
+            secureRandom.nextBytes(keyBytes);
+            log.warn("app.registration.state-key is not set; using a random key. "
+                    + "Registrations in progress will not survive a restart or move between nodes.");
+        } else {
+            keyBytes = Base64.getDecoder().decode(base64Key.trim());
+            if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+                throw new IllegalArgumentException("app.registration.state-key must be a base64 AES key of 16, 24 or 32 bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+        this.timeToLive = Duration.ofMinutes(ttlMinutes);
+    }
+
+    /**
+     * Reads the wizard state from the request cookie.
+     *
+     * @return the decoded state, or null if absent, tampered with or expired
+     */
+    public MultiStepRegistrationDto read(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return decode(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Seals the wizard state and stores it in the response cookie.
+     *
+     * @return false, without writing anything, if the sealed state is longer
+     *         than {@link #MAX_VALUE_LENGTH}
+     */
+    public boolean write(HttpServletResponse response, MultiStepRegistrationDto registrationData) {
+        String value = encode(registrationData);
+        if (value.length() > MAX_VALUE_LENGTH) {
+            log.debug("Registration state of {} characters is too large for a cookie", value.length());
+            return false;
+        }
+        addCookie(response, value, timeToLive);
+        return true;
+    }
+
+    /**
+     * Removes the wizard state cookie from the browser.
+     */
+    public void clear(HttpServletResponse response) {
+        addCookie(response, "", Duration.ZERO);
+    }
+
+    String encode(MultiStepRegistrationDto registrationData) {
+        try {
+            byte[] plain = serialize(registrationData, System.currentTimeMillis());
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            byte[] sealed = cipher.doFinal(plain);
+
+            byte[] token = new byte[IV_LENGTH + sealed.length];
+            System.arraycopy(iv, 0, token, 0, IV_LENGTH);
+            System.arraycopy(sealed, 0, token, IV_LENGTH, sealed.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to encode registration state", e);
+        }
+    }
+
+    MultiStepRegistrationDto decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] raw = Base64.getUrlDecoder().decode(token);
+            if (raw.length <= IV_LENGTH) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, raw, 0, IV_LENGTH));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            byte[] plain = cipher.doFinal(raw, IV_LENGTH, raw.length - IV_LENGTH);
+            return deserialize(plain);
+        } catch (IllegalArgumentException | GeneralSecurityException | IOException e) {
+            log.debug("Discarding unreadable registration state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] serialize(MultiStepRegistrationDto data, long issuedAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(issuedAt);
+
+        RegisterDto user = data.getUserDetails();
+        out.writeBoolean(user != null);
+        if (user != null) {
+            writeString(out, user.getFirstName());
+            writeString(out, user.getMiddleName());
+            writeString(out, user.getLastName());
+            writeString(out, user.getEmail());
+            writeString(out, user.getPhone());
+            writeString(out, user.getAddress());
+            writeString(out, user.getCity());
+            writeString(out, user.getProvince());
+            writeString(out, user.getPostalCode());
+        }
+        writeString(out, data.getPasswordHash());
+
+        List<ChildDto> children = data.getChildren() != null ? data.getChildren() : List.of();
+        out.writeShort(children.size());
+        for (ChildDto child : children) {
+            writeString(out, child.getName());
+            writeInteger(out, child.getAge());
+            out.writeBoolean(child.getDateOfBirth() != null);
+            if (child.getDateOfBirth() != null) {
+                out.writeLong(child.getDateOfBirth().toEpochDay());
+            }
+            writeString(out, child.getHearingLossType());
+            writeString(out, child.getEquipmentType());
+            writeString(out, child.getSiblingsNames());
+            writeString(out, child.getChapterLocation());
+        }
+
+        writeInteger(out, data.getSelectedMembershipId());
+        writeInteger(out, data.getCartMembershipId());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private MultiStepRegistrationDto deserialize(byte[] plain) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain));
+        if (in.readByte() != FORMAT_VERSION) {
+            return null;
+        }
+        long issuedAt = in.readLong();
+        if (System.currentTimeMillis() - issuedAt >= timeToLive.toMillis()) {
+            return null;
+        }
+
+        MultiStepRegistrationDto data = new MultiStepRegistrationDto();
+        if (in.readBoolean()) {
+            RegisterDto user = new RegisterDto();
+            user.setFirstName(readString(in));
+            user.setMiddleName(readString(in));
+            user.setLastName(readString(in));
+            user.setEmail(readString(in));
+            user.setPhone(readString(in));
+            user.setAddress(readString(in));
+            user.setCity(readString(in));
+            user.setProvince(readString(in));
+            user.setPostalCode(readString(in));
+            data.setUserDetails(user);
+        }
+        data.setPasswordHash(readString(in));
+
+        int childCount = in.readUnsignedShort();
+        List<ChildDto> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            ChildDto child = new ChildDto();
+            child.setName(readString(in));
+            child.setAge(readInteger(in));
+            if (in.readBoolean()) {
+                child.setDateOfBirth(LocalDate.ofEpochDay(in.readLong()));
+            }
+            child.setHearingLossType(readString(in));
+            child.setEquipmentType(readString(in));
+            child.setSiblingsNames(readString(in));
+            child.setChapterLocation(readString(in));
+            children.add(child);
+        }
+        data.setChildren(children);
+
+        data.setSelectedMembershipId(readInteger(in));
+        data.setCartMembershipId(readInteger(in));
+        return data;
+    }
+
+    private void addCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .path("/register")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,232 @@
+package org.voice.membership.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.entities.User;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Deletes data nobody can use any more: self-registered accounts that
+ * never verified their email nor paid, together with their children, cart
+ * and tokens, and expired verification and invitation tokens.
+ * Rows are deleted in small batches walked in id order, one transaction per
+ * batch with a pause after each, so the purge never holds many locks or
+ * saturates the primary. Totals since startup are published at
+ * {@code /admin/retention-stats}.
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+    // Only self-registered accounts that never verified and never paid are
+    // stale. Imported members (no password until they accept their
+    // invitation) are kept even once the invitation has expired, so an admin
+    // can invite them again; members on a paid plan, or who ever had a
+    // membership term, are kept whether or not they verified. Anyone
+    // holding a live invitation is kept until it expires.
+    private static final String SELECT_STALE_USERS = "SELECT id FROM users "
+            + "WHERE email_verified = FALSE AND creation < :cutoff AND (role IS NULL OR role <> 'ADMIN') "
+            + "AND NOT EXISTS (SELECT 1 FROM invitation_tokens t WHERE t.user_id = users.id AND t.expiry_date > :now) "
+            + "AND password IS NOT NULL AND membership_expiry_date IS NULL "
+            + "AND (membership_id IS NULL "
+            + "OR membership_id IN (SELECT m.id FROM membership_options m WHERE m.is_free = TRUE)) "
+            + "AND id > :afterId ORDER BY id LIMIT ";
+
+    // Locks the batch and drops accounts verified since it was selected
+    private static final String LOCK_STALE_USERS = "SELECT id FROM users "
+            + "WHERE id IN (:ids) AND email_verified = FALSE FOR UPDATE";
+
+    private static final String DELETE_CART_ITEMS = "DELETE FROM cart_items "
+            + "WHERE cart_id IN (SELECT id FROM carts WHERE user_id IN (:ids))";
+    private static final String DELETE_CARTS = "DELETE FROM carts WHERE user_id IN (:ids)";
+    private static final String DELETE_CHILDREN = "DELETE FROM children WHERE user_id IN (:ids)";
+    private static final String DELETE_USER_VERIFICATION_TOKENS = "DELETE FROM verification_tokens "
+            + "WHERE user_id IN (:ids)";
+    private static final String DELETE_USER_INVITATION_TOKENS = "DELETE FROM invitation_tokens "
+            + "WHERE user_id IN (:ids)";
+    private static final String DELETE_USERS = "DELETE FROM users WHERE id IN (:ids)";
+
+    private static final String SELECT_EXPIRED_VERIFICATION_TOKENS = "SELECT id FROM verification_tokens "
+            + "WHERE expiry_date < :now AND id > :afterId ORDER BY id LIMIT ";
+    private static final String DELETE_VERIFICATION_TOKENS = "DELETE FROM verification_tokens "
+            + "WHERE id IN (:ids) AND expiry_date < :now";
+
+    private static final String SELECT_EXPIRED_INVITATION_TOKENS = "SELECT id FROM invitation_tokens "
+            + "WHERE expiry_date < :now AND id > :afterId ORDER BY id LIMIT ";
+    private static final String DELETE_INVITATION_TOKENS = "DELETE FROM invitation_tokens "
+            + "WHERE id IN (:ids) AND expiry_date < :now";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Value("${app.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.retention.unverified-max-age:30d}")
+    private Duration unverifiedMaxAge;
+
+    @Value("${app.retention.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.retention.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${app.scheduling.lease-ttl:5m}")
+    private Duration leaseTtl;
+
+    @Value("${app.scheduling.min-hold:1m}")
+    private Duration leaseMinHold;
+
+    private final Map<String, AtomicLong> totals = new LinkedHashMap<>();
+    private volatile Instant lastRunAt;
+    private volatile long lastRunMillis;
+
+    public RetentionService() {
+        for (String name : List.of("runs", "users", "children", "carts", "cartItems", "verificationTokens",
+                "invitationTokens")) {
+            totals.put(name, new AtomicLong());
+        }
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            leaseLock.runExclusively("retention-purge", leaseTtl, leaseMinHold, this::purge);
+        }
+    }
+
+    /**
+     * Runs one purge pass.
+     *
+     * @return rows deleted by this pass, per kind
+     */
+    public synchronized Map<String, Long> purge() {
+        long started = System.currentTimeMillis();
+        Map<String, AtomicLong> run = new LinkedHashMap<>();
+        totals.keySet().stream().filter(name -> !name.equals("runs"))
+                .forEach(name -> run.put(name, new AtomicLong()));
+
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", utc(now))
+                .addValue("cutoff", utc(now.minus(unverifiedMaxAge)));
+        try {
+            inBatches(SELECT_STALE_USERS, params, ids -> deleteUsers(ids, run));
+            inBatches(SELECT_EXPIRED_VERIFICATION_TOKENS, params, ids -> run.get("verificationTokens")
+                    .addAndGet(namedParameterJdbcTemplate.update(DELETE_VERIFICATION_TOKENS, with(params, ids))));
+            inBatches(SELECT_EXPIRED_INVITATION_TOKENS, params, ids -> run.get("invitationTokens")
+                    .addAndGet(namedParameterJdbcTemplate.update(DELETE_INVITATION_TOKENS, with(params, ids))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Retention purge interrupted");
+        }
+
+        if (run.get("users").get() > 0) {
+            // Deleted rows bypassed Hibernate; drop cached email-to-id resolutions
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictNaturalIdData(User.class);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        run.forEach((name, count) -> {
+            counts.put(name, count.get());
+            totals.get(name).addAndGet(count.get());
+        });
+        totals.get("runs").incrementAndGet();
+        lastRunAt = now;
+        lastRunMillis = System.currentTimeMillis() - started;
+        log.info("Retention purge deleted {} in {} ms", counts, lastRunMillis);
+        return counts;
+    }
+
+    /**
+     * Rows deleted since startup, and the time and duration of the last pass.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        totals.forEach((name, count) -> stats.put(name, count.get()));
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+
+    /**
+     * Walks the ids the query selects in id order and hands each batch to
+     * {@code delete} in its own transaction, pausing between batches.
+     */
+    private void inBatches(String selectIds, MapSqlParameterSource params, Function<List<Long>, Long> delete)
+            throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = namedParameterJdbcTemplate.queryForList(selectIds + batchSize,
+                    new MapSqlParameterSource(params.getValues()).addValue("afterId", afterId), Long.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+            transaction.execute(status -> delete.apply(ids));
+            if (ids.size() < batchSize) {
+                return;
+            }
+            Thread.sleep(pauseMs);
+        }
+    }
+
+    private long deleteUsers(List<Long> candidates, Map<String, AtomicLong> run) {
+        List<Long> ids = namedParameterJdbcTemplate.queryForList(LOCK_STALE_USERS,
+                new MapSqlParameterSource("ids", candidates), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        run.get("cartItems").addAndGet(namedParameterJdbcTemplate.update(DELETE_CART_ITEMS, params));
+        run.get("carts").addAndGet(namedParameterJdbcTemplate.update(DELETE_CARTS, params));
+        run.get("children").addAndGet(namedParameterJdbcTemplate.update(DELETE_CHILDREN, params));
+        run.get("verificationTokens").addAndGet(namedParameterJdbcTemplate.update(DELETE_USER_VERIFICATION_TOKENS,
+                params));
+        run.get("invitationTokens").addAndGet(namedParameterJdbcTemplate.update(DELETE_USER_INVITATION_TOKENS,
+                params));
+        int deleted = namedParameterJdbcTemplate.update(DELETE_USERS, params);
+        run.get("users").addAndGet(deleted);
+        return deleted;
+    }
+
+    private static MapSqlParameterSource with(MapSqlParameterSource params, List<Long> ids) {
+        return new MapSqlParameterSource(params.getValues()).addValue("ids", ids);
+    }
+
+    /**
+     * Timestamps are stored in UTC; an offset-aware value binds the same
+     * instant on every driver.
+     */
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
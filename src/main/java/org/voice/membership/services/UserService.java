@@ -1,13 +1,22 @@
 package org.voice.membership.services;
 
+import org.voice.membership.entities.ArchivedUser;
+import org.voice.membership.entities.InvitationToken;
 import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ArchivedUserRepository;
+import org.voice.membership.repositories.InvitationTokenRepository;
 import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.security.MemberUserDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,8 +34,29 @@ public class UserService implements UserDetailsService {
     @Autowired
     private AccountLockoutService accountLockoutService;
 
+    @Autowired
+    private InvitationTokenRepository invitationTokenRepository;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    /**
+     * Loads a member for the password check. An archived member is loaded
+     * from the archive and left there; {@link #restoreIfArchived} moves them
+     * back once the password has matched.
+     */
     public UserDetails loadUserByUsername(String email) {
         User user = userRepository.findByEmail(email);
+        if (user == null) {
+            ArchivedUser archived = archivedUserRepository.findByEmail(email);
+            if (archived != null) {
+                return new MemberUserDetails(archived.getId(), archived.getEmail(), archived.getPassword(),
+                        archived.getRole(), List.of(new SimpleGrantedAuthority("ROLE_" + archived.getRole())), true);
+            }
+        }
         if (user != null) {
             // Check if account is locked
             if (accountLockoutService.isAccountLocked(email)) {
@@ -42,15 +72,22 @@ public class UserService implements UserDetailsService {
                         "Please verify your email before logging in. Check your inbox for the verification link.");
             }
 
-            return org.springframework.security.core.userdetails.User
-                    .withUsername(user.getEmail())
-                    .password(user.getPassword())
-                    .roles(user.getRole())
-                    .build();
+            return new MemberUserDetails(user.getId(), user.getEmail(), user.getPassword(), user.getRole(),
+                    List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
         }
         throw new UsernameNotFoundException("User not found with email: " + email);
     }
 
+    /**
+     * Moves a member who has just signed in with their archived credentials
+     * back into the live tables, under the same id.
+     */
+    public void restoreIfArchived(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof MemberUserDetails member && member.isArchived()) {
+            archiveService.restore(member.getUsername());
+        }
+    }
+
     @Autowired(required = false)
     private EmailSenderService emailSenderService;
 
@@ -59,16 +96,27 @@ public class UserService implements UserDetailsService {
 
     private final Map<String, String> resetTokens = new ConcurrentHashMap<>();
 
+    /**
+     * Emails a reset link. An archived member stays archived until the link
+     * is redeemed.
+     */
     public boolean sendPasswordResetEmail(String email) {
         User user = userRepository.findByEmail(email);
-        if (user == null) {
-            return false;
+        String recipient;
+        if (user != null) {
+            recipient = user.getEmail();
+        } else {
+            ArchivedUser archived = archivedUserRepository.findByEmail(email);
+            if (archived == null) {
+                return false;
+            }
+            recipient = archived.getEmail();
         }
         String token = java.util.UUID.randomUUID().toString();
-        resetTokens.put(token, user.getEmail());
+        resetTokens.put(token, recipient);
         String resetLink = appBaseUrl + "/reset-password?token=" + token;
         if (emailSenderService != null) {
-            emailSenderService.sendPasswordResetEmail(user.getEmail(), resetLink);
+            emailSenderService.sendPasswordResetEmail(recipient, resetLink);
         }
         return true;
     }
@@ -76,12 +124,24 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    /**
+     * Sets a new password from a reset link, or the first password from an
+     * invitation link. Transactional so an invitation's user can be read
+     * and updated together with deleting the invitation, and so an archived
+     * member redeeming a reset link is restored and updated in one go.
+     */
+    @Transactional
     public boolean resetPassword(String token, String newPassword) {
         String email = resetTokens.get(token);
         if (email == null) {
-            return false;
+            return acceptInvitation(token, newPassword);
         }
         User user = userRepository.findByEmail(email);
+        if (user == null) {
+            // Restored inside this transaction, so read back by id on the same connection
+            Integer restoredId = archiveService.restore(email);
+            user = restoredId != null ? userRepository.findById(restoredId).orElse(null) : null;
+        }
         if (user == null) {
             return false;
         }
@@ -90,4 +150,22 @@ public class UserService implements UserDetailsService {
         resetTokens.remove(token);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the first password of an imported member from their invitation
+     * link. Choosing it proves the member owns the email address. Runs in
+     * the caller's transaction, since a self-call bypasses the proxy.
+     */
+    private boolean acceptInvitation(String token, String newPassword) {
+        InvitationToken invitation = invitationTokenRepository.findByToken(token).orElse(null);
+        if (invitation == null || invitation.isExpired()) {
+            return false;
+        }
+        User user = invitation.getUser();
+        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setEmailVerified(true);
+        userRepository.save(user);
+        invitationTokenRepository.delete(invitation);
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package org.voice.membership.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.dtos.WebhookEndpointRequest;
+import org.voice.membership.entities.WebhookEndpoint;
+import org.voice.membership.repositories.WebhookEndpointRepository;
+import org.voice.membership.webhooks.WebhookSubscriber;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Registers and deactivates the webhook endpoints that member events are
+ * sent to.
+ */
+@Service
+public class WebhookService {
+
+    private static final int MAX_CONCURRENCY = 16;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private WebhookEndpointRepository endpointRepository;
+
+    public List<WebhookEndpoint> getEndpoints() {
+        return endpointRepository.findAll();
+    }
+
+    /**
+     * Saves a new endpoint with a fresh signing secret.
+     *
+     * @throws IllegalArgumentException if the URL, an event type or the
+     *                                  concurrency is not valid
+     */
+    @Transactional
+    public WebhookEndpoint register(WebhookEndpointRequest request) {
+        String url = request.getUrl() != null ? request.getUrl().trim() : "";
+        try {
+            URI uri = new URI(url);
+            if (uri.getHost() == null || !("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))) {
+                throw new IllegalArgumentException("URL must be an http or https address");
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("URL must be an http or https address");
+        }
+
+        List<String> eventTypes = request.getEventTypes() != null ? request.getEventTypes() : List.of();
+        for (String eventType : eventTypes) {
+            if (!WebhookSubscriber.EVENT_TYPES.contains(eventType)) {
+                throw new IllegalArgumentException("Unknown event type " + eventType
+                        + "; expected one of " + WebhookSubscriber.EVENT_TYPES);
+            }
+        }
+
+        int maxConcurrency = request.getMaxConcurrency() != null ? request.getMaxConcurrency() : 2;
+        if (maxConcurrency < 1 || maxConcurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("maxConcurrency must be between 1 and " + MAX_CONCURRENCY);
+        }
+
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        return endpointRepository.save(WebhookEndpoint.builder()
+                .url(url)
+                .secret(Base64.getUrlEncoder().withoutPadding().encodeToString(secret))
+                .description(request.getDescription())
+                .eventTypes(eventTypes.isEmpty() ? null : String.join(",", eventTypes))
+                .maxConcurrency(maxConcurrency)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Stops sending to the endpoint. Its pending deliveries stay queued and
+     * go out if it is activated again.
+     *
+     * @return false if there is no such endpoint
+     */
+    @Transactional
+    public boolean setActive(int id, boolean active) {
+        return endpointRepository.findById(id).map(endpoint -> {
+            endpoint.setActive(active);
+            return true;
+        }).orElse(false);
+    }
+}
@@ -0,0 +1,331 @@
+package org.voice.membership.session;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store backed by the {@code http_sessions} table so that any node
+ * behind the load balancer can serve any request.
+ * Attribute changes are written immediately. Requests that only refresh the
+ * last-access time are queued in memory and written in one JDBC batch per
+ * flush interval, which keeps reads from turning into one UPDATE each.
+ * Expired rows are removed by a periodic DELETE on the expiry index, run
+ * by one node at a time under a {@link LeaseLock} lease.
+ */
+@Slf4j
+public class JdbcSessionRepository implements SessionRepository<JdbcSessionRepository.JdbcSession> {
+
+    private static final String INSERT_SESSION = "INSERT INTO http_sessions "
+            + "(session_id, creation_time, last_access_time, max_inactive_seconds, expiry_time, principal_name, attributes) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SESSION = "UPDATE http_sessions SET session_id = ?, last_access_time = ?, "
+            + "max_inactive_seconds = ?, expiry_time = ?, principal_name = ?, attributes = ? WHERE session_id = ?";
+
+    private static final String UPDATE_SESSION_ID = "UPDATE http_sessions SET session_id = ? WHERE session_id = ?";
+
+    private static final String UPDATE_LAST_ACCESS = "UPDATE http_sessions SET last_access_time = ?, expiry_time = ? "
+            + "WHERE session_id = ? AND last_access_time < ?";
+
+    private static final String SELECT_SESSION = "SELECT creation_time, last_access_time, max_inactive_seconds, "
+            + "attributes FROM http_sessions WHERE session_id = ?";
+
+    private static final String DELETE_SESSION = "DELETE FROM http_sessions WHERE session_id = ?";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM http_sessions WHERE expiry_time < ?";
+
+    private static final String CLEANUP_LEASE = "session-cleanup";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionAttributeCodec codec;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration flushInterval;
+    private final LeaseLock leaseLock;
+    private final Duration leaseTtl;
+    private final Duration leaseMinHold;
+
+    /** Last-access times waiting for the next batch flush, keyed by session id. */
+    private final Map<String, Touch> pendingTouches = new ConcurrentHashMap<>();
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, SessionAttributeCodec codec,
+            Duration defaultMaxInactiveInterval, Duration flushInterval, LeaseLock leaseLock, Duration leaseTtl,
+            Duration leaseMinHold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.flushInterval = flushInterval;
+        this.leaseLock = leaseLock;
+        this.leaseTtl = leaseTtl;
+        this.leaseMinHold = leaseMinHold;
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        MapSession delegate = new MapSession();
+        delegate.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new JdbcSession(delegate, true);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        if (session.isNew) {
+            jdbcTemplate.update(INSERT_SESSION,
+                    session.getId(),
+                    session.getCreationTime().toEpochMilli(),
+                    session.getLastAccessedTime().toEpochMilli(),
+                    (int) session.getMaxInactiveInterval().toSeconds(),
+                    expiryTime(session),
+                    principalName(session),
+                    codec.encode(session.attributes()));
+        } else if (session.attributesChanged) {
+            pendingTouches.remove(session.originalId);
+            jdbcTemplate.update(UPDATE_SESSION,
+                    session.getId(),
+                    session.getLastAccessedTime().toEpochMilli(),
+                    (int) session.getMaxInactiveInterval().toSeconds(),
+                    expiryTime(session),
+                    principalName(session),
+                    codec.encode(session.attributes()),
+                    session.originalId);
+        } else {
+            if (!session.getId().equals(session.originalId)) {
+                jdbcTemplate.update(UPDATE_SESSION_ID, session.getId(), session.originalId);
+                Touch pending = pendingTouches.remove(session.originalId);
+                if (pending != null) {
+                    pendingTouches.merge(session.getId(), pending, Touch::latest);
+                }
+            }
+            if (session.lastAccessChanged) {
+                pendingTouches.merge(session.getId(),
+                        new Touch(session.getLastAccessedTime().toEpochMilli(), expiryTime(session)), Touch::latest);
+            }
+        }
+        session.markSaved();
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        List<JdbcSession> found = jdbcTemplate.query(SELECT_SESSION, (rs, rowNum) -> {
+            MapSession delegate = new MapSession(id);
+            delegate.setCreationTime(Instant.ofEpochMilli(rs.getLong("creation_time")));
+            delegate.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("last_access_time")));
+            delegate.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_seconds")));
+            codec.decode(rs.getBytes("attributes")).forEach(delegate::setAttribute);
+            return new JdbcSession(delegate, false);
+        }, id);
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        JdbcSession session = found.get(0);
+        Touch pending = pendingTouches.get(id);
+        if (pending != null && pending.lastAccess() > session.getLastAccessedTime().toEpochMilli()) {
+            session.delegate.setLastAccessedTime(Instant.ofEpochMilli(pending.lastAccess()));
+        }
+        // Another node may still hold an unflushed touch for this session, so
+        // only treat it as expired once that window has also passed.
+        if (session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).plus(flushInterval)
+                .isBefore(Instant.now())) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendingTouches.remove(id);
+        jdbcTemplate.update(DELETE_SESSION, id);
+    }
+
+    /**
+     * Writes all queued last-access times in a single JDBC batch.
+     *
+     * @return number of sessions flushed
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.session.flush-interval-ms:10000}")
+    public int flushLastAccessTimes() {
+        if (pendingTouches.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (String id : Set.copyOf(pendingTouches.keySet())) {
+            Touch touch = pendingTouches.remove(id);
+            if (touch != null) {
+                batch.add(new Object[] { touch.lastAccess(), touch.expiry(), id, touch.lastAccess() });
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_ACCESS, batch);
+        }
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.cleanup-interval-ms:60000}")
+    public void scheduledCleanup() {
+        leaseLock.runExclusively(CLEANUP_LEASE, leaseTtl, leaseMinHold, this::deleteExpiredSessions);
+    }
+
+    /**
+     * Deletes sessions whose expiry time has passed, allowing one extra flush
+     * interval for touches still queued on other nodes.
+     *
+     * @return number of sessions removed
+     */
+    public int deleteExpiredSessions() {
+        long cutoff = System.currentTimeMillis() - flushInterval.toMillis();
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED, cutoff);
+        if (deleted > 0) {
+            log.debug("Removed {} expired sessions", deleted);
+        }
+        return deleted;
+    }
+
+    int pendingTouchCount() {
+        return pendingTouches.size();
+    }
+
+    private static long expiryTime(JdbcSession session) {
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    private static String principalName(JdbcSession session) {
+        Object context = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        if (context instanceof SecurityContext securityContext) {
+            Authentication authentication = securityContext.getAuthentication();
+            if (authentication != null) {
+                return authentication.getName();
+            }
+        }
+        return null;
+    }
+
+    private record Touch(long lastAccess, long expiry) {
+
+        private static Touch latest(Touch a, Touch b) {
+            return a.lastAccess() >= b.lastAccess() ? a : b;
+        }
+    }
+
+    /**
+     * Session view that records which parts changed since it was loaded, so
+     * {@link #save} can pick the cheapest write.
+     */
+    public static final class JdbcSession implements Session {
+
+        private final MapSession delegate;
+        private boolean isNew;
+        private String originalId;
+        private boolean attributesChanged;
+        private boolean lastAccessChanged;
+
+        JdbcSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+            this.originalId = delegate.getId();
+        }
+
+        private Map<String, Object> attributes() {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (String name : delegate.getAttributeNames()) {
+                attributes.put(name, delegate.getAttribute(name));
+            }
+            return attributes;
+        }
+
+        private void markSaved() {
+            isNew = false;
+            originalId = delegate.getId();
+            attributesChanged = false;
+            lastAccessChanged = false;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        /**
+         * Reads do not mark the session dirty. As with Spring Session's default
+         * save mode, a value changed in place must be stored again with
+         * {@link #setAttribute} to be persisted.
+         */
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            attributesChanged = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+            attributesChanged = true;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+            lastAccessChanged = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+            attributesChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.voice.membership.session;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.voice.membership.security.MemberUserDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes session attributes into a single compact binary value.
+ * Simple values and the usual form-login security context, including the
+ * member id and role of a {@link MemberUserDetails} principal, are written
+ * field by field; anything else falls back to Java serialization.
+ */
+public class SessionAttributeCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_SECURITY_CONTEXT = 5;
+    private static final byte TYPE_MEMBER_SECURITY_CONTEXT = 6;
+    private static final byte TYPE_SERIALIZED = 127;
+
+    public byte[] encode(Map<String, Object> attributes) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(attributes.size());
+            for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize session attributes", e);
+        }
+    }
+
+    public Map<String, Object> decode(byte[] data) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (data == null || data.length == 0) {
+            return attributes;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readByte() != FORMAT_VERSION) {
+                return attributes;
+            }
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                attributes.put(name, readValue(in));
+            }
+            return attributes;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize session attributes", e);
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(flag);
+        } else if (value instanceof SecurityContext context && isCompactAuthentication(context.getAuthentication())) {
+            if (context.getAuthentication().getPrincipal() instanceof MemberUserDetails member) {
+                out.writeByte(TYPE_MEMBER_SECURITY_CONTEXT);
+                out.writeInt(member.getId());
+                out.writeUTF(member.getRole());
+            } else {
+                out.writeByte(TYPE_SECURITY_CONTEXT);
+            }
+            writeAuthentication(out, context.getAuthentication());
+        } else if (value instanceof Serializable) {
+            out.writeByte(TYPE_SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        } else {
+            throw new IllegalArgumentException(
+                    "Session attribute of type " + value.getClass().getName() + " is not serializable");
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return in.readUTF();
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_SECURITY_CONTEXT:
+                return new SecurityContextImpl(readAuthentication(in, null, null));
+            case TYPE_MEMBER_SECURITY_CONTEXT:
+                int id = in.readInt();
+                String role = in.readUTF();
+                return new SecurityContextImpl(readAuthentication(in, id, role));
+            case TYPE_SERIALIZED:
+                byte[] serialized = new byte[in.readInt()];
+                in.readFully(serialized);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    return objectIn.readObject();
+                }
+            default:
+                throw new IOException("Unknown session attribute type " + type);
+        }
+    }
+
+    /**
+     * Form-login authentications carry nothing beyond the username, the
+     * authorities and the request details, so they can be rebuilt exactly.
+     */
+    private boolean isCompactAuthentication(Authentication authentication) {
+        if (authentication == null || authentication.getClass() != UsernamePasswordAuthenticationToken.class
+                || !authentication.isAuthenticated() || authentication.getCredentials() != null) {
+            return false;
+        }
+        Object details = authentication.getDetails();
+        if (details != null && details.getClass() != WebAuthenticationDetails.class) {
+            return false;
+        }
+        return authentication.getPrincipal() instanceof User user
+                && (user.getClass() == User.class || user.getClass() == MemberUserDetails.class)
+                && user.getPassword() == null && user.isEnabled() && user.isAccountNonExpired()
+                && user.isAccountNonLocked() && user.isCredentialsNonExpired();
+    }
+
+    private void writeAuthentication(DataOutputStream out, Authentication authentication) throws IOException {
+        User user = (User) authentication.getPrincipal();
+        out.writeUTF(user.getUsername());
+        out.writeShort(authentication.getAuthorities().size());
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            out.writeUTF(authority.getAuthority());
+        }
+        WebAuthenticationDetails details = (WebAuthenticationDetails) authentication.getDetails();
+        out.writeBoolean(details != null);
+        if (details != null) {
+            writeNullableString(out, details.getRemoteAddress());
+            writeNullableString(out, details.getSessionId());
+        }
+    }
+
+    private Authentication readAuthentication(DataInputStream in, Integer memberId, String memberRole)
+            throws IOException {
+        String username = in.readUTF();
+        int authorityCount = in.readUnsignedShort();
+        List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+        User user = memberId != null
+                ? new MemberUserDetails(memberId, username, "", memberRole, authorities)
+                : new User(username, "", authorities);
+        user.eraseCredentials();
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+                .authenticated(user, null, authorities);
+        if (in.readBoolean()) {
+            authentication.setDetails(new WebAuthenticationDetails(readNullableString(in), readNullableString(in)));
+        }
+        return authentication;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
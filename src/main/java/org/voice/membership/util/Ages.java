@@ -0,0 +1,55 @@
+package org.voice.membership.util;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Converts between a child's age and date of birth.
+ * Ages are always derived from the date of birth so they never go stale, and
+ * age filters are turned into birth-date ranges the database can answer from
+ * the date_of_birth index.
+ */
+public final class Ages {
+
+    private Ages() {
+    }
+
+    /**
+     * Age in whole years on the given day.
+     */
+    public static int ageOn(LocalDate dateOfBirth, LocalDate on) {
+        return Period.between(dateOfBirth, on).getYears();
+    }
+
+    /**
+     * Age today, or the age recorded at entry when no date of birth is known.
+     */
+    public static Integer currentAge(LocalDate dateOfBirth, Integer recordedAge) {
+        if (dateOfBirth == null) {
+            return recordedAge;
+        }
+        return ageOn(dateOfBirth, LocalDate.now());
+    }
+
+    /**
+     * Estimates a date of birth for someone who is {@code age} on the given
+     * day, taking the middle of the possible range.
+     */
+    public static LocalDate estimateDateOfBirth(int age, LocalDate on) {
+        return on.minusYears(age).minusMonths(6);
+    }
+
+    /**
+     * Latest date of birth of someone at least {@code minAge} on the given day.
+     */
+    public static LocalDate latestBirthDate(int minAge, LocalDate on) {
+        return on.minusYears(minAge);
+    }
+
+    /**
+     * Earliest date of birth of someone at most {@code maxAge} on the given day.
+     */
+    public static LocalDate earliestBirthDate(int maxAge, LocalDate on) {
+        return on.minusYears(maxAge + 1L).plusDays(1);
+    }
+}
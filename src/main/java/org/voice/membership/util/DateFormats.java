@@ -0,0 +1,57 @@
+package org.voice.membership.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Shared, thread-safe date formats used when rendering and parsing dates.
+ * Prefer these over creating a new SimpleDateFormat for every request.
+ * Timestamps are stored as {@link Instant}s and shown in the server's time
+ * zone; calendar dates such as birthdays are plain {@link LocalDate}s.
+ */
+public final class DateFormats {
+
+    /** Long display format, e.g. "March 05, 2025". */
+    public static final DateTimeFormatter LONG_DATE = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
+
+    /** ISO date as posted by HTML date inputs, e.g. "2025-03-05". */
+    public static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /** Date and time used in exports, e.g. "2025-03-05 14:30:00". */
+    public static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private DateFormats() {
+    }
+
+    /**
+     * Formats a timestamp in the server's time zone.
+     */
+    public static String format(Instant instant, DateTimeFormatter formatter) {
+        return formatter.format(instant.atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * Converts a timestamp to a calendar date in the server's time zone.
+     */
+    public static LocalDate toLocalDate(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the first instant of the given day in the server's time zone.
+     */
+    public static Instant startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Parses an ISO date such as "2025-03-05".
+     *
+     * @throws java.time.format.DateTimeParseException if the value is not a valid date
+     */
+    public static LocalDate parseIsoDate(String value) {
+        return LocalDate.parse(value, ISO_DATE);
+    }
+}
@@ -0,0 +1,243 @@
+package org.voice.membership.webhooks;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.voice.membership.entities.WebhookEndpoint;
+import org.voice.membership.repositories.WebhookEndpointRepository;
+import org.voice.membership.scheduling.LeaseLock;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends queued {@link WebhookOutbox} deliveries to their endpoints.
+ * Each run takes the due deliveries, groups them by endpoint and posts them
+ * as JSON arrays of up to {@code batchSize} events. An endpoint gets at most
+ * its {@code maxConcurrency} requests at once; further batches for it wait
+ * for one of those to finish. Requests share one HTTP/2 client, so
+ * connections are kept open between runs.
+ * A batch that fails or gets a non-2xx answer is retried after an
+ * exponential backoff with jitter, until {@code maxAttempts}. Delivery is
+ * at least once: receivers drop repeats by the event {@code id}.
+ * Runs happen on one node at a time, under a lease.
+ */
+@Slf4j
+public class WebhookDispatcher {
+
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private static final String LEASE = "webhook-dispatch";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private final WebhookOutbox outbox;
+    private final WebhookEndpointRepository endpointRepository;
+    private final LeaseLock leaseLock;
+    private final HttpClient httpClient;
+    private final Settings settings;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong pruned = new AtomicLong();
+    private volatile Instant lastRunAt;
+
+    public WebhookDispatcher(WebhookOutbox outbox, WebhookEndpointRepository endpointRepository,
+            LeaseLock leaseLock, HttpClient httpClient, Settings settings) {
+        this.outbox = outbox;
+        this.endpointRepository = endpointRepository;
+        this.leaseLock = leaseLock;
+        this.httpClient = httpClient;
+        this.settings = settings;
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-ms:2000}")
+    public void scheduledDispatch() {
+        if (settings.enabled()) {
+            leaseLock.runExclusively(LEASE, LEASE_TTL, Duration.ZERO, this::dispatch);
+        }
+    }
+
+    /**
+     * Sends the deliveries due now and waits for every request to finish,
+     * then removes finished rows older than the retention period.
+     *
+     * @return number of deliveries attempted
+     */
+    public int dispatch() {
+        List<WebhookOutbox.Delivery> due = outbox.findDue(Instant.now(), settings.claimLimit());
+        lastRunAt = Instant.now();
+        if (!due.isEmpty()) {
+            Map<Integer, List<WebhookOutbox.Delivery>> byEndpoint = due.stream().collect(Collectors.groupingBy(
+                    WebhookOutbox.Delivery::endpointId, LinkedHashMap::new, Collectors.toList()));
+            Map<Integer, WebhookEndpoint> endpoints = endpointRepository.findAllById(byEndpoint.keySet()).stream()
+                    .collect(Collectors.toMap(WebhookEndpoint::getId, Function.identity()));
+
+            List<CompletableFuture<Void>> lanes = new ArrayList<>();
+            byEndpoint.forEach((endpointId, deliveries) -> {
+                WebhookEndpoint endpoint = endpoints.get(endpointId);
+                if (endpoint != null) {
+                    lanes.addAll(send(endpoint, partition(deliveries, settings.batchSize())));
+                }
+            });
+            CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new)).join();
+        }
+        try {
+            pruned.addAndGet(outbox.pruneFinished(Instant.now().minus(settings.retention()),
+                    settings.claimLimit()));
+        } catch (DataAccessException e) {
+            log.warn("Could not prune webhook deliveries", e);
+        }
+        return due.size();
+    }
+
+    /**
+     * Requests sent and deliveries accepted since startup, and rows in the
+     * outbox by status.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("delivered", delivered.get());
+        stats.put("failedAttempts", failedAttempts.get());
+        stats.put("pruned", pruned.get());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("outbox", outbox.countByStatus());
+        return stats;
+    }
+
+    /**
+     * Spreads the endpoint's batches over at most {@code maxConcurrency}
+     * lanes; each lane sends its batches one after another.
+     */
+    private List<CompletableFuture<Void>> send(WebhookEndpoint endpoint, List<List<WebhookOutbox.Delivery>> batches) {
+        int laneCount = Math.max(1, Math.min(endpoint.getMaxConcurrency(), batches.size()));
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < batches.size(); i += laneCount) {
+                List<WebhookOutbox.Delivery> batch = batches.get(i);
+                chain = chain.thenCompose(ignored -> post(endpoint, batch));
+            }
+            lanes.add(chain);
+        }
+        return lanes;
+    }
+
+    private CompletableFuture<Void> post(WebhookEndpoint endpoint, List<WebhookOutbox.Delivery> batch) {
+        String body = batch.stream().map(WebhookOutbox.Delivery::payload)
+                .collect(Collectors.joining(",", "[", "]"));
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(endpoint.getUrl()))
+                    .timeout(settings.requestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header(SIGNATURE_HEADER, "sha256=" + sign(endpoint.getSecret(), body))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            recordFailure(endpoint, batch, "Invalid endpoint URL: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        requests.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() / 100 == 2) {
+                        recordSuccess(batch);
+                    } else {
+                        recordFailure(endpoint, batch, error != null
+                                ? error.getClass().getSimpleName() + ": " + error.getMessage()
+                                : "HTTP " + response.statusCode());
+                    }
+                    return null;
+                });
+    }
+
+    private void recordSuccess(List<WebhookOutbox.Delivery> batch) {
+        try {
+            outbox.markDelivered(ids(batch));
+            delivered.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            // Left pending, so the batch is sent again
+            log.warn("Could not record {} webhook deliveries as sent", batch.size(), e);
+        }
+    }
+
+    private void recordFailure(WebhookEndpoint endpoint, List<WebhookOutbox.Delivery> batch, String error) {
+        failedAttempts.addAndGet(batch.size());
+        int attempts = batch.stream().mapToInt(WebhookOutbox.Delivery::attempts).max().orElse(0);
+        log.warn("Webhook to {} failed (attempt {}): {}", endpoint.getUrl(), attempts + 1, error);
+        try {
+            outbox.markAttemptFailed(ids(batch), error, Instant.now().plus(backoff(attempts)),
+                    settings.maxAttempts());
+        } catch (DataAccessException e) {
+            log.warn("Could not record failed webhook attempt", e);
+        }
+    }
+
+    /**
+     * Doubles from {@code initialBackoff} per earlier attempt up to
+     * {@code maxBackoff}, then picks a random delay in its upper half so
+     * endpoints that came back are not hit by every retry at once.
+     */
+    private Duration backoff(int attempts) {
+        long initial = settings.initialBackoff().toMillis();
+        long max = settings.maxBackoff().toMillis();
+        long delay = attempts >= 30 ? max : Math.min(max, initial << attempts);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private static List<Long> ids(List<WebhookOutbox.Delivery> batch) {
+        return batch.stream().map(WebhookOutbox.Delivery::id).toList();
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> parts = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            parts.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return parts;
+    }
+
+    /**
+     * Hex HMAC-SHA256 of the body, keyed with the endpoint's secret.
+     */
+    public static String sign(String secret, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Tuning under {@code app.webhooks}.
+     *
+     * @param claimLimit deliveries taken per run
+     * @param batchSize  events per request
+     * @param retention  how long delivered and failed rows are kept
+     */
+    public record Settings(boolean enabled, int claimLimit, int batchSize, int maxAttempts,
+            Duration initialBackoff, Duration maxBackoff, Duration requestTimeout, Duration retention) {
+    }
+}
@@ -0,0 +1,128 @@
+package org.voice.membership.webhooks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code webhook_deliveries} table: one row per event and endpoint,
+ * PENDING until the endpoint accepts it (DELIVERED) or the last retry
+ * fails (FAILED). Rows survive restarts, so events queued before a crash or
+ * deploy are still sent afterwards.
+ */
+public class WebhookOutbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String DELIVERED = "DELIVERED";
+    public static final String FAILED = "FAILED";
+
+    private static final String INSERT = "INSERT INTO webhook_deliveries (endpoint_id, event_id, event_type, "
+            + "payload, status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String SELECT_DUE = "SELECT d.id, d.endpoint_id, d.payload, d.attempts "
+            + "FROM webhook_deliveries d JOIN webhook_endpoints e ON e.id = d.endpoint_id "
+            + "WHERE d.status = 'PENDING' AND d.next_attempt_at <= ? AND e.active = TRUE ORDER BY d.id LIMIT ";
+
+    private static final String MARK_DELIVERED = "UPDATE webhook_deliveries "
+            + "SET status = 'DELIVERED', attempts = attempts + 1, last_error = NULL, "
+            + "next_attempt_at = :now, delivered_at = :now WHERE id IN (:ids)";
+
+    // status is set before attempts, which MySQL updates in place
+    private static final String MARK_ATTEMPT_FAILED = "UPDATE webhook_deliveries "
+            + "SET status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, "
+            + "attempts = attempts + 1, last_error = :error, next_attempt_at = :next WHERE id IN (:ids)";
+
+    private static final String SELECT_FINISHED = "SELECT id FROM webhook_deliveries "
+            + "WHERE status IN ('DELIVERED', 'FAILED') AND next_attempt_at < ? ORDER BY id LIMIT ";
+
+    private static final String DELETE = "DELETE FROM webhook_deliveries WHERE id IN (:ids)";
+
+    private static final String COUNT_BY_STATUS = "SELECT status, COUNT(*) FROM webhook_deliveries GROUP BY status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public WebhookOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Queues one event for each of the given endpoints, due at once.
+     */
+    public void enqueue(Collection<Integer> endpointIds, String eventId, String eventType, String payload) {
+        OffsetDateTime now = utc(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, endpointIds.stream()
+                .map(endpointId -> new Object[] {endpointId, eventId, eventType, payload, now, now})
+                .toList());
+    }
+
+    /**
+     * Pending deliveries due by {@code now} for active endpoints, oldest
+     * first, at most {@code limit}.
+     */
+    public List<Delivery> findDue(Instant now, int limit) {
+        return jdbcTemplate.query(SELECT_DUE + limit, (rs, rowNum) -> new Delivery(rs.getLong("id"),
+                rs.getInt("endpoint_id"), rs.getString("payload"), rs.getInt("attempts")), utc(now));
+    }
+
+    public void markDelivered(Collection<Long> ids) {
+        namedParameterJdbcTemplate.update(MARK_DELIVERED, new MapSqlParameterSource("ids", ids)
+                .addValue("now", utc(Instant.now())));
+    }
+
+    /**
+     * Counts a failed attempt and schedules the next one, or marks the
+     * deliveries FAILED once they have had {@code maxAttempts}.
+     */
+    public void markAttemptFailed(Collection<Long> ids, String error, Instant nextAttemptAt, int maxAttempts) {
+        String message = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        namedParameterJdbcTemplate.update(MARK_ATTEMPT_FAILED, new MapSqlParameterSource("ids", ids)
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("error", message)
+                .addValue("next", utc(nextAttemptAt)));
+    }
+
+    /**
+     * Deletes up to {@code limit} delivered or failed rows whose last
+     * attempt was before {@code cutoff}.
+     *
+     * @return number of rows deleted
+     */
+    public int pruneFinished(Instant cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_FINISHED + limit, Long.class, utc(cutoff));
+        return ids.isEmpty() ? 0 : namedParameterJdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids));
+    }
+
+    public Map<String, Long> countByStatus() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : List.of(PENDING, DELIVERED, FAILED)) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(COUNT_BY_STATUS, rs -> {
+            counts.put(rs.getString(1), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * A queued event for one endpoint.
+     *
+     * @param payload  the event as a JSON object
+     * @param attempts sends tried so far
+     */
+    public record Delivery(long id, int endpointId, String payload, int attempts) {
+    }
+}
@@ -0,0 +1,113 @@
+package org.voice.membership.webhooks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.voice.membership.entities.WebhookEndpoint;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.DomainEvent;
+import org.voice.membership.events.DomainEventSubscriber;
+import org.voice.membership.events.EmailVerified;
+import org.voice.membership.events.MemberRegistered;
+import org.voice.membership.events.MembershipCancelled;
+import org.voice.membership.events.MembershipUpgraded;
+import org.voice.membership.repositories.WebhookEndpointRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queues member events in the {@link WebhookOutbox} for every active
+ * endpoint subscribed to them. Payloads are built here, so they hold what
+ * was true when the event happened. The verification link is never sent:
+ * it signs the member in.
+ * Runs inside the publisher's transaction, so the deliveries are written
+ * if and only if the member change that caused them commits.
+ */
+public class WebhookSubscriber implements DomainEventSubscriber {
+
+    public static final String MEMBER_REGISTERED = "member.registered";
+    public static final String MEMBER_VERIFIED = "member.verified";
+    public static final String MEMBERSHIP_UPGRADED = "membership.upgraded";
+    public static final String MEMBERSHIP_CANCELLED = "membership.cancelled";
+
+    public static final List<String> EVENT_TYPES = List.of(MEMBER_REGISTERED, MEMBER_VERIFIED,
+            MEMBERSHIP_UPGRADED, MEMBERSHIP_CANCELLED);
+
+    private final WebhookOutbox outbox;
+    private final WebhookEndpointRepository endpointRepository;
+    private final ObjectMapper objectMapper;
+
+    public WebhookSubscriber(WebhookOutbox outbox, WebhookEndpointRepository endpointRepository,
+            ObjectMapper objectMapper) {
+        this.outbox = outbox;
+        this.endpointRepository = endpointRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "webhooks";
+    }
+
+    @Override
+    public boolean inPublisherTransaction() {
+        return true;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("userId", event.userId());
+        String type = switch (event) {
+            case MemberRegistered registered -> {
+                data.put("email", registered.email());
+                data.put("name", registered.name());
+                data.put("membership", registered.membershipName());
+                data.put("paid", registered.paid());
+                yield MEMBER_REGISTERED;
+            }
+            case EmailVerified verified -> {
+                data.put("email", verified.email());
+                yield MEMBER_VERIFIED;
+            }
+            case MembershipUpgraded upgraded -> {
+                data.put("email", upgraded.email());
+                data.put("name", upgraded.name());
+                data.put("membership", upgraded.membershipName());
+                data.put("expiryDate", upgraded.expiryDate());
+                yield MEMBERSHIP_UPGRADED;
+            }
+            case MembershipCancelled cancelled -> {
+                data.put("email", cancelled.email());
+                data.put("membership", cancelled.membershipName());
+                yield MEMBERSHIP_CANCELLED;
+            }
+            case ChildChanged child -> null;
+        };
+        if (type == null) {
+            return;
+        }
+
+        List<Integer> endpointIds = endpointRepository.findByActiveTrue().stream()
+                .filter(endpoint -> endpoint.subscribesTo(type))
+                .map(WebhookEndpoint::getId)
+                .toList();
+        if (endpointIds.isEmpty()) {
+            return;
+        }
+
+        String eventId = UUID.randomUUID().toString();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", eventId);
+        payload.put("type", type);
+        payload.put("occurredAt", event.occurredAt());
+        payload.put("data", data);
+        try {
+            outbox.enqueue(endpointIds, eventId, type, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " webhook payload", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- Outbound webhooks. Admins register endpoints; every member event an
+-- endpoint subscribes to becomes one delivery row, kept until it is sent
+-- or gives up after the last retry.
+create table webhook_endpoints (
+    id integer not null auto_increment,
+    url varchar(500) not null,
+    secret varchar(100) not null,
+    description varchar(255),
+    event_types varchar(255),
+    max_concurrency integer not null,
+    active BOOLEAN DEFAULT TRUE not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table webhook_deliveries (
+    id bigint not null auto_increment,
+    endpoint_id integer not null,
+    event_id varchar(36) not null,
+    event_type varchar(50) not null,
+    payload text not null,
+    status varchar(20) not null,
+    attempts integer DEFAULT 0 not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(500),
+    created_at datetime(6) not null,
+    delivered_at datetime(6),
+    primary key (id),
+    constraint fk_webhook_deliveries_endpoint foreign key (endpoint_id) references webhook_endpoints (id)
+) engine=InnoDB;
+
+-- The dispatcher claims due deliveries; the prune finds old delivered ones
+create index idx_webhook_deliveries_due on webhook_deliveries (status, next_attempt_at);
@@ -0,0 +1,16 @@
+-- Dictionary values typed during registration that matched nothing. They are
+-- kept here for an admin to approve or dismiss instead of being added to
+-- lookup_values, one row per normalized key. Dismissed rows are kept so the
+-- same text is not queued again.
+create table lookup_suggestions (
+    id integer not null auto_increment,
+    category enum ('CHAPTER','EQUIPMENT_TYPE','HEARING_LOSS_TYPE','PROVINCE') not null,
+    lookup_key varchar(100) not null,
+    label varchar(100) not null,
+    occurrences integer not null,
+    dismissed bit not null,
+    first_seen_at datetime(6) not null,
+    last_seen_at datetime(6) not null,
+    primary key (id),
+    constraint uk_lookup_suggestions_category_key unique (category, lookup_key)
+) engine=InnoDB;
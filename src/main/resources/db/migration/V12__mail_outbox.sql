@@ -0,0 +1,22 @@
+-- Emails queued by bulk operations and imports. A row is written in the
+-- same transaction as the token it links to and kept until the mail server
+-- accepts the message or the last retry fails, so a restart loses nothing.
+create table mail_outbox (
+    id bigint not null auto_increment,
+    kind varchar(20) not null,
+    recipient varchar(255) not null,
+    recipient_name varchar(255),
+    link varchar(500) not null,
+    job_id varchar(36),
+    status varchar(20) not null,
+    attempts integer DEFAULT 0 not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(500),
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+-- The sender claims due rows; bulk jobs report progress by job
+create index idx_mail_outbox_due on mail_outbox (status, next_attempt_at);
+create index idx_mail_outbox_job on mail_outbox (job_id, status);
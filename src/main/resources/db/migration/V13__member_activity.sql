@@ -0,0 +1,15 @@
+-- Registrations, verifications, upgrades and cancellations for the admin
+-- live activity feed. Written in the transaction of the change and polled
+-- by seq on every node, so each node streams the same events with the same
+-- ids. Old rows are deleted by created_at.
+create table member_activity (
+    seq bigint not null auto_increment,
+    event_type varchar(20) not null,
+    user_id integer not null,
+    data varchar(2000) not null,
+    occurred_at datetime(6) not null,
+    created_at datetime(6) not null,
+    primary key (seq)
+) engine=InnoDB;
+
+create index idx_member_activity_created on member_activity (created_at);
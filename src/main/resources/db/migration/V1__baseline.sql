@@ -0,0 +1,106 @@
+-- Schema as it stood when Hibernate's ddl-auto still managed it, before any
+-- of the later scripts. Databases created that way are recorded at this
+-- version without running it, so it must not contain anything newer.
+
+create table membership_options (
+    id integer not null auto_increment,
+    name varchar(255) not null,
+    description TEXT,
+    price DECIMAL(10, 2),
+    features TEXT,
+    is_free bit,
+    display_order integer,
+    active bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table membership_benefits (
+    id integer not null auto_increment,
+    title varchar(255) not null,
+    description TEXT,
+    icon varchar(255) not null,
+    display_order integer,
+    active bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table landing_page_content (
+    id integer not null auto_increment,
+    `key` varchar(255) not null,
+    `value` LONGTEXT,
+    active bit not null,
+    primary key (id),
+    constraint uk_landing_page_content_key unique (`key`)
+) engine=InnoDB;
+
+create table users (
+    id integer not null auto_increment,
+    first_name varchar(255),
+    middle_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    address varchar(255),
+    city varchar(255),
+    province varchar(255),
+    postal_code varchar(255),
+    role varchar(255),
+    creation datetime(6),
+    email_verified BOOLEAN DEFAULT FALSE not null,
+    failed_login_attempts INT DEFAULT 0 not null,
+    account_locked BOOLEAN DEFAULT FALSE not null,
+    lockout_time datetime(6),
+    membership_start_date datetime(6),
+    membership_expiry_date datetime(6),
+    membership_id integer,
+    primary key (id),
+    constraint fk_users_membership foreign key (membership_id) references membership_options (id)
+) engine=InnoDB;
+
+create table children (
+    id integer not null auto_increment,
+    name varchar(255) not null,
+    age integer,
+    date_of_birth date,
+    hearing_loss_type varchar(255),
+    equipment_type varchar(255),
+    siblings_names varchar(255),
+    chapter_location varchar(255),
+    user_id integer not null,
+    primary key (id),
+    constraint fk_children_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table verification_tokens (
+    id bigint not null auto_increment,
+    token varchar(255) not null,
+    user_id integer not null,
+    expiry_date datetime(6) not null,
+    primary key (id),
+    constraint uk_verification_tokens_token unique (token),
+    constraint uk_verification_tokens_user unique (user_id),
+    constraint fk_verification_tokens_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table carts (
+    id integer not null auto_increment,
+    user_id integer not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_carts_user unique (user_id),
+    constraint fk_carts_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table cart_items (
+    id integer not null auto_increment,
+    cart_id integer not null,
+    membership_id integer not null,
+    quantity integer not null,
+    unit_price DECIMAL(10, 2),
+    total_price DECIMAL(10, 2),
+    primary key (id),
+    constraint fk_cart_items_cart foreign key (cart_id) references carts (id),
+    constraint fk_cart_items_membership foreign key (membership_id) references membership_options (id)
+) engine=InnoDB;
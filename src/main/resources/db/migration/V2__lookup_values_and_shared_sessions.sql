@@ -0,0 +1,44 @@
+-- What was added while ddl-auto still managed the schema: the lookup
+-- dictionary and its codes, date-only membership dates, the indexes behind
+-- the admin filters, and the session table shared by every node.
+
+create table lookup_values (
+    id smallint not null auto_increment,
+    category enum ('CHAPTER','EQUIPMENT_TYPE','HEARING_LOSS_TYPE','PROVINCE') not null,
+    lookup_key varchar(100) not null,
+    label varchar(100) not null,
+    primary key (id),
+    constraint uk_lookup_values_category_key unique (category, lookup_key)
+) engine=InnoDB;
+
+-- Codes are filled in from the free text by the lookup migration at startup
+alter table users add column province_id smallint;
+alter table children add column hearing_loss_type_id smallint;
+alter table children add column equipment_type_id smallint;
+alter table children add column chapter_id smallint;
+
+-- Membership dates were stored as timestamps; only the date is kept
+alter table users modify column membership_start_date date;
+alter table users modify column membership_expiry_date date;
+
+-- Admin dashboard filters: registration date range, province, and child
+-- age, hearing loss and equipment resolved to parent ids
+create index idx_users_creation on users (creation);
+create index idx_users_province on users (province_id);
+create index idx_children_dob_user on children (date_of_birth, user_id);
+create index idx_children_hearing_loss_user on children (hearing_loss_type_id, user_id);
+create index idx_children_equipment_user on children (equipment_type_id, user_id);
+
+create table http_sessions (
+    session_id varchar(64) not null,
+    creation_time bigint not null,
+    last_access_time bigint not null,
+    max_inactive_seconds integer not null,
+    expiry_time bigint not null,
+    principal_name varchar(100),
+    attributes blob,
+    primary key (session_id)
+) engine=InnoDB;
+
+create index idx_http_sessions_expiry on http_sessions (expiry_time);
+create index idx_http_sessions_principal on http_sessions (principal_name);
@@ -0,0 +1,22 @@
+-- Indexes for the lookups made on every login, registration and admin
+-- search. Foreign key columns get explicitly named indexes so the plan no
+-- longer depends on the implicit ones MySQL creates for constraints.
+
+-- Login (findByEmail)
+create index idx_users_email on users (email);
+
+-- Duplicate-email checks (findByEmailIgnoreCase): compare a stored
+-- lower-cased copy instead of UPPER(email) on every row
+alter table users add column email_normalized varchar(255);
+update users set email_normalized = lower(email);
+create index idx_users_email_normalized on users (email_normalized);
+
+-- Membership renewal and expiry sweeps
+create index idx_users_membership_expiry on users (membership_expiry_date);
+
+-- Profile and checkout (findByUserId, findByCartId, deleteByCartId)
+create index idx_children_user on children (user_id);
+create index idx_cart_items_cart on cart_items (cart_id);
+
+-- Expired verification token cleanup
+create index idx_verification_tokens_expiry on verification_tokens (expiry_date);
@@ -0,0 +1,32 @@
+-- users.email is the natural id that logins resolve through the
+-- second-level cache, so it must identify at most one row, whatever its
+-- case.
+--
+-- Older databases can hold the same address more than once, usually in
+-- different case. For each address the verified account with the lowest id
+-- keeps it (or the lowest id when none is verified); the others are renamed
+-- to duplicate-<id>.<email> so the unique indexes can be built. Their
+-- children, carts and tokens stay with them for an admin to reconcile.
+update users set
+    email = left(concat('duplicate-', id, '.', email), 255),
+    email_normalized = left(concat('duplicate-', id, '.', email_normalized), 255)
+where id in (
+    -- distinct keeps MySQL from merging the derived table into the update,
+    -- which would then read the table it is changing
+    select id from (
+        select distinct u.id from users u
+        where exists (
+            select 1 from users k
+            where k.email_normalized = u.email_normalized
+              and (k.email_verified > u.email_verified
+                   or (k.email_verified = u.email_verified and k.id < u.id))
+        )
+    ) as duplicates
+);
+
+drop index idx_users_email on users;
+create unique index uk_users_email on users (email);
+
+-- Also reject case variants, whatever the column collation
+drop index idx_users_email_normalized on users;
+create unique index uk_users_email_normalized on users (email_normalized);
@@ -0,0 +1,14 @@
+-- One-time links for members created by a bulk import. The member sets
+-- their own password through the link instead of the import hashing one.
+create table invitation_tokens (
+    id bigint not null auto_increment,
+    token varchar(64) not null,
+    user_id integer not null,
+    expiry_date datetime(6) not null,
+    primary key (id),
+    constraint uk_invitation_tokens_token unique (token),
+    constraint uk_invitation_tokens_user unique (user_id),
+    constraint fk_invitation_tokens_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create index idx_invitation_tokens_expiry on invitation_tokens (expiry_date);
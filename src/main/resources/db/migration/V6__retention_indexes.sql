@@ -0,0 +1,3 @@
+-- Retention purge: walks unverified accounts in id order. Secondary
+-- indexes carry the primary key, so this serves (email_verified, id).
+create index idx_users_email_verified on users (email_verified);
@@ -0,0 +1,64 @@
+-- Inactivity for archiving is measured from the last sign-in. Archiving
+-- walks users in id order and checks this column per row, so it needs no
+-- index of its own.
+alter table users add column last_login datetime(6);
+
+-- Members moved out of users by the archive job. Ids are kept so a member
+-- restored on sign-in comes back as the same row. No foreign keys to the
+-- live tables: a plan may be removed while members on it are archived.
+create table users_archive (
+    id integer not null,
+    first_name varchar(255),
+    middle_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    email_normalized varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    address varchar(255),
+    city varchar(255),
+    province varchar(255),
+    province_id smallint,
+    postal_code varchar(255),
+    role varchar(255),
+    creation datetime(6),
+    email_verified BOOLEAN DEFAULT FALSE not null,
+    failed_login_attempts INT DEFAULT 0 not null,
+    account_locked BOOLEAN DEFAULT FALSE not null,
+    lockout_time datetime(6),
+    membership_start_date date,
+    membership_expiry_date date,
+    membership_id integer,
+    last_login datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Restore on sign-in, and email uniqueness checks at registration
+create index idx_users_archive_email on users_archive (email);
+create index idx_users_archive_email_normalized on users_archive (email_normalized);
+-- Admin dashboard filters when archived members are included
+create index idx_users_archive_creation on users_archive (creation);
+create index idx_users_archive_province on users_archive (province_id);
+
+create table children_archive (
+    id integer not null,
+    name varchar(255) not null,
+    age integer,
+    date_of_birth date,
+    hearing_loss_type varchar(255),
+    hearing_loss_type_id smallint,
+    equipment_type varchar(255),
+    equipment_type_id smallint,
+    siblings_names varchar(255),
+    chapter_location varchar(255),
+    chapter_id smallint,
+    user_id integer not null,
+    primary key (id),
+    constraint fk_children_archive_user foreign key (user_id) references users_archive (id)
+) engine=InnoDB;
+
+create index idx_children_archive_user on children_archive (user_id);
+create index idx_children_archive_dob_user on children_archive (date_of_birth, user_id);
+create index idx_children_archive_hearing_loss_user on children_archive (hearing_loss_type_id, user_id);
+create index idx_children_archive_equipment_user on children_archive (equipment_type_id, user_id);
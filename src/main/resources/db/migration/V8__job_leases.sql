@@ -0,0 +1,9 @@
+-- One row per scheduled job that must run on a single node at a time. A
+-- node takes a row with a conditional update once locked_until has passed.
+create table job_leases (
+    name varchar(100) not null,
+    owner varchar(100) not null,
+    locked_at datetime(6) not null,
+    locked_until datetime(6) not null,
+    primary key (name)
+) engine=InnoDB;
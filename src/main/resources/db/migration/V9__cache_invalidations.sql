@@ -0,0 +1,12 @@
+-- Evictions from per-node caches, replayed by the other nodes. Nodes poll
+-- by seq and old rows are deleted in seq ranges, so the primary key is the
+-- only index.
+create table cache_invalidations (
+    seq bigint not null auto_increment,
+    cache_name varchar(100) not null,
+    cache_key varchar(255),
+    key_type varchar(20),
+    origin varchar(100) not null,
+    created_at datetime(6) not null,
+    primary key (seq)
+) engine=InnoDB;
@@ -0,0 +1,74 @@
+package org.voice.membership.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against fresh H2 databases in MySQL mode, including
+ * one that stands in for a schema created by ddl-auto before the scripts
+ * existed.
+ */
+class SchemaMigratorTest {
+
+    @Test
+    void legacySchemaWithoutHistory_ShouldGetEveryLaterScript() {
+        DriverManagerDataSource dataSource = dataSource("legacy");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO users (email, province, email_verified, failed_login_attempts, "
+                + "account_locked, membership_start_date) VALUES ('legacy@example.com', 'ON', FALSE, 0, FALSE, "
+                + "'2024-03-01 10:15:00')");
+
+        int applied = new SchemaMigrator(dataSource).migrate();
+
+        Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_version", Integer.class);
+        assertThat(applied).isEqualTo(total - 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT checksum FROM schema_version WHERE version = 1",
+                Long.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lookup_values", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT province_id FROM users", Short.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT membership_start_date FROM users", LocalDate.class))
+                .isEqualTo(LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void legacyDuplicateEmails_ShouldLeaveOneAccountPerAddress() {
+        DriverManagerDataSource dataSource = dataSource("duplicates");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        String insert = "INSERT INTO users (id, email, email_verified, failed_login_attempts, account_locked) "
+                + "VALUES (?, ?, ?, 0, FALSE)";
+        jdbcTemplate.update(insert, 1, "Dup@example.com", false);
+        jdbcTemplate.update(insert, 2, "dup@example.com", true);
+        jdbcTemplate.update(insert, 3, "DUP@example.com", true);
+        jdbcTemplate.update(insert, 4, "solo@example.com", false);
+
+        new SchemaMigrator(dataSource).migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users ORDER BY id", String.class))
+                .containsExactly("duplicate-1.Dup@example.com", "dup@example.com",
+                        "duplicate-3.DUP@example.com", "solo@example.com");
+    }
+
+    @Test
+    void migrate_ShouldApplyNothingTheSecondTime() {
+        DriverManagerDataSource dataSource = dataSource("fresh");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource);
+
+        assertThat(migrator.migrate()).isPositive();
+
+        assertThat(migrator.migrate()).isZero();
+    }
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:migrator-" + name
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
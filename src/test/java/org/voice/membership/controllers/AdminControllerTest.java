@@ -9,12 +9,17 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.entities.Child;
 import org.voice.membership.entities.Role;
 import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
 import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.LookupService;
 
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,6 +40,12 @@ class AdminControllerTest {
         @Autowired
         private UserRepository userRepository;
 
+        @Autowired
+        private ChildRepository childRepository;
+
+        @Autowired
+        private LookupService lookupService;
+
         private User adminUser;
         private User regularUser;
 
@@ -49,7 +60,7 @@ class AdminControllerTest {
                                 .email("tarparakrimy1@gmail.com")
                                 .password("Caspstone36!")
                                 .role(Role.ADMIN.name())
-                                .creation(new Date())
+                                .creation(Instant.now())
                                 .build();
                 adminUser = userRepository.save(adminUser);
 
@@ -63,7 +74,7 @@ class AdminControllerTest {
                                 .address("123 Test St")
                                 .postalCode("12345")
                                 .role(Role.USER.name())
-                                .creation(new Date())
+                                .creation(Instant.now())
                                 .build();
                 regularUser = userRepository.save(regularUser);
         }
@@ -100,6 +111,76 @@ class AdminControllerTest {
                                 .andExpect(model().attributeExists("users"));
         }
 
+        @Test
+        @WithMockUser(username = "tarparakrimy1@gmail.com", roles = "ADMIN")
+        void adminDashboard_WithRegistrationDateRange_ShouldIncludeWholeEndDay() throws Exception {
+                String today = LocalDate.now().toString();
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("startDate", today)
+                                .param("endDate", today))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(2)))
+                                .andExpect(model().attribute("totalUsers", 2L));
+        }
+
+        @Test
+        @WithMockUser(username = "tarparakrimy1@gmail.com", roles = "ADMIN")
+        void adminDashboard_WithFutureStartDate_ShouldReturnNoUsers() throws Exception {
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("startDate", LocalDate.now().plusDays(1).toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(0)));
+        }
+
+        @Test
+        @WithMockUser(username = "tarparakrimy1@gmail.com", roles = "ADMIN")
+        void adminDashboard_WithChildAgeRange_ShouldMatchByDateOfBirth() throws Exception {
+                childRepository.save(Child.builder()
+                                .name("Four")
+                                .dateOfBirth(LocalDate.now().minusYears(4))
+                                .user(regularUser)
+                                .build());
+
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("minAge", "3")
+                                .param("maxAge", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(1)));
+
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("minAge", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(0)));
+        }
+
+        @Test
+        @WithMockUser(username = "tarparakrimy1@gmail.com", roles = "ADMIN")
+        void adminDashboard_WithDictionaryFilters_ShouldMatchCanonicalValues() throws Exception {
+                regularUser.setProvince("Ontario");
+                lookupService.applyTo(regularUser);
+                userRepository.save(regularUser);
+                Child child = Child.builder()
+                                .name("Filtered")
+                                .hearingLossType("severe")
+                                .equipmentType("Cochlear Implant")
+                                .user(regularUser)
+                                .build();
+                lookupService.applyTo(child);
+                childRepository.save(child);
+
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("province", "ON")
+                                .param("hearingLossType", "Severe")
+                                .param("equipmentType", "cochlear implant"))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(1)));
+
+                mockMvc.perform(get("/admin/dashboard")
+                                .param("province", "BC"))
+                                .andExpect(status().isOk())
+                                .andExpect(model().attribute("users", hasSize(0)));
+        }
+
         @Test
         @WithMockUser(username = "tarparakrimy1@gmail.com", roles = "ADMIN")
         void exportUsers_ShouldDownloadExcelFile() throws Exception {
@@ -15,7 +15,8 @@ import org.voice.membership.entities.User;
 import org.voice.membership.repositories.ChildRepository;
 import org.voice.membership.repositories.MembershipRepository;
 import org.voice.membership.repositories.UserRepository;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -67,12 +68,12 @@ class ProfileControllerTest {
         testUser.setProvince("ON");
         testUser.setPostalCode("M5H 2N2");
         testUser.setRole("USER");
-        testUser.setCreation(new Date());
+        testUser.setCreation(Instant.now());
         testUser = userRepository.save(testUser);
 
         testChild = new Child();
         testChild.setName("Child One");
-        testChild.setDateOfBirth(new Date());
+        testChild.setDateOfBirth(LocalDate.now());
         testChild.setHearingLossType("Profound");
         testChild.setEquipmentType("Cochlear Implant");
         testChild.setUser(testUser);
@@ -238,12 +239,12 @@ class ProfileControllerTest {
         otherUser.setProvince("BC");
         otherUser.setPostalCode("A1A 1A1");
         otherUser.setRole("USER");
-        otherUser.setCreation(new Date());
+        otherUser.setCreation(Instant.now());
         otherUser = userRepository.save(otherUser);
 
         Child otherChild = new Child();
         otherChild.setName("Other Child");
-        otherChild.setDateOfBirth(new Date());
+        otherChild.setDateOfBirth(LocalDate.now());
         otherChild.setHearingLossType("Moderate");
         otherChild.setEquipmentType("Hearing Aid");
         otherChild.setUser(otherUser);
@@ -300,7 +301,7 @@ class ProfileControllerTest {
         otherUser.setProvince("QC");
         otherUser.setPostalCode("B2B 2B2");
         otherUser.setRole("USER");
-        otherUser.setCreation(new Date());
+        otherUser.setCreation(Instant.now());
         userRepository.save(otherUser);
 
         mockMvc.perform(post("/profile/edit")
@@ -7,17 +7,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 import org.voice.membership.entities.Membership;
 import org.voice.membership.entities.User;
 import org.voice.membership.repositories.*;
+import org.voice.membership.services.RegistrationStateService;
 
+import jakarta.servlet.http.Cookie;
 import java.math.BigDecimal;
-import java.util.Date;
+import java.time.Instant;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -80,6 +84,32 @@ class RegisterControllerTest {
                                 .andExpect(redirectedUrl("/register/step2"));
         }
 
+        // Wizard State Carried In Cookie, Not Session
+        @Test
+        void handleStep1_ShouldCarryStateInCookieWithoutSession() throws Exception {
+                MvcResult result = mockMvc.perform(post("/register/step1")
+                                .with(csrf())
+                                .param("firstName", "Jane")
+                                .param("middleName", "")
+                                .param("lastName", "Doe")
+                                .param("email", "jane@example.com")
+                                .param("password", "ValidPass123!")
+                                .param("confirmPassword", "ValidPass123!")
+                                .param("phone", "1234567890")
+                                .param("address", "456 Oak Ave")
+                                .param("city", "Toronto")
+                                .param("province", "ON")
+                                .param("postalCode", "M5H 2N2"))
+                                .andExpect(status().is3xxRedirection())
+                                .andExpect(cookie().exists(RegistrationStateService.COOKIE_NAME))
+                                .andExpect(cookie().httpOnly(RegistrationStateService.COOKIE_NAME, true))
+                                .andReturn();
+
+                assertNull(result.getRequest().getSession(false));
+                String token = result.getResponse().getCookie(RegistrationStateService.COOKIE_NAME).getValue();
+                assertFalse(token.contains("ValidPass123"));
+        }
+
         // Show Step 2 With Valid Session Data
         @Test
         void showStep2_WithValidSessionData_ShouldDisplayChildForm() throws Exception {
@@ -100,10 +130,10 @@ class RegisterControllerTest {
                                 .andExpect(redirectedUrl("/register/step2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result.getRequest().getSession();
+                Cookie state = result.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
                 mockMvc.perform(get("/register/step2")
-                                .session(session))
+                                .cookie(state))
                                 .andExpect(status().isOk())
                                 .andExpect(view().name("register-step2"))
                                 .andExpect(model().attributeExists("children"))
@@ -129,10 +159,10 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result.getRequest().getSession();
+                Cookie state = result.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
                 mockMvc.perform(post("/register/step2")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
                                 .param("childAge", "5")
@@ -163,10 +193,10 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result.getRequest().getSession();
+                Cookie state = result.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
                 mockMvc.perform(post("/register/step2")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe", "Sally Doe")
                                 .param("childAge", "5", "7")
@@ -216,17 +246,16 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
                 mockMvc.perform(get("/register/step3")
-                                .session(session))
+                                .cookie(state))
                                 .andExpect(status().isOk())
                                 .andExpect(view().name("register-step3"))
                                 .andExpect(model().attributeExists("memberships"))
@@ -260,17 +289,16 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
                 mockMvc.perform(post("/register/step3")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf())
                                 .param("membershipId", String.valueOf(savedMembership.getId())))
                                 .andExpect(status().is3xxRedirection())
@@ -303,23 +331,21 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
-                mockMvc.perform(post("/register/step3")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step3")
+                                .cookie(state)
                                 .with(csrf())
-                                .param("membershipId", String.valueOf(savedMembership.getId())))
-                                .andReturn();
+                                .param("membershipId", String.valueOf(savedMembership.getId()))), state);
 
                 mockMvc.perform(get("/register/step4")
-                                .session(session))
+                                .cookie(state))
                                 .andExpect(status().isOk())
                                 .andExpect(view().name("register-step4"))
                                 .andExpect(model().attributeExists("membership"))
@@ -352,23 +378,21 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
-                mockMvc.perform(post("/register/step3")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step3")
+                                .cookie(state)
                                 .with(csrf())
-                                .param("membershipId", String.valueOf(savedMembership.getId())))
-                                .andReturn();
+                                .param("membershipId", String.valueOf(savedMembership.getId()))), state);
 
                 mockMvc.perform(post("/register/step4")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf())
                                 .param("action", "remove"))
                                 .andExpect(status().is3xxRedirection())
@@ -401,23 +425,21 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
-                mockMvc.perform(post("/register/step3")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step3")
+                                .cookie(state)
                                 .with(csrf())
-                                .param("membershipId", String.valueOf(savedMembership.getId())))
-                                .andReturn();
+                                .param("membershipId", String.valueOf(savedMembership.getId()))), state);
 
                 mockMvc.perform(post("/register/step4")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf()))
                                 .andExpect(status().is3xxRedirection())
                                 .andExpect(redirectedUrl("/profile"));
@@ -449,23 +471,21 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result1.getRequest().getSession();
+                Cookie state = result1.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
-                mockMvc.perform(post("/register/step3")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step3")
+                                .cookie(state)
                                 .with(csrf())
-                                .param("membershipId", String.valueOf(savedMembership.getId())))
-                                .andReturn();
+                                .param("membershipId", String.valueOf(savedMembership.getId()))), state);
 
                 mockMvc.perform(post("/register/step4")
-                                .session(session)
+                                .cookie(state)
                                 .with(csrf()))
                                 .andExpect(status().is3xxRedirection())
                                 .andExpect(redirectedUrl("/register/checkout"));
@@ -486,7 +506,7 @@ class RegisterControllerTest {
                 existingUser.setProvince("ON");
                 existingUser.setPostalCode("A1A 1A1");
                 existingUser.setRole("USER");
-                existingUser.setCreation(new Date());
+                existingUser.setCreation(Instant.now());
                 userRepository.save(existingUser);
 
                 mockMvc.perform(post("/register/step1")
@@ -620,19 +640,27 @@ class RegisterControllerTest {
                                 .param("postalCode", "M5H 2N2"))
                                 .andReturn();
 
-                MockHttpSession session = (MockHttpSession) result.getRequest().getSession();
+                Cookie state = result.getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
 
-                mockMvc.perform(post("/register/step2")
-                                .session(session)
+                state = nextState(mockMvc.perform(post("/register/step2")
+                                .cookie(state)
                                 .with(csrf())
                                 .param("childName", "Tommy Doe")
-                                .param("childAge", "5"))
-                                .andReturn();
+                                .param("childAge", "5")), state);
 
                 mockMvc.perform(get("/register/step4")
-                                .session(session))
+                                .cookie(state))
                                 .andExpect(status().is3xxRedirection())
                                 .andExpect(redirectedUrl("/register/step3"));
         }
 
+        /**
+         * Returns the registration state cookie issued by a wizard step, or the
+         * previous one when the step did not change the state.
+         */
+        private Cookie nextState(ResultActions actions, Cookie previous) {
+                Cookie issued = actions.andReturn().getResponse().getCookie(RegistrationStateService.COOKIE_NAME);
+                return issued != null ? issued : previous;
+        }
+
 }
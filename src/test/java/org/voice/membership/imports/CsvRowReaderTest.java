@@ -0,0 +1,48 @@
+package org.voice.membership.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvRowReaderTest {
+
+    private static List<List<String>> read(String csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        CsvRowReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "Users",
+                (sheet, rowNumber, cells) -> rows.add(cells));
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Quoted fields may contain commas, quotes and line breaks")
+    void read_ShouldHandleQuotedFields() throws IOException {
+        List<List<String>> rows = read("Name,Address\r\n\"Doe, Jane\",\"1 \"\"Main\"\" St\nUnit 2\"\r\n");
+
+        assertEquals(List.of(List.of("Name", "Address"), List.of("Doe, Jane", "1 \"Main\" St\nUnit 2")), rows);
+    }
+
+    @Test
+    @DisplayName("A byte order mark and blank lines are skipped, empty cells are kept")
+    void read_ShouldSkipBomAndBlankLines() throws IOException {
+        List<List<String>> rows = read("\uFEFFa,b,c\n\n1,,3\n,\n");
+
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "", "3"), List.of("", "")), rows);
+    }
+
+    @Test
+    @DisplayName("The last row does not need a line break")
+    void read_ShouldEmitLastRowWithoutNewline() throws IOException {
+        List<Integer> rowNumbers = new ArrayList<>();
+        CsvRowReader.read(new ByteArrayInputStream("a\nb".getBytes(StandardCharsets.UTF_8)), "Users",
+                (sheet, rowNumber, cells) -> rowNumbers.add(rowNumber));
+
+        assertEquals(List.of(1, 2), rowNumbers);
+    }
+}
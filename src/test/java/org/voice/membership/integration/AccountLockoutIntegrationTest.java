@@ -13,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.voice.membership.entities.User;
 import org.voice.membership.repositories.UserRepository;
 
-import java.util.Date;
+import java.time.Instant;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -62,7 +62,7 @@ class AccountLockoutIntegrationTest {
                 .firstName("Test")
                 .lastName("User")
                 .role("USER")
-                .creation(new Date())
+                .creation(Instant.now())
                 .emailVerified(true)
                 .failedLoginAttempts(0)
                 .accountLocked(false)
@@ -112,7 +112,7 @@ class AccountLockoutIntegrationTest {
         // Manually lock the account
         testUser.setAccountLocked(true);
         testUser.setFailedLoginAttempts(3);
-        testUser.setLockoutTime(new Date());
+        testUser.setLockoutTime(Instant.now());
         userRepository.save(testUser);
 
         // Try to login with correct password
@@ -175,7 +175,7 @@ class AccountLockoutIntegrationTest {
         // Lock the account
         testUser.setAccountLocked(true);
         testUser.setFailedLoginAttempts(3);
-        testUser.setLockoutTime(new Date());
+        testUser.setLockoutTime(Instant.now());
         userRepository.save(testUser);
 
         // Try another failed login
@@ -0,0 +1,147 @@
+package org.voice.membership.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.voice.membership.events.ActivityFeed;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.EmailVerified;
+import org.voice.membership.events.MemberActivityLog;
+import org.voice.membership.events.MemberRegistered;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Opens the admin activity stream through MockMvc, publishes events
+ * straight to the feed and polls the shared log rather than waiting for the
+ * scheduled poll.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActivityFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ActivityFeed activityFeed;
+
+    @Autowired
+    private MemberActivityLog memberActivityLog;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM member_activity");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stream_ShouldPushNewRegistrations() throws Exception {
+        MockHttpServletResponse response = open(null);
+
+        activityFeed.onEvent(new MemberRegistered(41, "new@example.com", "New Member", "Premium", true,
+                "https://example.com/verify", Instant.now()));
+        activityFeed.onEvent(new ChildChanged(41, 7, ChildChanged.Change.ADDED, Instant.now()));
+        activityFeed.poll();
+
+        String content = awaitContent(response, "new@example.com");
+        assertThat(content).contains("event:activity").contains("\"type\":\"registered\"")
+                .doesNotContain("verify");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stream_WithLastEventId_ShouldReplayOnlyMissedEvents() throws Exception {
+        activityFeed.onEvent(new EmailVerified(42, "seen@example.com", Instant.now()));
+        activityFeed.poll();
+        String seenId = (String) activityFeed.getStats().get("lastEventId");
+        activityFeed.onEvent(new EmailVerified(43, "missed@example.com", Instant.now()));
+        activityFeed.poll();
+
+        MockHttpServletResponse response = open(seenId);
+
+        String content = awaitContent(response, "missed@example.com");
+        assertThat(content).doesNotContain("seen@example.com");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stream_WithUnreadableId_ShouldSendReset() throws Exception {
+        MockHttpServletResponse response = open("garbage");
+
+        assertThat(awaitContent(response, "event:reset")).doesNotContain("event:activity");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stream_WithLastEventIdFromAnotherNode_ShouldReplayOnlyMissedEvents() throws Exception {
+        ActivityFeed otherNode = new ActivityFeed(objectMapper, memberActivityLog, leaseLock, 500,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 5, Duration.ofMinutes(1), Duration.ofDays(1));
+        otherNode.poll();
+        activityFeed.onEvent(new EmailVerified(44, "seen-elsewhere@example.com", Instant.now()));
+        otherNode.poll();
+        String seenId = (String) otherNode.getStats().get("lastEventId");
+        otherNode.shutdown();
+        activityFeed.onEvent(new EmailVerified(45, "missed-elsewhere@example.com", Instant.now()));
+        activityFeed.poll();
+
+        MockHttpServletResponse response = open(seenId);
+
+        String content = awaitContent(response, "missed-elsewhere@example.com");
+        assertThat(content).doesNotContain("seen-elsewhere@example.com");
+        assertThat(seenId).isEqualTo(String.valueOf(memberActivityLog.maxSeq() - 1));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void stream_ShouldBeForAdminsOnly() throws Exception {
+        mockMvc.perform(get("/admin/activity")).andExpect(status().isForbidden());
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        var builder = get("/admin/activity");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
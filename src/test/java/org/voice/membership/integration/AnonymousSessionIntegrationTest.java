@@ -0,0 +1,161 @@
+package org.voice.membership.integration;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings.Redirects;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.UserRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that anonymous visits to public pages do not create HTTP sessions,
+ * while logging in still does.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(AnonymousSessionIntegrationTest.SessionCounterConfig.class)
+class AnonymousSessionIntegrationTest {
+
+    private static final String TEST_EMAIL = "anonymous-session-test@example.com";
+    private static final String TEST_PASSWORD = "ValidPass123!";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AtomicInteger createdSessions;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        User existingUser = userRepository.findByEmail(TEST_EMAIL);
+        if (existingUser != null) {
+            userRepository.delete(existingUser);
+        }
+    }
+
+    @Test
+    void anonymousLandingHits_ShouldNotCreateSessions() {
+        int before = createdSessions.get();
+
+        for (String path : List.of("/", "/login", "/register", "/", "/login", "/register")) {
+            ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + path, String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(sessionCookie(response.getHeaders())).isFalse();
+        }
+
+        assertThat(createdSessions.get()).isEqualTo(before);
+    }
+
+    @Test
+    void loginPage_ShouldIssueCsrfTokenWithoutSession() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/login", String.class);
+
+        assertThat(response.getBody()).contains("name=\"_csrf\"");
+        assertThat(response.getHeaders().get(HttpHeaders.SET_COOKIE))
+                .anyMatch(cookie -> cookie.startsWith("XSRF-TOKEN="));
+        assertThat(sessionCookie(response.getHeaders())).isFalse();
+    }
+
+    @Test
+    void successfulLogin_ShouldCreateSession() {
+        userRepository.save(User.builder()
+                .email(TEST_EMAIL)
+                .password(passwordEncoder.encode(TEST_PASSWORD))
+                .firstName("Anonymous")
+                .lastName("Session")
+                .role("USER")
+                .creation(Instant.now())
+                .emailVerified(true)
+                .build());
+
+        ResponseEntity<String> loginPage = restTemplate.getForEntity(baseUrl + "/login", String.class);
+        String csrfCookie = loginPage.getHeaders().get(HttpHeaders.SET_COOKIE).stream()
+                .filter(cookie -> cookie.startsWith("XSRF-TOKEN="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow();
+        Matcher tokenMatcher = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"").matcher(loginPage.getBody());
+        assertThat(tokenMatcher.find()).isTrue();
+
+        int before = createdSessions.get();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.add(HttpHeaders.COOKIE, csrfCookie);
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("username", TEST_EMAIL);
+        form.add("password", TEST_PASSWORD);
+        form.add("_csrf", tokenMatcher.group(1));
+
+        ResponseEntity<String> response = restTemplate
+                .withRequestFactorySettings(settings -> settings.withRedirects(Redirects.DONT_FOLLOW))
+                .postForEntity(baseUrl + "/login", new HttpEntity<>(form, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        assertThat(response.getHeaders().getLocation().getPath()).isEqualTo("/profile");
+        assertThat(sessionCookie(response.getHeaders())).isTrue();
+        assertThat(createdSessions.get()).isGreaterThan(before);
+    }
+
+    private boolean sessionCookie(HttpHeaders headers) {
+        List<String> cookies = headers.get(HttpHeaders.SET_COOKIE);
+        return cookies != null && cookies.stream().anyMatch(cookie -> cookie.startsWith("JSESSIONID="));
+    }
+
+    @TestConfiguration
+    static class SessionCounterConfig {
+
+        @Bean
+        AtomicInteger createdSessions() {
+            return new AtomicInteger();
+        }
+
+        @Bean
+        HttpSessionListener sessionCounter(AtomicInteger createdSessions) {
+            return new HttpSessionListener() {
+                @Override
+                public void sessionCreated(HttpSessionEvent event) {
+                    createdSessions.incrementAndGet();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.voice.membership.entities.Cart;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ArchivedUserRepository;
+import org.voice.membership.repositories.CartRepository;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.ArchiveService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Archives inactive members with one member per batch, then lists them on
+ * the admin dashboard and restores one by signing in with the right
+ * password.
+ */
+@SpringBootTest(properties = {"app.archive.batch-size=1", "app.archive.pause-ms=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ArchiveIntegrationTest {
+
+    private static final Instant LONG_AGO = Instant.now().minus(Duration.ofDays(1000));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User lapsed;
+    private User recentLogin;
+    private User paidUp;
+
+    @BeforeEach
+    void setUp() {
+        lapsed = member("lapsed@example.com", null, LocalDate.now().minusYears(2));
+        lapsed.setPassword(passwordEncoder.encode("Lapsed123!"));
+        recentLogin = member("recent-login@example.com", Instant.now(), null);
+        paidUp = member("paid-up@example.com", null, LocalDate.now().plusMonths(6));
+        userRepository.saveAll(List.of(lapsed, recentLogin, paidUp));
+        userRepository.save(member("lapsed-admin@example.com", null, null));
+        childRepository.save(Child.builder().name("Archived Child").dateOfBirth(LocalDate.of(2015, 5, 1))
+                .user(lapsed).build());
+        cartRepository.save(Cart.builder().user(lapsed).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM children_archive");
+        jdbcTemplate.update("DELETE FROM users_archive");
+        childRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void archiveInactive_ShouldMoveOnlyInactiveMembersWithTheirChildren() {
+        assertThat(archiveService.archiveInactive()).isEqualTo(1);
+
+        assertThat(userRepository.findById(lapsed.getId())).isEmpty();
+        assertThat(userRepository.findAllById(List.of(recentLogin.getId(), paidUp.getId()))).hasSize(2);
+        assertThat(userRepository.findByEmail("lapsed-admin@example.com")).isNotNull();
+        assertThat(cartRepository.findByUserId(lapsed.getId())).isEmpty();
+        assertThat(archivedUserRepository.findAllWithChildren())
+                .singleElement()
+                .satisfies(archived -> {
+                    assertThat(archived.getId()).isEqualTo(lapsed.getId());
+                    assertThat(archived.getArchivedAt()).isNotNull();
+                    assertThat(archived.getChildren()).extracting("name").containsExactly("Archived Child");
+                });
+    }
+
+    @Test
+    @WithMockUser(username = "lapsed-admin@example.com", roles = "ADMIN")
+    void dashboard_ShouldListArchivedMembersOnlyWhenAsked() throws Exception {
+        archiveService.archiveInactive();
+
+        mockMvc.perform(get("/admin/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("archivedIds", empty()));
+        mockMvc.perform(get("/admin/dashboard")
+                .param("includeArchived", "true")
+                .param("minAge", "1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("archivedIds", contains(lapsed.getId())));
+    }
+
+    @Test
+    void signIn_ShouldRestoreArchivedMember() throws Exception {
+        archiveService.archiveInactive();
+
+        mockMvc.perform(formLogin("/login").user("lapsed@example.com").password("Lapsed123!"))
+                .andExpect(authenticated().withUsername("lapsed@example.com"));
+
+        assertThat(userRepository.findById(lapsed.getId())).isPresent();
+        assertThat(childRepository.findByUserId(lapsed.getId())).extracting(Child::getName)
+                .containsExactly("Archived Child");
+        assertThat(archivedUserRepository.count()).isZero();
+    }
+
+    @Test
+    void signIn_WithWrongPassword_ShouldLeaveMemberArchived() throws Exception {
+        archiveService.archiveInactive();
+
+        mockMvc.perform(formLogin("/login").user("lapsed@example.com").password("Wrong123!"))
+                .andExpect(unauthenticated());
+
+        assertThat(userRepository.findById(lapsed.getId())).isEmpty();
+        assertThat(archivedUserRepository.count()).isEqualTo(1);
+    }
+
+    private static User member(String email, Instant lastLogin, LocalDate membershipExpiryDate) {
+        return User.builder()
+                .firstName("Archive")
+                .lastName("Member")
+                .email(email)
+                .password("$2a$10$encodedPassword")
+                .role(email.contains("admin") ? Role.ADMIN.name() : Role.USER.name())
+                .creation(LONG_AGO)
+                .emailVerified(true)
+                .lastLogin(lastLogin)
+                .membershipExpiryDate(membershipExpiryDate)
+                .build();
+    }
+}
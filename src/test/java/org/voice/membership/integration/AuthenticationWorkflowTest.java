@@ -14,7 +14,7 @@ import org.voice.membership.entities.User;
 import org.voice.membership.repositories.UserRepository;
 import org.voice.membership.services.UserService;
 
-import java.util.Date;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -58,7 +58,7 @@ class AuthenticationWorkflowTest {
                 .password(passwordEncoder.encode("TestPass123!"))
                 .phone("1234567890")
                 .role(Role.USER.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
 
         testUser = userRepository.save(testUser);
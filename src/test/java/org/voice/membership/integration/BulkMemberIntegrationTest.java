@@ -0,0 +1,160 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.dtos.BulkMemberRequest;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.MembershipRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.repositories.VerificationTokenRepository;
+import org.voice.membership.services.BulkMemberService;
+import org.voice.membership.services.MailQueue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs bulk admin operations against the test database with a chunk size
+ * smaller than the selection, so every job spans several chunks.
+ */
+@SpringBootTest(properties = "app.bulk.chunk-size=2")
+@ActiveProfiles("test")
+class BulkMemberIntegrationTest {
+
+    @Autowired
+    private BulkMemberService bulkMemberService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<User> users;
+    private Membership paidPlan;
+
+    @BeforeEach
+    void setUp() {
+        paidPlan = membershipRepository.save(Membership.builder()
+                .name("Bulk Paid Plan")
+                .price(BigDecimal.TEN)
+                .isFree(false)
+                .active(false)
+                .build());
+        users = userRepository.saveAll(List.of(
+                member("bulk-a@example.com", true, true),
+                member("bulk-b@example.com", true, false),
+                member("bulk-c@example.com", false, false)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+        verificationTokenRepository.deleteAll();
+        userRepository.deleteAll(users);
+        membershipRepository.delete(paidPlan);
+    }
+
+    @Test
+    void unlock_ShouldUnlockSelectedLockedAccounts() throws InterruptedException {
+        BulkMemberService.Job job = await(bulkMemberService.start(BulkMemberService.Operation.UNLOCK,
+                BulkMemberRequest.builder().ids(ids()).build()));
+
+        assertThat(job.getStatus()).isEqualTo(BulkMemberService.Status.COMPLETED);
+        assertThat(job.getMatched()).isEqualTo(3);
+        assertThat(job.getUpdated()).isEqualTo(2);
+        assertThat(userRepository.findAllById(ids())).noneMatch(User::isAccountLocked)
+                .allMatch(user -> user.getFailedLoginAttempts() == 0 && user.getLockoutTime() == null);
+    }
+
+    @Test
+    void switchPlanThenExtend_ShouldUpdateMemberships() throws InterruptedException {
+        BulkMemberRequest switchPlan = BulkMemberRequest.builder().ids(ids()).membershipId(paidPlan.getId()).build();
+        assertThat(await(bulkMemberService.start(BulkMemberService.Operation.SWITCH_PLAN, switchPlan))
+                .getUpdated()).isEqualTo(3);
+
+        LocalDate extendedTo = LocalDate.now().plusYears(3);
+        BulkMemberRequest extend = BulkMemberRequest.builder()
+                .currentMembershipId(paidPlan.getId())
+                .expiryDate(extendedTo)
+                .build();
+        assertThat(await(bulkMemberService.start(BulkMemberService.Operation.EXTEND, extend))
+                .getUpdated()).isEqualTo(3);
+
+        assertThat(userRepository.findAllById(ids()))
+                .allMatch(user -> extendedTo.equals(user.getMembershipExpiryDate())
+                        && LocalDate.now().equals(user.getMembershipStartDate()));
+    }
+
+    @Test
+    void resendVerification_ShouldReplaceTokensOfUnverifiedMembers() throws InterruptedException {
+        BulkMemberService.Job job = await(bulkMemberService.start(BulkMemberService.Operation.RESEND_VERIFICATION,
+                BulkMemberRequest.builder().ids(ids()).emailVerified(false).build()));
+
+        assertThat(job.getMatched()).isEqualTo(2);
+        assertThat(job.getUpdated()).isEqualTo(2);
+        assertThat(verificationTokenRepository.findAll())
+                .extracting(token -> token.getUser().getEmail())
+                .containsExactlyInAnyOrder("bulk-b@example.com", "bulk-c@example.com");
+        // Queued with the tokens, so a restart before sending loses nothing
+        assertThat(jdbcTemplate.queryForList("SELECT recipient FROM mail_outbox WHERE kind = 'VERIFICATION'",
+                String.class)).containsExactlyInAnyOrder("bulk-b@example.com", "bulk-c@example.com");
+        assertThat(bulkMemberService.getJob(job.getId()).getMail())
+                .containsEntry(MailQueue.PENDING, 2L)
+                .containsEntry(MailQueue.SENT, 0L);
+    }
+
+    @Test
+    void start_WithoutSelection_ShouldBeRejected() {
+        assertThatThrownBy(() -> bulkMemberService.start(BulkMemberService.Operation.UNLOCK,
+                new BulkMemberRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Integer> ids() {
+        return users.stream().map(User::getId).toList();
+    }
+
+    private static BulkMemberService.Job await(BulkMemberService.Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((job.getStatus() == BulkMemberService.Status.QUEUED
+                || job.getStatus() == BulkMemberService.Status.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    private static User member(String email, boolean locked, boolean verified) {
+        return User.builder()
+                .firstName("Bulk")
+                .lastName("Member")
+                .email(email)
+                .password("$2a$10$encodedPassword")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .emailVerified(verified)
+                .accountLocked(locked)
+                .failedLoginAttempts(locked ? 5 : 0)
+                .lockoutTime(locked ? Instant.now() : null)
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+package org.voice.membership.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.cache.BroadcastingCacheManager;
+import org.voice.membership.cache.CacheInvalidationPoller;
+import org.voice.membership.cache.EntityRegionBroadcaster;
+import org.voice.membership.cache.InvalidationLog;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.repositories.MembershipRepository;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.math.BigDecimal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two cache managers with their own logs and pollers stand in for two nodes
+ * sharing the test database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationIntegrationTest {
+
+    private static final String CACHE = "profileViews";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityRegionBroadcaster entityRegionBroadcaster;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private InvalidationLog logA;
+    private LeaseLock leaseA;
+    private LeaseLock leaseB;
+    private Cache cacheA;
+    private Cache cacheB;
+    private CacheInvalidationPoller pollerA;
+    private CacheInvalidationPoller pollerB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+        logA = new InvalidationLog(jdbcTemplate, "node-a");
+        InvalidationLog logB = new InvalidationLog(jdbcTemplate, "node-b");
+        BroadcastingCacheManager managerA = new BroadcastingCacheManager(new CaffeineCacheManager(CACHE), logA);
+        BroadcastingCacheManager managerB = new BroadcastingCacheManager(new CaffeineCacheManager(CACHE), logB);
+        leaseA = new LeaseLock(jdbcTemplate, "node-a");
+        leaseB = new LeaseLock(jdbcTemplate, "node-b");
+        pollerA = new CacheInvalidationPoller(logA, managerA, leaseA, 500, Duration.ofMinutes(1),
+                Duration.ofHours(1));
+        // Node B's entity regions are this context's; node A is the stand-in writer
+        pollerB = new CacheInvalidationPoller(logB, managerB, entityRegionBroadcaster, leaseB, 500,
+                Duration.ofMinutes(1), Duration.ofHours(1));
+        // The sequence keeps counting after the delete; a marker row gives the
+        // pollers the current high-water mark, so the only gaps they see are
+        // the ones a test leaves
+        logA.append(CACHE, "high-water-mark", null);
+        pollerA.poll();
+        pollerB.poll();
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+
+        cacheA = managerA.getCache(CACHE);
+        cacheB = managerB.getCache(CACHE);
+        for (Cache cache : new Cache[] {cacheA, cacheB}) {
+            cache.put(7, "seven");
+            cache.put(8, "eight");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaseA.shutdown();
+        leaseB.shutdown();
+        jdbcTemplate.update("DELETE FROM job_leases");
+    }
+
+    @Test
+    void evict_ShouldReachOtherNodeOnItsNextPoll() {
+        cacheA.evict(7);
+
+        assertThat(cacheA.get(7)).isNull();
+        assertThat(cacheB.get(7)).isNotNull();
+
+        pollerB.poll();
+
+        assertThat(cacheB.get(7)).isNull();
+        assertThat(cacheB.get(8)).isNotNull();
+        assertThat(pollerB.getStats()).containsEntry("applied", 1L)
+                .containsKeys("lastLatencyMillis", "maxLatencyMillis");
+    }
+
+    @Test
+    void evict_InTransaction_ShouldDropValueCachedBeforeCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cacheA.evict(7);
+            assertThat(cacheA.get(7)).isNull();
+            // A concurrent reader still sees the uncommitted row's old state
+            cacheA.put(7, "stale");
+        });
+
+        assertThat(cacheA.get(7)).isNull();
+    }
+
+    @Test
+    void poll_ShouldSkipOwnEntries() {
+        cacheA.evict(8);
+
+        pollerA.poll();
+
+        assertThat(pollerA.getStats()).containsEntry("applied", 0L);
+    }
+
+    @Test
+    void clear_ShouldClearWholeCacheOnOtherNode() {
+        cacheA.clear();
+
+        pollerB.poll();
+
+        assertThat(cacheB.get(7)).isNull();
+        assertThat(cacheB.get(8)).isNull();
+    }
+
+    @Test
+    void poll_ShouldApplyEntryCommittedAfterALaterOne() throws Exception {
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    cacheA.evict(7);
+                    appended.countDown();
+                    await(commit);
+                }));
+        assertThat(appended.await(5, TimeUnit.SECONDS)).isTrue();
+        cacheA.evict(8);
+
+        pollerB.poll();
+        assertThat(cacheB.get(8)).isNull();
+        assertThat(cacheB.get(7)).isNotNull();
+        assertThat(pollerB.getStats()).containsEntry("pendingGaps", 1);
+
+        commit.countDown();
+        slowWriter.get(5, TimeUnit.SECONDS);
+        pollerB.poll();
+
+        assertThat(cacheB.get(7)).isNull();
+        assertThat(pollerB.getStats()).containsEntry("pendingGaps", 0);
+    }
+
+    @Test
+    void prune_ShouldDeleteEntriesUpToSequenceOlderThanCutoff() {
+        cacheA.evict(7);
+        cacheA.evict(8);
+        long last = logA.maxSeq();
+        cacheA.evict(9);
+
+        int deleted = logA.prune(last, Instant.now().plusSeconds(1), 1);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(logA.readAfter(0, 10)).extracting(InvalidationLog.Entry::key).containsExactly("9");
+    }
+
+    @Test
+    void membershipChange_ShouldBeLoggedForOtherNodes() {
+        Membership plan = membershipRepository.save(Membership.builder().name("Broadcast Plan")
+                .price(BigDecimal.TEN).active(false).build());
+        try {
+            plan.setPrice(BigDecimal.ONE);
+            membershipRepository.save(plan);
+
+            assertThat(logA.readAfter(0, 10))
+                    .filteredOn(entry -> entry.cacheName().equals(EntityRegionBroadcaster.PREFIX
+                            + Membership.class.getName()))
+                    .extracting(InvalidationLog.Entry::key)
+                    .contains(String.valueOf(plan.getId()));
+        } finally {
+            membershipRepository.delete(plan);
+        }
+    }
+
+    @Test
+    void membershipEntry_ShouldEvictEntityRegionOnOtherNode() {
+        Membership plan = membershipRepository.save(Membership.builder().name("Cached Plan")
+                .price(BigDecimal.TEN).active(false).build());
+        try {
+            membershipRepository.findById(plan.getId());
+            assertThat(entityManagerFactory.getCache().contains(Membership.class, plan.getId())).isTrue();
+
+            logA.append(EntityRegionBroadcaster.PREFIX + Membership.class.getName(),
+                    String.valueOf(plan.getId()), "Integer");
+            pollerB.poll();
+
+            assertThat(entityManagerFactory.getCache().contains(Membership.class, plan.getId())).isFalse();
+        } finally {
+            membershipRepository.delete(plan);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
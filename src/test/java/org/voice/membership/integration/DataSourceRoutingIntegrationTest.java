@@ -0,0 +1,150 @@
+package org.voice.membership.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.config.SchemaMigrator;
+import org.voice.membership.datasource.Workload;
+import org.voice.membership.datasource.WorkloadRoutingDataSource;
+import org.voice.membership.datasource.WorkloadRoutingDataSource.Route;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two in-memory H2 databases standing in for the primary and
+ * the replica and checks which one each kind of transaction reaches. The
+ * replica gets the schema from the migrations before the application starts.
+ * The application keeps member reads on the primary, as by default; a
+ * routing data source built by hand covers member reads on the replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + DataSourceRoutingIntegrationTest.PRIMARY_URL,
+        "app.datasource.replica.url=" + DataSourceRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.replica.username=sa"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DataSourceRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String PRIMARY = "ROUTING-PRIMARY";
+    private static final String REPLICA = "ROUTING-REPLICA";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void migrateReplica() {
+        new SchemaMigrator(new DriverManagerDataSource(REPLICA_URL, "sa", "")).migrate();
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertThat(inTransaction(false, this::databaseName)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void readOnlyMemberTransaction_ShouldStayOnPrimary() {
+        assertThat(inTransaction(true, this::databaseName)).isEqualTo(PRIMARY);
+        assertThat(inTransaction(true, routingDataSource::currentRoute)).isEqualTo(Route.PRIMARY);
+    }
+
+    @Test
+    void readOnlyMemberTransaction_WithMemberReadsOnReplica_ShouldUseReplica() {
+        try (WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(pool(PRIMARY_URL),
+                pool(REPLICA_URL), pool(REPLICA_URL), true)) {
+            routing.afterPropertiesSet();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+            Supplier<String> databaseName = () -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class)
+                    .toUpperCase(Locale.ROOT);
+
+            assertThat(inTransaction(true, routing::currentRoute)).isEqualTo(Route.REPLICA);
+            assertThat(inTransaction(true, databaseName)).isEqualTo(REPLICA);
+            assertThat(inTransaction(false, routing::currentRoute)).isEqualTo(Route.PRIMARY);
+            assertThat(inTransaction(false, databaseName)).isEqualTo(PRIMARY);
+        }
+    }
+
+    @Test
+    void readOnlyReportingTransaction_ShouldUseReportingPool() {
+        Workload previous = Workload.enter(Workload.REPORTING);
+        try {
+            assertThat(inTransaction(true, this::databaseName)).isEqualTo(REPLICA);
+            assertThat(inTransaction(true, routingDataSource::currentRoute)).isEqualTo(Route.REPORTING);
+            assertThat(routingDataSource.pool(Route.REPORTING).getHikariPoolMXBean().getTotalConnections())
+                    .isPositive();
+        } finally {
+            Workload.restore(previous);
+        }
+        assertThat(Workload.current()).isEqualTo(Workload.MEMBER);
+    }
+
+    @Test
+    void reportingWrites_ShouldFallBackToPrimary() {
+        Workload previous = Workload.enter(Workload.REPORTING);
+        try {
+            assertThat(inTransaction(false, this::databaseName)).isEqualTo(PRIMARY);
+        } finally {
+            Workload.restore(previous);
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void poolStats_ShouldListEveryPool() throws Exception {
+        mockMvc.perform(get("/admin/pool-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.primary.max").isNumber())
+                .andExpect(jsonPath("$.reporting.waiting").isNumber())
+                .andExpect(jsonPath("$.reporting.max").value(3));
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(1);
+        return pool;
+    }
+
+    private String databaseName() {
+        return ((String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult())
+                .toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,206 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.events.DomainEvent;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.DomainEventSubscriber;
+import org.voice.membership.events.EmailVerified;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event buses built with test subscribers, publishing inside and outside
+ * real transactions on the test database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DomainEventBusIntegrationTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void publish_InsideTransaction_ShouldDeliverOnlyAfterCommit() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus = new DomainEventBus(List.of(subscriber), 10, WAIT);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bus.publish(verified(1));
+            sleep(200);
+            assertThat(subscriber.events).isEmpty();
+        });
+
+        assertThat(subscriber.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(1));
+    }
+
+    @Test
+    void publish_InsideRolledBackTransaction_ShouldNotDeliver() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus = new DomainEventBus(List.of(subscriber), 10, WAIT);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bus.publish(verified(1));
+            status.setRollbackOnly();
+        });
+        bus.publish(verified(2));
+
+        assertThat(subscriber.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(2));
+        assertThat(subscriber.events).isEmpty();
+    }
+
+    @Test
+    void publish_WhenQueueIsFull_ShouldWaitForRoomAndKeepOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber slow = blockedUntil(release);
+        bus = new DomainEventBus(List.of(slow), 1, WAIT);
+
+        bus.publish(verified(1)); // taken by the subscriber thread, which blocks
+        sleep(200);
+        bus.publish(verified(2)); // fills the queue
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> bus.publish(verified(3)));
+        sleep(200);
+        assertThat(waiting).isNotDone();
+
+        release.countDown();
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(1));
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(2));
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(3));
+        assertThat(subscriberStats("recording")).containsEntry("dropped", 0L);
+    }
+
+    @Test
+    void publish_WhenQueueStaysFull_ShouldDropAfterTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber slow = blockedUntil(release);
+        bus = new DomainEventBus(List.of(slow), 1, Duration.ofMillis(100));
+
+        bus.publish(verified(1));
+        sleep(200);
+        bus.publish(verified(2));
+        bus.publish(verified(3)); // no room within the timeout
+
+        assertThat(subscriberStats("recording")).containsEntry("dropped", 1L).containsEntry("queued", 1);
+        release.countDown();
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(1));
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(2));
+        assertThat(slow.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void publish_InsideTransaction_ShouldNotRunSubscriberInIt() throws Exception {
+        BlockingQueue<Boolean> sawTransaction = new LinkedBlockingQueue<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                sawTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+        };
+        bus = new DomainEventBus(List.of(subscriber), 10, WAIT);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> bus.publish(verified(1)));
+
+        assertThat(sawTransaction.poll(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void publish_WhenOneSubscriberFails_ShouldStillDeliverToOthers() throws Exception {
+        DomainEventSubscriber failing = new DomainEventSubscriber() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void onEvent(DomainEvent event) {
+                throw new IllegalStateException("mail server down");
+            }
+        };
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus = new DomainEventBus(List.of(failing, subscriber), 10, WAIT);
+
+        bus.publish(verified(1));
+        bus.publish(verified(2));
+
+        assertThat(subscriber.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(1));
+        assertThat(subscriber.events.poll(5, TimeUnit.SECONDS)).isEqualTo(verified(2));
+        bus.shutdown();
+        assertThat(subscriberStats("failing")).containsEntry("failed", 2L).containsEntry("delivered", 0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> subscriberStats(String name) {
+        return (Map<String, Object>) bus.getStats().get(name);
+    }
+
+    private static RecordingSubscriber blockedUntil(CountDownLatch release) {
+        return new RecordingSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                await(release);
+                super.onEvent(event);
+            }
+        };
+    }
+
+    private static EmailVerified verified(int userId) {
+        return new EmailVerified(userId, "member" + userId + "@example.com", Instant.EPOCH);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingSubscriber implements DomainEventSubscriber {
+
+        final BlockingQueue<DomainEvent> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.scheduling.LeaseLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two lease locks with different owners stand in for two nodes sharing the
+ * test database. Each tick both nodes try to run the same job at the same
+ * moment.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaseLockIntegrationTest {
+
+    private static final Duration TTL = Duration.ofSeconds(2);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LeaseLock nodeA;
+    private LeaseLock nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new LeaseLock(jdbcTemplate, "node-a");
+        nodeB = new LeaseLock(jdbcTemplate, "node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        jdbcTemplate.update("DELETE FROM job_leases");
+    }
+
+    @Test
+    void runExclusively_ShouldRunOncePerTickAcrossNodes() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CyclicBarrier tick = new CyclicBarrier(2);
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            int ticks = 5;
+            for (int i = 0; i < ticks; i++) {
+                String job = "job-" + i;
+                List<Future<Boolean>> results = List.of(
+                        nodes.submit(() -> {
+                            tick.await();
+                            return nodeA.runExclusively(job, TTL, TTL, runs::incrementAndGet);
+                        }),
+                        nodes.submit(() -> {
+                            tick.await();
+                            return nodeB.runExclusively(job, TTL, TTL, runs::incrementAndGet);
+                        }));
+                assertThat(results.get(0).get() ^ results.get(1).get()).isTrue();
+            }
+            assertThat(runs).hasValue(ticks);
+        } finally {
+            nodes.shutdownNow();
+        }
+    }
+
+    @Test
+    void runExclusively_ShouldHoldLeaseForMinimumAfterShortJob() {
+        assertThat(nodeA.runExclusively("short-job", TTL, TTL, () -> { })).isTrue();
+
+        assertThat(nodeB.runExclusively("short-job", TTL, TTL, () -> { })).isFalse();
+    }
+
+    @Test
+    void heartbeat_ShouldKeepLeaseWhileJobOutlivesTtl() throws Exception {
+        Duration ttl = Duration.ofMillis(300);
+        ExecutorService node = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> longJob = node.submit(() -> nodeA.runExclusively("long-job", ttl, Duration.ZERO,
+                    () -> sleep(1000)));
+            sleep(700);
+
+            assertThat(nodeB.tryAcquire("long-job", ttl)).isFalse();
+            assertThat(longJob.get()).isTrue();
+        } finally {
+            node.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryAcquire_ShouldTakeOverLeaseOfCrashedNode() {
+        Duration ttl = Duration.ofMillis(200);
+        assertThat(nodeA.tryAcquire("crash-job", ttl)).isTrue();
+        // node A dies without releasing or renewing
+        assertThat(nodeB.tryAcquire("crash-job", ttl)).isFalse();
+
+        sleep(300);
+
+        assertThat(nodeB.tryAcquire("crash-job", ttl)).isTrue();
+        assertThat(nodeA.renew("crash-job", ttl)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT owner FROM job_leases WHERE name = ?", String.class,
+                "crash-job")).isEqualTo("node-b");
+    }
+
+    @Test
+    void release_ShouldFreeLeaseOnceHoldHasPassed() {
+        assertThat(nodeA.tryAcquire("released-job", TTL)).isTrue();
+
+        nodeA.release("released-job", Instant.now());
+
+        assertThat(nodeB.tryAcquire("released-job", TTL)).isTrue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
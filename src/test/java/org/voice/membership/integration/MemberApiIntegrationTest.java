@@ -0,0 +1,218 @@
+package org.voice.membership.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * End-to-end tests for the token-authenticated member API under /api/v1.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MemberApiIntegrationTest {
+
+    private static final String TEST_EMAIL = "api-member@example.com";
+    private static final String TEST_PASSWORD = "ValidPass123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email(TEST_EMAIL)
+                .password(passwordEncoder.encode(TEST_PASSWORD))
+                .firstName("Api")
+                .lastName("Member")
+                .phone("1234567890")
+                .role("USER")
+                .creation(Instant.now())
+                .emailVerified(true)
+                .build());
+    }
+
+    @Test
+    void login_ShouldReturnTokenPairWithoutSession() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + TEST_EMAIL + "\",\"password\":\"" + TEST_PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andReturn();
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+        assertThat(result.getResponse().getCookie("JSESSIONID")).isNull();
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldReturnUnauthorizedAndCountAttempt() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + TEST_EMAIL + "\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid email or password"));
+
+        assertThat(userRepository.findByEmail(TEST_EMAIL).getFailedLoginAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void me_WithoutToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/me"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void me_WithAccessToken_ShouldReturnCompactProfile() throws Exception {
+        String accessToken = tokens().get("accessToken").asText();
+
+        mockMvc.perform(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testUser.getId()))
+                .andExpect(jsonPath("$.email").value(TEST_EMAIL))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.middleName").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/me/membership").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("None"));
+    }
+
+    @Test
+    void me_WithRefreshToken_ShouldBeRejected() throws Exception {
+        String refreshToken = tokens().get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refresh_ShouldIssueNewTokenPair() throws Exception {
+        String refreshToken = tokens().get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"garbage\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void children_ShouldSupportCrudForOwnChildrenOnly() throws Exception {
+        String bearer = "Bearer " + tokens().get("accessToken").asText();
+
+        MvcResult created = mockMvc.perform(post("/api/v1/me/children")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Tommy\",\"age\":5,\"dateOfBirth\":\"2019-04-01\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Tommy"))
+                .andExpect(jsonPath("$.dateOfBirth").value("2019-04-01"))
+                .andReturn();
+        int childId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asInt();
+
+        mockMvc.perform(put("/api/v1/me/children/" + childId)
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Thomas\",\"age\":6}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Thomas"));
+
+        mockMvc.perform(get("/api/v1/me/children").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Thomas"));
+
+        mockMvc.perform(post("/api/v1/me/children")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\":3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.name").exists());
+
+        User otherUser = userRepository.save(User.builder()
+                .email("api-other@example.com")
+                .firstName("Other")
+                .lastName("Member")
+                .role("USER")
+                .emailVerified(true)
+                .build());
+        Child otherChild = childRepository.save(Child.builder().name("Other").user(otherUser).build());
+
+        mockMvc.perform(delete("/api/v1/me/children/" + otherChild.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/v1/me/children/" + childId).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNoContent());
+        assertThat(childRepository.findById(childId)).isEmpty();
+    }
+
+    @Test
+    void addChild_ForDeletedMember_ShouldReturnNotFound() throws Exception {
+        String bearer = "Bearer " + tokens().get("accessToken").asText();
+        userRepository.delete(testUser);
+        userRepository.flush();
+
+        mockMvc.perform(post("/api/v1/me/children")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Tommy\",\"age\":5}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found"));
+    }
+
+    private JsonNode tokens() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + TEST_EMAIL + "\",\"password\":\"" + TEST_PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
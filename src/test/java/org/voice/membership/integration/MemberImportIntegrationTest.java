@@ -0,0 +1,172 @@
+package org.voice.membership.integration;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.dtos.MemberImportReport;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.InvitationToken;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.InvitationTokenRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.MemberImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports workbooks and CSV files into the test database and checks the
+ * members, children, invitations and per-row errors that come out.
+ */
+@SpringBootTest(properties = "app.import.chunk-size=2")
+@ActiveProfiles("test")
+class MemberImportIntegrationTest {
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private InvitationTokenRepository invitationTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+        invitationTokenRepository.deleteAll();
+        childRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importWorkbook_ShouldCreateMembersChildrenAndInvitations() throws IOException {
+        userRepository.save(User.builder()
+                .firstName("Existing")
+                .lastName("Member")
+                .email("existing@example.com")
+                .password("$2a$10$encodedPassword")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build());
+
+        byte[] workbook = workbook(
+                List.of(
+                        List.of("ID", "First Name", "Middle Name", "Last Name", "Email", "Phone", "Province",
+                                "Registration Date"),
+                        List.of("", "Ann", "", "Lee", "Ann.Lee@Example.com", "4035551234", "alberta",
+                                "2024-05-01 10:00:00"),
+                        List.of("", "Bob", "", "Ray", "bob@example.com", "", "", ""),
+                        List.of("", "Cy", "", "Dup", "ann.lee@example.com", "", "", ""),
+                        List.of("", "Old", "", "Member", "EXISTING@example.com", "", "", ""),
+                        List.of("", "No", "", "Email", "not-an-email", "", "", "")),
+                List.of(
+                        List.of("Child Name", "Age", "Date of Birth", "Parent Email"),
+                        List.of("Kid One", "", "2018-02-03", "ann.lee@example.com"),
+                        List.of("Kid Two", "6", "", "BOB@example.com"),
+                        List.of("Orphan", "4", "", "nobody@example.com")));
+
+        MemberImportReport report = memberImportService.importWorkbook(new ByteArrayInputStream(workbook));
+
+        assertThat(report.getUsersImported()).isEqualTo(2);
+        assertThat(report.getChildrenImported()).isEqualTo(2);
+        assertThat(report.getErrors())
+                .extracting(MemberImportReport.RowError::getSheet, MemberImportReport.RowError::getRow)
+                .containsExactlyInAnyOrder(
+                        tuple("Users", 4),
+                        tuple("Users", 5),
+                        tuple("Users", 6),
+                        tuple("Children", 4));
+
+        User ann = userRepository.findByEmail("Ann.Lee@Example.com");
+        assertThat(ann).isNotNull();
+        assertThat(ann.isEmailVerified()).isFalse();
+        assertThat(ann.getPassword()).isNull();
+        assertThat(ann.getProvinceId()).isNotNull();
+
+        List<InvitationToken> invitations = invitationTokenRepository.findAll();
+        assertThat(invitations).hasSize(2);
+        assertThat(invitations).allMatch(invitation -> !invitation.isExpired());
+        assertThat(jdbcTemplate.queryForList("SELECT link FROM mail_outbox WHERE kind = 'INVITATION'",
+                String.class)).hasSize(2)
+                .allMatch(link -> invitations.stream().anyMatch(invitation -> link.endsWith(invitation.getToken())));
+
+        // The demo data has children of its own; only look at the imported members'
+        assertThat(childRepository.findByUserId(ann.getId()))
+                .extracting(Child::getName, Child::getDateOfBirth)
+                .containsExactly(tuple("Kid One", LocalDate.of(2018, 2, 3)));
+        User bob = userRepository.findByEmail("bob@example.com");
+        assertThat(childRepository.findByUserId(bob.getId()))
+                .extracting(Child::getName, Child::getAge)
+                .containsExactly(tuple("Kid Two", 6));
+        assertThat(childRepository.findAll()).extracting(Child::getName).doesNotContain("Orphan");
+    }
+
+    @Test
+    void importCsv_ShouldReportMissingColumns() throws IOException {
+        MemberImportReport report = memberImportService.importCsv(csv("First Name,Email\nAnn,ann@example.com\n"),
+                null);
+
+        assertThat(report.getUsersImported()).isZero();
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).contains("Last Name"));
+    }
+
+    @Test
+    void importCsv_ShouldImportUsersThenChildren() throws IOException {
+        MemberImportReport report = memberImportService.importCsv(
+                csv("First Name,Last Name,Email,Address\nDee,Fox,dee@example.com,\"1 Main St, Unit 2\"\n"),
+                csv("Child Name,Age,Parent Email\nEli,3,dee@example.com\n"));
+
+        assertThat(report.getUsersImported()).isEqualTo(1);
+        assertThat(report.getChildrenImported()).isEqualTo(1);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(userRepository.findByEmail("dee@example.com").getAddress()).isEqualTo("1 Main St, Unit 2");
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] workbook(List<List<String>> users, List<List<String>> children) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            fill(workbook.createSheet(MemberImportService.USERS_SHEET), users);
+            fill(workbook.createSheet(MemberImportService.CHILDREN_SHEET), children);
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void fill(Sheet sheet, List<List<String>> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = sheet.createRow(i);
+            for (int j = 0; j < rows.get(i).size(); j++) {
+                if (!rows.get(i).get(j).isEmpty()) {
+                    row.createCell(j).setCellValue(rows.get(i).get(j));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.voice.membership.integration;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.voice.membership.dtos.MemberSyncReport;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.services.MemberSyncService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Round trip of the admin export: download it, edit cells the way an admin
+ * would in Excel, and sync the workbook back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MemberSyncIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberSyncService memberSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    private User edited;
+    private User untouched;
+    private Child child;
+
+    @BeforeEach
+    void setUp() {
+        edited = userRepository.save(member("Ann", "ann-sync@example.com", "1 Old Rd"));
+        untouched = userRepository.save(member("Bob", "bob-sync@example.com", "2 Same St"));
+        child = childRepository.save(Child.builder()
+                .name("Kid")
+                .dateOfBirth(LocalDate.of(2018, 2, 3))
+                .chapterLocation("Calgary")
+                .user(edited)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        childRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void sync_ShouldApplyOnlyEditedFields() throws Exception {
+        XSSFWorkbook workbook = export();
+        set(workbook.getSheet("Users"), edited.getId(), "Address", "9 New Ave");
+        set(workbook.getSheet("Children"), child.getId(), "Date of Birth", "2017-12-01");
+
+        MemberSyncReport report = memberSyncService.sync(upload(workbook), false);
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getUsersUpdated()).isEqualTo(1);
+        assertThat(report.getChildrenUpdated()).isEqualTo(1);
+        assertThat(report.getChanges()).filteredOn(change -> change.getSheet().equals("Users"))
+                .singleElement()
+                .satisfies(change -> assertThat(change.getFields())
+                        .extracting(MemberSyncReport.FieldChange::getField)
+                        .containsExactly("Address"));
+        assertThat(userRepository.findById(edited.getId()).orElseThrow().getAddress()).isEqualTo("9 New Ave");
+        assertThat(userRepository.findById(untouched.getId()).orElseThrow().getAddress()).isEqualTo("2 Same St");
+        assertThat(childRepository.findById(child.getId()).orElseThrow().getDateOfBirth())
+                .isEqualTo(LocalDate.of(2017, 12, 1));
+    }
+
+    @Test
+    void sync_DryRun_ShouldListChangesWithoutWriting() throws Exception {
+        XSSFWorkbook workbook = export();
+        set(workbook.getSheet("Users"), edited.getId(), "City", "Red Deer");
+
+        MemberSyncReport report = memberSyncService.sync(upload(workbook), true);
+
+        assertThat(report.isDryRun()).isTrue();
+        assertThat(report.getChangeCount()).isEqualTo(1);
+        assertThat(report.getUsersUpdated()).isZero();
+        assertThat(report.getChanges().get(0).getFields().get(0).getTo()).isEqualTo("Red Deer");
+        assertThat(userRepository.findById(edited.getId()).orElseThrow().getCity()).isNull();
+    }
+
+    @Test
+    void sync_ShouldReportRowsChangedSinceTheExport() throws Exception {
+        XSSFWorkbook workbook = export();
+        set(workbook.getSheet("Users"), edited.getId(), "Address", "9 New Ave");
+        User current = userRepository.findById(edited.getId()).orElseThrow();
+        current.setPhone("4035550000");
+        userRepository.save(current);
+
+        MemberSyncReport report = memberSyncService.sync(upload(workbook), false);
+
+        assertThat(report.getUsersUpdated()).isZero();
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).contains("since the export"));
+        assertThat(userRepository.findById(edited.getId()).orElseThrow().getAddress()).isEqualTo("1 Old Rd");
+    }
+
+    private XSSFWorkbook export() throws Exception {
+        byte[] body = mockMvc.perform(get("/admin/export-users").with(user("admin").roles(Role.ADMIN.name())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return new XSSFWorkbook(new ByteArrayInputStream(body));
+    }
+
+    private static ByteArrayInputStream upload(XSSFWorkbook workbook) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /** Edits the cell under {@code header} in the row whose first column is {@code id}. */
+    private static void set(Sheet sheet, int id, String header, String value) {
+        Row headerRow = sheet.getRow(0);
+        int column = -1;
+        for (Cell cell : headerRow) {
+            if (cell.getStringCellValue().equals(header)) {
+                column = cell.getColumnIndex();
+            }
+        }
+        for (Row row : sheet) {
+            if (row.getRowNum() > 0 && (int) row.getCell(0).getNumericCellValue() == id) {
+                row.getCell(column).setCellValue(value);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No row with id " + id);
+    }
+
+    private static User member(String firstName, String email, String address) {
+        return User.builder()
+                .firstName(firstName)
+                .lastName("Sync")
+                .email(email)
+                .password("$2a$10$encodedPassword")
+                .phone("4035551234")
+                .address(address)
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build();
+    }
+}
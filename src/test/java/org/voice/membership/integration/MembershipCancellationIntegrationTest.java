@@ -15,7 +15,8 @@ import org.voice.membership.repositories.MembershipRepository;
 import org.voice.membership.repositories.UserRepository;
 
 import java.math.BigDecimal;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -82,8 +83,8 @@ class MembershipCancellationIntegrationTest {
                 .role("USER")
                 .emailVerified(true)
                 .membership(paidMembership)
-                .membershipStartDate(new Date())
-                .creation(new Date())
+                .membershipStartDate(LocalDate.now())
+                .creation(Instant.now())
                 .build();
         testUser = userRepository.save(testUser);
     }
@@ -138,7 +139,7 @@ class MembershipCancellationIntegrationTest {
                 .lastName("Membership")
                 .role("USER")
                 .emailVerified(true)
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
         userRepository.save(userWithoutMembership);
 
@@ -160,8 +161,8 @@ class MembershipCancellationIntegrationTest {
                 .role("USER")
                 .emailVerified(true)
                 .membership(freeMembership)
-                .membershipStartDate(new Date())
-                .creation(new Date())
+                .membershipStartDate(LocalDate.now())
+                .creation(Instant.now())
                 .build();
         userRepository.save(freeUser);
 
@@ -0,0 +1,140 @@
+package org.voice.membership.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.MembershipRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.security.MemberUserDetails;
+import org.voice.membership.services.ProfileViewService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that the profile dashboard is served by one query, or none once
+ * cached, and that child writes refresh it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ProfileViewIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private MemberUserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        Membership membership = membershipRepository.save(Membership.builder()
+                .name("Premium")
+                .price(new BigDecimal("20.00"))
+                .isFree(false)
+                .active(true)
+                .build());
+        User user = userRepository.save(User.builder()
+                .firstName("View")
+                .lastName("Member")
+                .email("profile-view@example.com")
+                .role("USER")
+                .creation(Instant.now())
+                .emailVerified(true)
+                .membership(membership)
+                .build());
+        childRepository.save(Child.builder().name("First").age(4).user(user).build());
+        principal = new MemberUserDetails(user.getId(), user.getEmail(), "", "USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void profile_ShouldUseOneQueryThenServeFromCache() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get("/profile").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("userName", "View Member"))
+                .andExpect(model().attribute("membershipStatus", "Paid"))
+                .andExpect(model().attribute("children", hasSize(1)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get("/profile").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("children", hasSize(1)));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void addingChild_ShouldRefreshCachedProfile() throws Exception {
+        mockMvc.perform(get("/profile").with(user(principal)))
+                .andExpect(model().attribute("children", hasSize(1)));
+
+        mockMvc.perform(post("/profile/child/add")
+                .with(user(principal))
+                .with(csrf())
+                .param("name", "Second")
+                .param("dateOfBirth", "2020-02-29"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/profile").with(user(principal)))
+                .andExpect(model().attribute("children", hasSize(2)));
+        assertThat(childRepository.findByUserId(principal.getId()))
+                .anyMatch(child -> "Second".equals(child.getName()) && child.getDateOfBirth() != null);
+    }
+
+    @Test
+    void missingUser_ShouldNotBeCached() {
+        int missingId = principal.getId() + 1000;
+
+        assertThatThrownBy(() -> profileViewService.getProfileView(missingId))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+
+        assertThat(cacheManager.getCache(ProfileViewService.CACHE_NAME).get(missingId)).isNull();
+    }
+}
@@ -0,0 +1,142 @@
+package org.voice.membership.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.security.MemberUserDetails;
+import org.voice.membership.services.ProfileViewService;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that logging in prefetches the member's profile view, so the
+ * first dashboard render after the redirect needs no database work.
+ * Not transactional: the warm-up runs on its own thread and must see the
+ * committed test data.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProfileWarmupIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileWarmupIntegrationTest.class);
+
+    private static final String TEST_EMAIL = "profile-warmup@example.com";
+    private static final String TEST_PASSWORD = "ValidPass123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User testUser;
+    private MemberUserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .firstName("Warm")
+                .lastName("Member")
+                .email(TEST_EMAIL)
+                .password(passwordEncoder.encode(TEST_PASSWORD))
+                .role("USER")
+                .creation(Instant.now())
+                .emailVerified(true)
+                .build());
+        childRepository.save(Child.builder().name("First").age(4).user(testUser).build());
+        childRepository.save(Child.builder().name("Second").age(7).user(testUser).build());
+        principal = new MemberUserDetails(testUser.getId(), TEST_EMAIL, "", "USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileCache().evict(testUser.getId());
+        childRepository.deleteAll(childRepository.findByUserId(testUser.getId()));
+        userRepository.deleteById(testUser.getId());
+    }
+
+    @Test
+    void login_ShouldPrefetchProfileBeforeFirstRender() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Render once so template and MVC start-up costs are not counted below
+        mockMvc.perform(get("/profile").with(user(principal))).andExpect(status().isOk());
+
+        // Cold render: nothing cached yet
+        profileCache().evict(testUser.getId());
+        statistics.clear();
+        long coldStart = System.nanoTime();
+        mockMvc.perform(get("/profile").with(user(principal))).andExpect(status().isOk());
+        long coldNanos = System.nanoTime() - coldStart;
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        // Log in, let the warm-up run while the "browser" follows the redirect
+        profileCache().evict(testUser.getId());
+        mockMvc.perform(formLogin("/login").user(TEST_EMAIL).password(TEST_PASSWORD))
+                .andExpect(redirectedUrl("/profile"));
+        awaitCached(testUser.getId());
+
+        statistics.clear();
+        long warmStart = System.nanoTime();
+        mockMvc.perform(get("/profile").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("userName", "Warm Member"));
+        long warmNanos = System.nanoTime() - warmStart;
+
+        log.info("First profile render: cold {} us ({} statements), after login warm-up {} us ({} statements)",
+                coldNanos / 1_000, coldStatements, warmNanos / 1_000, statistics.getPrepareStatementCount());
+        assertThat(coldStatements).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private Cache profileCache() {
+        return cacheManager.getCache(ProfileViewService.CACHE_NAME);
+    }
+
+    private void awaitCached(int userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (profileCache().get(userId) == null) {
+            assertThat(System.currentTimeMillis()).as("profile warm-up finished").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -18,7 +18,7 @@ import org.voice.membership.repositories.MembershipRepository;
 import org.voice.membership.repositories.UserRepository;
 
 import java.math.BigDecimal;
-import java.util.Date;
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -66,7 +66,7 @@ class ProfileWorkflowTest {
                                 .address("123 Test St")
                                 .postalCode("A1A 1A1")
                                 .role(Role.USER.name())
-                                .creation(new Date())
+                                .creation(Instant.now())
                                 .build();
 
                 testUser = userRepository.save(testUser);
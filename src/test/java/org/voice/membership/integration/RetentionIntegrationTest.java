@@ -0,0 +1,189 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.entities.Cart;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.InvitationToken;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.entities.VerificationToken;
+import org.voice.membership.repositories.CartRepository;
+import org.voice.membership.repositories.ChildRepository;
+import org.voice.membership.repositories.InvitationTokenRepository;
+import org.voice.membership.repositories.MembershipRepository;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.repositories.VerificationTokenRepository;
+import org.voice.membership.services.RetentionService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the retention purge with one row per batch, so every kind of row is
+ * deleted across several batches.
+ */
+@SpringBootTest(properties = {"app.retention.batch-size=1", "app.retention.pause-ms=0"})
+@ActiveProfiles("test")
+class RetentionIntegrationTest {
+
+    private static final Instant LONG_AGO = Instant.now().minus(Duration.ofDays(90));
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private InvitationTokenRepository invitationTokenRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private User stale;
+    private User otherStale;
+    private User recent;
+    private User verified;
+    private User invited;
+
+    @BeforeEach
+    void setUp() {
+        stale = userRepository.save(member("stale-a@example.com", LONG_AGO, false));
+        otherStale = userRepository.save(member("stale-b@example.com", LONG_AGO, false));
+        recent = userRepository.save(member("recent@example.com", Instant.now(), false));
+        verified = userRepository.save(member("verified@example.com", LONG_AGO, true));
+        invited = userRepository.save(member("invited@example.com", LONG_AGO, false));
+
+        childRepository.save(Child.builder().name("Stale Child").user(stale).build());
+        cartRepository.save(Cart.builder().user(stale).build());
+        verificationTokenRepository.save(new VerificationToken("stale-token", stale));
+        verificationTokenRepository.save(VerificationToken.builder()
+                .token("expired-token")
+                .user(verified)
+                .expiryDate(Instant.now().minus(Duration.ofDays(1)))
+                .build());
+        invitationTokenRepository.save(InvitationToken.builder()
+                .token("live-invitation")
+                .user(invited)
+                .expiryDate(Instant.now().plus(InvitationToken.EXPIRATION))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        invitationTokenRepository.deleteAll();
+        verificationTokenRepository.deleteAll();
+        userRepository.deleteAllById(List.of(recent.getId(), verified.getId(), invited.getId()));
+    }
+
+    @Test
+    void purge_ShouldDeleteStaleAccountsWithTheirRowsAndExpiredTokens() {
+        Map<String, Long> counts = retentionService.purge();
+
+        assertThat(counts).containsEntry("users", 2L)
+                .containsEntry("children", 1L)
+                .containsEntry("carts", 1L)
+                .containsEntry("verificationTokens", 2L)
+                .containsEntry("invitationTokens", 0L);
+        assertThat(userRepository.findAllById(List.of(stale.getId(), otherStale.getId()))).isEmpty();
+        assertThat(userRepository.findAllById(List.of(recent.getId(), verified.getId(), invited.getId())))
+                .hasSize(3);
+        assertThat(childRepository.findByUserId(stale.getId())).isEmpty();
+        assertThat(cartRepository.findByUserId(stale.getId())).isEmpty();
+        assertThat(verificationTokenRepository.findAll()).isEmpty();
+        assertThat(invitationTokenRepository.findByToken("live-invitation")).isPresent();
+    }
+
+    @Test
+    void purge_ShouldKeepImportedMembersAfterTheirInvitationExpires() {
+        User imported = userRepository.save(User.builder()
+                .firstName("Imported")
+                .lastName("Member")
+                .email("imported@example.com")
+                .role(Role.USER.name())
+                .creation(LONG_AGO)
+                .build());
+        invitationTokenRepository.save(InvitationToken.builder()
+                .token("expired-invitation")
+                .user(imported)
+                .expiryDate(Instant.now().minus(Duration.ofDays(1)))
+                .build());
+        try {
+            Map<String, Long> counts = retentionService.purge();
+
+            assertThat(counts).containsEntry("users", 2L).containsEntry("invitationTokens", 1L);
+            assertThat(userRepository.findById(imported.getId())).isPresent();
+        } finally {
+            userRepository.deleteById(imported.getId());
+        }
+    }
+
+    @Test
+    void purge_ShouldKeepUnverifiedMembersWhoPaid() {
+        Membership paidPlan = membershipRepository.save(Membership.builder()
+                .name("Retention Paid Plan")
+                .price(BigDecimal.TEN)
+                .isFree(false)
+                .active(false)
+                .build());
+        User onPaidPlan = member("paid@example.com", LONG_AGO, false);
+        onPaidPlan.setMembership(paidPlan);
+        onPaidPlan = userRepository.save(onPaidPlan);
+        User withTerm = member("term@example.com", LONG_AGO, false);
+        withTerm.setMembershipStartDate(LocalDate.now().minusYears(1));
+        withTerm.setMembershipExpiryDate(LocalDate.now().plusDays(30));
+        withTerm = userRepository.save(withTerm);
+        try {
+            Map<String, Long> counts = retentionService.purge();
+
+            assertThat(counts).containsEntry("users", 2L);
+            assertThat(userRepository.findAllById(List.of(onPaidPlan.getId(), withTerm.getId()))).hasSize(2);
+        } finally {
+            userRepository.deleteAllById(List.of(onPaidPlan.getId(), withTerm.getId()));
+            membershipRepository.delete(paidPlan);
+        }
+    }
+
+    @Test
+    void purge_ShouldAddToTotalsSinceStartup() {
+        long runs = (Long) retentionService.getStats().get("runs");
+
+        retentionService.purge();
+
+        assertThat(retentionService.getStats()).containsEntry("runs", runs + 1)
+                .containsKey("lastRunAt");
+    }
+
+    private static User member(String email, Instant creation, boolean verified) {
+        return User.builder()
+                .firstName("Retention")
+                .lastName("Member")
+                .email(email)
+                .password("$2a$10$encodedPassword")
+                .role(Role.USER.name())
+                .creation(creation)
+                .emailVerified(verified)
+                .build();
+    }
+}
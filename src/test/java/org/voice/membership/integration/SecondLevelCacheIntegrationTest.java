@@ -0,0 +1,175 @@
+package org.voice.membership.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.voice.membership.entities.Membership;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.MembershipRepository;
+import org.voice.membership.repositories.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the second-level and natural-id caches are used and are
+ * invalidated by updates. Not transactional, so each lookup runs in its own
+ * session and can only be answered from the shared cache or the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    private static final String OLD_EMAIL = "cache-old@example.com";
+    private static final String NEW_EMAIL = "cache-new@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private User user;
+    private Membership membership;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .firstName("Cache")
+                .lastName("User")
+                .email(OLD_EMAIL)
+                .password("$2a$10$encodedPassword")
+                .phone("1234567890")
+                .address("1 Cache St")
+                .postalCode("A1A 1A1")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build());
+        membership = membershipRepository.save(Membership.builder()
+                .name("Cached Plan")
+                .price(BigDecimal.TEN)
+                .isFree(false)
+                .active(false)
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+        membershipRepository.deleteById(membership.getId());
+    }
+
+    @Test
+    void findByEmail_ShouldResolveFromNaturalIdCache() {
+        assertThat(userRepository.findByEmail(OLD_EMAIL).getId()).isEqualTo(user.getId());
+        assertThat(userRepository.findByEmail(OLD_EMAIL).getId()).isEqualTo(user.getId());
+
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void editProfileEmailChange_ShouldInvalidateNaturalIdCache() throws Exception {
+        assertThat(userRepository.findByEmail(OLD_EMAIL)).isNotNull();
+
+        mockMvc.perform(post("/profile/edit")
+                .with(user(OLD_EMAIL).roles("USER"))
+                .with(csrf())
+                .param("firstName", "Cache")
+                .param("lastName", "User")
+                .param("email", NEW_EMAIL)
+                .param("phone", "1234567890")
+                .param("address", "1 Cache St")
+                .param("city", "Calgary")
+                .param("province", "AB")
+                .param("postalCode", "A1A 1A1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/profile"));
+
+        assertThat(userRepository.findByEmail(OLD_EMAIL)).isNull();
+        assertThat(userRepository.findByEmail(NEW_EMAIL).getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void findByEmail_WithStaleResolution_ShouldEvictOnlyThatEmail() {
+        User other = userRepository.save(User.builder()
+                .email("cache-other@example.com")
+                .password("$2a$10$encodedPassword")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build());
+        try {
+            userRepository.findByEmail(OLD_EMAIL);
+            userRepository.findByEmail(other.getEmail());
+            // Changed behind Hibernate's back, so the cached resolution is stale
+            jdbcTemplate.update("UPDATE users SET email = ?, email_normalized = ? WHERE id = ?",
+                    NEW_EMAIL, NEW_EMAIL, user.getId());
+            statistics.clear();
+
+            assertThat(userRepository.findByEmail(OLD_EMAIL)).isNull();
+            assertThat(userRepository.findByEmail(other.getEmail()).getId()).isEqualTo(other.getId());
+
+            assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(2);
+        } finally {
+            userRepository.deleteById(other.getId());
+        }
+    }
+
+    @Test
+    void membershipUpdate_ShouldEvictCachedEntity() {
+        membershipRepository.findById(membership.getId());
+        membershipRepository.findById(membership.getId());
+        assertThat(statistics.getCacheRegionStatistics("membership").getHitCount()).isPositive();
+
+        Membership loaded = membershipRepository.findById(membership.getId()).orElseThrow();
+        loaded.setName("Renamed Plan");
+        membershipRepository.save(loaded);
+
+        assertThat(membershipRepository.findById(membership.getId()).orElseThrow().getName())
+                .isEqualTo("Renamed Plan");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cacheStats_ShouldReportHitRatios() throws Exception {
+        userRepository.findByEmail(OLD_EMAIL);
+        userRepository.findByEmail(OLD_EMAIL);
+
+        mockMvc.perform(get("/admin/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.naturalId.hitRatio").isNumber())
+                .andExpect(jsonPath("$.regions.userEmail.hits").isNumber());
+    }
+}
@@ -0,0 +1,204 @@
+package org.voice.membership.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings.Redirects;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.voice.membership.WebRegistrationApplication;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.session.JdbcSessionRepository;
+
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application nodes against one database with the jdbc-session
+ * profile and checks that a login on one node is honoured by the other.
+ */
+class SharedSessionIntegrationTest {
+
+    private static final String TEST_EMAIL = "shared-session-test@example.com";
+    private static final String TEST_PASSWORD = "ValidPass123!";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate()
+            .withRequestFactorySettings(settings -> settings.withRedirects(Redirects.DONT_FOLLOW));
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(WebRegistrationApplication.class)
+                .profiles("test", "jdbc-session")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:shared-sessions;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--app.session.flush-interval-ms=3600000",
+                        "--app.session.cleanup-interval-ms=3600000",
+                        "--app.scheduling.node-id=" + nodeId,
+                        "--logging.level.org.springframework.security=INFO");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        nodeA.getBean(JdbcSessionRepository.class).flushLastAccessTimes();
+        nodeB.getBean(JdbcSessionRepository.class).flushLastAccessTimes();
+        jdbcTemplate.update("DELETE FROM http_sessions");
+
+        UserRepository userRepository = nodeA.getBean(UserRepository.class);
+        if (userRepository.findByEmail(TEST_EMAIL) == null) {
+            userRepository.save(User.builder()
+                    .email(TEST_EMAIL)
+                    .password(nodeA.getBean(PasswordEncoder.class).encode(TEST_PASSWORD))
+                    .firstName("Shared")
+                    .lastName("Session")
+                    .role("USER")
+                    .creation(Instant.now())
+                    .emailVerified(true)
+                    .build());
+        }
+    }
+
+    @Test
+    void loginOnOneNode_ShouldBeHonouredByAnother() {
+        String sessionCookie = login(nodeA);
+
+        ResponseEntity<String> profile = get(nodeB, "/profile", sessionCookie);
+
+        assertThat(profile.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM http_sessions WHERE principal_name = ?", Integer.class, TEST_EMAIL))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyRequests_ShouldBatchLastAccessUpdates() throws InterruptedException {
+        String sessionCookie = login(nodeA);
+        Long storedAccess = jdbcTemplate.queryForObject(
+                "SELECT last_access_time FROM http_sessions WHERE principal_name = ?", Long.class, TEST_EMAIL);
+
+        Thread.sleep(5);
+        assertThat(get(nodeB, "/profile", sessionCookie).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get(nodeB, "/profile", sessionCookie).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_access_time FROM http_sessions WHERE principal_name = ?", Long.class, TEST_EMAIL))
+                .isEqualTo(storedAccess);
+
+        assertThat(nodeB.getBean(JdbcSessionRepository.class).flushLastAccessTimes()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_access_time FROM http_sessions WHERE principal_name = ?", Long.class, TEST_EMAIL))
+                .isGreaterThan(storedAccess);
+    }
+
+    @Test
+    void expiredSessions_ShouldBeDeleted() {
+        login(nodeA);
+        jdbcTemplate.update("UPDATE http_sessions SET expiry_time = 0");
+
+        int deleted = nodeA.getBean(JdbcSessionRepository.class).deleteExpiredSessions();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class)).isZero();
+    }
+
+    @Test
+    void scheduledCleanup_ShouldRunOnOneNodeAtATime() {
+        login(nodeA);
+        jdbcTemplate.update("UPDATE http_sessions SET expiry_time = 0");
+        nodeA.getBean(JdbcSessionRepository.class).scheduledCleanup();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class)).isZero();
+        login(nodeB);
+        jdbcTemplate.update("UPDATE http_sessions SET expiry_time = 0");
+
+        try {
+            nodeB.getBean(JdbcSessionRepository.class).scheduledCleanup();
+
+            // Node A still holds the lease for the minimum hold
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class))
+                    .isEqualTo(1);
+        } finally {
+            jdbcTemplate.update("DELETE FROM job_leases WHERE name = 'session-cleanup'");
+        }
+    }
+
+    private String login(ConfigurableApplicationContext node) {
+        ResponseEntity<String> loginPage = get(node, "/login", null);
+        String csrfCookie = cookie(loginPage.getHeaders(), "XSRF-TOKEN");
+        Matcher tokenMatcher = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"").matcher(loginPage.getBody());
+        assertThat(tokenMatcher.find()).isTrue();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.add(HttpHeaders.COOKIE, csrfCookie);
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("username", TEST_EMAIL);
+        form.add("password", TEST_PASSWORD);
+        form.add("_csrf", tokenMatcher.group(1));
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                baseUrl(node) + "/login", new HttpEntity<>(form, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        assertThat(response.getHeaders().getLocation().getPath()).isEqualTo("/profile");
+        return cookie(response.getHeaders(), "JSESSIONID");
+    }
+
+    private ResponseEntity<String> get(ConfigurableApplicationContext node, String path, String cookie) {
+        HttpHeaders headers = new HttpHeaders();
+        if (cookie != null) {
+            headers.add(HttpHeaders.COOKIE, cookie);
+        }
+        return restTemplate.exchange(baseUrl(node) + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private String baseUrl(ConfigurableApplicationContext node) {
+        return "http://localhost:" + ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    private String cookie(HttpHeaders headers, String name) {
+        return headers.get(HttpHeaders.SET_COOKIE).stream()
+                .filter(cookie -> cookie.startsWith(name + "="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,239 @@
+package org.voice.membership.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.voice.membership.entities.WebhookEndpoint;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.MembershipCancelled;
+import org.voice.membership.events.MembershipUpgraded;
+import org.voice.membership.repositories.WebhookEndpointRepository;
+import org.voice.membership.scheduling.LeaseLock;
+import org.voice.membership.webhooks.WebhookDispatcher;
+import org.voice.membership.webhooks.WebhookOutbox;
+import org.voice.membership.webhooks.WebhookSubscriber;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends webhooks to a stub HTTP server on a local port and checks what it
+ * received and what the outbox recorded.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WebhookDispatcherIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebhookEndpointRepository endpointRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HttpClient httpClient;
+    private LeaseLock leaseLock;
+    private WebhookOutbox outbox;
+    private WebhookSubscriber subscriber;
+
+    private final ConcurrentLinkedQueue<Received> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.createContext("/hook", exchange -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                received.add(new Received(body,
+                        exchange.getRequestHeaders().getFirst(WebhookDispatcher.SIGNATURE_HEADER)));
+                sleep(delayMillis);
+                exchange.sendResponseHeaders(status, -1);
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        leaseLock = new LeaseLock(jdbcTemplate, "node-a");
+        outbox = new WebhookOutbox(jdbcTemplate);
+        subscriber = new WebhookSubscriber(outbox, endpointRepository, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        httpClient.close();
+        leaseLock.shutdown();
+        jdbcTemplate.update("DELETE FROM webhook_deliveries");
+        jdbcTemplate.update("DELETE FROM webhook_endpoints");
+        jdbcTemplate.update("DELETE FROM job_leases");
+    }
+
+    @Test
+    void dispatch_ShouldBatchEventsPerEndpointAndSignThem() throws Exception {
+        WebhookEndpoint endpoint = endpoint(null, 1);
+        subscriber.onEvent(new MembershipCancelled(1, "one@example.com", "Premium", Instant.now()));
+        subscriber.onEvent(new MembershipUpgraded(2, "two@example.com", "Two Member", "Premium",
+                LocalDate.of(2027, 1, 1), Instant.now()));
+        subscriber.onEvent(new ChildChanged(2, 5, ChildChanged.Change.ADDED, Instant.now()));
+
+        int attempted = dispatcher(10, 5, Duration.ofSeconds(30)).dispatch();
+
+        assertThat(attempted).isEqualTo(2);
+        assertThat(received).hasSize(1);
+        Received request = received.peek();
+        JsonNode events = objectMapper.readTree(request.body());
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).get("type").asText()).isEqualTo(WebhookSubscriber.MEMBERSHIP_CANCELLED);
+        assertThat(events.get(1).get("data").get("expiryDate").asText()).isEqualTo("2027-01-01");
+        assertThat(request.signature())
+                .isEqualTo("sha256=" + WebhookDispatcher.sign(endpoint.getSecret(), request.body()));
+        assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.DELIVERED, 2L)
+                .containsEntry(WebhookOutbox.PENDING, 0L);
+    }
+
+    @Test
+    void enqueue_ShouldOnlyQueueForSubscribedActiveEndpoints() {
+        endpoint(WebhookSubscriber.MEMBERSHIP_CANCELLED, 1);
+        endpoint(WebhookSubscriber.MEMBER_REGISTERED, 1);
+        WebhookEndpoint inactive = endpoint(null, 1);
+        inactive.setActive(false);
+        endpointRepository.save(inactive);
+
+        subscriber.onEvent(new MembershipCancelled(1, "one@example.com", "Premium", Instant.now()));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM webhook_deliveries", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void publish_ShouldQueueDeliveriesOnlyIfTheChangeCommits() {
+        endpoint(WebhookSubscriber.MEMBERSHIP_CANCELLED, 1);
+        DomainEventBus bus = new DomainEventBus(List.of(subscriber), 10, Duration.ofSeconds(5));
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bus.publish(new MembershipCancelled(1, "one@example.com", "Premium", Instant.now()));
+                status.setRollbackOnly();
+            });
+            assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.PENDING, 0L);
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bus.publish(new MembershipCancelled(2, "two@example.com", "Premium", Instant.now()));
+                // Written before the commit, by the publishing thread
+                assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.PENDING, 1L);
+            });
+            assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.PENDING, 1L);
+        } finally {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void dispatch_ShouldRetryFailedBatchWithBackoffThenGiveUp() {
+        status = 503;
+        endpoint(null, 1);
+        subscriber.onEvent(new MembershipCancelled(1, "one@example.com", "Premium", Instant.now()));
+
+        WebhookDispatcher backingOff = dispatcher(10, 2, Duration.ofMinutes(1));
+        backingOff.dispatch();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, attempts, last_error, next_attempt_at FROM webhook_deliveries");
+        assertThat(row.get("status")).isEqualTo(WebhookOutbox.PENDING);
+        assertThat(((Number) row.get("attempts")).intValue()).isEqualTo(1);
+        assertThat(row.get("last_error")).isEqualTo("HTTP 503");
+        // not due again until the backoff has passed
+        assertThat(backingOff.dispatch()).isZero();
+
+        jdbcTemplate.update("UPDATE webhook_deliveries SET next_attempt_at = ?",
+                Instant.EPOCH.atOffset(ZoneOffset.UTC));
+        backingOff.dispatch();
+
+        assertThat(received).hasSize(2);
+        assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.FAILED, 1L);
+    }
+
+    @Test
+    void dispatch_ShouldLimitConcurrentRequestsPerEndpoint() {
+        delayMillis = 200;
+        endpoint(null, 2);
+        for (int i = 0; i < 6; i++) {
+            subscriber.onEvent(new MembershipCancelled(i, "member" + i + "@example.com", "Premium", Instant.now()));
+        }
+
+        dispatcher(1, 5, Duration.ofSeconds(30)).dispatch();
+
+        assertThat(received).hasSize(6);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThat(outbox.countByStatus()).containsEntry(WebhookOutbox.DELIVERED, 6L);
+    }
+
+    private WebhookEndpoint endpoint(String eventTypes, int maxConcurrency) {
+        return endpointRepository.save(WebhookEndpoint.builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/hook")
+                .secret("test-secret")
+                .eventTypes(eventTypes)
+                .maxConcurrency(maxConcurrency)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private WebhookDispatcher dispatcher(int batchSize, int maxAttempts, Duration initialBackoff) {
+        return new WebhookDispatcher(outbox, endpointRepository, leaseLock, httpClient,
+                new WebhookDispatcher.Settings(true, 100, batchSize, maxAttempts, initialBackoff,
+                        Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofDays(7)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Received(String body, String signature) {
+    }
+}
@@ -10,7 +10,8 @@ import org.voice.membership.entities.Child;
 import org.voice.membership.entities.Role;
 import org.voice.membership.entities.User;
 
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,14 +44,14 @@ class ChildRepositoryTest {
                 .password("password123")
                 .phone("1234567890")
                 .role(Role.USER.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
 
         entityManager.persist(testUser);
 
         child1 = Child.builder()
                 .name("Child One")
-                .dateOfBirth(new Date())
+                .dateOfBirth(LocalDate.now())
                 .hearingLossType("Profound")
                 .equipmentType("Cochlear Implant")
                 .user(testUser)
@@ -58,7 +59,7 @@ class ChildRepositoryTest {
 
         child2 = Child.builder()
                 .name("Child Two")
-                .dateOfBirth(new Date())
+                .dateOfBirth(LocalDate.now())
                 .hearingLossType("Moderate")
                 .equipmentType("Hearing Aid")
                 .user(testUser)
@@ -126,5 +127,51 @@ class ChildRepositoryTest {
         List<Child> childrenAfter = childRepository.findAll();
         assertThat(childrenAfter).isEmpty();
     }
-}
 
+    @Test
+    void findParentIdsBornBetween_ShouldMatchChildrenInAgeRange() {
+        LocalDate today = LocalDate.now();
+        child1.setDateOfBirth(today.minusYears(4));
+        child2.setDateOfBirth(today.minusYears(10));
+        entityManager.persist(child1);
+        entityManager.persist(child2);
+        entityManager.flush();
+
+        assertThat(childRepository.findParentIdsBornBetween(today.minusYears(6).plusDays(1), today.minusYears(3)))
+                .containsExactly(testUser.getId());
+        assertThat(childRepository.findParentIdsBornBetween(today.minusYears(9).plusDays(1), today.minusYears(6)))
+                .isEmpty();
+    }
+
+    @Test
+    void save_WithOnlyAge_ShouldEstimateDateOfBirth() {
+        Child child = Child.builder()
+                .name("Age Only")
+                .age(6)
+                .user(testUser)
+                .build();
+
+        Child saved = childRepository.saveAndFlush(child);
+
+        assertThat(saved.getDateOfBirth()).isNotNull();
+        assertThat(saved.getAge()).isEqualTo(6);
+    }
+
+    @Test
+    void setMissingDateOfBirth_ShouldBackfillRowsWithOnlyAnAge() {
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO children (name, age, user_id) VALUES ('Legacy', 6, :userId)")
+                .setParameter("userId", testUser.getId())
+                .executeUpdate();
+
+        assertThat(childRepository.findAgesWithoutDateOfBirth()).containsExactly(6);
+        LocalDate estimate = LocalDate.now().minusYears(6).minusMonths(6);
+        assertThat(childRepository.setMissingDateOfBirth(6, estimate)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(childRepository.findAgesWithoutDateOfBirth()).isEmpty();
+        Child legacy = childRepository.findByUserId(testUser.getId()).get(0);
+        assertThat(legacy.getDateOfBirth()).isEqualTo(estimate);
+        assertThat(legacy.getAge()).isEqualTo(6);
+    }
+}
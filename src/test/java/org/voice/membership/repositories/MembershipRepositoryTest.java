@@ -74,6 +74,20 @@ class MembershipRepositoryTest {
                 .containsExactlyInAnyOrder("Free", "Premium");
     }
 
+    @Test
+    void findByActiveTrue_ShouldLoadTextWithTheRow() {
+        entityManager.persist(premiumMembership);
+        entityManager.flush();
+        entityManager.clear();
+
+        Membership loaded = membershipRepository.findByActiveTrue().get(0);
+        // Plans are rendered after the session has closed
+        entityManager.clear();
+
+        assertThat(loaded.getDescription()).isEqualTo("Premium membership");
+        assertThat(loaded.getFeatures()).isEqualTo(premiumMembership.getFeatures());
+    }
+
     @Test
     void save_ShouldPersistMembership() {
         Membership saved = membershipRepository.save(freeMembership);
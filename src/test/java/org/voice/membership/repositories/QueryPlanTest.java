@@ -0,0 +1,176 @@
+package org.voice.membership.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.config.SchemaMigrationConfig;
+import org.voice.membership.entities.Cart;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+import org.voice.membership.entities.VerificationToken;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the versioned migrations against H2 in MySQL mode, calls each hot
+ * repository method and checks with EXPLAIN that every statement Hibernate
+ * generated for it is answered from an index rather than a full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.schema.migrations.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.voice.membership.repositories.QueryPlanTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationConfig.class)
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private User user;
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .firstName("Plan")
+                .lastName("Check")
+                .email("Plan.Check@example.com")
+                .password("password123")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build());
+        entityManager.persist(Child.builder().name("Child").dateOfBirth(LocalDate.of(2018, 5, 1)).user(user).build());
+        entityManager.persist(new VerificationToken("plan-token", user));
+        cart = entityManager.persist(Cart.builder().user(user).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void userQueries_ShouldUseIndexes() {
+        assertIndexed(() -> userRepository.findByEmail("Plan.Check@example.com"));
+        assertIndexed(() -> userRepository.findByEmailIgnoreCase("plan.check@EXAMPLE.com"));
+        assertIndexed(() -> userRepository.findAllByEmailIgnoreCase("plan.check@example.com"));
+        assertIndexed(() -> userRepository.findProfileRows(user.getId()));
+        assertIndexed(() -> userRepository.findIdsByProvinceId((short) 1));
+        assertIndexed(() -> userRepository.findRegisteredBetween(
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z")));
+    }
+
+    @Test
+    void childQueries_ShouldUseIndexes() {
+        assertIndexed(() -> childRepository.findByUser(user));
+        assertIndexed(() -> childRepository.findByUserId(user.getId()));
+        assertIndexed(() -> childRepository.findParentIdsBornBetween(
+                LocalDate.of(2015, 1, 1), LocalDate.of(2020, 1, 1)));
+        assertIndexed(() -> childRepository.findParentIdsByHearingLossTypeId((short) 1));
+        assertIndexed(() -> childRepository.findParentIdsByEquipmentTypeId((short) 1));
+        assertIndexed(() -> childRepository.findAgesWithoutDateOfBirth());
+        assertIndexed(() -> childRepository.setMissingDateOfBirth(5, LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    void verificationTokenQueries_ShouldUseIndexes() {
+        assertIndexed(() -> verificationTokenRepository.findByToken("plan-token"));
+        assertIndexed(() -> verificationTokenRepository.findByUser(user));
+        assertIndexed(() -> {
+            verificationTokenRepository.deleteByUser(user);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void cartQueries_ShouldUseIndexes() {
+        assertIndexed(() -> cartRepository.findByUser(user));
+        assertIndexed(() -> cartRepository.findByUserId(user.getId()));
+        assertIndexed(() -> cartItemRepository.findByCart(cart));
+        assertIndexed(() -> cartItemRepository.findByCartId(cart.getId()));
+        assertIndexed(() -> cartItemRepository.deleteByCartId(cart.getId()));
+    }
+
+    @Test
+    void migrations_ShouldBeRecorded() {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_version ORDER BY version", Integer.class))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13);
+    }
+
+    private void assertIndexed(Runnable call) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        call.run();
+        List<String> statements = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> !sql.toLowerCase(Locale.ROOT).startsWith("insert"))
+                .toList();
+        assertThat(statements).isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as("plan for %s", sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    /**
+     * Collects the SQL Hibernate sends to the database.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = java.util.Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.trim());
+            return sql;
+        }
+    }
+}
@@ -6,10 +6,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.hibernate.Hibernate;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.Membership;
 import org.voice.membership.entities.Role;
 import org.voice.membership.entities.User;
 
-import java.util.Date;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,7 +48,7 @@ class UserRepositoryTest {
                 .address("123 Main St")
                 .postalCode("12345")
                 .role(Role.USER.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
 
         testUser2 = User.builder()
@@ -56,7 +61,7 @@ class UserRepositoryTest {
                 .address("456 Oak Ave")
                 .postalCode("54321")
                 .role(Role.USER.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
     }
 
@@ -109,6 +114,24 @@ class UserRepositoryTest {
         assertThat(found.get(0).getLastName()).isEqualTo("Smith");
     }
 
+    @Test
+    void findWithMembershipByEmail_ShouldFetchMembership() {
+        Membership membership = entityManager.persist(Membership.builder()
+                .name("Premium")
+                .price(BigDecimal.TEN)
+                .build());
+        testUser1.setMembership(membership);
+        entityManager.persist(testUser1);
+        entityManager.flush();
+        entityManager.clear();
+
+        User found = userRepository.findWithMembershipByEmail("john@example.com").orElseThrow();
+        entityManager.clear();
+
+        assertThat(Hibernate.isInitialized(found.getMembership())).isTrue();
+        assertThat(found.getMembership().getName()).isEqualTo("Premium");
+    }
+
     @Test
     void save_ShouldPersistUser() {
         User saved = userRepository.save(testUser1);
@@ -154,5 +177,40 @@ class UserRepositoryTest {
         assertThat(found).isNotNull();
         assertThat(found.getId()).isEqualTo(userId);
     }
-}
 
+    @Test
+    void findRegisteredBetween_ShouldIncludeStartAndExcludeEnd() {
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant before = Instant.parse("2025-04-01T00:00:00Z");
+        testUser1.setCreation(from);
+        testUser2.setCreation(before);
+        entityManager.persist(testUser1);
+        entityManager.persist(testUser2);
+        entityManager.flush();
+
+        List<User> found = userRepository.findRegisteredBetween(from, before);
+
+        assertThat(found).extracting(User::getFirstName).containsExactly("John");
+        assertThat(userRepository.findRegisteredBetween(from, before.plus(Duration.ofSeconds(1))))
+                .hasSize(2);
+    }
+
+    @Test
+    void findAllWithChildrenForExport_ShouldReturnDetachedUsersWithChildren() {
+        entityManager.persist(testUser1);
+        entityManager.persist(testUser2);
+        entityManager.persist(Child.builder().name("Sam").age(5).user(testUser1).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<User> users = userRepository.findAllWithChildrenForExport();
+
+        assertThat(users).extracting(User::getFirstName).containsExactly("John", "Jane");
+        assertThat(users).allSatisfy(user -> {
+            assertThat(Hibernate.isInitialized(user.getChildren())).isTrue();
+            assertThat(entityManager.getEntityManager().contains(user)).isFalse();
+        });
+        assertThat(users.get(0).getChildren()).extracting(Child::getName).containsExactly("Sam");
+        assertThat(users.get(1).getChildren()).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+package org.voice.membership.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.voice.membership.entities.User;
+import org.voice.membership.repositories.UserRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CurrentUserArgumentResolver
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Current User Argument Resolver Tests")
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should load a member by id once per request")
+    void testLoadsMemberByIdOncePerRequest() throws Exception {
+        User user = User.builder().id(7).email("member@example.com").role("USER").build();
+        when(userRepository.findWithMembershipById(7)).thenReturn(Optional.of(user));
+        authenticate(new MemberUserDetails(7, "member@example.com", "", "USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertSame(user, resolver.resolveArgument(userParameter(), null, request, null));
+        assertSame(user, resolver.resolveArgument(userParameter(), null, request, null));
+
+        verify(userRepository, times(1)).findWithMembershipById(7);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should resolve a member's id without any lookup")
+    void testResolvesMemberIdWithoutLookup() throws Exception {
+        authenticate(new MemberUserDetails(7, "member@example.com", "", "USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        assertEquals(7, resolver.resolveArgument(userIdParameter(), null,
+                new ServletWebRequest(new MockHttpServletRequest()), null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to email for principals without an id")
+    void testFallsBackToEmail() throws Exception {
+        User user = User.builder().id(8).email("plain@example.com").role("USER").build();
+        when(userRepository.findWithMembershipByEmail("plain@example.com")).thenReturn(Optional.of(user));
+        authenticate(new org.springframework.security.core.userdetails.User("plain@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        assertSame(user, resolver.resolveArgument(userParameter(), null,
+                new ServletWebRequest(new MockHttpServletRequest()), null));
+    }
+
+    @Test
+    @DisplayName("Should resolve to null when nobody is signed in")
+    void testAnonymous() throws Exception {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertNull(resolver.resolveArgument(userParameter(), null, request, null));
+        verifyNoInteractions(userRepository);
+    }
+
+    private MethodParameter userParameter() throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod("handler", User.class, Integer.class), 0);
+    }
+
+    private MethodParameter userIdParameter() throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod("handler", User.class, Integer.class), 1);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser User user, @CurrentUser Integer userId) {
+    }
+
+    private void authenticate(org.springframework.security.core.userdetails.User principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+}
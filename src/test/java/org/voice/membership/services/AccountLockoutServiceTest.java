@@ -10,7 +10,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.voice.membership.entities.User;
 import org.voice.membership.repositories.UserRepository;
 
-import java.util.Date;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -123,7 +123,7 @@ class AccountLockoutServiceTest {
     @DisplayName("Should return true when account is locked and lockout period not expired")
     void testIsAccountLockedWithinLockoutPeriod() {
         testUser.setAccountLocked(true);
-        testUser.setLockoutTime(new Date()); // Just locked
+        testUser.setLockoutTime(Instant.now()); // Just locked
         when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(testUser);
 
         boolean isLocked = accountLockoutService.isAccountLocked(TEST_EMAIL);
@@ -138,7 +138,7 @@ class AccountLockoutServiceTest {
         testUser.setFailedLoginAttempts(MAX_ATTEMPTS);
         // Set lockout time to 31 minutes ago (past the 30-minute lockout)
         long expiredTime = System.currentTimeMillis() - (31 * 60 * 1000);
-        testUser.setLockoutTime(new Date(expiredTime));
+        testUser.setLockoutTime(Instant.ofEpochMilli(expiredTime));
 
         when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(testUser);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -177,7 +177,7 @@ class AccountLockoutServiceTest {
     void testManualUnlockAccount() {
         testUser.setAccountLocked(true);
         testUser.setFailedLoginAttempts(MAX_ATTEMPTS);
-        testUser.setLockoutTime(new Date());
+        testUser.setLockoutTime(Instant.now());
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         accountLockoutService.unlockAccount(testUser);
@@ -194,7 +194,7 @@ class AccountLockoutServiceTest {
         testUser.setAccountLocked(true);
         // Set lockout time to 10 minutes ago
         long tenMinutesAgo = System.currentTimeMillis() - (10 * 60 * 1000);
-        testUser.setLockoutTime(new Date(tenMinutesAgo));
+        testUser.setLockoutTime(Instant.ofEpochMilli(tenMinutesAgo));
         when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(testUser);
 
         long remainingMinutes = accountLockoutService.getRemainingLockoutTime(TEST_EMAIL);
@@ -219,7 +219,7 @@ class AccountLockoutServiceTest {
         testUser.setAccountLocked(true);
         // Set lockout time to 40 minutes ago (past the 30-minute lockout)
         long expiredTime = System.currentTimeMillis() - (40 * 60 * 1000);
-        testUser.setLockoutTime(new Date(expiredTime));
+        testUser.setLockoutTime(Instant.ofEpochMilli(expiredTime));
         when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(testUser);
 
         long remainingMinutes = accountLockoutService.getRemainingLockoutTime(TEST_EMAIL);
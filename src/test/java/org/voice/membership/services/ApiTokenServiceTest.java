@@ -0,0 +1,126 @@
+package org.voice.membership.services;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.voice.membership.dtos.ApiTokenResponse;
+import org.voice.membership.entities.User;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApiTokenService
+ */
+@DisplayName("API Token Service Tests")
+class ApiTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+
+    private ApiTokenService apiTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        apiTokenService = new ApiTokenService(SECRET, 15, 14);
+        user = User.builder().id(42).email("member@example.com").role("USER").build();
+    }
+
+    @Test
+    @DisplayName("Should issue an access token carrying the user id and role")
+    void testAccessTokenClaims() {
+        ApiTokenResponse tokens = apiTokenService.issueTokens(user);
+
+        Jwt jwt = apiTokenService.accessTokenDecoder().decode(tokens.getAccessToken());
+
+        assertEquals("member@example.com", jwt.getSubject());
+        assertEquals(42L, ((Number) jwt.getClaim(ApiTokenService.CLAIM_USER_ID)).longValue());
+        assertEquals(List.of("USER"), jwt.getClaimAsStringList(ApiTokenService.CLAIM_ROLES));
+        assertEquals("Bearer", tokens.getTokenType());
+        assertEquals(900, tokens.getExpiresIn());
+    }
+
+    @Test
+    @DisplayName("Should issue a USER token for a user without a role")
+    void testMissingRole() {
+        user.setRole(null);
+
+        Jwt jwt = apiTokenService.accessTokenDecoder().decode(apiTokenService.issueTokens(user).getAccessToken());
+
+        assertEquals(List.of("USER"), jwt.getClaimAsStringList(ApiTokenService.CLAIM_ROLES));
+    }
+
+    @Test
+    @DisplayName("Should verify a refresh token and return its user id")
+    void testRefreshToken() {
+        ApiTokenResponse tokens = apiTokenService.issueTokens(user);
+
+        assertEquals(42, apiTokenService.verifyRefreshToken(tokens.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("Should not accept one token type in place of the other")
+    void testTokenTypesAreNotInterchangeable() {
+        ApiTokenResponse tokens = apiTokenService.issueTokens(user);
+
+        assertThrows(JwtException.class,
+                () -> apiTokenService.accessTokenDecoder().decode(tokens.getRefreshToken()));
+        assertNull(apiTokenService.verifyRefreshToken(tokens.getAccessToken()));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key")
+    void testForeignKey() {
+        ApiTokenService otherNode = new ApiTokenService(null, 15, 14);
+        ApiTokenResponse tokens = otherNode.issueTokens(user);
+
+        assertThrows(JwtException.class,
+                () -> apiTokenService.accessTokenDecoder().decode(tokens.getAccessToken()));
+        assertNull(apiTokenService.verifyRefreshToken(tokens.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired access token")
+    void testExpiredToken() {
+        SecretKey key = new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256");
+        Instant issuedAt = Instant.now().minus(Duration.ofHours(1));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("voice-membership")
+                .subject(user.getEmail())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(Duration.ofMinutes(15)))
+                .claim(ApiTokenService.CLAIM_USER_ID, user.getId())
+                .claim(ApiTokenService.CLAIM_ROLES, List.of("USER"))
+                .claim(ApiTokenService.CLAIM_TOKEN_TYPE, "access")
+                .build();
+        String expired = new NimbusJwtEncoder(new ImmutableSecret<>(key))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+
+        assertThrows(JwtException.class, () -> apiTokenService.accessTokenDecoder().decode(expired));
+    }
+
+    @Test
+    @DisplayName("Should reject a short signing key")
+    void testShortKey() {
+        String shortKey = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalArgumentException.class, () -> new ApiTokenService(shortKey, 15, 14));
+    }
+}
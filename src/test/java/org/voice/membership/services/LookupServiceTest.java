@@ -0,0 +1,170 @@
+package org.voice.membership.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.voice.membership.entities.Child;
+import org.voice.membership.entities.LookupCategory;
+import org.voice.membership.entities.LookupSuggestion;
+import org.voice.membership.entities.LookupValue;
+import org.voice.membership.entities.Role;
+import org.voice.membership.entities.User;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({LookupService.class, LookupServiceTest.CacheTestConfig.class})
+class LookupServiceTest {
+
+    @TestConfiguration
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(LookupService.CACHE_NAME);
+        }
+    }
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Abbreviations and spelling variants resolve to one province")
+    void canonicalize_ShouldResolveProvinceAliases() {
+        lookupService.seed();
+
+        LookupValue ontario = lookupService.canonicalize(LookupCategory.PROVINCE, "Ontario");
+
+        assertThat(ontario.getId()).isNotNull();
+        assertThat(lookupService.canonicalize(LookupCategory.PROVINCE, "ON").getId()).isEqualTo(ontario.getId());
+        assertThat(lookupService.canonicalize(LookupCategory.PROVINCE, " ontario ").getId())
+                .isEqualTo(ontario.getId());
+        assertThat(lookupService.canonicalize(LookupCategory.PROVINCE, "B.C.").getLabel())
+                .isEqualTo("British Columbia");
+    }
+
+    @Test
+    @DisplayName("New values are added once and matched regardless of case and punctuation")
+    void canonicalize_ShouldAddUnknownValuesOnce() {
+        LookupValue first = lookupService.canonicalize(LookupCategory.EQUIPMENT_TYPE, "Bone  Conduction Aid");
+        LookupValue second = lookupService.canonicalize(LookupCategory.EQUIPMENT_TYPE, "bone-conduction aid");
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getLabel()).isEqualTo("Bone Conduction Aid");
+        assertThat(lookupService.find(LookupCategory.EQUIPMENT_TYPE, "Not a device")).isNull();
+        assertThat(lookupService.canonicalize(LookupCategory.EQUIPMENT_TYPE, "  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Existing free-text rows are canonicalized and given codes")
+    void migrateExistingValues_ShouldCanonicalizeStoredText() {
+        User user = User.builder()
+                .firstName("Legacy")
+                .lastName("Parent")
+                .email("legacy-lookup@example.com")
+                .role(Role.USER.name())
+                .province("ont.")
+                .creation(Instant.now())
+                .build();
+        entityManager.persist(user);
+        Child child = Child.builder()
+                .name("Legacy Child")
+                .hearingLossType("profound")
+                .user(user)
+                .build();
+        entityManager.persist(child);
+        entityManager.flush();
+
+        assertThat(lookupService.migrateExistingValues()).isGreaterThanOrEqualTo(2);
+        entityManager.clear();
+
+        User migrated = entityManager.find(User.class, user.getId());
+        assertThat(migrated.getProvince()).isEqualTo("Ontario");
+        assertThat(migrated.getProvinceId())
+                .isEqualTo(lookupService.find(LookupCategory.PROVINCE, "ON").getId());
+        Child migratedChild = entityManager.find(Child.class, child.getId());
+        assertThat(migratedChild.getHearingLossType()).isEqualTo("Profound");
+        assertThat(migratedChild.getHearingLossTypeId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Unknown registration input is queued for review, not added")
+    void resolve_ShouldQueueUnknownValuesInsteadOfAddingThem() {
+        assertThat(lookupService.resolve(LookupCategory.CHAPTER, "Far Away  Chapter")).isNull();
+        assertThat(lookupService.resolve(LookupCategory.CHAPTER, "far-away chapter")).isNull();
+
+        assertThat(lookupService.find(LookupCategory.CHAPTER, "Far Away Chapter")).isNull();
+        assertThat(lookupService.getSuggestions())
+                .filteredOn(suggestion -> suggestion.getLookupKey().equals("far away chapter"))
+                .singleElement()
+                .satisfies(suggestion -> {
+                    assertThat(suggestion.getLabel()).isEqualTo("Far Away Chapter");
+                    assertThat(suggestion.getOccurrences()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    @DisplayName("Approving a suggestion adds it and codes the rows that used it")
+    void approveSuggestion_ShouldAddValueAndCodeStoredRows() {
+        User user = User.builder()
+                .firstName("New")
+                .lastName("Parent")
+                .email("suggestion-parent@example.com")
+                .role(Role.USER.name())
+                .creation(Instant.now())
+                .build();
+        entityManager.persist(user);
+        Child child = Child.builder()
+                .name("Registered Child")
+                .equipmentType("Loop  System")
+                .user(user)
+                .build();
+        lookupService.applyExistingTo(child);
+        assertThat(child.getEquipmentType()).isEqualTo("Loop System");
+        assertThat(child.getEquipmentTypeId()).isNull();
+        entityManager.persist(child);
+        entityManager.flush();
+
+        LookupSuggestion suggestion = lookupService.getSuggestions().stream()
+                .filter(s -> s.getLookupKey().equals("loop system"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(lookupService.approveSuggestion(suggestion.getId())).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(entityManager.find(Child.class, child.getId()).getEquipmentTypeId())
+                .isEqualTo(lookupService.find(LookupCategory.EQUIPMENT_TYPE, "loop system").getId());
+        assertThat(lookupService.getSuggestions()).noneMatch(s -> s.getLookupKey().equals("loop system"));
+    }
+
+    @Test
+    @DisplayName("Dismissed suggestions stay out of the dictionary")
+    void dismissSuggestion_ShouldKeepValueOutOfDictionary() {
+        lookupService.resolve(LookupCategory.EQUIPMENT_TYPE, "Nonsense Device");
+        LookupSuggestion suggestion = lookupService.getSuggestions().stream()
+                .filter(s -> s.getLookupKey().equals("nonsense device"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(lookupService.dismissSuggestion(suggestion.getId())).isTrue();
+        lookupService.resolve(LookupCategory.EQUIPMENT_TYPE, "nonsense device");
+        lookupService.migrateExistingValues();
+
+        assertThat(lookupService.find(LookupCategory.EQUIPMENT_TYPE, "Nonsense Device")).isNull();
+        assertThat(lookupService.getSuggestions()).noneMatch(s -> s.getLookupKey().equals("nonsense device"));
+    }
+}
@@ -0,0 +1,56 @@
+package org.voice.membership.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.voice.membership.events.ChildChanged;
+import org.voice.membership.events.EmailVerified;
+import org.voice.membership.events.MemberRegistered;
+import org.voice.membership.events.MembershipUpgraded;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for MemberEmailSubscriber
+ */
+@ExtendWith(MockitoExtension.class)
+class MemberEmailSubscriberTest {
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    @InjectMocks
+    private MemberEmailSubscriber subscriber;
+
+    @Test
+    void onEvent_MemberRegistered_ShouldSendVerificationEmail() {
+        subscriber.onEvent(new MemberRegistered(1, "new@example.com", "New Member", "Premium", true,
+                "https://example.com/verify?token=abc", Instant.now()));
+
+        verify(emailSenderService).sendVerificationEmail("new@example.com", "New Member",
+                "https://example.com/verify?token=abc");
+    }
+
+    @Test
+    void onEvent_MembershipUpgraded_ShouldSendConfirmationWithLongExpiryDate() {
+        subscriber.onEvent(new MembershipUpgraded(1, "member@example.com", "Member", "Premium",
+                LocalDate.of(2026, 3, 5), Instant.now()));
+
+        verify(emailSenderService).sendMembershipUpgradeConfirmation("member@example.com", "Member", "Premium",
+                "March 05, 2026");
+    }
+
+    @Test
+    void onEvent_OtherEvents_ShouldSendNothing() {
+        subscriber.onEvent(new EmailVerified(1, "member@example.com", Instant.now()));
+        subscriber.onEvent(new ChildChanged(1, 7, ChildChanged.Change.ADDED, Instant.now()));
+
+        verifyNoInteractions(emailSenderService);
+    }
+}
@@ -8,12 +8,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.voice.membership.entities.User;
 import org.voice.membership.entities.Membership;
+import org.voice.membership.events.DomainEventBus;
+import org.voice.membership.events.MembershipCancelled;
 import org.voice.membership.repositories.UserRepository;
 import org.voice.membership.repositories.MembershipRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +34,9 @@ class MembershipCancellationServiceTest {
     @Mock
     private MembershipRepository membershipRepository;
 
+    @Mock
+    private DomainEventBus domainEventBus;
+
     @InjectMocks
     private MembershipCancellationService cancellationService;
 
@@ -70,7 +75,7 @@ class MembershipCancellationServiceTest {
                 .firstName("Test")
                 .lastName("User")
                 .membership(paidMembership)
-                .membershipStartDate(new Date())
+                .membershipStartDate(LocalDate.now())
                 .build();
     }
 
@@ -90,6 +95,7 @@ class MembershipCancellationServiceTest {
         assertNotNull(testUser.getMembershipStartDate());
         assertNull(testUser.getMembershipExpiryDate());
         verify(userRepository, times(1)).save(testUser);
+        verify(domainEventBus).publish(any(MembershipCancelled.class));
     }
 
     @Test
@@ -103,6 +109,7 @@ class MembershipCancellationServiceTest {
         assertFalse(result.isSuccess());
         assertTrue(result.getMessage().contains("Free memberships cannot be cancelled"));
         verify(userRepository, never()).save(any());
+        verify(domainEventBus, never()).publish(any());
     }
 
     @Test
@@ -0,0 +1,126 @@
+package org.voice.membership.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.voice.membership.dtos.ChildDto;
+import org.voice.membership.dtos.MultiStepRegistrationDto;
+import org.voice.membership.dtos.RegisterDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RegistrationStateService
+ */
+@DisplayName("Registration State Service Tests")
+class RegistrationStateServiceTest {
+
+    private static final String KEY = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+
+    private RegistrationStateService registrationStateService;
+
+    @BeforeEach
+    void setUp() {
+        registrationStateService = new RegistrationStateService(KEY, 60);
+    }
+
+    @Test
+    @DisplayName("Should round-trip wizard state through the sealed token")
+    void testRoundTrip() {
+        MultiStepRegistrationDto data = sampleState();
+
+        MultiStepRegistrationDto decoded = registrationStateService.decode(registrationStateService.encode(data));
+
+        assertNotNull(decoded);
+        assertEquals("Jane", decoded.getUserDetails().getFirstName());
+        assertNull(decoded.getUserDetails().getMiddleName());
+        assertEquals("jane@example.com", decoded.getUserDetails().getEmail());
+        assertEquals("$2a$10$hash", decoded.getPasswordHash());
+        assertNull(decoded.getUserDetails().getPassword());
+        assertEquals(1, decoded.getChildren().size());
+        assertEquals("Tommy", decoded.getChildren().get(0).getName());
+        assertEquals(5, decoded.getChildren().get(0).getAge());
+        assertEquals(LocalDate.of(2020, 9, 13), decoded.getChildren().get(0).getDateOfBirth());
+        assertEquals(2, decoded.getSelectedMembershipId());
+        assertNull(decoded.getCartMembershipId());
+    }
+
+    @Test
+    @DisplayName("Should not expose wizard fields in the token")
+    void testTokenIsEncrypted() {
+        String token = registrationStateService.encode(sampleState());
+
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.ISO_8859_1);
+        assertFalse(decoded.contains("jane@example.com"));
+        assertFalse(decoded.contains("Tommy"));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void testTamperedToken() {
+        byte[] raw = Base64.getUrlDecoder().decode(registrationStateService.encode(sampleState()));
+        raw[raw.length / 2] ^= 0x01;
+
+        assertNull(registrationStateService.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(raw)));
+        assertNull(registrationStateService.decode("not-a-token"));
+    }
+
+    @Test
+    @DisplayName("Should reject a token sealed with another key")
+    void testForeignKey() {
+        RegistrationStateService otherNode = new RegistrationStateService(null, 60);
+
+        assertNull(otherNode.decode(registrationStateService.encode(sampleState())));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testExpiredToken() {
+        RegistrationStateService expiring = new RegistrationStateService(KEY, 0);
+
+        assertNull(expiring.decode(expiring.encode(sampleState())));
+    }
+
+    @Test
+    @DisplayName("Should not write state too large for a cookie")
+    void testOversizedState() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(registrationStateService.write(response, sampleState()));
+        assertNotNull(response.getHeader("Set-Cookie"));
+
+        MultiStepRegistrationDto data = sampleState();
+        data.getUserDetails().setAddress("1 Long Street ".repeat(300));
+        MockHttpServletResponse oversized = new MockHttpServletResponse();
+
+        assertFalse(registrationStateService.write(oversized, data));
+        assertNull(oversized.getHeader("Set-Cookie"));
+    }
+
+    private MultiStepRegistrationDto sampleState() {
+        RegisterDto user = new RegisterDto();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        user.setPhone("1234567890");
+        user.setPostalCode("M5H 2N2");
+
+        ChildDto child = new ChildDto();
+        child.setName("Tommy");
+        child.setAge(5);
+        child.setDateOfBirth(LocalDate.of(2020, 9, 13));
+
+        MultiStepRegistrationDto data = new MultiStepRegistrationDto();
+        data.setUserDetails(user);
+        data.setPasswordHash("$2a$10$hash");
+        data.setChildren(List.of(child));
+        data.setSelectedMembershipId(2);
+        return data;
+    }
+}
@@ -3,17 +3,24 @@ package org.voice.membership.services;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.voice.membership.entities.ArchivedUser;
+import org.voice.membership.entities.InvitationToken;
 import org.voice.membership.entities.Role;
 import org.voice.membership.entities.User;
+import org.voice.membership.repositories.ArchivedUserRepository;
+import org.voice.membership.repositories.InvitationTokenRepository;
 import org.voice.membership.repositories.UserRepository;
+import org.voice.membership.security.MemberUserDetails;
 
-import java.util.Date;
+import java.time.Instant;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -34,9 +41,18 @@ class UserServiceTest {
     @Mock
     private EmailSenderService emailSenderService;
 
+    @Mock
+    private InvitationTokenRepository invitationTokenRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ArchiveService archiveService;
+
+    @Mock
+    private ArchivedUserRepository archivedUserRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -55,7 +71,7 @@ class UserServiceTest {
                 .address("123 Test St")
                 .postalCode("12345")
                 .role(Role.USER.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
     }
 
@@ -92,6 +108,57 @@ class UserServiceTest {
         verify(emailSenderService).sendPasswordResetEmail(eq("test@example.com"), anyString());
     }
 
+    @Test
+    void loadUserByUsername_ForArchivedMember_ShouldNotRestore() {
+        ArchivedUser archived = mock(ArchivedUser.class);
+        when(archived.getId()).thenReturn(1);
+        when(archived.getEmail()).thenReturn("test@example.com");
+        when(archived.getPassword()).thenReturn("encodedPassword123");
+        when(archived.getRole()).thenReturn(Role.USER.name());
+        when(archivedUserRepository.findByEmail("test@example.com")).thenReturn(archived);
+
+        UserDetails userDetails = userService.loadUserByUsername("test@example.com");
+
+        assertThat(userDetails).isInstanceOfSatisfying(MemberUserDetails.class, member -> {
+            assertThat(member.getId()).isEqualTo(1);
+            assertThat(member.isArchived()).isTrue();
+        });
+        verify(archiveService, never()).restore(anyString());
+    }
+
+    @Test
+    void sendPasswordResetEmail_ForArchivedMember_ShouldSendWithoutRestoring() {
+        ArchivedUser archived = mock(ArchivedUser.class);
+        when(archived.getEmail()).thenReturn("test@example.com");
+        when(archivedUserRepository.findByEmail("test@example.com")).thenReturn(archived);
+
+        boolean result = userService.sendPasswordResetEmail("test@example.com");
+
+        assertThat(result).isTrue();
+        verify(archiveService, never()).restore(anyString());
+        verify(emailSenderService).sendPasswordResetEmail(eq("test@example.com"), anyString());
+    }
+
+    @Test
+    void resetPassword_ForArchivedMember_ShouldRestoreThenSetPassword() {
+        ArchivedUser archived = mock(ArchivedUser.class);
+        when(archived.getEmail()).thenReturn("test@example.com");
+        when(archivedUserRepository.findByEmail("test@example.com")).thenReturn(archived);
+        ArgumentCaptor<String> link = ArgumentCaptor.forClass(String.class);
+        userService.sendPasswordResetEmail("test@example.com");
+        verify(emailSenderService).sendPasswordResetEmail(eq("test@example.com"), link.capture());
+        when(archiveService.restore("test@example.com")).thenReturn(1);
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("NewPassword123!")).thenReturn("encodedNew");
+
+        boolean result = userService.resetPassword(link.getValue().substring(link.getValue().indexOf('=') + 1),
+                "NewPassword123!");
+
+        assertThat(result).isTrue();
+        assertThat(testUser.getPassword()).isEqualTo("encodedNew");
+        verify(userRepository).save(testUser);
+    }
+
     @Test
     void sendPasswordResetEmail_WithInvalidEmail_ShouldReturnFalse() {
         when(userRepository.findByEmail(anyString())).thenReturn(null);
@@ -128,6 +195,40 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void resetPassword_WithInvitationToken_ShouldSetPasswordAndVerifyEmail() {
+        InvitationToken invitation = InvitationToken.builder()
+                .token("invite-token")
+                .user(testUser)
+                .expiryDate(Instant.now().plus(InvitationToken.EXPIRATION))
+                .build();
+        when(invitationTokenRepository.findByToken("invite-token")).thenReturn(Optional.of(invitation));
+        when(passwordEncoder.encode("NewPassword123!")).thenReturn("encodedNew");
+
+        boolean result = userService.resetPassword("invite-token", "NewPassword123!");
+
+        assertThat(result).isTrue();
+        assertThat(testUser.getPassword()).isEqualTo("encodedNew");
+        assertThat(testUser.isEmailVerified()).isTrue();
+        verify(userRepository).save(testUser);
+        verify(invitationTokenRepository).delete(invitation);
+    }
+
+    @Test
+    void resetPassword_WithExpiredInvitationToken_ShouldReturnFalse() {
+        InvitationToken invitation = InvitationToken.builder()
+                .token("invite-token")
+                .user(testUser)
+                .expiryDate(Instant.now().minusSeconds(60))
+                .build();
+        when(invitationTokenRepository.findByToken("invite-token")).thenReturn(Optional.of(invitation));
+
+        boolean result = userService.resetPassword("invite-token", "NewPassword123!");
+
+        assertThat(result).isFalse();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void loadUserByUsername_WithAdminRole_ShouldReturnAdminUser() {
         User adminUser = User.builder()
@@ -138,7 +239,7 @@ class UserServiceTest {
                 .email("admin@example.com")
                 .password("adminPassword")
                 .role(Role.ADMIN.name())
-                .creation(new Date())
+                .creation(Instant.now())
                 .build();
 
         when(userRepository.findByEmail("admin@example.com")).thenReturn(adminUser);
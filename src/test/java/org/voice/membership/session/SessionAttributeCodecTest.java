@@ -0,0 +1,63 @@
+package org.voice.membership.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.voice.membership.security.MemberUserDetails;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SessionAttributeCodec
+ */
+@DisplayName("Session Attribute Codec Tests")
+class SessionAttributeCodecTest {
+
+    private final SessionAttributeCodec codec = new SessionAttributeCodec();
+
+    @Test
+    @DisplayName("Should round-trip simple attribute values")
+    void testSimpleValues() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("name", "value");
+        attributes.put("count", 3);
+        attributes.put("since", 12L);
+        attributes.put("flag", true);
+        attributes.put("missing", null);
+        attributes.put("list", new java.util.ArrayList<>(List.of("a", "b")));
+
+        assertEquals(attributes, codec.decode(codec.encode(attributes)));
+    }
+
+    @Test
+    @DisplayName("Should keep the member id and role of a signed-in member")
+    void testMemberSecurityContext() {
+        MemberUserDetails member = new MemberUserDetails(42, "member@example.com", "secret", "USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        member.eraseCredentials();
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+                .authenticated(member, null, member.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", null));
+
+        byte[] encoded = codec.encode(Map.of("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(authentication)));
+        SecurityContext decoded = (SecurityContext) codec.decode(encoded).get("SPRING_SECURITY_CONTEXT");
+
+        MemberUserDetails principal = (MemberUserDetails) decoded.getAuthentication().getPrincipal();
+        assertEquals(42, principal.getId());
+        assertEquals("USER", principal.getRole());
+        assertEquals("member@example.com", principal.getUsername());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                List.copyOf(decoded.getAuthentication().getAuthorities()));
+        assertEquals("127.0.0.1",
+                ((WebAuthenticationDetails) decoded.getAuthentication().getDetails()).getRemoteAddress());
+        assertTrue(encoded.length < 200, "member context should use the compact encoding");
+    }
+}
@@ -0,0 +1,50 @@
+package org.voice.membership.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AgesTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 15);
+
+    @Test
+    @DisplayName("Age changes on the birthday, not before")
+    void ageOn_ShouldCountWholeYears() {
+        assertEquals(4, Ages.ageOn(LocalDate.of(2020, 3, 16), TODAY));
+        assertEquals(5, Ages.ageOn(LocalDate.of(2020, 3, 15), TODAY));
+    }
+
+    @Test
+    @DisplayName("Recorded age is used only when there is no date of birth")
+    void currentAge_ShouldPreferDateOfBirth() {
+        assertEquals(7, Ages.currentAge(null, 7));
+        assertNull(Ages.currentAge(null, null));
+        assertEquals(Ages.ageOn(LocalDate.of(2015, 1, 1), LocalDate.now()),
+                Ages.currentAge(LocalDate.of(2015, 1, 1), 3));
+    }
+
+    @Test
+    @DisplayName("Estimated date of birth gives back the recorded age")
+    void estimateDateOfBirth_ShouldRoundTrip() {
+        for (int age = 0; age <= 18; age++) {
+            assertEquals(age, Ages.ageOn(Ages.estimateDateOfBirth(age, TODAY), TODAY));
+        }
+    }
+
+    @Test
+    @DisplayName("Birth date bounds include both ends of the age range")
+    void birthDateBounds_ShouldMatchAgeRange() {
+        LocalDate earliest = Ages.earliestBirthDate(5, TODAY);
+        LocalDate latest = Ages.latestBirthDate(3, TODAY);
+
+        assertEquals(5, Ages.ageOn(earliest, TODAY));
+        assertEquals(6, Ages.ageOn(earliest.minusDays(1), TODAY));
+        assertEquals(3, Ages.ageOn(latest, TODAY));
+        assertEquals(2, Ages.ageOn(latest.plusDays(1), TODAY));
+    }
+}